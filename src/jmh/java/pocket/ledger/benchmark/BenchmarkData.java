@@ -0,0 +1,58 @@
+package pocket.ledger.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.service.admission.AdmissionProperties;
+
+/** Deterministic ledger contents shared by the benchmarks. */
+final class BenchmarkData {
+
+  /** Seeded transactions are spread evenly over the year starting here. */
+  static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  /** A one-week window in the middle of the year, roughly 2% of the rows. */
+  static final LocalDateTime WINDOW_START = START.plusDays(180);
+
+  static final LocalDateTime WINDOW_END = WINDOW_START.plusDays(7);
+
+  private static final long SPAN_SECONDS = 365L * 24 * 60 * 60;
+  private static final int CHUNK_SIZE = 100_000;
+
+  private BenchmarkData() {}
+
+  /** Admission control switched off, so benchmark threads measure the path rather than shedding. */
+  static AdmissionProperties unlimitedAdmission() {
+    AdmissionProperties properties = new AdmissionProperties();
+    properties.setEnabled(false);
+    return properties;
+  }
+
+  /**
+   * Stores {@code rows} transactions through the bulk path, one write per chunk. Every third row is
+   * a withdrawal, so the balance stays positive.
+   */
+  static void seed(TransactionRepository repository, int rows) {
+    List<Transaction> chunk = new ArrayList<>(Math.min(rows, CHUNK_SIZE));
+    for (int i = 0; i < rows; i++) {
+      Transaction transaction = transaction(i);
+      transaction.setCreatedDate(START.plusSeconds(i * SPAN_SECONDS / rows));
+      chunk.add(transaction);
+      if (chunk.size() == CHUNK_SIZE) {
+        repository.saveAll(chunk);
+        chunk = new ArrayList<>(CHUNK_SIZE);
+      }
+    }
+    repository.saveAll(chunk);
+  }
+
+  static Transaction transaction(long sequence) {
+    TransactionType type = sequence % 3 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT;
+    return new Transaction(
+        1L, 2L, BigDecimal.valueOf(1_000 + sequence % 99_000, 2), type, "Benchmark transaction");
+  }
+}
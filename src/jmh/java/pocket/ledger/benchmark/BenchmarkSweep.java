@@ -0,0 +1,59 @@
+package pocket.ledger.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the selected benchmarks once per thread count and merges the JMH JSON results into a single
+ * array, so one file per release can be diffed against the previous one.
+ *
+ * <p>Arguments: output file, include regex, comma-separated thread counts and optionally
+ * comma-separated {@code rows} values overriding the {@code @Param} defaults.
+ */
+public final class BenchmarkSweep {
+
+  private BenchmarkSweep() {}
+
+  public static void main(String[] args) throws IOException, RunnerException {
+    Path output = Path.of(args[0]).toAbsolutePath();
+    String includes = args[1];
+    String[] threadCounts = args[2].split(",");
+    String rows = args.length > 3 ? args[3] : "";
+
+    Files.createDirectories(output.getParent());
+    ObjectMapper objectMapper = new ObjectMapper();
+    ArrayNode merged = objectMapper.createArrayNode();
+
+    for (String threadCount : threadCounts) {
+      int threads = Integer.parseInt(threadCount.trim());
+      Path partial = output.resolveSibling("threads-" + threads + ".json");
+      ChainedOptionsBuilder options =
+          new OptionsBuilder()
+              .include(includes)
+              .threads(threads)
+              .addProfiler(GCProfiler.class)
+              .resultFormat(ResultFormatType.JSON)
+              .result(partial.toString());
+      if (!rows.isBlank()) {
+        options.param("rows", rows.split(","));
+      }
+      new Runner(options.build()).run();
+
+      for (JsonNode run : objectMapper.readTree(partial.toFile())) {
+        merged.add(run);
+      }
+    }
+
+    objectMapper.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), merged);
+  }
+}
@@ -0,0 +1,112 @@
+package pocket.ledger.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pocket.ledger.dto.v1.TransactionJson;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.dto.v1.TransactionRequestDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+import pocket.ledger.service.LedgerServiceImpl;
+import pocket.ledger.service.admission.AdmissionLimiter;
+import pocket.ledger.service.idempotency.IdempotencyCache;
+import pocket.ledger.service.idempotency.IdempotencyProperties;
+import pocket.ledger.service.json.JsonCacheProperties;
+import pocket.ledger.service.json.TransactionJsonCache;
+import pocket.ledger.service.lock.LockMonitor;
+import pocket.ledger.service.query.QueryCacheProperties;
+import pocket.ledger.service.query.QueryCoalesceProperties;
+import pocket.ledger.service.query.QueryCoalescer;
+import pocket.ledger.service.query.QueryLogProperties;
+import pocket.ledger.service.query.QueryResultCache;
+import pocket.ledger.service.query.TransactionQueryHandler;
+import pocket.ledger.util.Page;
+import pocket.ledger.util.PageRequest;
+
+/**
+ * Identical hot reads arriving together, with and without coalescing: seven threads read the same
+ * first page while one thread keeps writing, so every read after a write is a fresh computation.
+ * The query result cache is off, leaving coalescing as the only thing shared between readers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class CoalescingBenchmark {
+
+  private static final TransactionRequestDto DEPOSIT =
+      new TransactionRequestDto(1L, 2L, new BigDecimal("25.00"), TransactionType.DEPOSIT, null);
+
+  private static final TransactionQueryDto FIRST_PAGE =
+      new TransactionQueryDto(
+          BenchmarkData.WINDOW_START,
+          BenchmarkData.WINDOW_END,
+          TransactionType.DEPOSIT,
+          PageRequest.of(0, 20));
+
+  @Param({"10000", "1000000"})
+  public int rows;
+
+  @Param({"true", "false"})
+  public boolean coalesce;
+
+  private LedgerServiceImpl ledgerService;
+
+  @Setup(Level.Trial)
+  public void seed() {
+    TransactionRepositoryImpl repository = new TransactionRepositoryImpl();
+    BenchmarkData.seed(repository, rows);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    QueryCacheProperties cacheProperties = new QueryCacheProperties();
+    cacheProperties.setEnabled(false);
+    QueryCoalesceProperties coalesceProperties = new QueryCoalesceProperties();
+    coalesceProperties.setEnabled(coalesce);
+    ledgerService =
+        new LedgerServiceImpl(
+            repository,
+            new TransactionQueryHandler(meterRegistry, new QueryLogProperties()),
+            new QueryResultCache(cacheProperties, meterRegistry),
+            new TransactionJsonCache(
+                new JsonCacheProperties(),
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry),
+            new QueryCoalescer(coalesceProperties, meterRegistry),
+            new AdmissionLimiter(BenchmarkData.unlimitedAdmission(), meterRegistry),
+            new IdempotencyCache(new IdempotencyProperties(), meterRegistry),
+            event -> {},
+            new LockMonitor(meterRegistry));
+  }
+
+  @Benchmark
+  @Group("firstPage")
+  @GroupThreads(7)
+  public Page<TransactionJson> firstPageRead() {
+    return ledgerService.getTransactionsJson(FIRST_PAGE);
+  }
+
+  @Benchmark
+  @Group("firstPage")
+  @GroupThreads(1)
+  public TransactionResponseDto firstPageWrite() {
+    return ledgerService.createTransaction(DEPOSIT);
+  }
+}
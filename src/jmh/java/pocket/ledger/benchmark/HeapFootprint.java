@@ -0,0 +1,155 @@
+package pocket.ledger.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+
+/**
+ * Retained heap per transaction for each {@link TransactionRepository} implementation.
+ *
+ * <p>Every engine is loaded with N transactions, once without and once with an {@code
+ * Idempotency-Key} on each row, and measured two ways: the object graph reachable from the
+ * repository as walked by JOL, and the drop in free heap after a full GC as a cross-check. The JOL
+ * total is split per repository field, each charged only for what the fields before it do not
+ * already reach, so shared objects such as boxed ids are counted once.
+ *
+ * <p>Arguments: comma-separated row counts and the Markdown file to write.
+ */
+public final class HeapFootprint {
+
+  private static final Map<String, Supplier<TransactionRepository>> ENGINES =
+      new LinkedHashMap<>();
+
+  static {
+    ENGINES.put("in-memory", TransactionRepositoryImpl::new);
+  }
+
+  private HeapFootprint() {}
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    String[] rowCounts = args.length > 0 ? args[0].split(",") : new String[] {"10000", "100000"};
+    Path output = Path.of(args.length > 1 ? args[1] : "build/reports/heap/footprint.md");
+
+    StringBuilder report = new StringBuilder("# Heap footprint per transaction\n\n");
+    report.append("```\n").append(VM.current().details()).append("```\n\n");
+    report.append("| Engine | Keys | Rows | JOL B/txn | Heap delta B/txn | Per field B/txn |\n");
+    report.append("|---|---|---:|---:|---:|---|\n");
+
+    for (Map.Entry<String, Supplier<TransactionRepository>> engine : ENGINES.entrySet()) {
+      for (String rowCount : rowCounts) {
+        int rows = Integer.parseInt(rowCount.trim());
+        for (boolean keyed : new boolean[] {false, true}) {
+          String row = measure(engine.getKey(), engine.getValue(), rows, keyed);
+          report.append(row);
+          System.out.print(row);
+        }
+      }
+    }
+
+    Files.createDirectories(output.toAbsolutePath().getParent());
+    Files.writeString(output, report, StandardCharsets.UTF_8);
+    System.out.println("Report written to " + output.toAbsolutePath());
+  }
+
+  private static String measure(
+      String engine, Supplier<TransactionRepository> factory, int rows, boolean keyed)
+      throws InterruptedException {
+    long before = usedHeapAfterGc();
+    TransactionRepository repository = factory.get();
+    load(repository, rows, keyed);
+    long heapDelta = usedHeapAfterGc() - before;
+
+    long total = GraphLayout.parseInstance(repository).totalSize();
+    StringBuilder perField = new StringBuilder();
+    fieldSizes(repository)
+        .forEach(
+            (field, size) -> {
+              if (size > 0) {
+                perField.append(perField.isEmpty() ? "" : ", ");
+                perField.append(String.format(Locale.ROOT, "%s %.1f", field, size / (double) rows));
+              }
+            });
+    Reference.reachabilityFence(repository);
+
+    return String.format(
+        Locale.ROOT,
+        "| %s | %s | %,d | %.1f | %.1f | %s |%n",
+        engine,
+        keyed ? "yes" : "no",
+        rows,
+        total / (double) rows,
+        heapDelta / (double) rows,
+        perField);
+  }
+
+  /** Distinct descriptions and, when keyed, a UUID idempotency key per row, as from the API. */
+  private static void load(TransactionRepository repository, int rows, boolean keyed) {
+    List<Transaction> chunk = new ArrayList<>();
+    for (int i = 0; i < rows; i++) {
+      Transaction transaction = BenchmarkData.transaction(i);
+      transaction.setCreatedDate(BenchmarkData.START.plusSeconds(i));
+      transaction.setDescription("Card payment #" + i);
+      if (keyed) {
+        byte[] seed = Integer.toString(i).getBytes(StandardCharsets.UTF_8);
+        transaction.setIdempotencyKey(UUID.nameUUIDFromBytes(seed).toString());
+      }
+      chunk.add(transaction);
+      if (chunk.size() == 10_000) {
+        repository.saveAll(chunk);
+        chunk = new ArrayList<>();
+      }
+    }
+    repository.saveAll(chunk);
+  }
+
+  /** Bytes each field adds beyond what the fields declared before it already reach. */
+  private static Map<String, Long> fieldSizes(Object repository) {
+    Map<String, Long> sizes = new LinkedHashMap<>();
+    List<Object> reached = new ArrayList<>();
+    long reachedSize = 0;
+    for (Field field : repository.getClass().getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) || field.getType().isPrimitive()) {
+        continue;
+      }
+      try {
+        field.setAccessible(true);
+        Object value = field.get(repository);
+        if (value == null) {
+          continue;
+        }
+        reached.add(value);
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("Cannot read " + field, e);
+      }
+      long size = GraphLayout.parseInstance(reached.toArray()).totalSize();
+      sizes.put(field.getName(), size - reachedSize);
+      reachedSize = size;
+    }
+    return sizes;
+  }
+
+  private static long usedHeapAfterGc() throws InterruptedException {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+      Thread.sleep(100);
+    }
+    return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+  }
+}
@@ -0,0 +1,115 @@
+package pocket.ledger.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.TransactionRequestDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+import pocket.ledger.service.LedgerServiceImpl;
+import pocket.ledger.service.admission.AdmissionLimiter;
+import pocket.ledger.service.idempotency.IdempotencyCache;
+import pocket.ledger.service.idempotency.IdempotencyProperties;
+import pocket.ledger.service.json.JsonCacheProperties;
+import pocket.ledger.service.json.TransactionJsonCache;
+import pocket.ledger.service.lock.LockMonitor;
+import pocket.ledger.service.query.QueryCacheProperties;
+import pocket.ledger.service.query.QueryCoalesceProperties;
+import pocket.ledger.service.query.QueryCoalescer;
+import pocket.ledger.service.query.QueryLogProperties;
+import pocket.ledger.service.query.QueryResultCache;
+import pocket.ledger.service.query.TransactionQueryHandler;
+
+/**
+ * The write path through {@link LedgerServiceImpl}: balance check, store and response mapping under
+ * the balance lock. Two thirds of the requests are deposits, so withdrawals never run dry. The
+ * {@code balance} group reads the balance on seven threads while one keeps writing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class LedgerServiceBenchmark {
+
+  private static final TransactionRequestDto DEPOSIT =
+      new TransactionRequestDto(1L, 2L, new BigDecimal("25.00"), TransactionType.DEPOSIT, null);
+  private static final TransactionRequestDto WITHDRAWAL =
+      new TransactionRequestDto(1L, 2L, new BigDecimal("10.00"), TransactionType.WITHDRAWAL, null);
+
+  @Param({"10000", "1000000", "10000000"})
+  public int rows;
+
+  private LedgerServiceImpl ledgerService;
+  private final AtomicLong idempotencyKeys = new AtomicLong();
+
+  @Setup(Level.Trial)
+  public void seed() {
+    TransactionRepositoryImpl repository = new TransactionRepositoryImpl();
+    BenchmarkData.seed(repository, rows);
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ledgerService =
+        new LedgerServiceImpl(
+            repository,
+            new TransactionQueryHandler(meterRegistry, new QueryLogProperties()),
+            new QueryResultCache(new QueryCacheProperties(), meterRegistry),
+            new TransactionJsonCache(
+                new JsonCacheProperties(),
+                new ObjectMapper().findAndRegisterModules(),
+                meterRegistry),
+            new QueryCoalescer(new QueryCoalesceProperties(), meterRegistry),
+            new AdmissionLimiter(BenchmarkData.unlimitedAdmission(), meterRegistry),
+            new IdempotencyCache(new IdempotencyProperties(), meterRegistry),
+            event -> {},
+            new LockMonitor(meterRegistry));
+  }
+
+  @Benchmark
+  public TransactionResponseDto createTransaction() {
+    return ledgerService.createTransaction(nextRequest());
+  }
+
+  @Benchmark
+  public TransactionResponseDto createTransactionWithIdempotencyKey() {
+    return ledgerService.createTransaction(
+        nextRequest(), "bench-" + idempotencyKeys.incrementAndGet());
+  }
+
+  @Benchmark
+  @Group("balance")
+  @GroupThreads(7)
+  public BalanceResponseDto balanceRead() {
+    return ledgerService.getBalance();
+  }
+
+  @Benchmark
+  @Group("balance")
+  @GroupThreads(1)
+  public TransactionResponseDto balanceWrite() {
+    return ledgerService.createTransaction(DEPOSIT);
+  }
+
+  private static TransactionRequestDto nextRequest() {
+    return ThreadLocalRandom.current().nextInt(3) == 0 ? WITHDRAWAL : DEPOSIT;
+  }
+}
@@ -0,0 +1,71 @@
+package pocket.ledger.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pocket.ledger.service.ratelimit.RateLimitProperties;
+import pocket.ledger.service.ratelimit.RateLimiter;
+
+/**
+ * The cost the rate limiter adds to every request: each call takes a permit for a client drawn at
+ * random from a population that is already registered, with quotas high enough that every call is
+ * granted, so the figure is the client lookup plus one bucket update. Run it under {@code jmhSweep}
+ * to see how it holds up as threads contend for the same stripes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+  @Param({"1000", "100000"})
+  public int clients;
+
+  private String[] clientIds;
+  private RateLimiter rateLimiter;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    RateLimitProperties properties = new RateLimitProperties();
+    // Headroom over the population so no stripe fills and every client keeps its own bucket.
+    properties.setMaxClients(2 * clients);
+    properties.getRead().setPermitsPerSecond(1_000_000_000);
+    properties.getRead().setBurst(1_000_000);
+    properties.getWrite().setPermitsPerSecond(1_000_000_000);
+    properties.getWrite().setBurst(1_000_000);
+    rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+    clientIds = new String[clients];
+    for (int i = 0; i < clients; i++) {
+      clientIds[i] = "key:client-" + i;
+      rateLimiter.acquireRead(clientIds[i]);
+    }
+  }
+
+  @Benchmark
+  public long read() {
+    return rateLimiter.acquireRead(randomClient());
+  }
+
+  @Benchmark
+  public long write() {
+    return rateLimiter.acquireWrite(randomClient());
+  }
+
+  private String randomClient() {
+    return clientIds[ThreadLocalRandom.current().nextInt(clientIds.length)];
+  }
+}
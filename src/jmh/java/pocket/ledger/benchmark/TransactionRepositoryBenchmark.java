@@ -0,0 +1,78 @@
+package pocket.ledger.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+import pocket.ledger.util.Page;
+import pocket.ledger.util.PageRequest;
+
+/**
+ * Repository hot paths against a pre-seeded ledger. Each trial seeds a fresh repository, so {@code
+ * save} measures inserts into a ledger that starts at {@code rows} and grows from there.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class TransactionRepositoryBenchmark {
+
+  private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+  @Param({"10000", "1000000", "10000000"})
+  public int rows;
+
+  private TransactionRepositoryImpl repository;
+
+  @Setup(Level.Trial)
+  public void seed() {
+    repository = new TransactionRepositoryImpl();
+    BenchmarkData.seed(repository, rows);
+  }
+
+  @Benchmark
+  public Transaction save() {
+    int sequence = ThreadLocalRandom.current().nextInt(1_000_000);
+    return repository.save(BenchmarkData.transaction(sequence));
+  }
+
+  @Benchmark
+  public Page<Transaction> findAll() {
+    return repository.findAll(FIRST_PAGE);
+  }
+
+  @Benchmark
+  public Page<Transaction> findByDateRange() {
+    return repository.findByDateRange(
+        BenchmarkData.WINDOW_START, BenchmarkData.WINDOW_END, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public Page<Transaction> findByType() {
+    return repository.findByType(TransactionType.WITHDRAWAL, FIRST_PAGE);
+  }
+
+  @Benchmark
+  public Page<Transaction> findByDateRangeAndType() {
+    return repository.findByDateRangeAndType(
+        BenchmarkData.WINDOW_START,
+        BenchmarkData.WINDOW_END,
+        TransactionType.WITHDRAWAL,
+        FIRST_PAGE);
+  }
+}
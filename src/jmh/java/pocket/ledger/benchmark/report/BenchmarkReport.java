@@ -0,0 +1,66 @@
+package pocket.ledger.benchmark.report;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Compares the latest JMH and load test results with the stored baseline and writes {@code
+ * report.md} and {@code report.html}. Settings come from {@code benchmark.*} system properties:
+ * {@code jmhResults}, {@code loadTestResults}, {@code baseline} (directory holding {@code jmh.json}
+ * and {@code loadtest.json}), {@code output}, {@code threshold} (default 0.10) and {@code
+ * failOnRegression}.
+ */
+public final class BenchmarkReport {
+
+  private BenchmarkReport() {}
+
+  public static void main(String[] args) throws IOException {
+    Path baseline = Path.of(property("baseline", "benchmarks/baseline"));
+    Path output = Path.of(property("output", "build/reports/benchmarks"));
+    double threshold = Double.parseDouble(property("threshold", "0.10"));
+
+    ResultReader reader = new ResultReader();
+    List<Measurement> current = new ArrayList<>();
+    current.addAll(
+        reader.readJmh(Path.of(property("jmhResults", "build/reports/jmh/results.json"))));
+    current.addAll(
+        reader.readLoadTest(
+            Path.of(property("loadTestResults", "build/reports/loadtest/summary.json"))));
+    List<Measurement> previous = new ArrayList<>();
+    previous.addAll(reader.readJmh(baseline.resolve("jmh.json")));
+    previous.addAll(reader.readLoadTest(baseline.resolve("loadtest.json")));
+
+    Map<String, Double> baselineValues =
+        previous.stream()
+            .collect(Collectors.toMap(Measurement::key, Measurement::value, (a, b) -> b));
+    List<Comparison> comparisons =
+        current.stream()
+            .map(m -> Comparison.of(m, baselineValues.get(m.key()), threshold))
+            .sorted(
+                Comparator.comparing(Comparison::status).thenComparing(c -> c.current().key()))
+            .toList();
+
+    ReportWriter writer = new ReportWriter(comparisons, threshold);
+    Files.createDirectories(output);
+    Files.writeString(output.resolve("report.md"), writer.markdown());
+    Files.writeString(output.resolve("report.html"), writer.html());
+    System.out.println(writer.summary());
+    System.out.println("Report written to " + output.resolve("report.html").toAbsolutePath());
+
+    boolean regressed =
+        comparisons.stream().anyMatch(c -> c.status() == Comparison.Status.REGRESSION);
+    if (regressed && Boolean.parseBoolean(property("failOnRegression", "false"))) {
+      System.exit(1);
+    }
+  }
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty("benchmark." + name, defaultValue);
+  }
+}
@@ -0,0 +1,45 @@
+package pocket.ledger.benchmark.report;
+
+/** A current measurement next to its baseline, classified against the regression threshold. */
+record Comparison(Measurement current, Double baseline, Status status) {
+
+  enum Status {
+    REGRESSION,
+    IMPROVEMENT,
+    UNCHANGED,
+    NEW
+  }
+
+  /**
+   * Compares {@code current} with {@code baseline}; {@code threshold} is the relative change, e.g.
+   * {@code 0.10} for 10%, that counts as a regression or improvement.
+   */
+  static Comparison of(Measurement current, Double baseline, double threshold) {
+    if (baseline == null) {
+      return new Comparison(current, null, Status.NEW);
+    }
+    double change = relativeChange(current.value(), baseline);
+    double worsening = current.higherIsBetter() ? -change : change;
+    Status status;
+    if (worsening > threshold) {
+      status = Status.REGRESSION;
+    } else if (worsening < -threshold) {
+      status = Status.IMPROVEMENT;
+    } else {
+      status = Status.UNCHANGED;
+    }
+    return new Comparison(current, baseline, status);
+  }
+
+  /** Relative change from the baseline, or {@code null} for new measurements. */
+  Double change() {
+    return baseline == null ? null : relativeChange(current.value(), baseline);
+  }
+
+  private static double relativeChange(double current, double baseline) {
+    if (baseline == 0) {
+      return current == 0 ? 0 : Math.copySign(Double.POSITIVE_INFINITY, current);
+    }
+    return (current - baseline) / baseline;
+  }
+}
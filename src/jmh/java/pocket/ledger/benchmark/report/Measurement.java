@@ -0,0 +1,20 @@
+package pocket.ledger.benchmark.report;
+
+/**
+ * One measured value, e.g. the throughput of {@code findByType} at 1M rows on 8 threads.
+ *
+ * @param group where the value comes from: a JMH benchmark class or {@code http}
+ * @param higherIsBetter {@code true} for throughput, {@code false} for latency and allocation
+ */
+record Measurement(
+    String group,
+    String benchmark,
+    String metric,
+    String unit,
+    double value,
+    boolean higherIsBetter) {
+
+  String key() {
+    return group + '|' + benchmark + '|' + metric;
+  }
+}
@@ -0,0 +1,99 @@
+package pocket.ledger.benchmark.report;
+
+import java.util.List;
+import java.util.Locale;
+
+/** Renders comparisons as Markdown and as a standalone HTML page. */
+final class ReportWriter {
+
+  private static final String[] HEADERS = {
+    "Group", "Benchmark", "Metric", "Baseline", "Current", "Change", "Status"
+  };
+
+  private final List<Comparison> comparisons;
+  private final double threshold;
+
+  ReportWriter(List<Comparison> comparisons, double threshold) {
+    this.comparisons = comparisons;
+    this.threshold = threshold;
+  }
+
+  String summary() {
+    return String.format(
+        Locale.ROOT,
+        "%d regressions, %d improvements beyond ±%.0f%%, %d unchanged, %d without baseline",
+        count(Comparison.Status.REGRESSION),
+        count(Comparison.Status.IMPROVEMENT),
+        threshold * 100,
+        count(Comparison.Status.UNCHANGED),
+        count(Comparison.Status.NEW));
+  }
+
+  String markdown() {
+    StringBuilder markdown = new StringBuilder("# Benchmark comparison\n\n");
+    markdown.append(summary()).append("\n\n");
+    markdown.append("| ").append(String.join(" | ", HEADERS)).append(" |\n");
+    markdown.append("|---|---|---|---:|---:|---:|---|\n");
+    for (Comparison comparison : comparisons) {
+      markdown.append("| ").append(String.join(" | ", cells(comparison))).append(" |\n");
+    }
+    return markdown.toString();
+  }
+
+  String html() {
+    StringBuilder html =
+        new StringBuilder(
+            """
+            <!DOCTYPE html>
+            <html><head><meta charset="utf-8"><title>Benchmark comparison</title>
+            <style>
+            body { font-family: sans-serif; margin: 2em; }
+            table { border-collapse: collapse; }
+            th, td { border: 1px solid #ccc; padding: 4px 8px; }
+            td:nth-child(n+4):nth-child(-n+6) { text-align: right; }
+            tr.REGRESSION { background: #fdd; }
+            tr.IMPROVEMENT { background: #dfd; }
+            </style></head><body>
+            <h1>Benchmark comparison</h1>
+            """);
+    html.append("<p>").append(escape(summary())).append("</p>\n<table>\n<tr>");
+    for (String header : HEADERS) {
+      html.append("<th>").append(header).append("</th>");
+    }
+    html.append("</tr>\n");
+    for (Comparison comparison : comparisons) {
+      html.append("<tr class=\"").append(comparison.status()).append("\">");
+      for (String cell : cells(comparison)) {
+        html.append("<td>").append(escape(cell)).append("</td>");
+      }
+      html.append("</tr>\n");
+    }
+    return html.append("</table>\n</body></html>\n").toString();
+  }
+
+  private long count(Comparison.Status status) {
+    return comparisons.stream().filter(comparison -> comparison.status() == status).count();
+  }
+
+  private static String[] cells(Comparison comparison) {
+    Measurement current = comparison.current();
+    Double change = comparison.change();
+    return new String[] {
+      current.group(),
+      current.benchmark(),
+      current.metric() + " (" + current.unit() + ")",
+      comparison.baseline() == null ? "-" : number(comparison.baseline()),
+      number(current.value()),
+      change == null ? "-" : String.format(Locale.ROOT, "%+.1f%%", change * 100),
+      comparison.status().name()
+    };
+  }
+
+  private static String number(double value) {
+    return String.format(Locale.ROOT, value >= 100 ? "%,.0f" : "%.3f", value);
+  }
+
+  private static String escape(String text) {
+    return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+  }
+}
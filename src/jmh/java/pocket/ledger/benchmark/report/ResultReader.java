@@ -0,0 +1,100 @@
+package pocket.ledger.benchmark.report;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/** Reads JMH JSON results and load test summaries into flat lists of measurements. */
+final class ResultReader {
+
+  static final String HTTP_GROUP = "http";
+
+  /** Bytes allocated per operation, reported by JMH's {@code gc} profiler. */
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+  private static final String[] LATENCY_PERCENTILES = {"p50Ms", "p99Ms", "p999Ms"};
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  /** Returns an empty list when the file does not exist, e.g. before the first baseline. */
+  List<Measurement> readJmh(Path file) throws IOException {
+    List<Measurement> measurements = new ArrayList<>();
+    if (!Files.exists(file)) {
+      return measurements;
+    }
+    for (JsonNode run : objectMapper.readTree(file.toFile())) {
+      String fullName = run.path("benchmark").asText();
+      int methodStart = fullName.lastIndexOf('.');
+      String className =
+          fullName.substring(fullName.lastIndexOf('.', methodStart - 1) + 1, methodStart);
+      String benchmark = fullName.substring(methodStart + 1) + describe(run);
+
+      JsonNode primary = run.path("primaryMetric");
+      measurements.add(
+          new Measurement(
+              className,
+              benchmark,
+              run.path("mode").asText(),
+              primary.path("scoreUnit").asText(),
+              primary.path("score").asDouble(),
+              "thrpt".equals(run.path("mode").asText())));
+
+      Iterator<Map.Entry<String, JsonNode>> secondary = run.path("secondaryMetrics").fields();
+      while (secondary.hasNext()) {
+        Map.Entry<String, JsonNode> metric = secondary.next();
+        if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+          measurements.add(
+              new Measurement(
+                  className,
+                  benchmark,
+                  "alloc",
+                  metric.getValue().path("scoreUnit").asText(),
+                  metric.getValue().path("score").asDouble(),
+                  false));
+        }
+      }
+    }
+    return measurements;
+  }
+
+  /** Reads the {@code summary.json} written by the load test. */
+  List<Measurement> readLoadTest(Path file) throws IOException {
+    List<Measurement> measurements = new ArrayList<>();
+    if (!Files.exists(file)) {
+      return measurements;
+    }
+    Iterator<Map.Entry<String, JsonNode>> operations =
+        objectMapper.readTree(file.toFile()).path("operations").fields();
+    while (operations.hasNext()) {
+      Map.Entry<String, JsonNode> operation = operations.next();
+      for (String percentile : LATENCY_PERCENTILES) {
+        measurements.add(
+            new Measurement(
+                HTTP_GROUP,
+                operation.getKey(),
+                percentile.replace("Ms", ""),
+                "ms",
+                operation.getValue().path(percentile).asDouble(),
+                false));
+      }
+    }
+    return measurements;
+  }
+
+  private static String describe(JsonNode run) {
+    StringJoiner description = new StringJoiner(" ", " ", "");
+    run.path("params")
+        .fields()
+        .forEachRemaining(
+            param -> description.add(param.getKey() + "=" + param.getValue().asText()));
+    description.add("threads=" + run.path("threads").asInt());
+    return description.toString();
+  }
+}
@@ -0,0 +1,139 @@
+package pocket.ledger.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency histograms per operation and for the whole run.
+ *
+ * <p>{@code corrected} latency is measured from the moment the schedule said a request should
+ * start, so time spent queued behind a slow response counts against the server instead of silently
+ * thinning the sample. {@code service} latency is measured from the actual send, for comparison.
+ */
+final class LatencyReport {
+
+  private static final String ALL = "ALL";
+  private static final double MICROS_PER_MILLI = 1_000.0;
+
+  private final Map<Operation, Stats> byOperation = new EnumMap<>(Operation.class);
+  private final Stats all = new Stats();
+  private final LoadTestConfig config;
+
+  LatencyReport(Set<Operation> operations, LoadTestConfig config) {
+    operations.forEach(operation -> byOperation.put(operation, new Stats()));
+    this.config = config;
+  }
+
+  void record(Operation operation, long correctedNanos, long serviceNanos, boolean success) {
+    byOperation.get(operation).record(correctedNanos, serviceNanos, success);
+    all.record(correctedNanos, serviceNanos, success);
+  }
+
+  void print(PrintStream out) {
+    out.printf(
+        Locale.ROOT,
+        "%nTarget rate %d req/s for %ds, achieved %.1f req/s%n%n",
+        config.rate(),
+        config.duration().toSeconds(),
+        all.corrected.getTotalCount() / (double) config.duration().toSeconds());
+    out.printf(
+        Locale.ROOT,
+        "%-22s %9s %7s %9s %9s %9s %9s %12s%n",
+        "operation",
+        "count",
+        "errors",
+        "p50 ms",
+        "p99 ms",
+        "p99.9 ms",
+        "max ms",
+        "svc p99 ms");
+    byOperation.forEach((operation, stats) -> stats.print(out, operation.name()));
+    all.print(out, ALL);
+  }
+
+  /** Writes {@code summary.json} plus one {@code .hgrm} percentile distribution per operation. */
+  void write(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    Map<String, Object> operations = new LinkedHashMap<>();
+    for (Map.Entry<Operation, Stats> entry : byOperation.entrySet()) {
+      operations.put(entry.getKey().name(), entry.getValue().summary());
+      entry.getValue().writeDistribution(directory.resolve(entry.getKey().name() + ".hgrm"));
+    }
+    operations.put(ALL, all.summary());
+    all.writeDistribution(directory.resolve(ALL + ".hgrm"));
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("rate", config.rate());
+    summary.put("durationSeconds", config.duration().toSeconds());
+    summary.put("seedRows", config.seedRows());
+    summary.put("operations", operations);
+    new ObjectMapper()
+        .writerWithDefaultPrettyPrinter()
+        .writeValue(directory.resolve("summary.json").toFile(), summary);
+  }
+
+  private static double millis(Histogram histogram, double percentile) {
+    return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+  }
+
+  private static final class Stats {
+    private final Histogram corrected = new ConcurrentHistogram(3);
+    private final Histogram service = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long correctedNanos, long serviceNanos, boolean success) {
+      corrected.recordValue(TimeUnit.NANOSECONDS.toMicros(correctedNanos));
+      service.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+      if (!success) {
+        errors.increment();
+      }
+    }
+
+    void print(PrintStream out, String name) {
+      out.printf(
+          Locale.ROOT,
+          "%-22s %9d %7d %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+          name,
+          corrected.getTotalCount(),
+          errors.sum(),
+          millis(corrected, 50),
+          millis(corrected, 99),
+          millis(corrected, 99.9),
+          corrected.getMaxValue() / MICROS_PER_MILLI,
+          millis(service, 99));
+    }
+
+    Map<String, Object> summary() {
+      Map<String, Object> summary = new LinkedHashMap<>();
+      summary.put("count", corrected.getTotalCount());
+      summary.put("errors", errors.sum());
+      summary.put("p50Ms", millis(corrected, 50));
+      summary.put("p99Ms", millis(corrected, 99));
+      summary.put("p999Ms", millis(corrected, 99.9));
+      summary.put("maxMs", corrected.getMaxValue() / MICROS_PER_MILLI);
+      summary.put("serviceP50Ms", millis(service, 50));
+      summary.put("serviceP99Ms", millis(service, 99));
+      return summary;
+    }
+
+    void writeDistribution(Path file) throws IOException {
+      try (PrintStream out =
+          new PrintStream(Files.newOutputStream(file), false, StandardCharsets.UTF_8)) {
+        corrected.outputPercentileDistribution(out, MICROS_PER_MILLI);
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package pocket.ledger.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are started on a fixed schedule whether or not earlier ones have
+ * returned, each on its own virtual thread. A stalled server therefore sees the requests pile up
+ * the way real clients would, and their wait shows up in the corrected latency.
+ */
+final class LoadGenerator {
+
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final URI baseUri;
+  private final LoadTestConfig config;
+  private final WorkloadMix mix;
+  private final HttpClient client;
+
+  LoadGenerator(URI baseUri, LoadTestConfig config) {
+    this.baseUri = baseUri;
+    this.config = config;
+    this.mix = new WorkloadMix(config.mix());
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+  }
+
+  /**
+   * Runs the schedule for {@code duration} and waits for the stragglers. Results are discarded when
+   * {@code report} is {@code null}, which is how the warmup runs.
+   */
+  void run(Duration duration, LatencyReport report) {
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    try (ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (long sequence = 0; ; sequence++) {
+        long intendedStart = start + sequence * NANOS_PER_SECOND / config.rate();
+        if (intendedStart >= end) {
+          break;
+        }
+        long delay = intendedStart - System.nanoTime();
+        if (delay > 0) {
+          LockSupport.parkNanos(delay);
+        }
+        Operation operation = mix.next(ThreadLocalRandom.current());
+        requests.execute(() -> execute(operation, intendedStart, report));
+      }
+    }
+  }
+
+  private void execute(Operation operation, long intendedStart, LatencyReport report) {
+    HttpRequest request =
+        operation
+            .request(baseUri, config, ThreadLocalRandom.current())
+            .timeout(config.requestTimeout())
+            .build();
+    long sent = System.nanoTime();
+    boolean success;
+    try {
+      HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+      success = response.statusCode() < 400;
+    } catch (IOException e) {
+      success = false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    long completed = System.nanoTime();
+    if (report != null) {
+      report.record(operation, completed - intendedStart, completed - sent, success);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package pocket.ledger.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import pocket.ledger.LedgerApplication;
+import pocket.ledger.repository.TransactionRepository;
+
+/**
+ * End-to-end HTTP load test. Starts the application on a random port, seeds it, warms it up and
+ * then drives the configured workload mix at a fixed arrival rate, printing corrected latency
+ * percentiles per operation and writing them to {@code loadTest.output}.
+ *
+ * <p>Run with {@code ./gradlew loadTest -PloadTest.rate=2000 -PloadTest.duration=2m}; see {@link
+ * LoadTestConfig} for the other settings.
+ */
+public final class LoadTest {
+
+  private LoadTest() {}
+
+  public static void main(String[] args) throws IOException {
+    LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(LedgerApplication.class)
+            .properties(
+                "server.port=0",
+                "app.data-seed.enabled=false",
+                // Every request comes from localhost, one client, so per-client quotas would
+                // measure 429s rather than the ledger.
+                "app.rate-limit.enabled=false",
+                "spring.main.banner-mode=off",
+                "logging.level.root=WARN")
+            .run(args)) {
+      SeedData.seed(context.getBean(TransactionRepository.class), config.seedRows());
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port), config);
+
+      System.out.printf(
+          "Seeded %d transactions, warming up for %s%n", config.seedRows(), config.warmup());
+      generator.run(config.warmup(), null);
+
+      System.out.printf("Running %d req/s for %s%n", config.rate(), config.duration());
+      LatencyReport report = new LatencyReport(config.mix().keySet(), config);
+      generator.run(config.duration(), report);
+
+      report.print(System.out);
+      report.write(config.output());
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package pocket.ledger.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Load test settings, read from {@code loadTest.*} system properties.
+ *
+ * @param rate requests started per second, independent of how fast responses come back
+ * @param mix relative weight of each operation, e.g. {@code create:20,balance:20,list:10}
+ */
+record LoadTestConfig(
+    int rate,
+    Duration duration,
+    Duration warmup,
+    int seedRows,
+    Map<Operation, Integer> mix,
+    Duration requestTimeout,
+    Path output) {
+
+  static final String DEFAULT_MIX =
+      "create:20,balance:20,by_id:20,list:10,date_range:10,type:10,date_range_and_type:10";
+
+  static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        Integer.parseInt(property("rate", "500")),
+        DurationStyle.detectAndParse(property("duration", "60s")),
+        DurationStyle.detectAndParse(property("warmup", "15s")),
+        Integer.parseInt(property("seedRows", "100000")),
+        parseMix(property("mix", DEFAULT_MIX)),
+        DurationStyle.detectAndParse(property("requestTimeout", "10s")),
+        Path.of(property("output", "build/reports/loadtest")));
+  }
+
+  static Map<Operation, Integer> parseMix(String mix) {
+    Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+    for (String entry : mix.split(",")) {
+      String[] parts = entry.trim().split(":");
+      if (parts.length != 2) {
+        throw new IllegalArgumentException("Invalid mix entry: '" + entry + "'");
+      }
+      int weight = Integer.parseInt(parts[1].trim());
+      if (weight > 0) {
+        weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+      }
+    }
+    if (weights.isEmpty()) {
+      throw new IllegalArgumentException("Workload mix must contain at least one operation");
+    }
+    return weights;
+  }
+
+  private static String property(String name, String defaultValue) {
+    return System.getProperty("loadTest." + name, defaultValue);
+  }
+}
@@ -0,0 +1,81 @@
+package pocket.ledger.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** The request types in a workload mix, each against a {@code LedgerController} endpoint. */
+enum Operation {
+  CREATE {
+    @Override
+    HttpRequest.Builder request(URI baseUri, LoadTestConfig config, ThreadLocalRandom random) {
+      String type = random.nextInt(3) == 0 ? "WITHDRAWAL" : "DEPOSIT";
+      String body =
+          "{\"amount\": %d.%02d, \"type\": \"%s\", \"description\": \"load test\"}"
+              .formatted(random.nextInt(1, 100), random.nextInt(100), type);
+      return HttpRequest.newBuilder(baseUri.resolve(TRANSACTIONS))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+  },
+  BALANCE {
+    @Override
+    HttpRequest.Builder request(URI baseUri, LoadTestConfig config, ThreadLocalRandom random) {
+      return HttpRequest.newBuilder(baseUri.resolve("/api/v1/balance"));
+    }
+  },
+  BY_ID {
+    @Override
+    HttpRequest.Builder request(URI baseUri, LoadTestConfig config, ThreadLocalRandom random) {
+      long id = random.nextLong(1, config.seedRows() + 1L);
+      return HttpRequest.newBuilder(baseUri.resolve(TRANSACTIONS + "/" + id));
+    }
+  },
+  LIST {
+    @Override
+    HttpRequest.Builder request(URI baseUri, LoadTestConfig config, ThreadLocalRandom random) {
+      return get(baseUri, FIRST_PAGE);
+    }
+  },
+  DATE_RANGE {
+    @Override
+    HttpRequest.Builder request(URI baseUri, LoadTestConfig config, ThreadLocalRandom random) {
+      return get(baseUri, FIRST_PAGE + dateRange(random));
+    }
+  },
+  TYPE {
+    @Override
+    HttpRequest.Builder request(URI baseUri, LoadTestConfig config, ThreadLocalRandom random) {
+      return get(baseUri, FIRST_PAGE + type(random));
+    }
+  },
+  DATE_RANGE_AND_TYPE {
+    @Override
+    HttpRequest.Builder request(URI baseUri, LoadTestConfig config, ThreadLocalRandom random) {
+      return get(baseUri, FIRST_PAGE + dateRange(random) + type(random));
+    }
+  };
+
+  private static final String TRANSACTIONS = "/api/v1/transactions";
+  private static final String FIRST_PAGE = "?page=0&size=20";
+  private static final Duration WINDOW = Duration.ofDays(7);
+
+  abstract HttpRequest.Builder request(
+      URI baseUri, LoadTestConfig config, ThreadLocalRandom random);
+
+  private static HttpRequest.Builder get(URI baseUri, String query) {
+    return HttpRequest.newBuilder(baseUri.resolve(TRANSACTIONS + query));
+  }
+
+  /** A one-week window somewhere inside the seeded year. */
+  private static String dateRange(ThreadLocalRandom random) {
+    LocalDateTime start = SeedData.START.plusDays(random.nextInt(358));
+    return "&startDate=" + start + "&endDate=" + start.plus(WINDOW);
+  }
+
+  private static String type(ThreadLocalRandom random) {
+    return random.nextBoolean() ? "&type=DEPOSIT" : "&type=WITHDRAWAL";
+  }
+}
@@ -0,0 +1,37 @@
+package pocket.ledger.loadtest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepository;
+
+/** Deterministic dataset loaded straight into the repository before the run. */
+final class SeedData {
+
+  /** Seeded transactions are spread evenly over the year starting here. */
+  static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private static final long SPAN_SECONDS = 365L * 24 * 60 * 60;
+  private static final int CHUNK_SIZE = 100_000;
+
+  private SeedData() {}
+
+  static void seed(TransactionRepository repository, int rows) {
+    List<Transaction> chunk = new ArrayList<>(Math.min(rows, CHUNK_SIZE));
+    for (int i = 0; i < rows; i++) {
+      TransactionType type = i % 3 == 0 ? TransactionType.WITHDRAWAL : TransactionType.DEPOSIT;
+      BigDecimal amount = BigDecimal.valueOf(1_000 + i % 99_000, 2);
+      Transaction transaction = new Transaction(1L, 2L, amount, type, "Seeded transaction");
+      transaction.setCreatedDate(START.plusSeconds(i * SPAN_SECONDS / rows));
+      chunk.add(transaction);
+      if (chunk.size() == CHUNK_SIZE) {
+        repository.saveAll(chunk);
+        chunk = new ArrayList<>(CHUNK_SIZE);
+      }
+    }
+    repository.saveAll(chunk);
+  }
+}
@@ -0,0 +1,239 @@
+package pocket.ledger.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import pocket.ledger.LedgerApplication;
+
+/**
+ * Runs the same workload against the application twice, once on Tomcat's platform thread pool and
+ * once with {@code spring.threads.virtual.enabled=true}, and writes the two side by side to {@code
+ * thread-model.md}.
+ *
+ * <p>Each of {@code loadTest.connections} clients (default 10,000) runs on its own virtual thread
+ * and loops: one request, then {@code loadTest.thinkTime} idle, as a large population of mostly
+ * idle connections would. Nine requests in ten are reads ({@code GET /balance} and the first page
+ * of {@code GET /transactions}); the tenth is a deposit. Raise the open file limit ({@code ulimit
+ * -n}) above twice the connection count before running.
+ */
+public final class ThreadModelComparison {
+
+  private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final int connections;
+  private final Duration warmup;
+  private final Duration duration;
+  private final Duration thinkTime;
+  private final Duration requestTimeout;
+  private final Path output;
+
+  private ThreadModelComparison() {
+    connections = Integer.getInteger("loadTest.connections", 10_000);
+    warmup = duration("loadTest.warmup", "10s");
+    duration = duration("loadTest.duration", "60s");
+    thinkTime = duration("loadTest.thinkTime", "100ms");
+    requestTimeout = duration("loadTest.requestTimeout", "30s");
+    output = Path.of(System.getProperty("loadTest.output", "build/reports/loadtest"));
+  }
+
+  public static void main(String[] args) throws Exception {
+    new ThreadModelComparison().run();
+  }
+
+  private void run() throws Exception {
+    List<Result> results = new ArrayList<>();
+    results.add(measure("platform", false));
+    results.add(measure("virtual", true));
+
+    String report = report(results);
+    Files.createDirectories(output);
+    Files.writeString(output.resolve("thread-model.md"), report);
+    System.out.print(report);
+  }
+
+  private Result measure(String mode, boolean virtual) throws Exception {
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(LedgerApplication.class)
+            .run(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--app.sample-data.enabled=false",
+                // Every simulated connection comes from the same address, i.e. one client.
+                "--app.rate-limit.enabled=false",
+                "--logging.level.root=WARN")) {
+      int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+      URI base = URI.create("http://localhost:" + port + "/api/v1");
+      ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+      try (HttpClient client =
+          HttpClient.newBuilder()
+              .version(HttpClient.Version.HTTP_1_1)
+              .executor(Executors.newVirtualThreadPerTaskExecutor())
+              .build()) {
+        Workload workload = new Workload(client, base);
+        workload.seed();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long until = measureFrom + duration.toNanos();
+        threads.resetPeakThreadCount();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+          for (int i = 0; i < connections; i++) {
+            int clientId = i;
+            clients.submit(() -> workload.loop(clientId, measureFrom, until));
+          }
+        }
+        return new Result(
+            mode,
+            workload.latency,
+            workload.errors.sum(),
+            threads.getPeakThreadCount(),
+            pinned(context.getBean(MeterRegistry.class)));
+      }
+    }
+  }
+
+  private static long pinned(MeterRegistry meterRegistry) {
+    return meterRegistry.find("ledger.threads.pinned").timers().stream()
+        .mapToLong(Timer::count)
+        .sum();
+  }
+
+  private String report(List<Result> results) {
+    StringBuilder report = new StringBuilder();
+    report.append("# Platform vs virtual threads\n\n");
+    report.append(
+        String.format(
+            Locale.ROOT,
+            "%,d connections, %s think time, %s measured after %s warmup.%n%n",
+            connections,
+            thinkTime,
+            duration,
+            warmup));
+    report.append(
+        "| Threads | Requests/s | p50 ms | p99 ms | p99.9 ms | Max ms | Errors"
+            + " | Peak platform threads | Pinned |\n");
+    report.append("|---|---|---|---|---|---|---|---|---|\n");
+    for (Result result : results) {
+      Histogram latency = result.latency();
+      report.append(
+          String.format(
+              Locale.ROOT,
+              "| %s | %,.0f | %.2f | %.2f | %.2f | %.2f | %,d | %,d | %,d |%n",
+              result.mode(),
+              latency.getTotalCount() / (double) duration.toSeconds(),
+              millis(latency.getValueAtPercentile(50)),
+              millis(latency.getValueAtPercentile(99)),
+              millis(latency.getValueAtPercentile(99.9)),
+              millis(latency.getMaxValue()),
+              result.errors(),
+              result.peakThreads(),
+              result.pinned()));
+    }
+    return report.toString();
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  private static Duration duration(String property, String defaultValue) {
+    return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+  }
+
+  private record Result(
+      String mode, Histogram latency, long errors, int peakThreads, long pinned) {}
+
+  private final class Workload {
+
+    private final HttpClient client;
+    private final URI base;
+    private final ConcurrentHistogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final LongAdder errors = new LongAdder();
+
+    Workload(HttpClient client, URI base) {
+      this.client = client;
+      this.base = base;
+    }
+
+    /** Funds the ledger so the deposits and reads that follow have rows to work with. */
+    void seed() throws IOException, InterruptedException {
+      for (int i = 0; i < 100; i++) {
+        send(deposit());
+      }
+    }
+
+    void loop(int clientId, long measureFrom, long until) {
+      for (long n = clientId; System.nanoTime() < until; n++) {
+        HttpRequest request =
+            switch ((int) (n % 10)) {
+              case 0 -> deposit();
+              case 1, 3, 5, 7, 9 -> get("/balance");
+              default -> get("/transactions?page=0&size=20");
+            };
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+          ok = send(request) < 400;
+        } catch (IOException e) {
+          ok = false;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        long end = System.nanoTime();
+        if (start >= measureFrom && end < until) {
+          latency.recordValue(Math.min(MAX_LATENCY_MICROS, (end - start) / 1000));
+          if (!ok) {
+            errors.increment();
+          }
+        }
+        try {
+          Thread.sleep(thinkTime);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+      return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private HttpRequest get(String path) {
+      return HttpRequest.newBuilder(URI.create(base + path)).timeout(requestTimeout).GET().build();
+    }
+
+    private HttpRequest deposit() {
+      return HttpRequest.newBuilder(URI.create(base + "/transactions"))
+          .timeout(requestTimeout)
+          .header("Content-Type", "application/json")
+          .POST(
+              HttpRequest.BodyPublishers.ofString(
+                  "{\"destinationAccountId\":1,\"amount\":1.00,\"type\":\"DEPOSIT\"}"))
+          .build();
+    }
+  }
+}
@@ -0,0 +1,31 @@
+package pocket.ledger.loadtest;
+
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** Picks operations at random in proportion to their weights. */
+final class WorkloadMix {
+
+  private final Operation[] operations;
+  private final int[] cumulativeWeights;
+
+  WorkloadMix(Map<Operation, Integer> weights) {
+    operations = weights.keySet().toArray(Operation[]::new);
+    cumulativeWeights = new int[operations.length];
+    int total = 0;
+    for (int i = 0; i < operations.length; i++) {
+      total += weights.get(operations[i]);
+      cumulativeWeights[i] = total;
+    }
+  }
+
+  Operation next(ThreadLocalRandom random) {
+    int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+    for (int i = 0; i < cumulativeWeights.length; i++) {
+      if (pick < cumulativeWeights[i]) {
+        return operations[i];
+      }
+    }
+    throw new IllegalStateException("Weight " + pick + " outside of the mix");
+  }
+}
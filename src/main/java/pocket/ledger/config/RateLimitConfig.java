@@ -0,0 +1,26 @@
+package pocket.ledger.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import pocket.ledger.service.ratelimit.RateLimitProperties;
+import pocket.ledger.service.ratelimit.RateLimiter;
+
+@Configuration
+public class RateLimitConfig {
+
+  /** Quotas cover listing and creating transactions; other endpoints are not limited. */
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+      RateLimiter rateLimiter,
+      RateLimitProperties properties,
+      @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver) {
+    FilterRegistrationBean<RateLimitFilter> registration =
+        new FilterRegistrationBean<>(
+            new RateLimitFilter(rateLimiter, properties.getApiKeys(), exceptionResolver));
+    registration.addUrlPatterns("/api/v1/transactions");
+    return registration;
+  }
+}
@@ -0,0 +1,74 @@
+package pocket.ledger.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import pocket.ledger.exception.RateLimitExceededException;
+import pocket.ledger.service.ratelimit.RateLimiter;
+import pocket.ledger.util.LedgerConstants;
+
+/**
+ * Charges {@code GET} requests to the client's read quota and {@code POST} requests to its write
+ * quota before they reach the controller. A client is told apart by its {@value
+ * LedgerConstants#API_KEY_HEADER} header when the key is one of {@code app.rate-limit.api-keys},
+ * and by remote address otherwise, so inventing keys does not buy fresh quota. A request over quota
+ * is answered with 429 and {@code Retry-After} through the regular exception handling.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final RateLimiter rateLimiter;
+  private final Set<String> apiKeys;
+  private final HandlerExceptionResolver exceptionResolver;
+
+  public RateLimitFilter(
+      RateLimiter rateLimiter, Set<String> apiKeys, HandlerExceptionResolver exceptionResolver) {
+    this.rateLimiter = rateLimiter;
+    this.apiKeys =
+        apiKeys.stream().filter(key -> !key.isBlank()).collect(Collectors.toUnmodifiableSet());
+    this.exceptionResolver = exceptionResolver;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    String method = request.getMethod();
+    return !HttpMethod.GET.matches(method) && !HttpMethod.POST.matches(method);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    String clientId = clientId(request);
+    boolean read = HttpMethod.GET.matches(request.getMethod());
+    long waitNanos = read ? rateLimiter.acquireRead(clientId) : rateLimiter.acquireWrite(clientId);
+    if (waitNanos > 0) {
+      long retryAfterSeconds = Math.max(1, ceilSeconds(waitNanos));
+      exceptionResolver.resolveException(
+          request,
+          response,
+          null,
+          new RateLimitExceededException(read ? "read" : "write", retryAfterSeconds));
+      return;
+    }
+    filterChain.doFilter(request, response);
+  }
+
+  String clientId(HttpServletRequest request) {
+    String apiKey = request.getHeader(LedgerConstants.API_KEY_HEADER);
+    return apiKey != null && apiKeys.contains(apiKey)
+        ? "key:" + apiKey
+        : "ip:" + request.getRemoteAddr();
+  }
+
+  private static long ceilSeconds(long nanos) {
+    return Math.ceilDiv(nanos, TimeUnit.SECONDS.toNanos(1));
+  }
+}
@@ -7,27 +7,36 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import pocket.ledger.dto.v1.BalanceResponseDto;
 import pocket.ledger.dto.v1.ErrorResponse;
 import pocket.ledger.dto.v1.PageResponse;
+import pocket.ledger.dto.v1.QueryExplainDto;
 import pocket.ledger.dto.v1.SuccessResponse;
+import pocket.ledger.dto.v1.TransactionJson;
 import pocket.ledger.dto.v1.TransactionQueryDto;
 import pocket.ledger.dto.v1.TransactionRequestDto;
 import pocket.ledger.dto.v1.TransactionResponseDto;
 import pocket.ledger.enums.TransactionType;
 import pocket.ledger.service.LedgerService;
+import pocket.ledger.service.query.ExplainedPage;
 import pocket.ledger.util.LedgerConstants;
 import pocket.ledger.util.Page;
 import pocket.ledger.util.PageRequest;
@@ -37,16 +46,26 @@ import pocket.ledger.util.PageRequest;
 @AllArgsConstructor
 public class LedgerController {
 
+  // Versions restart at zero with the process, so tags carry the start time to stay unique.
+  private static final String ETAG_PREFIX = Long.toString(System.currentTimeMillis(), 36) + "-";
+
+  // Transactions never change once created.
+  private static final CacheControl IMMUTABLE =
+      CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
   private final LedgerService ledgerService;
 
   @GetMapping("/balance")
   @Operation(
       summary = "Get current balance",
-      description = "Get the current account balance with transaction count",
+      description = "Get the current account balance with transaction count and ledger version",
       tags = {"Balance"})
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Balance retrieved successfully"),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Nothing written since the version named in If-None-Match"),
         @ApiResponse(
             responseCode = "500",
             description = "Internal server error",
@@ -55,8 +74,13 @@ public class LedgerController {
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
-  public SuccessResponse<BalanceResponseDto> getBalance() {
-    return SuccessResponse.ok(ledgerService.getBalance());
+  public SuccessResponse<BalanceResponseDto> getBalance(WebRequest webRequest) {
+    // The balance is one consistent snapshot, so it is tagged with its own version, even mid-write.
+    BalanceResponseDto balance = ledgerService.getBalance();
+    if (webRequest.checkNotModified(ETAG_PREFIX + balance.version())) {
+      return null;
+    }
+    return SuccessResponse.ok(balance);
   }
 
   @GetMapping("/transactions")
@@ -67,6 +91,9 @@ public class LedgerController {
   @ApiResponses(
       value = {
         @ApiResponse(responseCode = "200", description = "Transactions retrieved successfully"),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Nothing written since the version named in If-None-Match"),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid query parameters",
@@ -75,7 +102,7 @@ public class LedgerController {
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
-  public PageResponse<TransactionResponseDto> getTransactions(
+  public PageResponse<?> getTransactions(
       @Parameter(description = "Page number (0-based)")
           @RequestParam(name = "page", defaultValue = "0")
           int page,
@@ -91,29 +118,50 @@ public class LedgerController {
           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
           LocalDateTime endDate,
       @Parameter(description = "Transaction type") @RequestParam(name = "type", required = false)
-          TransactionType type) {
+          TransactionType type,
+      @Parameter(description = "Account on either side of the transaction")
+          @RequestParam(name = "accountId", required = false)
+          Long accountId,
+      @Parameter(description = "Minimum amount (inclusive)")
+          @RequestParam(name = "minAmount", required = false)
+          BigDecimal minAmount,
+      @Parameter(description = "Maximum amount (inclusive)")
+          @RequestParam(name = "maxAmount", required = false)
+          BigDecimal maxAmount,
+      @Parameter(description = "Case-insensitive text the description must contain")
+          @RequestParam(name = "description", required = false)
+          String description,
+      @Parameter(
+              description =
+                  "Add an explain section with the chosen index, rows examined and sorted, and"
+                      + " the time spent filtering, sorting, paging and mapping")
+          @RequestParam(name = "explain", defaultValue = "false")
+          boolean explain,
+      WebRequest webRequest) {
 
     size = Math.min(size, LedgerConstants.MAX_PAGE_SIZE);
     PageRequest pageable = PageRequest.of(page, size);
+    TransactionQueryDto query =
+        new TransactionQueryDto(
+            startDate, endDate, type, accountId, minAmount, maxAmount, description, pageable);
 
-    Page<TransactionResponseDto> pageResult =
-        ledgerService.getTransactions(new TransactionQueryDto(startDate, endDate, type, pageable));
-
-    return new PageResponse<>(
-        pageResult.getContent(),
-        pageResult.getPageable().getPageNumber(),
-        pageResult.getPageable().getPageSize(),
-        pageResult.getTotalElements(),
-        pageResult.getTotalPages(),
-        pageResult.isFirst(),
-        pageResult.isLast());
+    if (explain) {
+      ExplainedPage<TransactionResponseDto> result = ledgerService.explainTransactions(query);
+      return toPageResponse(result.page(), result.explain());
+    }
+    if (notModified(webRequest)) {
+      return null;
+    }
+    return toPageResponse(ledgerService.getTransactionsJson(query), null);
   }
 
   @PostMapping("/transactions")
   @ResponseStatus(HttpStatus.CREATED)
   @Operation(
       summary = "Create a new transaction",
-      description = "Create a new deposit or withdrawal transaction",
+      description =
+          "Create a new deposit or withdrawal transaction. Requests repeated with the same "
+              + "Idempotency-Key header return the originally created transaction.",
       tags = {"Transactions"})
   @ApiResponses(
       value = {
@@ -141,8 +189,11 @@ public class LedgerController {
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
   public SuccessResponse<TransactionResponseDto> createTransaction(
-      @Valid @RequestBody TransactionRequestDto request) {
-    TransactionResponseDto transaction = ledgerService.createTransaction(request);
+      @Valid @RequestBody TransactionRequestDto request,
+      @Parameter(description = "Client-generated key that makes retries of this request safe")
+          @RequestHeader(name = LedgerConstants.IDEMPOTENCY_KEY_HEADER, required = false)
+          String idempotencyKey) {
+    TransactionResponseDto transaction = ledgerService.createTransaction(request, idempotencyKey);
     return SuccessResponse.ok(transaction, "Transaction created successfully");
   }
 
@@ -169,11 +220,33 @@ public class LedgerController {
                     mediaType = "application/json",
                     schema = @Schema(implementation = ErrorResponse.class)))
       })
-  public SuccessResponse<TransactionResponseDto> getTransactionById(
+  public ResponseEntity<SuccessResponse<TransactionJson>> getTransactionById(
       @Parameter(description = "ID of the transaction", required = true) @PathVariable(name = "id")
           Long id) {
 
-    TransactionResponseDto transaction = ledgerService.getTransactionById(id);
-    return SuccessResponse.ok(transaction);
+    TransactionJson transaction = ledgerService.getTransactionJson(id);
+    return ResponseEntity.ok().cacheControl(IMMUTABLE).body(SuccessResponse.ok(transaction));
+  }
+
+  /**
+   * Tags the response with the ledger version and answers 304 when the client's {@code
+   * If-None-Match} already names it, before any query or serialization work. The version is read
+   * first, so a response is never older than its tag. Skipped while a write is in progress.
+   */
+  private boolean notModified(WebRequest webRequest) {
+    long version = ledgerService.getVersion();
+    return version >= 0 && webRequest.checkNotModified(ETAG_PREFIX + version);
+  }
+
+  private static <T> PageResponse<T> toPageResponse(Page<T> pageResult, QueryExplainDto explain) {
+    return new PageResponse<>(
+        pageResult.getContent(),
+        pageResult.getPageable().getPageNumber(),
+        pageResult.getPageable().getPageSize(),
+        pageResult.getTotalElements(),
+        pageResult.getTotalPages(),
+        pageResult.isFirst(),
+        pageResult.isLast(),
+        explain);
   }
 }
@@ -0,0 +1,68 @@
+package pocket.ledger.controller.v1;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.concurrent.CompletableFuture;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pocket.ledger.dto.v1.ChangesResponseDto;
+import pocket.ledger.dto.v1.ErrorResponse;
+import pocket.ledger.dto.v1.SuccessResponse;
+import pocket.ledger.service.changes.ChangeFeedService;
+
+@RestController
+@RequestMapping("/api/v1")
+@AllArgsConstructor
+public class TransactionChangesController {
+
+  private final ChangeFeedService changeFeedService;
+
+  @GetMapping("/transactions/changes")
+  @Operation(
+      summary = "Transactions since a sequence number",
+      description =
+          "Returns transactions with an id greater than 'since', oldest first. When there are none"
+              + " the request is held for up to 'wait' and answered as soon as one arrives. Pass"
+              + " 'nextSince' from the response as 'since' on the next poll.",
+      tags = {"Transactions"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Changes retrieved (possibly empty)"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid query parameters",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Too many pending polls",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  public CompletableFuture<SuccessResponse<ChangesResponseDto>> getChanges(
+      @Parameter(description = "Last transaction id already seen (0 for the beginning)")
+          @RequestParam(name = "since", defaultValue = "0")
+          long since,
+      @Parameter(description = "How long to wait for new data, e.g. 30s or PT30S (0 to not wait)")
+          @RequestParam(name = "wait", defaultValue = "0s")
+          String wait,
+      @Parameter(description = "Maximum number of transactions to return")
+          @RequestParam(name = "limit", required = false)
+          Integer limit) {
+    return changeFeedService
+        .poll(since, DurationStyle.detectAndParse(wait), limit)
+        .thenApply(SuccessResponse::ok);
+  }
+}
@@ -0,0 +1,112 @@
+package pocket.ledger.controller.v1;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.Callable;
+import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import pocket.ledger.dto.v1.ErrorResponse;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.service.export.ExportProperties;
+import pocket.ledger.service.export.TransactionExportService;
+
+@RestController
+@RequestMapping("/api/v1")
+@AllArgsConstructor
+public class TransactionExportController {
+
+  private final TransactionExportService exportService;
+  private final ExportProperties exportProperties;
+
+  @GetMapping("/transactions/export")
+  @Operation(
+      summary = "Export transaction history",
+      description =
+          "Stream the full transaction history, newest first, as NDJSON or CSV. Accepts the same "
+              + "filters as the transaction listing.",
+      tags = {"Transactions"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Export streamed successfully"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid query parameters",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  public WebAsyncTask<Void> exportTransactions(
+      @Parameter(description = "Export format: ndjson or csv")
+          @RequestParam(name = "format", defaultValue = "ndjson")
+          String format,
+      @Parameter(description = "Start date (ISO format)")
+          @RequestParam(name = "startDate", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime startDate,
+      @Parameter(description = "End date (ISO format)")
+          @RequestParam(name = "endDate", required = false)
+          @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+          LocalDateTime endDate,
+      @Parameter(description = "Transaction type") @RequestParam(name = "type", required = false)
+          TransactionType type,
+      @Parameter(description = "Account on either side of the transaction")
+          @RequestParam(name = "accountId", required = false)
+          Long accountId,
+      @Parameter(description = "Minimum amount (inclusive)")
+          @RequestParam(name = "minAmount", required = false)
+          BigDecimal minAmount,
+      @Parameter(description = "Maximum amount (inclusive)")
+          @RequestParam(name = "maxAmount", required = false)
+          BigDecimal maxAmount,
+      @Parameter(description = "Case-insensitive text the description must contain")
+          @RequestParam(name = "description", required = false)
+          String description,
+      @Parameter(description = "Gzip-compress the response body")
+          @RequestParam(name = "gzip", defaultValue = "false")
+          boolean gzip,
+      HttpServletResponse response) {
+
+    ExportFormat exportFormat = ExportFormat.fromString(format);
+    TransactionQueryDto filter =
+        new TransactionQueryDto(
+            startDate, endDate, type, accountId, minAmount, maxAmount, description, null);
+
+    response.setContentType(exportFormat.getContentType());
+    response.setHeader(
+        HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment()
+            .filename("transactions." + exportFormat.getFileExtension())
+            .build()
+            .toString());
+    if (gzip) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    // A full-history export can outlast spring.mvc.async.request-timeout, which is sized for
+    // long-polls, so the task carries its own timeout; a StreamingResponseBody cannot.
+    // Zero or less disables it.
+    Callable<Void> export =
+        () -> {
+          exportService.export(filter, exportFormat, gzip, response.getOutputStream());
+          return null;
+        };
+    return new WebAsyncTask<>(exportProperties.getTimeout().toMillis(), export);
+  }
+}
@@ -0,0 +1,72 @@
+package pocket.ledger.controller.v1;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pocket.ledger.dto.v1.ErrorResponse;
+import pocket.ledger.dto.v1.ImportResultDto;
+import pocket.ledger.dto.v1.SuccessResponse;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.service.importer.TransactionImportService;
+
+@RestController
+@RequestMapping("/api/v1")
+@AllArgsConstructor
+public class TransactionImportController {
+
+  private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+  private final TransactionImportService importService;
+
+  @PostMapping("/transactions/import")
+  @Operation(
+      summary = "Bulk import transactions",
+      description =
+          "Load a CSV or NDJSON file sent as the raw request body. Rows are validated with the "
+              + "same rules as single transactions; invalid rows are skipped and reported. "
+              + "Send 'Content-Encoding: gzip' for compressed files.",
+      tags = {"Transactions"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Import completed"),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Unknown format or malformed header",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  public SuccessResponse<ImportResultDto> importTransactions(
+      @Parameter(description = "File format: ndjson or csv")
+          @RequestParam(name = "format", defaultValue = "ndjson")
+          String format,
+      @Parameter(hidden = true)
+          @RequestHeader(name = HttpHeaders.CONTENT_ENCODING, required = false)
+          String contentEncoding,
+      InputStream body)
+      throws IOException {
+
+    ExportFormat importFormat = ExportFormat.fromString(format);
+    InputStream in =
+        "gzip".equalsIgnoreCase(contentEncoding)
+            ? new GZIPInputStream(body, GZIP_BUFFER_SIZE)
+            : body;
+
+    ImportResultDto result = importService.importTransactions(in, importFormat);
+    return SuccessResponse.ok(result, "Import completed");
+  }
+}
@@ -0,0 +1,46 @@
+package pocket.ledger.controller.v1;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pocket.ledger.dto.v1.ErrorResponse;
+import pocket.ledger.service.stream.TransactionStreamService;
+
+@RestController
+@RequestMapping("/api/v1")
+@AllArgsConstructor
+public class TransactionStreamController {
+
+  private final TransactionStreamService streamService;
+
+  @GetMapping(value = "/transactions/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  @Operation(
+      summary = "Live transaction feed",
+      description =
+          "Server-Sent Events feed. Sends the current balance on connect, then a 'transaction' "
+              + "event per new transaction and a coalesced 'balance' event after each batch. "
+              + "Slow clients get a 'dropped' event with the number of transactions they missed.",
+      tags = {"Transactions"})
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(
+            responseCode = "503",
+            description = "Subscriber limit reached",
+            content =
+                @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+      })
+  public SseEmitter streamTransactions() {
+    return streamService.subscribe();
+  }
+}
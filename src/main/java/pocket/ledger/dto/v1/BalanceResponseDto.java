@@ -2,6 +2,13 @@ package pocket.ledger.dto.v1;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import pocket.ledger.model.LedgerSummary;
 
 public record BalanceResponseDto(
-    BigDecimal balance, Long totalTransactions, LocalDateTime asOfTimestamp) {}
+    BigDecimal balance, Long totalTransactions, LocalDateTime asOfTimestamp, long version) {
+
+  public static BalanceResponseDto fromSummary(LedgerSummary summary) {
+    return new BalanceResponseDto(
+        summary.balance(), summary.transactionCount(), LocalDateTime.now(), summary.version());
+  }
+}
@@ -0,0 +1,10 @@
+package pocket.ledger.dto.v1;
+
+import java.util.List;
+
+/**
+ * A slice of the transaction sequence. Clients pass {@code nextSince} back as {@code since} on the
+ * next poll; {@code hasMore} means the limit was hit and another poll returns immediately.
+ */
+public record ChangesResponseDto(
+    List<TransactionResponseDto> transactions, long since, long nextSince, boolean hasMore) {}
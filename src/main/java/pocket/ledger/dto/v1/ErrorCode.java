@@ -30,6 +30,8 @@ public enum ErrorCode {
       "INTERNAL_SERVER_ERROR", "Internal server error", HttpStatus.INTERNAL_SERVER_ERROR),
   SERVICE_UNAVAILABLE(
       "SERVICE_UNAVAILABLE", "Service temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE),
+  RATE_LIMIT_EXCEEDED(
+      "RATE_LIMIT_EXCEEDED", "Too many requests, slow down", HttpStatus.TOO_MANY_REQUESTS),
 
   // Resource errors
   RESOURCE_NOT_FOUND("RESOURCE_NOT_FOUND", "Requested resource not found", HttpStatus.NOT_FOUND),
@@ -0,0 +1,12 @@
+package pocket.ledger.dto.v1;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ImportResultDto(
+    long importedRows,
+    long rejectedRows,
+    BigDecimal balanceDelta,
+    BigDecimal balance,
+    long durationMillis,
+    List<ImportRowErrorDto> errors) {}
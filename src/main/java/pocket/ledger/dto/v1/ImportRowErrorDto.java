@@ -0,0 +1,3 @@
+package pocket.ledger.dto.v1;
+
+public record ImportRowErrorDto(long row, String message) {}
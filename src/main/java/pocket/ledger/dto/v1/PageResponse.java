@@ -1,7 +1,9 @@
 package pocket.ledger.dto.v1;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.util.List;
 
+/** A page of results; {@code explain} is only present when the client asked for it. */
 public record PageResponse<T>(
     List<T> data,
     int pageNumber,
@@ -9,4 +11,17 @@ public record PageResponse<T>(
     long totalElements,
     int totalPages,
     boolean first,
-    boolean last) {}
+    boolean last,
+    @JsonInclude(JsonInclude.Include.NON_NULL) QueryExplainDto explain) {
+
+  public PageResponse(
+      List<T> data,
+      int pageNumber,
+      int pageSize,
+      long totalElements,
+      int totalPages,
+      boolean first,
+      boolean last) {
+    this(data, pageNumber, pageSize, totalElements, totalPages, first, last, null);
+  }
+}
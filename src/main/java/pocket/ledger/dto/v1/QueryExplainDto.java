@@ -0,0 +1,37 @@
+package pocket.ledger.dto.v1;
+
+import java.util.List;
+
+/**
+ * How a transaction query was answered. {@code index} is the access path the planner chose ({@code
+ * none} for a full scan) with its row estimate, and {@code filters} are the predicates applied on
+ * top of it. Timings are in milliseconds; {@code totalMillis} also covers planning.
+ */
+public record QueryExplainDto(
+    String index,
+    long estimatedRows,
+    List<String> filters,
+    long rowsExamined,
+    long rowsSorted,
+    long rowsReturned,
+    double filterMillis,
+    double sortMillis,
+    double pageMillis,
+    double mappingMillis,
+    double totalMillis) {
+
+  public QueryExplainDto withMapping(double mappingMillis) {
+    return new QueryExplainDto(
+        index,
+        estimatedRows,
+        filters,
+        rowsExamined,
+        rowsSorted,
+        rowsReturned,
+        filterMillis,
+        sortMillis,
+        pageMillis,
+        mappingMillis,
+        totalMillis + mappingMillis);
+  }
+}
@@ -0,0 +1,29 @@
+package pocket.ledger.dto.v1;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+
+public record TransactionExportDto(
+    Long id,
+    Long sourceAccountId,
+    Long destinationAccountId,
+    BigDecimal amount,
+    TransactionType type,
+    String description,
+    LocalDateTime createdDate,
+    LocalDateTime lastModifiedDate) {
+
+  public static TransactionExportDto fromEntity(Transaction transaction) {
+    return new TransactionExportDto(
+        transaction.getId(),
+        transaction.getSourceAccountId(),
+        transaction.getDestinationAccountId(),
+        transaction.getAmount(),
+        transaction.getType(),
+        transaction.getDescription(),
+        transaction.getCreatedDate(),
+        transaction.getLastModifiedDate());
+  }
+}
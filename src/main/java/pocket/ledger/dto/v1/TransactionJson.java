@@ -0,0 +1,138 @@
+package pocket.ledger.dto.v1;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A transaction already encoded as the UTF-8 JSON of its {@link TransactionResponseDto}. Responses
+ * holding it write the bytes as a raw value: a byte-based generator copies them straight into its
+ * output buffer, so the transaction is neither mapped nor serialized again.
+ *
+ * <p>The unquoted {@link SerializableString} forms are the encoded bytes; the quoted forms, which
+ * nothing here writes, escape them as a JSON string.
+ */
+@Schema(implementation = TransactionResponseDto.class)
+public final class TransactionJson implements SerializableString, JsonSerializable {
+
+  private final byte[] utf8;
+
+  public TransactionJson(byte[] utf8) {
+    this.utf8 = utf8;
+  }
+
+  /** The encoded size in bytes. */
+  public int length() {
+    return utf8.length;
+  }
+
+  @Override
+  public void serialize(JsonGenerator generator, SerializerProvider serializers)
+      throws IOException {
+    generator.writeRawValue(this);
+  }
+
+  @Override
+  public void serializeWithType(
+      JsonGenerator generator, SerializerProvider serializers, TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  @Override
+  public String getValue() {
+    return new String(utf8, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public int charLength() {
+    return getValue().length();
+  }
+
+  /** The encoded bytes themselves, not a copy, as in {@link SerializedString}. Do not modify. */
+  @Override
+  public byte[] asUnquotedUTF8() {
+    return utf8;
+  }
+
+  @Override
+  public int appendUnquotedUTF8(byte[] buffer, int offset) {
+    if (utf8.length > buffer.length - offset) {
+      return -1;
+    }
+    System.arraycopy(utf8, 0, buffer, offset, utf8.length);
+    return utf8.length;
+  }
+
+  @Override
+  public int appendUnquoted(char[] buffer, int offset) {
+    String value = getValue();
+    if (value.length() > buffer.length - offset) {
+      return -1;
+    }
+    value.getChars(0, value.length(), buffer, offset);
+    return value.length();
+  }
+
+  @Override
+  public int writeUnquotedUTF8(OutputStream out) throws IOException {
+    out.write(utf8);
+    return utf8.length;
+  }
+
+  @Override
+  public int putUnquotedUTF8(ByteBuffer buffer) {
+    if (utf8.length > buffer.remaining()) {
+      return -1;
+    }
+    buffer.put(utf8);
+    return utf8.length;
+  }
+
+  @Override
+  public char[] asQuotedChars() {
+    return quoted().asQuotedChars();
+  }
+
+  @Override
+  public byte[] asQuotedUTF8() {
+    return quoted().asQuotedUTF8();
+  }
+
+  @Override
+  public int appendQuotedUTF8(byte[] buffer, int offset) {
+    return quoted().appendQuotedUTF8(buffer, offset);
+  }
+
+  @Override
+  public int appendQuoted(char[] buffer, int offset) {
+    return quoted().appendQuoted(buffer, offset);
+  }
+
+  @Override
+  public int writeQuotedUTF8(OutputStream out) throws IOException {
+    return quoted().writeQuotedUTF8(out);
+  }
+
+  @Override
+  public int putQuotedUTF8(ByteBuffer buffer) throws IOException {
+    return quoted().putQuotedUTF8(buffer);
+  }
+
+  @Override
+  public String toString() {
+    return getValue();
+  }
+
+  private SerializableString quoted() {
+    return new SerializedString(getValue());
+  }
+}
@@ -1,11 +1,32 @@
 package pocket.ledger.dto.v1;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import pocket.ledger.enums.TransactionType;
 import pocket.ledger.util.PageRequest;
 
+/**
+ * Transaction list filters; every field but {@code pageRequest} is optional and the given ones are
+ * combined with AND. {@code accountId} matches either side of a transaction, {@code minAmount} and
+ * {@code maxAmount} are inclusive and {@code description} is a case-insensitive substring.
+ */
 public record TransactionQueryDto(
-    LocalDateTime startDate, LocalDateTime endDate, TransactionType type, PageRequest pageRequest) {
+    LocalDateTime startDate,
+    LocalDateTime endDate,
+    TransactionType type,
+    Long accountId,
+    BigDecimal minAmount,
+    BigDecimal maxAmount,
+    String description,
+    PageRequest pageRequest) {
+
+  public TransactionQueryDto(
+      LocalDateTime startDate,
+      LocalDateTime endDate,
+      TransactionType type,
+      PageRequest pageRequest) {
+    this(startDate, endDate, type, null, null, null, null, pageRequest);
+  }
 
   public boolean hasDateRange() {
     return startDate != null && endDate != null;
@@ -18,4 +39,16 @@ public record TransactionQueryDto(
   public boolean hasDateRangeAndType() {
     return hasDateRange() && hasType();
   }
+
+  public boolean hasAccount() {
+    return accountId != null;
+  }
+
+  public boolean hasAmountRange() {
+    return minAmount != null || maxAmount != null;
+  }
+
+  public boolean hasDescription() {
+    return description != null && !description.isBlank();
+  }
 }
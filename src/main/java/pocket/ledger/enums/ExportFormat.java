@@ -0,0 +1,35 @@
+package pocket.ledger.enums;
+
+public enum ExportFormat {
+  NDJSON("application/x-ndjson", "ndjson"),
+  CSV("text/csv", "csv");
+
+  private final String contentType;
+  private final String fileExtension;
+
+  ExportFormat(String contentType, String fileExtension) {
+    this.contentType = contentType;
+    this.fileExtension = fileExtension;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  public String getFileExtension() {
+    return fileExtension;
+  }
+
+  public static ExportFormat fromString(String value) {
+    if (value == null) {
+      throw new IllegalArgumentException("Export format cannot be null");
+    }
+
+    try {
+      return ExportFormat.valueOf(value.trim().toUpperCase());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException(
+          String.format("Invalid export format: '%s'. Valid values are: ndjson, csv", value));
+    }
+  }
+}
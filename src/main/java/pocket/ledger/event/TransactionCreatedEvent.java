@@ -0,0 +1,6 @@
+package pocket.ledger.event;
+
+import pocket.ledger.dto.v1.TransactionResponseDto;
+
+/** Published after a transaction has been saved through the service. */
+public record TransactionCreatedEvent(TransactionResponseDto transaction) {}
@@ -0,0 +1,4 @@
+package pocket.ledger.event;
+
+/** Published once after a bulk import has been stored and its balance applied. */
+public record TransactionsImportedEvent(long importedRows) {}
@@ -4,6 +4,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -82,6 +83,46 @@ public class GlobalExceptionHandler {
     return new ResponseEntity<>(errorResponse, HttpStatus.NOT_FOUND);
   }
 
+  @ExceptionHandler(ServiceOverloadedException.class)
+  public ResponseEntity<ErrorResponse> handleServiceOverloadedException(
+      ServiceOverloadedException ex, WebRequest request) {
+    String errorId = generateErrorId();
+    String requestUri = request.getDescription(false);
+
+    log.warn(
+        "Service overloaded [{}]: {} at {} - Reason: {}",
+        errorId,
+        ex.getMessage(),
+        requestUri,
+        ex.getParameters()[0]);
+    ErrorResponse errorResponse =
+        createErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, errorId);
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorResponse);
+  }
+
+  @ExceptionHandler(RateLimitExceededException.class)
+  public ResponseEntity<ErrorResponse> handleRateLimitExceededException(
+      RateLimitExceededException ex, WebRequest request) {
+    String errorId = generateErrorId();
+    String requestUri = request.getDescription(false);
+
+    log.info(
+        "Rate limit exceeded [{}]: {} at {} - Quota: {}",
+        errorId,
+        ex.getMessage(),
+        requestUri,
+        ex.getParameters()[0]);
+    ErrorResponse errorResponse =
+        createErrorResponse(ex.getMessage(), HttpStatus.TOO_MANY_REQUESTS, errorId);
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+        .body(errorResponse);
+  }
+
   @ExceptionHandler(IllegalArgumentException.class)
   public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
       IllegalArgumentException ex, WebRequest request) {
@@ -0,0 +1,14 @@
+package pocket.ledger.exception;
+
+import lombok.Getter;
+import pocket.ledger.dto.v1.ErrorCode;
+
+@Getter
+public class RateLimitExceededException extends BaseBusinessException {
+  private final long retryAfterSeconds;
+
+  public RateLimitExceededException(String quota, long retryAfterSeconds) {
+    super(ErrorCode.RATE_LIMIT_EXCEEDED, quota, retryAfterSeconds);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
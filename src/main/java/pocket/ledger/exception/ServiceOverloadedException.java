@@ -0,0 +1,14 @@
+package pocket.ledger.exception;
+
+import lombok.Getter;
+import pocket.ledger.dto.v1.ErrorCode;
+
+@Getter
+public class ServiceOverloadedException extends BaseBusinessException {
+  private final long retryAfterSeconds;
+
+  public ServiceOverloadedException(String reason, long retryAfterSeconds) {
+    super(ErrorCode.SERVICE_UNAVAILABLE, reason, retryAfterSeconds);
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+}
@@ -0,0 +1,57 @@
+package pocket.ledger.init;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.stereotype.Component;
+import pocket.ledger.dto.v1.ImportResultDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.service.importer.ImportProperties;
+import pocket.ledger.service.importer.TransactionImportService;
+
+/**
+ * CLI import mode: imports {@code app.import.file} on startup. Combine with {@code
+ * --spring.main.web-application-type=none} to load a file and exit.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DataImportComponent implements CommandLineRunner {
+
+  private final TransactionImportService importService;
+  private final ImportProperties importProperties;
+
+  @Override
+  public void run(String... args) throws IOException {
+    String file = importProperties.getFile();
+    if (file == null || file.isBlank()) {
+      return;
+    }
+
+    Path path = Path.of(file);
+    ExportFormat format = ExportFormat.fromString(importProperties.getFormat());
+    log.info("Importing {} transactions from {}...", format, path);
+
+    try (InputStream in = open(path)) {
+      ImportResultDto result = importService.importTransactions(in, format);
+      log.info(
+          "Import of {} completed: {} imported, {} rejected in {} ms. Balance: {}",
+          path,
+          result.importedRows(),
+          result.rejectedRows(),
+          result.durationMillis(),
+          result.balance());
+      result.errors().forEach(error -> log.warn("Row {}: {}", error.row(), error.message()));
+    }
+  }
+
+  private InputStream open(Path path) throws IOException {
+    InputStream in = Files.newInputStream(path);
+    return path.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in) : in;
+  }
+}
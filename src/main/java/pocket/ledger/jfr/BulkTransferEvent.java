@@ -0,0 +1,30 @@
+package pocket.ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** A whole import or export, the bulk paths that move the ledger in and out of the process. */
+@Name("pocket.ledger.BulkTransfer")
+@Label("Bulk Transfer")
+@Category({"Pocket Ledger", "Transactions"})
+@Description("A transaction import or export")
+@StackTrace(false)
+public class BulkTransferEvent extends Event {
+
+  @Label("Operation")
+  @Description("import or export")
+  public String operation;
+
+  @Label("Format")
+  public String format;
+
+  @Label("Rows")
+  public long rows;
+
+  @Label("Rejected Rows")
+  public long rejectedRows;
+}
@@ -0,0 +1,33 @@
+package pocket.ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One {@code createTransaction} call, including the balance lock wait and idempotency check. */
+@Name("pocket.ledger.CreateTransaction")
+@Label("Create Transaction")
+@Category({"Pocket Ledger", "Transactions"})
+@Description("Creation of a single transaction through the ledger service")
+@StackTrace(false)
+public class CreateTransactionEvent extends Event {
+
+  @Label("Type")
+  public String type;
+
+  @Label("Amount")
+  public String amount;
+
+  @Label("Idempotency Key Present")
+  public boolean idempotent;
+
+  @Label("Outcome")
+  @Description("created, replayed, rejected, overloaded or failed")
+  public String outcome;
+
+  @Label("Transaction Id")
+  public long transactionId;
+}
@@ -0,0 +1,31 @@
+package pocket.ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Storing rows and updating the time and idempotency indexes for a single save or a batch. */
+@Name("pocket.ledger.IndexMaintenance")
+@Label("Index Maintenance")
+@Category({"Pocket Ledger", "Repository"})
+@Description("Writes to the transaction store and its secondary indexes")
+@StackTrace(false)
+public class IndexMaintenanceEvent extends Event {
+
+  @Label("Operation")
+  @Description("save or saveAll")
+  public String operation;
+
+  @Label("Rows")
+  public long rows;
+
+  @Label("Keyed Rows")
+  @Description("Rows that also wrote an idempotency index entry")
+  public long keyedRows;
+
+  @Label("Time Index Size")
+  public long timeIndexSize;
+}
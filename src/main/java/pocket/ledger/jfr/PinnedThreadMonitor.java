@@ -0,0 +1,99 @@
+package pocket.ledger.jfr;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} events while requests run on virtual threads
+ * and records each one under {@code ledger.threads.pinned}, tagged with the innermost ledger frame
+ * on the pinned stack. A virtual thread is pinned when it blocks inside a {@code synchronized}
+ * block or a native frame, holding its carrier thread for as long as it waits.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+  static final String METER_NAME = "ledger.threads.pinned";
+  static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  /** The site reported for pinning with no ledger code on the stack. */
+  static final String EXTERNAL = "external";
+
+  private static final String LEDGER_PACKAGE = "pocket.ledger.";
+
+  private final PinnedThreadProperties properties;
+  private final MeterRegistry meterRegistry;
+  private volatile RecordingStream stream;
+
+  public PinnedThreadMonitor(PinnedThreadProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public void start() {
+    RecordingStream recording = new RecordingStream();
+    recording.enable(PINNED_EVENT).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+    recording.onEvent(PINNED_EVENT, this::record);
+    recording.startAsync();
+    stream = recording;
+    log.info(
+        "Counting virtual threads pinned for at least {} ms",
+        properties.getPinnedThreshold().toMillis());
+  }
+
+  @Override
+  public void stop() {
+    RecordingStream recording = stream;
+    stream = null;
+    if (recording != null) {
+      recording.close();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return stream != null;
+  }
+
+  /** Records a virtual thread that was pinned at {@code site} for {@code duration}. */
+  void pinned(String site, Duration duration) {
+    Timer.builder(METER_NAME)
+        .description("Time virtual threads spent blocked while pinned to their carrier")
+        .tag("site", site)
+        .register(meterRegistry)
+        .record(duration);
+    log.debug("Virtual thread pinned for {} ms at {}", duration.toMillis(), site);
+  }
+
+  private void record(RecordedEvent event) {
+    pinned(site(event.getStackTrace()), event.getDuration());
+  }
+
+  /** The innermost ledger method on {@code stackTrace}, as {@code Class.method}. */
+  static String site(RecordedStackTrace stackTrace) {
+    List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+    for (RecordedFrame frame : frames) {
+      if (!frame.isJavaFrame()) {
+        continue;
+      }
+      String type = frame.getMethod().getType().getName();
+      if (type.startsWith(LEDGER_PACKAGE)) {
+        return type.substring(type.lastIndexOf('.') + 1) + "." + frame.getMethod().getName();
+      }
+    }
+    return EXTERNAL;
+  }
+}
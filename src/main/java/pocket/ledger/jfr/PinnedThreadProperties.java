@@ -0,0 +1,15 @@
+package pocket.ledger.jfr;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.virtual-threads")
+public class PinnedThreadProperties {
+
+  /** Virtual threads blocked while pinned for at least this long are counted. */
+  private Duration pinnedThreshold = Duration.ofMillis(20);
+}
@@ -0,0 +1,39 @@
+package pocket.ledger.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** One transaction query, from planning to the returned page. */
+@Name("pocket.ledger.QueryExecution")
+@Label("Query Execution")
+@Category({"Pocket Ledger", "Queries"})
+@Description("Planning and execution of a transaction query")
+@StackTrace(false)
+public class QueryExecutionEvent extends Event {
+
+  @Label("Index")
+  @Description("Index the planner chose, or none for a full scan")
+  public String index;
+
+  @Label("Filters")
+  @Description("Predicates applied as a filter on top of the index")
+  public String filters;
+
+  @Label("Query")
+  @Description("The query as requested: every filter given and the page")
+  public String query;
+
+  @Label("Rows Scanned")
+  @Description("Rows read from the store or an index to answer the query")
+  public long rowsScanned;
+
+  @Label("Rows Matched")
+  public long rowsMatched;
+
+  @Label("Rows Returned")
+  public long rowsReturned;
+}
@@ -0,0 +1,23 @@
+package pocket.ledger.model;
+
+import java.math.BigDecimal;
+
+/**
+ * The ledger's totals as of one version: the balance, the number of stored transactions, the
+ * highest stored id and the number of writes completed. A summary is never modified; every write
+ * publishes a new one, so the fields always agree with each other.
+ */
+public record LedgerSummary(
+    BigDecimal balance, long transactionCount, long lastId, long version) {
+
+  public static final LedgerSummary EMPTY = new LedgerSummary(BigDecimal.ZERO, 0, 0, 0);
+
+  /** The summary one write later, after it adjusted the balance and stored {@code rows} rows. */
+  public LedgerSummary next(BigDecimal balanceDelta, long rows, long storedId) {
+    return new LedgerSummary(
+        balanceDelta.signum() == 0 ? balance : balance.add(balanceDelta),
+        transactionCount + rows,
+        Math.max(lastId, storedId),
+        version + 1);
+  }
+}
@@ -14,6 +14,7 @@ public class Transaction extends BaseModel {
   private BigDecimal amount;
   private TransactionType type;
   private String description;
+  private String idempotencyKey;
 
   public Transaction(
       Long sourceAccountId,
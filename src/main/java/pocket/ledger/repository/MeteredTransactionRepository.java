@@ -0,0 +1,172 @@
+package pocket.ledger.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.LedgerSummary;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.util.Page;
+import pocket.ledger.util.PageRequest;
+
+/**
+ * Times every {@link TransactionRepositoryImpl} call under {@code ledger.repository} with a {@code
+ * method} tag and exposes the ledger size, index sizes and balance as gauges. Timers are created
+ * once up front, so a call costs two clock reads and a histogram update.
+ *
+ * <p>{@link #streamNewestFirst} is passed through untimed because its work happens lazily in the
+ * caller, and {@link #lastAssignedId}, {@link #version} and {@link #summary} because they are
+ * single reads.
+ */
+@Primary
+@Repository
+public class MeteredTransactionRepository implements TransactionRepository {
+
+  static final String TIMER_NAME = "ledger.repository";
+
+  private final TransactionRepositoryImpl delegate;
+  private final Timer saveTimer;
+  private final Timer saveAllTimer;
+  private final Timer findByIdTimer;
+  private final Timer findByIdempotencyKeyTimer;
+  private final Timer findAllTimer;
+  private final Timer findByDateRangeTimer;
+  private final Timer findByTypeTimer;
+  private final Timer findByDateRangeAndTypeTimer;
+  private final Timer findMatchingTimer;
+  private final Timer findAfterIdTimer;
+
+  public MeteredTransactionRepository(
+      TransactionRepositoryImpl delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.saveTimer = timer(meterRegistry, "save");
+    this.saveAllTimer = timer(meterRegistry, "saveAll");
+    this.findByIdTimer = timer(meterRegistry, "findById");
+    this.findByIdempotencyKeyTimer = timer(meterRegistry, "findByIdempotencyKey");
+    this.findAllTimer = timer(meterRegistry, "findAll");
+    this.findByDateRangeTimer = timer(meterRegistry, "findByDateRange");
+    this.findByTypeTimer = timer(meterRegistry, "findByType");
+    this.findByDateRangeAndTypeTimer = timer(meterRegistry, "findByDateRangeAndType");
+    this.findMatchingTimer = timer(meterRegistry, "findMatching");
+    this.findAfterIdTimer = timer(meterRegistry, "findAfterId");
+
+    Gauge.builder("ledger.transactions", delegate, TransactionRepositoryImpl::countTransactions)
+        .description("Transactions stored in the ledger")
+        .register(meterRegistry);
+    Gauge.builder("ledger.balance", delegate, r -> r.calculateBalance().doubleValue())
+        .description("Current ledger balance")
+        .register(meterRegistry);
+    Gauge.builder("ledger.index.entries", delegate, TransactionRepositoryImpl::timeIndexSize)
+        .description("Entries per repository index")
+        .tag("index", "time")
+        .register(meterRegistry);
+    Gauge.builder(
+            "ledger.index.entries", delegate, TransactionRepositoryImpl::idempotencyIndexSize)
+        .description("Entries per repository index")
+        .tag("index", "idempotency")
+        .register(meterRegistry);
+    Gauge.builder("ledger.index.entries", delegate, TransactionRepositoryImpl::accountIndexSize)
+        .description("Entries per repository index")
+        .tag("index", "account")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public Transaction save(Transaction transaction) {
+    return saveTimer.record(() -> delegate.save(transaction));
+  }
+
+  @Override
+  public void saveAll(List<Transaction> transactions) {
+    saveAllTimer.record(() -> delegate.saveAll(transactions));
+  }
+
+  @Override
+  public Optional<Transaction> findById(Long id) {
+    return findByIdTimer.record(() -> delegate.findById(id));
+  }
+
+  @Override
+  public Optional<Transaction> findByIdempotencyKey(String idempotencyKey) {
+    return findByIdempotencyKeyTimer.record(() -> delegate.findByIdempotencyKey(idempotencyKey));
+  }
+
+  @Override
+  public Page<Transaction> findAll(PageRequest pageable) {
+    return findAllTimer.record(() -> delegate.findAll(pageable));
+  }
+
+  @Override
+  public Page<Transaction> findByDateRange(
+      LocalDateTime startDate, LocalDateTime endDate, PageRequest pageable) {
+    return findByDateRangeTimer.record(
+        () -> delegate.findByDateRange(startDate, endDate, pageable));
+  }
+
+  @Override
+  public Page<Transaction> findByType(TransactionType type, PageRequest pageable) {
+    return findByTypeTimer.record(() -> delegate.findByType(type, pageable));
+  }
+
+  @Override
+  public Page<Transaction> findByDateRangeAndType(
+      LocalDateTime startDate, LocalDateTime endDate, TransactionType type, PageRequest pageable) {
+    return findByDateRangeAndTypeTimer.record(
+        () -> delegate.findByDateRangeAndType(startDate, endDate, type, pageable));
+  }
+
+  @Override
+  public Page<Transaction> findMatching(
+      List<TransactionPredicate> predicates, PageRequest pageable) {
+    return findMatchingTimer.record(() -> delegate.findMatching(predicates, pageable));
+  }
+
+  @Override
+  public Stream<Transaction> streamNewestFirst(List<TransactionPredicate> predicates) {
+    return delegate.streamNewestFirst(predicates);
+  }
+
+  @Override
+  public List<Transaction> findAfterId(long afterId, int limit) {
+    return findAfterIdTimer.record(() -> delegate.findAfterId(afterId, limit));
+  }
+
+  @Override
+  public long lastAssignedId() {
+    return delegate.lastAssignedId();
+  }
+
+  @Override
+  public long version() {
+    return delegate.version();
+  }
+
+  @Override
+  public LedgerSummary summary() {
+    return delegate.summary();
+  }
+
+  @Override
+  public BigDecimal calculateBalance() {
+    return delegate.calculateBalance();
+  }
+
+  @Override
+  public Long countTransactions() {
+    return delegate.countTransactions();
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String method) {
+    return Timer.builder(TIMER_NAME)
+        .description("Repository call time per method")
+        .tag("method", method)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,107 @@
+package pocket.ledger.repository;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Records how the repository answered the queries run while the profile is started on the calling
+ * thread: the index the planner chose and its row estimate, the predicates left as filters, the
+ * rows walked through {@link #count(Stream)}, the rows sorted and the time spent filtering, sorting
+ * and paging. Parallel streams are fine because the profile is looked up once, on the calling
+ * thread.
+ */
+public final class QueryProfile {
+
+  /** Reported as the index for queries that walk every stored transaction. */
+  public static final String FULL_SCAN = "none";
+
+  private static final ThreadLocal<QueryProfile> CURRENT = new ThreadLocal<>();
+
+  private final LongAdder rowsScanned = new LongAdder();
+  private final QueryProfile previous;
+  private String index;
+  private long estimatedRows;
+  private List<String> filters = List.of();
+  private long rowsSorted;
+  private long filterNanos;
+  private long sortNanos;
+  private long pageNanos;
+
+  private QueryProfile(QueryProfile previous) {
+    this.previous = previous;
+  }
+
+  /** Starts profiling on the current thread; nested profiles restore the outer one on stop. */
+  public static QueryProfile start() {
+    QueryProfile profile = new QueryProfile(CURRENT.get());
+    CURRENT.set(profile);
+    return profile;
+  }
+
+  public void stop() {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  /** Returns {@code stream} counting towards the current thread's profile, if one is running. */
+  public static <T> Stream<T> count(Stream<T> stream) {
+    QueryProfile profile = CURRENT.get();
+    return profile == null ? stream : stream.peek(row -> profile.rowsScanned.increment());
+  }
+
+  static QueryProfile current() {
+    return CURRENT.get();
+  }
+
+  void recordPlan(long estimatedRows, List<String> filters) {
+    this.estimatedRows += estimatedRows;
+    this.filters = filters;
+  }
+
+  void recordScan(String index, long rowsSorted, long filterNanos, long sortNanos, long pageNanos) {
+    this.index = this.index == null || this.index.equals(index) ? index : this.index + "," + index;
+    this.rowsSorted += rowsSorted;
+    this.filterNanos += filterNanos;
+    this.sortNanos += sortNanos;
+    this.pageNanos += pageNanos;
+  }
+
+  public long rowsScanned() {
+    return rowsScanned.sum();
+  }
+
+  /** The index the query was answered from, {@link #FULL_SCAN}, or {@code null} if none ran. */
+  public String index() {
+    return index;
+  }
+
+  /** The planner's estimate of the rows the chosen index would yield. */
+  public long estimatedRows() {
+    return estimatedRows;
+  }
+
+  /** Predicates applied as a filter on top of the index, by name. */
+  public List<String> filters() {
+    return filters;
+  }
+
+  public long rowsSorted() {
+    return rowsSorted;
+  }
+
+  public long filterNanos() {
+    return filterNanos;
+  }
+
+  public long sortNanos() {
+    return sortNanos;
+  }
+
+  public long pageNanos() {
+    return pageNanos;
+  }
+}
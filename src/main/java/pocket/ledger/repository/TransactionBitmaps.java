@@ -0,0 +1,188 @@
+package pocket.ledger.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionPredicate.Account;
+import pocket.ledger.repository.TransactionPredicate.AmountRange;
+import pocket.ledger.repository.TransactionPredicate.DateRange;
+import pocket.ledger.repository.TransactionPredicate.DescriptionContains;
+import pocket.ledger.repository.TransactionPredicate.OfType;
+import pocket.ledger.util.RoaringBitmap;
+
+/**
+ * Bitmap indexes over the stored transactions. Every row gets a dense ordinal in storage order, and
+ * each type, account, creation day and amount magnitude maps to the bitmap of the ordinals holding
+ * it, so any combination of those predicates is answered by intersecting bitmaps.
+ *
+ * <p>Writers add a row under the write lock; readers combine bitmaps under the read lock into fresh
+ * bitmaps they can keep using after releasing it.
+ */
+final class TransactionBitmaps {
+
+  // Amounts of zero or below share the lowest magnitude bucket.
+  private static final int NON_POSITIVE = Integer.MIN_VALUE;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<TransactionType, RoaringBitmap> byType = new EnumMap<>(TransactionType.class);
+  private final Map<Long, RoaringBitmap> byAccount = new HashMap<>();
+  private final NavigableMap<LocalDate, RoaringBitmap> byDay = new TreeMap<>();
+  private final NavigableMap<Integer, RoaringBitmap> byMagnitude = new TreeMap<>();
+  // Rows created before a row stored ahead of them, e.g. imported history. Storage order is
+  // creation order for every other row.
+  private final RoaringBitmap outOfOrder = new RoaringBitmap();
+  private long[] ids = new long[1024];
+  private int rows;
+  private LocalDateTime latestCreated = LocalDateTime.MIN;
+
+  void add(Transaction transaction) {
+    lock.writeLock().lock();
+    try {
+      int ordinal = rows++;
+      if (ordinal == ids.length) {
+        ids = Arrays.copyOf(ids, ordinal * 2);
+      }
+      ids[ordinal] = transaction.getId();
+
+      LocalDateTime createdDate = transaction.getCreatedDate();
+      if (createdDate.isBefore(latestCreated)) {
+        outOfOrder.add(ordinal);
+      } else {
+        latestCreated = createdDate;
+      }
+      bitmap(byType, transaction.getType()).add(ordinal);
+      bitmap(byDay, createdDate.toLocalDate()).add(ordinal);
+      bitmap(byMagnitude, magnitude(transaction.getAmount())).add(ordinal);
+      if (transaction.getSourceAccountId() != null) {
+        bitmap(byAccount, transaction.getSourceAccountId()).add(ordinal);
+      }
+      if (transaction.getDestinationAccountId() != null) {
+        bitmap(byAccount, transaction.getDestinationAccountId()).add(ordinal);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Intersects the bitmaps of every predicate that has one, or returns {@code null} when none does.
+   * The result holds every matching row; it holds only matching rows when {@code exact} lists every
+   * predicate, the others having merely narrowed it.
+   */
+  Match match(List<TransactionPredicate> predicates) {
+    lock.readLock().lock();
+    try {
+      RoaringBitmap matched = null;
+      List<TransactionPredicate> exact = new ArrayList<>();
+      for (TransactionPredicate predicate : predicates) {
+        RoaringBitmap bitmap = lookup(predicate);
+        if (bitmap == null) {
+          continue;
+        }
+        matched = matched == null ? bitmap.copy() : RoaringBitmap.and(matched, bitmap);
+        if (isExact(predicate)) {
+          exact.add(predicate);
+        }
+      }
+      return matched == null ? null : new Match(matched, exact);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** The transaction ids of {@code ordinals}, in the same order. */
+  long[] ids(int[] ordinals) {
+    lock.readLock().lock();
+    try {
+      long[] result = new long[ordinals.length];
+      for (int i = 0; i < ordinals.length; i++) {
+        result[i] = ids[ordinals[i]];
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Whether ordinal order is creation order for {@code ordinals}, so they need no sorting. */
+  boolean inCreationOrder(RoaringBitmap ordinals) {
+    lock.readLock().lock();
+    try {
+      return RoaringBitmap.and(ordinals, outOfOrder).isEmpty();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  int accounts() {
+    lock.readLock().lock();
+    try {
+      return byAccount.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private RoaringBitmap lookup(TransactionPredicate predicate) {
+    return switch (predicate) {
+      case OfType ofType -> byType.getOrDefault(ofType.type(), new RoaringBitmap());
+      case Account account -> byAccount.getOrDefault(account.accountId(), new RoaringBitmap());
+      case DateRange range -> RoaringBitmap.or(days(range).values());
+      case AmountRange range -> RoaringBitmap.or(magnitudes(range).values());
+      case DescriptionContains description -> null;
+    };
+  }
+
+  private Map<LocalDate, RoaringBitmap> days(DateRange range) {
+    LocalDate firstDay = range.startDate().toLocalDate();
+    LocalDate lastDay = range.endDate().toLocalDate();
+    return lastDay.isBefore(firstDay) ? Map.of() : byDay.subMap(firstDay, true, lastDay, true);
+  }
+
+  private Map<Integer, RoaringBitmap> magnitudes(AmountRange range) {
+    int lowest = range.min() == null ? NON_POSITIVE : magnitude(range.min());
+    int highest = range.max() == null ? Integer.MAX_VALUE : magnitude(range.max());
+    return byMagnitude.subMap(lowest, true, highest, true);
+  }
+
+  /**
+   * Whether the bitmap of {@code predicate} holds only matching rows. Day bitmaps do for ranges of
+   * whole days; magnitude buckets never do.
+   */
+  private static boolean isExact(TransactionPredicate predicate) {
+    return switch (predicate) {
+      case OfType ofType -> true;
+      case Account account -> true;
+      case DateRange range ->
+          range.startDate().toLocalTime().equals(LocalTime.MIDNIGHT)
+              && range.endDate().toLocalTime().equals(LocalTime.MAX);
+      case AmountRange range -> false;
+      case DescriptionContains description -> false;
+    };
+  }
+
+  /** The decimal order of magnitude: 0 for 1 to 9.99, 1 for 10 to 99.99, -1 for 0.1 to 0.99. */
+  private static int magnitude(BigDecimal amount) {
+    return amount.signum() <= 0 ? NON_POSITIVE : amount.precision() - amount.scale() - 1;
+  }
+
+  private static <K> RoaringBitmap bitmap(Map<K, RoaringBitmap> index, K key) {
+    return index.computeIfAbsent(key, ignored -> new RoaringBitmap());
+  }
+
+  /** The rows a query's indexed predicates leave, and which predicates they answer exactly. */
+  record Match(RoaringBitmap rows, List<TransactionPredicate> exact) {}
+}
@@ -0,0 +1,113 @@
+package pocket.ledger.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.function.Predicate;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+
+/**
+ * One condition of a transaction query. A query is the conjunction of a list of predicates; the
+ * repository answers what it can from its indexes when that is cheaper than a full scan and applies
+ * the rest as a streaming filter.
+ */
+public sealed interface TransactionPredicate extends Predicate<Transaction> {
+
+  /** Short name used in query plans and statistics. */
+  String name();
+
+  /** Created between {@code startDate} and {@code endDate}, both inclusive. */
+  record DateRange(LocalDateTime startDate, LocalDateTime endDate) implements TransactionPredicate {
+    public DateRange {
+      Objects.requireNonNull(startDate, "startDate");
+      Objects.requireNonNull(endDate, "endDate");
+    }
+
+    @Override
+    public boolean test(Transaction transaction) {
+      LocalDateTime createdDate = transaction.getCreatedDate();
+      return !createdDate.isBefore(startDate) && !createdDate.isAfter(endDate);
+    }
+
+    @Override
+    public String name() {
+      return "dateRange";
+    }
+  }
+
+  record OfType(TransactionType type) implements TransactionPredicate {
+    public OfType {
+      Objects.requireNonNull(type, "type");
+    }
+
+    @Override
+    public boolean test(Transaction transaction) {
+      return transaction.getType() == type;
+    }
+
+    @Override
+    public String name() {
+      return "type";
+    }
+  }
+
+  /** The account is either the source or the destination of the transaction. */
+  record Account(long accountId) implements TransactionPredicate {
+    @Override
+    public boolean test(Transaction transaction) {
+      return Objects.equals(transaction.getSourceAccountId(), accountId)
+          || Objects.equals(transaction.getDestinationAccountId(), accountId);
+    }
+
+    @Override
+    public String name() {
+      return "account";
+    }
+  }
+
+  /**
+   * Amount between {@code min} and {@code max}, both inclusive; either bound may be open. Bounds
+   * are kept without trailing zeros, so ranges that compare equal are equal.
+   */
+  record AmountRange(BigDecimal min, BigDecimal max) implements TransactionPredicate {
+    public AmountRange {
+      if (min != null && max != null && min.compareTo(max) > 0) {
+        throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+      }
+      min = min == null ? null : min.stripTrailingZeros();
+      max = max == null ? null : max.stripTrailingZeros();
+    }
+
+    @Override
+    public boolean test(Transaction transaction) {
+      BigDecimal amount = transaction.getAmount();
+      return (min == null || amount.compareTo(min) >= 0)
+          && (max == null || amount.compareTo(max) <= 0);
+    }
+
+    @Override
+    public String name() {
+      return "amount";
+    }
+  }
+
+  /** Case-insensitive substring match on the description. */
+  record DescriptionContains(String text) implements TransactionPredicate {
+    public DescriptionContains {
+      text = text.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public boolean test(Transaction transaction) {
+      String description = transaction.getDescription();
+      return description != null && description.toLowerCase(Locale.ROOT).contains(text);
+    }
+
+    @Override
+    public String name() {
+      return "description";
+    }
+  }
+}
@@ -2,18 +2,39 @@ package pocket.ledger.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.LedgerSummary;
 import pocket.ledger.model.Transaction;
 import pocket.ledger.util.Page;
 import pocket.ledger.util.PageRequest;
 
 public interface TransactionRepository {
 
+  /**
+   * The order of every result: newest first, and rows created at the same instant by descending id,
+   * the reverse of the time index order.
+   */
+  Comparator<Transaction> NEWEST_FIRST =
+      Comparator.comparing(Transaction::getCreatedDate)
+          .thenComparing(Transaction::getId)
+          .reversed();
+
   Transaction save(Transaction transaction);
 
+  /**
+   * Stores a batch of transactions as one write: the summary published after it counts the rows and
+   * moves the balance by their net amount together, so readers never see one without the other.
+   */
+  void saveAll(List<Transaction> transactions);
+
   Optional<Transaction> findById(Long id);
 
+  Optional<Transaction> findByIdempotencyKey(String idempotencyKey);
+
   Page<Transaction> findAll(PageRequest pageable);
 
   Page<Transaction> findByDateRange(
@@ -24,7 +45,47 @@ public interface TransactionRepository {
   Page<Transaction> findByDateRangeAndType(
       LocalDateTime startDate, LocalDateTime endDate, TransactionType type, PageRequest pageable);
 
+  /**
+   * Returns the transactions matching every predicate, newest first. The planner answers the most
+   * selective indexed predicate from its index, judged by maintained row statistics, and applies
+   * the others as a streaming filter; with nothing indexed cheaper it scans every transaction.
+   */
+  Page<Transaction> findMatching(List<TransactionPredicate> predicates, PageRequest pageable);
+
+  /**
+   * Lazily streams the transactions matching every predicate, newest first, without sorting. The
+   * candidates come from the access path {@link #findMatching} would plan when it delivers them in
+   * order, and from the time index otherwise, with the remaining predicates applied as a filter.
+   */
+  Stream<Transaction> streamNewestFirst(List<TransactionPredicate> predicates);
+
+  /**
+   * Returns up to {@code limit} transactions with ids greater than {@code afterId} in id order,
+   * looking each id up directly so the cost is proportional to the result. Stops at the first id
+   * that is still being stored, so callers never skip past a transaction, but skips ids whose write
+   * failed before storing them.
+   */
+  List<Transaction> findAfterId(long afterId, int limit);
+
+  /** The highest id handed out so far, or {@code 0} when nothing has been stored. */
+  long lastAssignedId();
+
+  /**
+   * The number of writes (stored rows and balance adjustments) completed so far, or {@code -1}
+   * while one is in progress. Two equal readings mean nothing was written in between, so whatever
+   * was read between them is exactly the state at that version.
+   */
+  long version();
+
+  /**
+   * The balance, transaction count, last id and version as of the latest completed write, read in
+   * one wait-free load. Unlike separate calls, the fields always describe the same state.
+   */
+  LedgerSummary summary();
+
+  /** The balance of {@link #summary}. */
   BigDecimal calculateBalance();
 
+  /** The transaction count of {@link #summary}. */
   Long countTransactions();
 }
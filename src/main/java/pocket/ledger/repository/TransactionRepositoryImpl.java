@@ -1,119 +1,548 @@
 package pocket.ledger.repository;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 import pocket.ledger.enums.TransactionType;
+import pocket.ledger.jfr.IndexMaintenanceEvent;
+import pocket.ledger.model.LedgerSummary;
 import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionPredicate.DateRange;
+import pocket.ledger.repository.TransactionPredicate.OfType;
 import pocket.ledger.util.Page;
 import pocket.ledger.util.PageRequest;
+import pocket.ledger.util.RoaringBitmap;
 
 @Slf4j
 @Repository
 public class TransactionRepositoryImpl implements TransactionRepository {
 
+  /** Reported to {@link QueryProfile} for queries answered from the time index. */
+  public static final String TIME_INDEX = "time";
+
+  /** Reported to {@link QueryProfile} for queries answered from the bitmap indexes. */
+  public static final String BITMAP_INDEX = "bitmap";
+
+  private static final long NANOS_PER_DAY = Duration.ofDays(1).toNanos();
+
   private final ConcurrentHashMap<Long, Transaction> transactions = new ConcurrentHashMap<>();
   private final AtomicLong idGenerator = new AtomicLong(1);
-  private final AtomicReference<BigDecimal> cachedBalance = new AtomicReference<>(BigDecimal.ZERO);
-  private final NavigableMap<LocalDateTime, Long> timeIndex = new ConcurrentSkipListMap<>();
+  private final AtomicLong writesStarted = new AtomicLong();
+  // Replaced once per write, which completes it; its version counts the writes completed.
+  private final AtomicReference<LedgerSummary> summary = new AtomicReference<>(LedgerSummary.EMPTY);
+  private final NavigableMap<TimeKey, Long> timeIndex = new ConcurrentSkipListMap<>();
+  private final ConcurrentHashMap<String, Long> idempotencyIndex = new ConcurrentHashMap<>();
+  private final TransactionBitmaps bitmaps = new TransactionBitmaps();
+  // ConcurrentSkipListMap.size() walks the whole map, so the entry count is tracked separately.
+  private final LongAdder timeIndexEntries = new LongAdder();
+  // Rows per creation day, the planner's statistics for estimating date range selectivity.
+  private final NavigableMap<LocalDate, LongAdder> dayCounts = new ConcurrentSkipListMap<>();
 
   @Override
   public Transaction save(Transaction transaction) {
-    if (transaction.getId() == null) {
-      transaction.setId(idGenerator.getAndIncrement());
-    }
-    transaction.setLastModifiedDate(LocalDateTime.now());
-    transactions.put(transaction.getId(), transaction);
-
-    BigDecimal delta =
-        transaction.getAmount().multiply(BigDecimal.valueOf(transaction.getType().getMultiplier()));
-    cachedBalance.updateAndGet(currentBalance -> currentBalance.add(delta));
-
-    timeIndex.put(transaction.getCreatedDate(), transaction.getId());
+    IndexMaintenanceEvent event = new IndexMaintenanceEvent();
+    event.begin();
+    write(List.of(transaction));
+    commit(event, "save", 1, transaction.getIdempotencyKey() != null ? 1 : 0);
 
     return transaction;
   }
 
+  @Override
+  public void saveAll(List<Transaction> transactions) {
+    IndexMaintenanceEvent event = new IndexMaintenanceEvent();
+    event.begin();
+    write(transactions);
+    long keyedRows = transactions.stream().filter(row -> row.getIdempotencyKey() != null).count();
+    commit(event, "saveAll", transactions.size(), keyedRows);
+  }
+
   @Override
   public Optional<Transaction> findById(Long id) {
     return Optional.ofNullable(transactions.get(id));
   }
 
+  @Override
+  public Optional<Transaction> findByIdempotencyKey(String idempotencyKey) {
+    Long id = idempotencyIndex.get(idempotencyKey);
+    return id == null ? Optional.empty() : findById(id);
+  }
+
   @Override
   public Page<Transaction> findAll(PageRequest pageable) {
-    List<Transaction> sortedTransactions = getSortedTransactions();
-    return createPage(sortedTransactions, pageable);
+    return findMatching(List.of(), pageable);
   }
 
   @Override
   public Page<Transaction> findByDateRange(
       LocalDateTime startDate, LocalDateTime endDate, PageRequest pageable) {
-
-    List<Transaction> filteredTransactions =
-        timeIndex.subMap(startDate, true, endDate, true).values().parallelStream()
-            .map(transactions::get)
-            .filter(t -> t != null)
-            .sorted((t1, t2) -> t2.getCreatedDate().compareTo(t1.getCreatedDate()))
-            .toList();
-
-    return createPage(filteredTransactions, pageable);
+    return findMatching(List.of(new DateRange(startDate, endDate)), pageable);
   }
 
   @Override
   public Page<Transaction> findByType(TransactionType type, PageRequest pageable) {
-    List<Transaction> filteredTransactions =
-        getSortedTransactions().parallelStream().filter(t -> t.getType() == type).toList();
-
-    return createPage(filteredTransactions, pageable);
+    return findMatching(List.of(new OfType(type)), pageable);
   }
 
   @Override
   public Page<Transaction> findByDateRangeAndType(
       LocalDateTime startDate, LocalDateTime endDate, TransactionType type, PageRequest pageable) {
-    List<Transaction> filteredTransactions =
-        timeIndex.subMap(startDate, true, endDate, true).values().parallelStream()
-            .map(transactions::get)
-            .filter(t -> t != null)
-            .filter(t -> t.getType() == type)
-            .sorted((t1, t2) -> t2.getCreatedDate().compareTo(t1.getCreatedDate()))
-            .toList();
+    return findMatching(List.of(new DateRange(startDate, endDate), new OfType(type)), pageable);
+  }
+
+  @Override
+  public Page<Transaction> findMatching(
+      List<TransactionPredicate> predicates, PageRequest pageable) {
+    AccessPath path = plan(predicates);
+    List<TransactionPredicate> residual =
+        predicates.stream().filter(predicate -> !path.servedBy().contains(predicate)).toList();
 
-    return createPage(filteredTransactions, pageable);
+    QueryProfile profile = QueryProfile.current();
+    if (profile != null) {
+      profile.recordPlan(
+          path.estimatedRows(), residual.stream().map(TransactionPredicate::name).toList());
+    }
+    if (path.rows() != null && residual.isEmpty() && bitmaps.inCreationOrder(path.rows())) {
+      return pageByOrdinal(path.rows(), pageable);
+    }
+    if (path.newestFirst()) {
+      // With no predicates every row matches, so the row count is the total.
+      long total = predicates.isEmpty() ? path.estimatedRows() : -1;
+      return pageInOrder(
+          path.index(), path.candidates().get(), conjunction(residual), total, pageable);
+    }
+    return scan(path.index(), path.candidates().get(), conjunction(residual), pageable);
+  }
+
+  @Override
+  public Stream<Transaction> streamNewestFirst(List<TransactionPredicate> predicates) {
+    AccessPath path = plan(predicates);
+    Stream<Transaction> candidates;
+    if (path.newestFirst()) {
+      candidates = path.candidates().get();
+    } else if (path.rows() != null && bitmaps.inCreationOrder(path.rows())) {
+      candidates = rowStream(path.rows().descending(0, path.rows().cardinality()));
+    } else {
+      // A parallel scan or an unordered bitmap would need a sort: walk the time index instead.
+      path = timeWalk(predicates);
+      candidates = path.candidates().get();
+    }
+    List<TransactionPredicate> servedBy = path.servedBy();
+    Predicate<Transaction> filter =
+        conjunction(predicates.stream().filter(p -> !servedBy.contains(p)).toList());
+    Stream<Transaction> matching = candidates.filter(Objects::nonNull);
+    return filter == null ? matching : matching.filter(filter);
+  }
+
+  @Override
+  public List<Transaction> findAfterId(long afterId, int limit) {
+    long lastId = lastAssignedId();
+    // With no write in progress, an id missing below the last stored one belongs to a write that
+    // failed before storing it and will never appear.
+    LedgerSummary completed = summary.get();
+    long settledId = writesStarted.get() == completed.version() ? completed.lastId() : 0;
+    List<Transaction> result = new ArrayList<>(Math.clamp(lastId - afterId, 0, limit));
+    for (long id = afterId + 1; id <= lastId && result.size() < limit; id++) {
+      Transaction transaction = transactions.get(id);
+      if (transaction != null) {
+        result.add(transaction);
+      } else if (id > settledId) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public long lastAssignedId() {
+    return idGenerator.get() - 1;
+  }
+
+  @Override
+  public long version() {
+    long completed = summary.get().version();
+    return writesStarted.get() == completed ? completed : -1;
+  }
+
+  @Override
+  public LedgerSummary summary() {
+    return summary.get();
   }
 
   @Override
   public BigDecimal calculateBalance() {
-    return cachedBalance.get();
+    return summary.get().balance();
   }
 
   @Override
   public Long countTransactions() {
-    return (long) transactions.size();
+    return summary.get().transactionCount();
+  }
+
+  /**
+   * Runs one write: stores {@code batch} and moves the balance by the amounts of the rows stored.
+   * Publishing the summary that follows completes the write, so its balance and count always change
+   * together; {@link #version} reads {@code -1} until then. A batch failing part-way still
+   * publishes the rows stored before the failure.
+   */
+  private void write(List<Transaction> batch) {
+    writesStarted.incrementAndGet();
+    BigDecimal balanceDelta = BigDecimal.ZERO;
+    long rows = 0;
+    long storedId = 0;
+    try {
+      for (Transaction transaction : batch) {
+        boolean added = insert(transaction);
+        balanceDelta = balanceDelta.add(balanceEffect(transaction));
+        if (added) {
+          rows++;
+          storedId = Math.max(storedId, transaction.getId());
+        }
+      }
+    } finally {
+      BigDecimal delta = balanceDelta;
+      long added = rows;
+      long lastId = storedId;
+      summary.updateAndGet(current -> current.next(delta, added, lastId));
+    }
+  }
+
+  private static BigDecimal balanceEffect(Transaction transaction) {
+    return transaction
+        .getAmount()
+        .multiply(BigDecimal.valueOf(transaction.getType().getMultiplier()));
+  }
+
+  /** Stores the row and its index entries; returns whether the id was new. */
+  private boolean insert(Transaction transaction) {
+    if (transaction.getId() == null) {
+      transaction.setId(idGenerator.getAndIncrement());
+    }
+    transaction.setLastModifiedDate(LocalDateTime.now());
+    boolean added = transactions.put(transaction.getId(), transaction) == null;
+
+    TimeKey timeKey = new TimeKey(transaction.getCreatedDate(), transaction.getId());
+    if (timeIndex.put(timeKey, transaction.getId()) == null) {
+      timeIndexEntries.increment();
+      dayCounts
+          .computeIfAbsent(transaction.getCreatedDate().toLocalDate(), day -> new LongAdder())
+          .increment();
+      bitmaps.add(transaction);
+    }
+    if (transaction.getIdempotencyKey() != null) {
+      idempotencyIndex.put(transaction.getIdempotencyKey(), transaction.getId());
+    }
+    return added;
+  }
+
+  private void commit(IndexMaintenanceEvent event, String operation, long rows, long keyedRows) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.rows = rows;
+      event.keyedRows = keyedRows;
+      event.timeIndexSize = timeIndexEntries.sum();
+      event.commit();
+    }
+  }
+
+  long timeIndexSize() {
+    return timeIndexEntries.sum();
   }
 
-  private List<Transaction> getSortedTransactions() {
-    return transactions.values().parallelStream()
-        .sorted((t1, t2) -> t2.getCreatedDate().compareTo(t1.getCreatedDate()))
-        .toList();
+  int idempotencyIndexSize() {
+    return idempotencyIndex.size();
   }
 
-  private Page<Transaction> createPage(List<Transaction> transactions, PageRequest pageable) {
-    int start = (int) pageable.getOffset();
-    int end = Math.min((start + pageable.getPageSize()), transactions.size());
+  int accountIndexSize() {
+    return bitmaps.accounts();
+  }
+
+  private NavigableMap<TimeKey, Long> timeRange(LocalDateTime startDate, LocalDateTime endDate) {
+    return timeIndex.subMap(
+        new TimeKey(startDate, Long.MIN_VALUE), true, new TimeKey(endDate, Long.MAX_VALUE), true);
+  }
 
-    if (start > transactions.size()) {
-      return new Page<>(List.of(), pageable, transactions.size());
+  /**
+   * Picks the cheapest way to find the candidate rows: a full scan, the time index or the bitmap
+   * indexes. The bitmap cost is the exact size of the intersection of every indexed predicate, the
+   * time index cost an estimate from the per-day counts. Ties go to the full scan, which walks rows
+   * more cheaply than an index, and then to the bitmaps.
+   *
+   * <p>A full scan with nothing to filter walks the time index newest first, so it can stop after
+   * the page; with a filter it scans every row in parallel.
+   */
+  private AccessPath plan(List<TransactionPredicate> predicates) {
+    AccessPath best =
+        predicates.isEmpty()
+            ? new AccessPath(
+                QueryProfile.FULL_SCAN,
+                transactions.size(),
+                List.of(),
+                null,
+                () -> newestFirst(timeIndex),
+                true)
+            : new AccessPath(
+                QueryProfile.FULL_SCAN,
+                transactions.size(),
+                List.of(),
+                null,
+                () -> transactions.values().parallelStream(),
+                false);
+    TransactionBitmaps.Match match = bitmaps.match(predicates);
+    if (match != null && match.rows().cardinality() < best.estimatedRows()) {
+      RoaringBitmap rows = match.rows();
+      best =
+          new AccessPath(
+              BITMAP_INDEX,
+              rows.cardinality(),
+              match.exact(),
+              rows,
+              () -> rowStream(rows.toArray()).parallel(),
+              false);
+    }
+    for (TransactionPredicate predicate : predicates) {
+      if (predicate instanceof DateRange range) {
+        long estimate = estimateTimeRange(range);
+        if (estimate < best.estimatedRows()) {
+          best =
+              new AccessPath(
+                  TIME_INDEX,
+                  estimate,
+                  List.of(range),
+                  null,
+                  () -> newestFirst(timeRange(range.startDate(), range.endDate())),
+                  true);
+        }
+      }
     }
+    return best;
+  }
 
-    List<Transaction> pageContent = transactions.subList(start, end);
-    return new Page<>(pageContent, pageable, transactions.size());
+  /** The time index walk, narrowed to the first date range among {@code predicates} if any. */
+  private AccessPath timeWalk(List<TransactionPredicate> predicates) {
+    for (TransactionPredicate predicate : predicates) {
+      if (predicate instanceof DateRange range) {
+        return new AccessPath(
+            TIME_INDEX,
+            estimateTimeRange(range),
+            List.of(range),
+            null,
+            () -> newestFirst(timeRange(range.startDate(), range.endDate())),
+            true);
+      }
+    }
+    return new AccessPath(
+        TIME_INDEX, transactions.size(), List.of(), null, () -> newestFirst(timeIndex), true);
+  }
+
+  private static Predicate<Transaction> conjunction(List<TransactionPredicate> predicates) {
+    return switch (predicates.size()) {
+      case 0 -> null;
+      case 1 -> predicates.get(0);
+      default -> transaction -> predicates.stream().allMatch(p -> p.test(transaction));
+    };
+  }
+
+  /**
+   * Estimates the rows created in {@code range} from the per-day counts, counting partly covered
+   * days in proportion to the part of the day the range covers.
+   */
+  long estimateTimeRange(DateRange range) {
+    LocalDate firstDay = range.startDate().toLocalDate();
+    LocalDate lastDay = range.endDate().toLocalDate();
+    if (lastDay.isBefore(firstDay)) {
+      return 0;
+    }
+    double rows = 0;
+    for (Map.Entry<LocalDate, LongAdder> day :
+        dayCounts.subMap(firstDay, true, lastDay, true).entrySet()) {
+      LocalDateTime dayStart = day.getKey().atStartOfDay();
+      LocalDateTime from = range.startDate().isAfter(dayStart) ? range.startDate() : dayStart;
+      LocalDateTime dayEnd = dayStart.plusDays(1);
+      LocalDateTime to = range.endDate().isBefore(dayEnd) ? range.endDate() : dayEnd;
+      double covered = Duration.between(from, to).toNanos() / (double) NANOS_PER_DAY;
+      rows += day.getValue().sum() * Math.clamp(covered, 0.0, 1.0);
+    }
+    return (long) Math.ceil(rows);
+  }
+
+  /** Lazily reads the rows of {@code range}, newest first, in one sequential walk. */
+  private Stream<Transaction> newestFirst(NavigableMap<TimeKey, Long> range) {
+    return range.descendingMap().values().stream().map(transactions::get);
+  }
+
+  /**
+   * Pages through candidates that arrive newest first as a cursor: matches before the page are
+   * counted, matches on it are kept, and the rest are counted only when {@code total} is unknown
+   * ({@code -1}). Nothing is sorted, and nothing but the page is allocated.
+   */
+  private Page<Transaction> pageInOrder(
+      String index,
+      Stream<Transaction> newestFirst,
+      Predicate<Transaction> filter,
+      long total,
+      PageRequest pageable) {
+    long startNanos = System.nanoTime();
+    Stream<Transaction> matching = QueryProfile.count(newestFirst).filter(Objects::nonNull);
+    Iterator<Transaction> cursor = (filter == null ? matching : matching.filter(filter)).iterator();
+    long pageStart = pageable.getOffset();
+    long pageEnd = pageStart + pageable.getPageSize();
+    List<Transaction> content = new ArrayList<>();
+    long matched = 0;
+    while ((total < 0 || matched < pageEnd) && cursor.hasNext()) {
+      Transaction transaction = cursor.next();
+      if (matched >= pageStart && matched < pageEnd) {
+        content.add(transaction);
+      }
+      matched++;
+    }
+
+    QueryProfile profile = QueryProfile.current();
+    if (profile != null) {
+      profile.recordScan(index, 0, System.nanoTime() - startNanos, 0, 0);
+    }
+    return new Page<>(content, pageable, total < 0 ? matched : total);
+  }
+
+  /**
+   * Filters {@code candidates}, keeping only the newest rows up to the end of the requested page,
+   * then sorts those and cuts out the page, reporting each step to the running {@link
+   * QueryProfile}, if any. Memory is bounded by the page's end rather than by the match count.
+   */
+  private Page<Transaction> scan(
+      String index,
+      Stream<Transaction> candidates,
+      Predicate<Transaction> filter,
+      PageRequest pageable) {
+    long startNanos = System.nanoTime();
+    int limit = (int) Math.min(pageable.getOffset() + pageable.getPageSize(), Integer.MAX_VALUE);
+    Stream<Transaction> matching = QueryProfile.count(candidates).filter(Objects::nonNull);
+    NewestRows newest =
+        (filter == null ? matching : matching.filter(filter))
+            .collect(() -> new NewestRows(limit), NewestRows::add, NewestRows::merge);
+    long filteredNanos = System.nanoTime();
+    Transaction[] kept = newest.sorted();
+    long sortedNanos = System.nanoTime();
+    int pageStart = (int) Math.min(pageable.getOffset(), kept.length);
+    List<Transaction> content = Arrays.asList(kept).subList(pageStart, kept.length);
+
+    QueryProfile profile = QueryProfile.current();
+    if (profile != null) {
+      profile.recordScan(
+          index,
+          kept.length,
+          filteredNanos - startNanos,
+          sortedNanos - filteredNanos,
+          System.nanoTime() - sortedNanos);
+    }
+    return new Page<>(content, pageable, newest.matched);
+  }
+
+  /**
+   * Pages straight off a bitmap, highest ordinal first, when ordinal order is creation order for
+   * every row in it: the total is its cardinality, only the rows on the page are read and nothing
+   * is sorted.
+   */
+  private Page<Transaction> pageByOrdinal(RoaringBitmap rows, PageRequest pageable) {
+    long startNanos = System.nanoTime();
+    int total = rows.cardinality();
+    int skip = (int) Math.min(pageable.getOffset(), total);
+    List<Transaction> content =
+        QueryProfile.count(rowStream(rows.descending(skip, pageable.getPageSize()))).toList();
+
+    QueryProfile profile = QueryProfile.current();
+    if (profile != null) {
+      profile.recordScan(BITMAP_INDEX, 0, 0, 0, System.nanoTime() - startNanos);
+    }
+    return new Page<>(content, pageable, total);
+  }
+
+  private Stream<Transaction> rowStream(int[] ordinals) {
+    return LongStream.of(bitmaps.ids(ordinals)).mapToObj(transactions::get);
+  }
+
+  /**
+   * How the candidate rows of a query are found. {@code servedBy} lists the predicates the index
+   * answers exactly; {@code rows} is the matching bitmap when the bitmap indexes are used; {@code
+   * newestFirst} says whether the candidates arrive already in result order.
+   */
+  private record AccessPath(
+      String index,
+      long estimatedRows,
+      List<TransactionPredicate> servedBy,
+      RoaringBitmap rows,
+      Supplier<Stream<Transaction>> candidates,
+      boolean newestFirst) {}
+
+  /**
+   * The newest {@code limit} rows added, in a heap with the oldest of them on top, and the number
+   * of rows added. Parallel scans fill one per thread and merge them.
+   */
+  private static final class NewestRows {
+
+    private final int limit;
+    private final PriorityQueue<Transaction> heap = new PriorityQueue<>(NEWEST_FIRST.reversed());
+    private long matched;
+
+    NewestRows(int limit) {
+      this.limit = limit;
+    }
+
+    void add(Transaction transaction) {
+      matched++;
+      offer(transaction);
+    }
+
+    void merge(NewestRows other) {
+      matched += other.matched;
+      other.heap.forEach(this::offer);
+    }
+
+    /** The kept rows, newest first. */
+    Transaction[] sorted() {
+      Transaction[] rows = heap.toArray(Transaction[]::new);
+      Arrays.sort(rows, NEWEST_FIRST);
+      return rows;
+    }
+
+    private void offer(Transaction transaction) {
+      if (heap.size() < limit) {
+        heap.add(transaction);
+      } else if (limit > 0 && NEWEST_FIRST.compare(transaction, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(transaction);
+      }
+    }
+  }
+
+  /** Time index key; the id tiebreak keeps transactions created in the same instant apart. */
+  private record TimeKey(LocalDateTime createdDate, long id) implements Comparable<TimeKey> {
+    @Override
+    public int compareTo(TimeKey other) {
+      int byDate = createdDate.compareTo(other.createdDate);
+      return byDate != 0 ? byDate : Long.compare(id, other.id);
+    }
   }
 }
@@ -1,17 +1,32 @@
 package pocket.ledger.service;
 
 import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.TransactionJson;
 import pocket.ledger.dto.v1.TransactionQueryDto;
 import pocket.ledger.dto.v1.TransactionRequestDto;
 import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.service.query.ExplainedPage;
 import pocket.ledger.util.Page;
 
 public interface LedgerService {
   TransactionResponseDto createTransaction(TransactionRequestDto request);
 
-  TransactionResponseDto getTransactionById(Long id);
+  TransactionResponseDto createTransaction(TransactionRequestDto request, String idempotencyKey);
+
+  /** Returns the transaction's cached JSON encoding. */
+  TransactionJson getTransactionJson(Long id);
 
   BalanceResponseDto getBalance();
 
-  Page<TransactionResponseDto> getTransactions(TransactionQueryDto query);
+  /** Returns one page of matching transactions, each as its cached JSON encoding. */
+  Page<TransactionJson> getTransactionsJson(TransactionQueryDto query);
+
+  /** Like {@link #getTransactionsJson} but also reports how the query was planned and executed. */
+  ExplainedPage<TransactionResponseDto> explainTransactions(TransactionQueryDto query);
+
+  /**
+   * The ledger version, which every write advances, or {@code -1} while a write is in progress.
+   * Balance and query results read after seeing a version are at least that new.
+   */
+  long getVersion();
 }
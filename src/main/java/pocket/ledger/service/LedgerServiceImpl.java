@@ -1,33 +1,169 @@
 package pocket.ledger.service;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import lombok.AllArgsConstructor;
-import lombok.Synchronized;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.TransactionJson;
 import pocket.ledger.dto.v1.TransactionQueryDto;
 import pocket.ledger.dto.v1.TransactionRequestDto;
 import pocket.ledger.dto.v1.TransactionResponseDto;
 import pocket.ledger.enums.TransactionType;
+import pocket.ledger.event.TransactionCreatedEvent;
 import pocket.ledger.exception.InsufficientBalanceException;
 import pocket.ledger.exception.TransactionNotFoundException;
 import pocket.ledger.model.Transaction;
 import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.service.admission.AdmissionLimiter;
+import pocket.ledger.service.idempotency.IdempotencyCache;
+import pocket.ledger.service.json.TransactionJsonCache;
+import pocket.ledger.service.lock.InstrumentedLock;
+import pocket.ledger.service.lock.LockMonitor;
+import pocket.ledger.service.query.ExplainedPage;
+import pocket.ledger.service.query.QueryCoalescer;
+import pocket.ledger.service.query.QueryResultCache;
 import pocket.ledger.service.query.TransactionQueryHandler;
+import pocket.ledger.util.LedgerConstants;
 import pocket.ledger.util.Page;
 
 @Service
-@AllArgsConstructor
 public class LedgerServiceImpl implements LedgerService {
 
+  static final String TRANSACTIONS_READ = "transactions";
+
+  /** A create's response, and whether it replays the transaction stored for its idempotency key. */
+  record CreateResult(TransactionResponseDto transaction, boolean replayed) {}
+
   private final TransactionRepository transactionRepository;
   private final TransactionQueryHandler queryHandler;
-  private final Object balanceLock = new Object();
+  private final QueryResultCache resultCache;
+  private final TransactionJsonCache jsonCache;
+  private final QueryCoalescer coalescer;
+  private final AdmissionLimiter admissionLimiter;
+  private final IdempotencyCache idempotencyCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final InstrumentedLock balanceLock;
+
+  public LedgerServiceImpl(
+      TransactionRepository transactionRepository,
+      TransactionQueryHandler queryHandler,
+      QueryResultCache resultCache,
+      TransactionJsonCache jsonCache,
+      QueryCoalescer coalescer,
+      AdmissionLimiter admissionLimiter,
+      IdempotencyCache idempotencyCache,
+      ApplicationEventPublisher eventPublisher,
+      LockMonitor lockMonitor) {
+    this.transactionRepository = transactionRepository;
+    this.queryHandler = queryHandler;
+    this.resultCache = resultCache;
+    this.jsonCache = jsonCache;
+    this.coalescer = coalescer;
+    this.admissionLimiter = admissionLimiter;
+    this.idempotencyCache = idempotencyCache;
+    this.eventPublisher = eventPublisher;
+    this.balanceLock = lockMonitor.newLock(LedgerConstants.BALANCE_LOCK);
+  }
 
   @Override
-  @Synchronized("balanceLock")
   public TransactionResponseDto createTransaction(TransactionRequestDto request) {
+    return createTransaction(request, null);
+  }
+
+  @Override
+  public TransactionResponseDto createTransaction(
+      TransactionRequestDto request, String idempotencyKey) {
+    return create(request, idempotencyKey).transaction();
+  }
+
+  /** Like {@link #createTransaction} but also reports whether the request was a replay. */
+  CreateResult create(TransactionRequestDto request, String idempotencyKey) {
+    if (idempotencyKey != null) {
+      validateIdempotencyKey(idempotencyKey);
+      Optional<CreateResult> previous = findByIdempotencyKey(idempotencyKey);
+      if (previous.isPresent()) {
+        return previous.get();
+      }
+    }
+    return admissionLimiter.admitWrite(
+        () -> balanceLock.withLock(() -> saveTransaction(request, idempotencyKey)));
+  }
+
+  @Override
+  public TransactionJson getTransactionJson(Long id) {
+    return admissionLimiter.admitRead(() -> jsonCache.get(findTransaction(id)));
+  }
+
+  @Override
+  public BalanceResponseDto getBalance() {
+    // One wait-free load: nothing to shed or share, so admission and coalescing are skipped.
+    return BalanceResponseDto.fromSummary(transactionRepository.summary());
+  }
+
+  @Override
+  public Page<TransactionJson> getTransactionsJson(TransactionQueryDto query) {
+    return admissionLimiter.admitRead(
+        () ->
+            coalescer.coalesce(
+                TRANSACTIONS_READ,
+                query,
+                transactionRepository.version(),
+                () -> encodePage(query)));
+  }
+
+  @Override
+  public ExplainedPage<TransactionResponseDto> explainTransactions(TransactionQueryDto query) {
+    ExplainedPage<Transaction> result = queryHandler.explainQuery(query, transactionRepository);
+    long startNanos = System.nanoTime();
+    // Mapped up front rather than through the lazy Page.map, so the mapping can be timed.
+    List<TransactionResponseDto> content =
+        result.page().getContent().stream().map(TransactionResponseDto::fromEntity).toList();
+    Page<TransactionResponseDto> page =
+        new Page<>(content, result.page().getPageable(), result.page().getTotalElements());
+    double mappingMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+    return new ExplainedPage<>(page, result.explain().withMapping(mappingMillis));
+  }
+
+  @Override
+  public long getVersion() {
+    return transactionRepository.version();
+  }
+
+  private Transaction findTransaction(Long id) {
+    return transactionRepository
+        .findById(id)
+        .orElseThrow(() -> new TransactionNotFoundException(id));
+  }
+
+  private Page<Transaction> findTransactions(TransactionQueryDto query) {
+    return resultCache.get(
+        query,
+        transactionRepository,
+        () -> queryHandler.executeQuery(query, transactionRepository));
+  }
+
+  /**
+   * Encodes the page up front rather than through the lazy {@link Page#map}, since coalesced
+   * callers all serialize the same page.
+   */
+  private Page<TransactionJson> encodePage(TransactionQueryDto query) {
+    Page<Transaction> page = findTransactions(query);
+    List<TransactionJson> content = page.getContent().stream().map(jsonCache::get).toList();
+    return new Page<>(content, page.getPageable(), page.getTotalElements());
+  }
+
+  /** Runs under {@code balanceLock}, so the balance check and the save cannot interleave. */
+  private CreateResult saveTransaction(TransactionRequestDto request, String idempotencyKey) {
+    if (idempotencyKey != null) {
+      // A concurrent retry may have won the lock first.
+      Optional<CreateResult> previous = findByIdempotencyKey(idempotencyKey);
+      if (previous.isPresent()) {
+        return previous.get();
+      }
+    }
+
     if (request.type() == TransactionType.WITHDRAWAL) {
       BigDecimal currentBalance = transactionRepository.calculateBalance();
       if (currentBalance.compareTo(request.amount()) < 0) {
@@ -36,27 +172,39 @@ public class LedgerServiceImpl implements LedgerService {
     }
 
     Transaction transaction = request.toEntity();
+    transaction.setIdempotencyKey(idempotencyKey);
     Transaction savedTransaction = transactionRepository.save(transaction);
-    return TransactionResponseDto.fromEntity(savedTransaction);
-  }
-
-  @Override
-  public TransactionResponseDto getTransactionById(Long id) {
-    Transaction transaction =
-        transactionRepository.findById(id).orElseThrow(() -> new TransactionNotFoundException(id));
-    return TransactionResponseDto.fromEntity(transaction);
+    if (idempotencyKey != null) {
+      idempotencyCache.put(idempotencyKey, savedTransaction.getId());
+    }
+    TransactionResponseDto response = TransactionResponseDto.fromEntity(savedTransaction);
+    eventPublisher.publishEvent(new TransactionCreatedEvent(response));
+    return new CreateResult(response, false);
   }
 
-  @Override
-  public BalanceResponseDto getBalance() {
-    BigDecimal balance = transactionRepository.calculateBalance();
-    Long totalTransactions = transactionRepository.countTransactions();
-    return new BalanceResponseDto(balance, totalTransactions, LocalDateTime.now());
+  private Optional<CreateResult> findByIdempotencyKey(String idempotencyKey) {
+    Optional<Transaction> transaction =
+        idempotencyCache
+            .get(idempotencyKey)
+            .flatMap(transactionRepository::findById)
+            .or(
+                () -> {
+                  Optional<Transaction> persisted =
+                      transactionRepository.findByIdempotencyKey(idempotencyKey);
+                  persisted.ifPresent(t -> idempotencyCache.put(idempotencyKey, t.getId()));
+                  return persisted;
+                });
+    return transaction.map(t -> new CreateResult(TransactionResponseDto.fromEntity(t), true));
   }
 
-  @Override
-  public Page<TransactionResponseDto> getTransactions(TransactionQueryDto query) {
-    Page<Transaction> transactions = queryHandler.executeQuery(query, transactionRepository);
-    return transactions.map(TransactionResponseDto::fromEntity);
+  private void validateIdempotencyKey(String idempotencyKey) {
+    if (idempotencyKey.isBlank()
+        || idempotencyKey.length() > LedgerConstants.MAX_IDEMPOTENCY_KEY_LENGTH) {
+      throw new IllegalArgumentException(
+          String.format(
+              "%s must be between 1 and %d characters",
+              LedgerConstants.IDEMPOTENCY_KEY_HEADER,
+              LedgerConstants.MAX_IDEMPOTENCY_KEY_LENGTH));
+    }
   }
 }
@@ -0,0 +1,138 @@
+package pocket.ledger.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.TransactionJson;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.dto.v1.TransactionRequestDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.exception.InsufficientBalanceException;
+import pocket.ledger.exception.ServiceOverloadedException;
+import pocket.ledger.jfr.CreateTransactionEvent;
+import pocket.ledger.service.query.ExplainedPage;
+import pocket.ledger.util.Page;
+
+/**
+ * Records {@code ledger.transactions.create} timings per outcome and counts withdrawals rejected
+ * for insufficient balance around {@link LedgerServiceImpl}, and emits a matching {@link
+ * CreateTransactionEvent} while a flight recording is running. Idempotent replays and writes shed
+ * under overload get outcomes of their own, apart from creates and business-rule rejections. Reads
+ * are timed by the query and repository meters underneath.
+ */
+@Primary
+@Service
+public class MeteredLedgerService implements LedgerService {
+
+  static final String CREATE_TIMER = "ledger.transactions.create";
+  static final String REJECTED_COUNTER = "ledger.transactions.rejected";
+
+  private final LedgerServiceImpl delegate;
+  private final MeterRegistry meterRegistry;
+  private final Timer createdTimer;
+  private final Timer replayedTimer;
+  private final Timer rejectedTimer;
+  private final Timer overloadedTimer;
+  private final Timer failedTimer;
+  private final Counter insufficientBalance;
+
+  public MeteredLedgerService(LedgerServiceImpl delegate, MeterRegistry meterRegistry) {
+    this.delegate = delegate;
+    this.meterRegistry = meterRegistry;
+    this.createdTimer = createTimer(meterRegistry, "created");
+    this.replayedTimer = createTimer(meterRegistry, "replayed");
+    this.rejectedTimer = createTimer(meterRegistry, "rejected");
+    this.overloadedTimer = createTimer(meterRegistry, "overloaded");
+    this.failedTimer = createTimer(meterRegistry, "failed");
+    this.insufficientBalance =
+        Counter.builder(REJECTED_COUNTER)
+            .description("Transactions rejected by business rules")
+            .tag("reason", "insufficient_balance")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public TransactionResponseDto createTransaction(TransactionRequestDto request) {
+    return createTransaction(request, null);
+  }
+
+  @Override
+  public TransactionResponseDto createTransaction(
+      TransactionRequestDto request, String idempotencyKey) {
+    Timer.Sample sample = Timer.start(meterRegistry);
+    CreateTransactionEvent event = new CreateTransactionEvent();
+    event.begin();
+    try {
+      LedgerServiceImpl.CreateResult result = delegate.create(request, idempotencyKey);
+      sample.stop(result.replayed() ? replayedTimer : createdTimer);
+      String outcome = result.replayed() ? "replayed" : "created";
+      commit(event, request, idempotencyKey, outcome, result.transaction().id());
+      return result.transaction();
+    } catch (InsufficientBalanceException e) {
+      sample.stop(rejectedTimer);
+      insufficientBalance.increment();
+      commit(event, request, idempotencyKey, "rejected", null);
+      throw e;
+    } catch (ServiceOverloadedException e) {
+      sample.stop(overloadedTimer);
+      commit(event, request, idempotencyKey, "overloaded", null);
+      throw e;
+    } catch (RuntimeException e) {
+      sample.stop(failedTimer);
+      commit(event, request, idempotencyKey, "failed", null);
+      throw e;
+    }
+  }
+
+  @Override
+  public TransactionJson getTransactionJson(Long id) {
+    return delegate.getTransactionJson(id);
+  }
+
+  @Override
+  public BalanceResponseDto getBalance() {
+    return delegate.getBalance();
+  }
+
+  @Override
+  public Page<TransactionJson> getTransactionsJson(TransactionQueryDto query) {
+    return delegate.getTransactionsJson(query);
+  }
+
+  @Override
+  public ExplainedPage<TransactionResponseDto> explainTransactions(TransactionQueryDto query) {
+    return delegate.explainTransactions(query);
+  }
+
+  @Override
+  public long getVersion() {
+    return delegate.getVersion();
+  }
+
+  private static void commit(
+      CreateTransactionEvent event,
+      TransactionRequestDto request,
+      String idempotencyKey,
+      String outcome,
+      Long transactionId) {
+    event.end();
+    if (event.shouldCommit()) {
+      event.type = String.valueOf(request.type());
+      event.amount = request.amount() == null ? null : request.amount().toPlainString();
+      event.idempotent = idempotencyKey != null;
+      event.outcome = outcome;
+      event.transactionId = transactionId == null ? 0 : transactionId;
+      event.commit();
+    }
+  }
+
+  private static Timer createTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder(CREATE_TIMER)
+        .description("Transaction creation time per outcome")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,95 @@
+package pocket.ledger.service.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A concurrency limit that follows latency, after the gradient algorithm. By Little's law the
+ * requests in flight are throughput times latency, so once the system is saturated any extra
+ * concurrency only adds queueing time. The limit therefore shrinks by the ratio of the long-term
+ * (no-load) latency to the latest latency whenever that latency exceeds {@code tolerance} times the
+ * long-term one, and otherwise grows by a queue allowance of {@code sqrt(limit)}.
+ *
+ * <p>Acquisitions beyond the limit fail at once instead of queueing. Samples that arrive while
+ * another one is being applied are dropped, so releasing never blocks.
+ */
+final class AdaptiveLimit {
+
+  // Roughly the number of samples the long-term latency average spans.
+  private static final double LONG_WINDOW = 600;
+
+  private final AdmissionProperties.Budget budget;
+  private final double tolerance;
+  private final double smoothing;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ReentrantLock updateLock = new ReentrantLock();
+  private volatile double limit;
+  private double longRttNanos;
+
+  AdaptiveLimit(AdmissionProperties.Budget budget, double tolerance, double smoothing) {
+    this.budget = budget;
+    this.tolerance = tolerance;
+    this.smoothing = smoothing;
+    this.limit = budget.getInitialLimit();
+  }
+
+  /** Takes a slot, or returns {@code false} when the limit is already in flight. */
+  boolean tryAcquire() {
+    while (true) {
+      int current = inFlight.get();
+      if (current >= (int) limit) {
+        return false;
+      }
+      if (inFlight.compareAndSet(current, current + 1)) {
+        return true;
+      }
+    }
+  }
+
+  /** Gives back a slot taken by {@link #tryAcquire} for a request that took {@code rttNanos}. */
+  void release(long rttNanos) {
+    int current = inFlight.getAndDecrement();
+    if (rttNanos > 0 && updateLock.tryLock()) {
+      try {
+        update(rttNanos, current);
+      } finally {
+        updateLock.unlock();
+      }
+    }
+  }
+
+  int limit() {
+    return (int) limit;
+  }
+
+  int inFlight() {
+    return inFlight.get();
+  }
+
+  /** The long-term latency average, in nanoseconds. */
+  double longRttNanos() {
+    return longRttNanos;
+  }
+
+  private void update(long rttNanos, int inFlightAtRelease) {
+    if (longRttNanos == 0) {
+      longRttNanos = rttNanos;
+    } else {
+      longRttNanos += (rttNanos - longRttNanos) / LONG_WINDOW;
+    }
+    // After a long overload the average has absorbed the queueing; let it recover quickly.
+    if (longRttNanos > 2 * rttNanos) {
+      longRttNanos *= 0.95;
+    }
+
+    double current = limit;
+    // A mostly idle budget says nothing about how much more it could take.
+    if (inFlightAtRelease < current / 2) {
+      return;
+    }
+    double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rttNanos));
+    double estimate = current * gradient + Math.sqrt(current);
+    double next = current * (1 - smoothing) + estimate * smoothing;
+    limit = Math.max(budget.getMinLimit(), Math.min(budget.getMaxLimit(), next));
+  }
+}
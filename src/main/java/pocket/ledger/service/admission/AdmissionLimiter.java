@@ -0,0 +1,88 @@
+package pocket.ledger.service.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import pocket.ledger.exception.ServiceOverloadedException;
+
+/**
+ * Admits ledger reads and writes against separate {@link AdaptiveLimit adaptive concurrency
+ * limits}, so a burst of writes queueing on the balance lock cannot starve reads and the other way
+ * round. Requests beyond a limit are rejected at once with a {@link ServiceOverloadedException}
+ * (503 with {@code Retry-After}) instead of waiting in a queue that only makes every caller slower.
+ */
+@Component
+public class AdmissionLimiter {
+
+  static final String METER_NAME = "ledger.admission";
+
+  private final AdmissionProperties properties;
+  private final AdaptiveLimit reads;
+  private final AdaptiveLimit writes;
+  private final Counter readsRejected;
+  private final Counter writesRejected;
+
+  public AdmissionLimiter(AdmissionProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.reads = limit(properties.getRead());
+    this.writes = limit(properties.getWrite());
+    this.readsRejected = register(meterRegistry, "read", reads);
+    this.writesRejected = register(meterRegistry, "write", writes);
+  }
+
+  /** Runs {@code read} if the read limit admits it. */
+  public <T> T admitRead(Supplier<T> read) {
+    return admit(reads, readsRejected, "Too many concurrent reads", read);
+  }
+
+  /** Runs {@code write} if the write limit admits it. */
+  public <T> T admitWrite(Supplier<T> write) {
+    return admit(writes, writesRejected, "Too many concurrent writes", write);
+  }
+
+  int readLimit() {
+    return reads.limit();
+  }
+
+  int writeLimit() {
+    return writes.limit();
+  }
+
+  private <T> T admit(AdaptiveLimit limit, Counter rejected, String reason, Supplier<T> action) {
+    if (!properties.isEnabled()) {
+      return action.get();
+    }
+    if (!limit.tryAcquire()) {
+      rejected.increment();
+      long retryAfterMillis = properties.getRetryAfter().toMillis();
+      throw new ServiceOverloadedException(reason, Math.max(1, (retryAfterMillis + 999) / 1000));
+    }
+    long startNanos = System.nanoTime();
+    try {
+      return action.get();
+    } finally {
+      limit.release(System.nanoTime() - startNanos);
+    }
+  }
+
+  private AdaptiveLimit limit(AdmissionProperties.Budget budget) {
+    return new AdaptiveLimit(budget, properties.getTolerance(), properties.getSmoothing());
+  }
+
+  private static Counter register(MeterRegistry meterRegistry, String budget, AdaptiveLimit limit) {
+    Gauge.builder(METER_NAME + ".limit", limit, AdaptiveLimit::limit)
+        .description("Current concurrency limit")
+        .tag("budget", budget)
+        .register(meterRegistry);
+    Gauge.builder(METER_NAME + ".inflight", limit, AdaptiveLimit::inFlight)
+        .description("Admitted requests still running")
+        .tag("budget", budget)
+        .register(meterRegistry);
+    return Counter.builder(METER_NAME + ".rejected")
+        .description("Requests rejected because the concurrency limit was reached")
+        .tag("budget", budget)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,41 @@
+package pocket.ledger.service.admission;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.admission")
+public class AdmissionProperties {
+  private boolean enabled = true;
+
+  /** Latency may grow to this multiple of the no-load latency before the limit shrinks. */
+  private double tolerance = 1.5;
+
+  /** Share of each new limit estimate applied at once; lower values adapt more slowly. */
+  private double smoothing = 0.2;
+
+  /** Sent as {@code Retry-After} with rejected requests. */
+  private Duration retryAfter = Duration.ofSeconds(1);
+
+  private Budget read = new Budget(200, 20, 2_000);
+  private Budget write = new Budget(20, 1, 200);
+
+  /** Concurrency limit bounds for one class of requests. */
+  @Data
+  public static class Budget {
+    private int initialLimit;
+    private int minLimit;
+    private int maxLimit;
+
+    public Budget() {}
+
+    Budget(int initialLimit, int minLimit, int maxLimit) {
+      this.initialLimit = initialLimit;
+      this.minLimit = minLimit;
+      this.maxLimit = maxLimit;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package pocket.ledger.service.changes;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+  private Duration maxWait = Duration.ofSeconds(60);
+  private int defaultLimit = 500;
+  private int maxLimit = 5_000;
+
+  /** Polls parked at the same time; further waiting polls are rejected with 503. */
+  private int maxWaiters = 10_000;
+}
@@ -0,0 +1,179 @@
+package pocket.ledger.service.changes;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import pocket.ledger.dto.v1.ChangesResponseDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.event.TransactionCreatedEvent;
+import pocket.ledger.event.TransactionsImportedEvent;
+import pocket.ledger.exception.ServiceOverloadedException;
+import pocket.ledger.repository.TransactionRepository;
+
+/**
+ * Long-poll feed of transactions after a given id. Ids are handed out from a monotonic sequence, so
+ * every poll reads just the delta by id.
+ *
+ * <p>A poll with nothing new parks a future instead of a thread. Writes only flag a pending change
+ * and signal one notifier thread, which re-reads the delta for each parked poll and completes the
+ * ones that now have data; bursts of writes collapse into one pass.
+ */
+@Service
+public class ChangeFeedService {
+
+  private static final long RETRY_AFTER_SECONDS = 1;
+
+  private final TransactionRepository transactionRepository;
+  private final ChangeFeedProperties properties;
+  private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private boolean pending;
+  private Thread notifier;
+
+  public ChangeFeedService(
+      TransactionRepository transactionRepository, ChangeFeedProperties properties) {
+    this.transactionRepository = transactionRepository;
+    this.properties = properties;
+  }
+
+  @PostConstruct
+  void start() {
+    notifier = Thread.ofVirtual().name("ledger-changes-notifier").start(this::notifyWaiters);
+  }
+
+  @PreDestroy
+  void stop() {
+    notifier.interrupt();
+  }
+
+  /**
+   * Returns the transactions after {@code since}, waiting up to {@code wait} (capped at the
+   * configured maximum) for at least one to arrive. A {@code since} ahead of the sequence, e.g.
+   * from before a restart, returns immediately with the current position so the client can resync.
+   */
+  public CompletableFuture<ChangesResponseDto> poll(long since, Duration wait, Integer limit) {
+    if (since < 0) {
+      throw new IllegalArgumentException("since must not be negative");
+    }
+    int pageSize = resolveLimit(limit);
+
+    long lastId = transactionRepository.lastAssignedId();
+    if (since > lastId) {
+      return CompletableFuture.completedFuture(
+          new ChangesResponseDto(List.of(), since, lastId, false));
+    }
+    ChangesResponseDto changes = read(since, pageSize);
+    if (!changes.transactions().isEmpty() || wait.isZero() || wait.isNegative()) {
+      return CompletableFuture.completedFuture(changes);
+    }
+    if (waiters.size() >= properties.getMaxWaiters()) {
+      throw new ServiceOverloadedException("Too many pending change polls", RETRY_AFTER_SECONDS);
+    }
+
+    Duration timeout = wait.compareTo(properties.getMaxWait()) > 0 ? properties.getMaxWait() : wait;
+    Waiter waiter = new Waiter(since, pageSize, new CompletableFuture<>());
+    waiters.add(waiter);
+    waiter
+        .result()
+        .completeOnTimeout(changes, timeout.toMillis(), TimeUnit.MILLISECONDS)
+        .whenComplete((result, error) -> waiters.remove(waiter));
+
+    // A write that landed between the read above and registering has already fired its event.
+    if (transactionRepository.lastAssignedId() > since) {
+      wake();
+    }
+    return waiter.result();
+  }
+
+  public int waiterCount() {
+    return waiters.size();
+  }
+
+  @EventListener
+  public void onTransactionCreated(TransactionCreatedEvent event) {
+    wake();
+  }
+
+  @EventListener
+  public void onTransactionsImported(TransactionsImportedEvent event) {
+    wake();
+  }
+
+  private void wake() {
+    if (waiters.isEmpty()) {
+      return;
+    }
+    lock.lock();
+    try {
+      pending = true;
+      changed.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void notifyWaiters() {
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        lock.lock();
+        try {
+          while (!pending) {
+            changed.await();
+          }
+          pending = false;
+        } finally {
+          lock.unlock();
+        }
+        completeReadyWaiters();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void completeReadyWaiters() {
+    long lastId = transactionRepository.lastAssignedId();
+    for (Waiter waiter : waiters) {
+      if (waiter.since() >= lastId) {
+        continue;
+      }
+      ChangesResponseDto changes = read(waiter.since(), waiter.limit());
+      if (!changes.transactions().isEmpty()) {
+        waiter.result().complete(changes);
+      }
+    }
+  }
+
+  private ChangesResponseDto read(long since, int limit) {
+    List<TransactionResponseDto> transactions =
+        transactionRepository.findAfterId(since, limit).stream()
+            .map(TransactionResponseDto::fromEntity)
+            .toList();
+    long nextSince = transactions.isEmpty() ? since : transactions.getLast().id();
+    boolean hasMore =
+        transactions.size() == limit && nextSince < transactionRepository.lastAssignedId();
+    return new ChangesResponseDto(transactions, since, nextSince, hasMore);
+  }
+
+  private int resolveLimit(Integer limit) {
+    if (limit == null) {
+      return properties.getDefaultLimit();
+    }
+    if (limit < 1) {
+      throw new IllegalArgumentException("limit must be at least 1");
+    }
+    return Math.min(limit, properties.getMaxLimit());
+  }
+
+  private record Waiter(long since, int limit, CompletableFuture<ChangesResponseDto> result) {}
+}
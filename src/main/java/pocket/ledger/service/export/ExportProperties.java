@@ -0,0 +1,14 @@
+package pocket.ledger.service.export;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.export")
+public class ExportProperties {
+  /** How long one export may stream, in place of the MVC async request timeout; 0 disables it. */
+  private Duration timeout = Duration.ofMinutes(30);
+}
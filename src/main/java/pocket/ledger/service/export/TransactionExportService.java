@@ -0,0 +1,147 @@
+package pocket.ledger.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import pocket.ledger.dto.v1.TransactionExportDto;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.jfr.BulkTransferEvent;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.service.query.TransactionQueryHandler;
+import pocket.ledger.util.CsvUtils;
+
+/**
+ * Writes the transactions matching the listing's filters newest first, row by row, as the
+ * repository streams them in index order. Nothing is materialised, so memory use does not grow with
+ * the size of the export.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+
+  public static final String CSV_HEADER =
+      "id,sourceAccountId,destinationAccountId,amount,type,description,createdDate,"
+          + "lastModifiedDate";
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+  private final TransactionRepository transactionRepository;
+  private final ObjectMapper objectMapper;
+
+  public long export(
+      TransactionQueryDto filter, ExportFormat format, boolean gzip, OutputStream out)
+      throws IOException {
+    BulkTransferEvent event = new BulkTransferEvent();
+    event.begin();
+    OutputStream target =
+        gzip ? new GZIPOutputStream(out, BUFFER_SIZE) : new BufferedOutputStream(out, BUFFER_SIZE);
+
+    long rows;
+    try (Stream<Transaction> transactions = streamTransactions(filter)) {
+      rows =
+          switch (format) {
+            case NDJSON -> writeNdjson(transactions.iterator(), target);
+            case CSV -> writeCsv(transactions.iterator(), target);
+          };
+    }
+
+    if (target instanceof GZIPOutputStream gzipStream) {
+      gzipStream.finish();
+    }
+    target.flush();
+
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = "export";
+      event.format = gzip ? format + "+gzip" : format.name();
+      event.rows = rows;
+      event.commit();
+    }
+    log.debug("Exported {} transactions as {} (gzip={})", rows, format, gzip);
+    return rows;
+  }
+
+  private Stream<Transaction> streamTransactions(TransactionQueryDto filter) {
+    return transactionRepository.streamNewestFirst(TransactionQueryHandler.predicates(filter));
+  }
+
+  private long writeNdjson(Iterator<Transaction> transactions, OutputStream out)
+      throws IOException {
+    ObjectWriter writer =
+        objectMapper
+            .writerFor(TransactionExportDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    long rows = 0;
+    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+      generator.setRootValueSeparator(null);
+      while (transactions.hasNext()) {
+        writer.writeValue(generator, TransactionExportDto.fromEntity(transactions.next()));
+        generator.writeRaw('\n');
+        rows++;
+      }
+    }
+    return rows;
+  }
+
+  private long writeCsv(Iterator<Transaction> transactions, OutputStream out) throws IOException {
+    Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+    writer.write(CSV_HEADER);
+    writer.write('\n');
+
+    long rows = 0;
+    while (transactions.hasNext()) {
+      writeCsvRow(transactions.next(), writer);
+      rows++;
+    }
+    writer.flush();
+    return rows;
+  }
+
+  private void writeCsvRow(Transaction transaction, Writer writer) throws IOException {
+    writer.write(String.valueOf(transaction.getId()));
+    writer.write(CsvUtils.SEPARATOR);
+    writer.write(nullToEmpty(transaction.getSourceAccountId()));
+    writer.write(CsvUtils.SEPARATOR);
+    writer.write(nullToEmpty(transaction.getDestinationAccountId()));
+    writer.write(CsvUtils.SEPARATOR);
+    writer.write(transaction.getAmount().toPlainString());
+    writer.write(CsvUtils.SEPARATOR);
+    writer.write(transaction.getType().name());
+    writer.write(CsvUtils.SEPARATOR);
+    writer.write(CsvUtils.escape(transaction.getDescription()));
+    writer.write(CsvUtils.SEPARATOR);
+    writer.write(formatDate(transaction.getCreatedDate()));
+    writer.write(CsvUtils.SEPARATOR);
+    writer.write(formatDate(transaction.getLastModifiedDate()));
+    writer.write('\n');
+  }
+
+  private static String nullToEmpty(Long value) {
+    return value == null ? "" : value.toString();
+  }
+
+  private static String formatDate(LocalDateTime date) {
+    return date == null ? "" : DATE_FORMAT.format(date);
+  }
+}
@@ -0,0 +1,45 @@
+package pocket.ledger.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.Optional;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, expiring map from an {@code Idempotency-Key} to the id of the transaction it created.
+ *
+ * <p>Only the transaction id is kept, so an entry costs a key string and a boxed long. The
+ * transaction itself stays in the repository, which also holds the key for lookups after an entry
+ * has been evicted.
+ */
+@Component
+public class IdempotencyCache {
+
+  static final String CACHE_NAME = "ledger.idempotency";
+
+  private final Cache<String, Long> cache;
+
+  public IdempotencyCache(IdempotencyProperties properties, MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtl())
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public Optional<Long> get(String idempotencyKey) {
+    return Optional.ofNullable(cache.getIfPresent(idempotencyKey));
+  }
+
+  public void put(String idempotencyKey, Long transactionId) {
+    cache.put(idempotencyKey, transactionId);
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+}
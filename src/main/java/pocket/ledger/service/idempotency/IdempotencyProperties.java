@@ -0,0 +1,14 @@
+package pocket.ledger.service.idempotency;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.idempotency")
+public class IdempotencyProperties {
+  private long maxSize = 100_000;
+  private Duration ttl = Duration.ofHours(24);
+}
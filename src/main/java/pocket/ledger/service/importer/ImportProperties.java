@@ -0,0 +1,26 @@
+package pocket.ledger.service.importer;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.import")
+public class ImportProperties {
+  /** File to import on startup (CLI mode); nothing is imported when unset. */
+  private String file;
+
+  private String format = "csv";
+  private int chunkSize = 10_000;
+
+  /** Parser threads; 0 uses one per available processor. */
+  private int parallelism = 0;
+
+  private int maxReportedErrors = 100;
+  private long progressInterval = 100_000;
+
+  public int effectiveParallelism() {
+    return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+  }
+}
@@ -0,0 +1,437 @@
+package pocket.ledger.service.importer;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import pocket.ledger.dto.v1.ImportResultDto;
+import pocket.ledger.dto.v1.ImportRowErrorDto;
+import pocket.ledger.dto.v1.TransactionRequestDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.event.TransactionsImportedEvent;
+import pocket.ledger.jfr.BulkTransferEvent;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.service.lock.InstrumentedLock;
+import pocket.ledger.service.lock.LockMonitor;
+import pocket.ledger.util.CsvUtils;
+import pocket.ledger.util.LedgerConstants;
+
+/**
+ * Loads CSV or NDJSON transaction files straight into the repository.
+ *
+ * <p>One thread reads records and hands them out in chunks; a pool parses and validates (with the
+ * {@link TransactionRequestDto} constraints) each chunk, then stores it under the balance lock the
+ * API's writes take. A withdrawal is rejected when the balance and the deposits of its chunk cannot
+ * cover it, so the balance never goes negative, and each chunk is stored as one repository write,
+ * so the balance and the transaction count always move together. Files produced by the export
+ * endpoint, newest first, can be imported as they are.
+ */
+@Slf4j
+@Service
+public class TransactionImportService {
+
+  private static final int READ_BUFFER_SIZE = 1 << 20;
+
+  private final TransactionRepository transactionRepository;
+  private final Validator validator;
+  private final ImportProperties properties;
+  private final ApplicationEventPublisher eventPublisher;
+  private final InstrumentedLock balanceLock;
+  private final ObjectReader jsonReader;
+
+  public TransactionImportService(
+      TransactionRepository transactionRepository,
+      ObjectMapper objectMapper,
+      Validator validator,
+      ImportProperties properties,
+      ApplicationEventPublisher eventPublisher,
+      LockMonitor lockMonitor) {
+    this.transactionRepository = transactionRepository;
+    this.validator = validator;
+    this.properties = properties;
+    this.eventPublisher = eventPublisher;
+    this.balanceLock = lockMonitor.newLock(LedgerConstants.BALANCE_LOCK);
+    this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+  }
+
+  public ImportResultDto importTransactions(InputStream in, ExportFormat format)
+      throws IOException {
+    long startNanos = System.nanoTime();
+    BulkTransferEvent event = new BulkTransferEvent();
+    event.begin();
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+    RowParser parser = format == ExportFormat.CSV ? csvParser(reader) : this::parseNdjson;
+    ImportProgress progress = new ImportProgress(properties);
+
+    int parallelism = properties.effectiveParallelism();
+    int chunkSize = properties.getChunkSize();
+    Semaphore chunksInFlight = new Semaphore(parallelism * 2);
+    List<Future<?>> chunks = new ArrayList<>();
+
+    try {
+      try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+        List<String> records = new ArrayList<>(chunkSize);
+        long firstRow = 1;
+        long row = 0;
+        String record;
+        while ((record = readRecord(reader, format)) != null) {
+          if (record.isBlank()) {
+            continue;
+          }
+          row++;
+          records.add(record);
+          if (records.size() == chunkSize) {
+            chunks.add(submit(executor, chunksInFlight, firstRow, records, parser, progress));
+            records = new ArrayList<>(chunkSize);
+            firstRow = row + 1;
+          }
+        }
+        if (!records.isEmpty()) {
+          chunks.add(submit(executor, chunksInFlight, firstRow, records, parser, progress));
+        }
+      }
+      awaitChunks(chunks);
+    } finally {
+      // Closing the pool waited for every chunk, so this counts every row stored, even when
+      // reading or a chunk failed part-way.
+      eventPublisher.publishEvent(new TransactionsImportedEvent(progress.imported.get()));
+    }
+
+    BigDecimal balance = transactionRepository.calculateBalance();
+    BigDecimal balanceDelta = progress.balanceDelta.get();
+    long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    event.end();
+    if (event.shouldCommit()) {
+      event.operation = "import";
+      event.format = format.name();
+      event.rows = progress.imported.get();
+      event.rejectedRows = progress.rejected.get();
+      event.commit();
+    }
+
+    log.info(
+        "Import finished: {} imported, {} rejected in {} ms, balance delta {}",
+        progress.imported.get(),
+        progress.rejected.get(),
+        durationMillis,
+        balanceDelta);
+
+    return new ImportResultDto(
+        progress.imported.get(),
+        progress.rejected.get(),
+        balanceDelta,
+        balance,
+        durationMillis,
+        progress.sortedErrors());
+  }
+
+  private Future<?> submit(
+      ExecutorService executor,
+      Semaphore chunksInFlight,
+      long firstRow,
+      List<String> records,
+      RowParser parser,
+      ImportProgress progress)
+      throws InterruptedIOException {
+    try {
+      chunksInFlight.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Import interrupted");
+    }
+    return executor.submit(
+        () -> {
+          try {
+            processChunk(firstRow, records, parser, progress);
+          } finally {
+            chunksInFlight.release();
+          }
+        });
+  }
+
+  private void processChunk(
+      long firstRow, List<String> records, RowParser parser, ImportProgress progress) {
+    List<Transaction> valid = new ArrayList<>(records.size());
+    List<Long> validRows = new ArrayList<>(records.size());
+    long row = firstRow;
+
+    for (String record : records) {
+      try {
+        ParsedRow parsed = parser.parse(record);
+        String violations = validate(parsed.request());
+        if (violations == null) {
+          valid.add(parsed.toEntity());
+          validRows.add(row);
+        } else {
+          progress.reject(row, violations);
+        }
+      } catch (IOException | IllegalArgumentException | DateTimeParseException e) {
+        progress.reject(row, e.getMessage());
+      }
+      row++;
+    }
+
+    List<Transaction> accepted = new ArrayList<>(valid.size());
+    balanceLock.lock();
+    try {
+      store(valid, validRows, accepted, progress);
+    } finally {
+      balanceLock.unlock();
+      // Rows are given their id as they are stored, so a chunk failing part-way counts only those.
+      int stored = 0;
+      BigDecimal delta = BigDecimal.ZERO;
+      for (Transaction transaction : accepted) {
+        if (transaction.getId() != null) {
+          stored++;
+          delta = delta.add(balanceEffect(transaction));
+        }
+      }
+      progress.chunkDone(records.size(), stored, delta);
+    }
+  }
+
+  /**
+   * Runs under {@code balanceLock}: rejects, in file order, the withdrawals that the balance and
+   * the chunk's deposits cannot cover, and stores the rest as one write.
+   */
+  private void store(
+      List<Transaction> valid,
+      List<Long> validRows,
+      List<Transaction> accepted,
+      ImportProgress progress) {
+    BigDecimal available = transactionRepository.calculateBalance();
+    for (Transaction transaction : valid) {
+      if (transaction.getType() == TransactionType.DEPOSIT) {
+        available = available.add(transaction.getAmount());
+      }
+    }
+    for (int i = 0; i < valid.size(); i++) {
+      Transaction transaction = valid.get(i);
+      if (transaction.getType() == TransactionType.WITHDRAWAL) {
+        if (available.compareTo(transaction.getAmount()) < 0) {
+          progress.reject(
+              validRows.get(i),
+              String.format(
+                  "Insufficient balance: %s available, %s requested",
+                  available,
+                  transaction.getAmount()));
+          continue;
+        }
+        available = available.subtract(transaction.getAmount());
+      }
+      accepted.add(transaction);
+    }
+    transactionRepository.saveAll(accepted);
+  }
+
+  private static BigDecimal balanceEffect(Transaction transaction) {
+    return transaction
+        .getAmount()
+        .multiply(BigDecimal.valueOf(transaction.getType().getMultiplier()));
+  }
+
+  private String validate(TransactionRequestDto request) {
+    Set<ConstraintViolation<TransactionRequestDto>> violations = validator.validate(request);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  private void awaitChunks(List<Future<?>> chunks) throws InterruptedIOException {
+    for (Future<?> chunk : chunks) {
+      try {
+        chunk.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Import interrupted");
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Import chunk failed", e.getCause());
+      }
+    }
+  }
+
+  private String readRecord(BufferedReader reader, ExportFormat format) throws IOException {
+    String line = reader.readLine();
+    if (line == null || format != ExportFormat.CSV || CsvUtils.isRecordComplete(line)) {
+      return line;
+    }
+
+    StringBuilder record = new StringBuilder(line);
+    while (!CsvUtils.isRecordComplete(record)) {
+      String next = reader.readLine();
+      if (next == null) {
+        break;
+      }
+      record.append('\n').append(next);
+    }
+    return record.toString();
+  }
+
+  private RowParser csvParser(BufferedReader reader) throws IOException {
+    String header = readRecord(reader, ExportFormat.CSV);
+    Map<String, Integer> columns = new HashMap<>();
+    if (header != null) {
+      List<String> names = CsvUtils.parseRecord(header);
+      for (int i = 0; i < names.size(); i++) {
+        columns.put(names.get(i).trim(), i);
+      }
+    }
+    if (header != null && (!columns.containsKey("amount") || !columns.containsKey("type"))) {
+      throw new IllegalArgumentException("CSV header must contain 'amount' and 'type' columns");
+    }
+
+    return record -> {
+      List<String> fields = CsvUtils.parseRecord(record);
+      TransactionRequestDto request =
+          new TransactionRequestDto(
+              parseLong(field(fields, columns, "sourceAccountId")),
+              parseLong(field(fields, columns, "destinationAccountId")),
+              parseAmount(field(fields, columns, "amount")),
+              parseType(field(fields, columns, "type")),
+              field(fields, columns, "description"));
+      return new ParsedRow(request, parseDate(field(fields, columns, "createdDate")));
+    };
+  }
+
+  private ParsedRow parseNdjson(String line) throws IOException {
+    JsonNode node = jsonReader.readTree(line);
+    if (!node.isObject()) {
+      throw new IllegalArgumentException("Expected a JSON object per line");
+    }
+
+    TransactionRequestDto request =
+        new TransactionRequestDto(
+            parseLong(text(node, "sourceAccountId")),
+            parseLong(text(node, "destinationAccountId")),
+            parseAmount(text(node, "amount")),
+            parseType(text(node, "type")),
+            text(node, "description"));
+    return new ParsedRow(request, parseDate(text(node, "createdDate")));
+  }
+
+  private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+    Integer index = columns.get(name);
+    if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+      return null;
+    }
+    return fields.get(index);
+  }
+
+  private static String text(JsonNode node, String name) {
+    JsonNode value = node.get(name);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static Long parseLong(String value) {
+    return value == null ? null : Long.valueOf(value.trim());
+  }
+
+  private static BigDecimal parseAmount(String value) {
+    return value == null ? null : new BigDecimal(value.trim());
+  }
+
+  private static TransactionType parseType(String value) {
+    return value == null ? null : TransactionType.fromString(value);
+  }
+
+  private static LocalDateTime parseDate(String value) {
+    return value == null ? null : LocalDateTime.parse(value.trim());
+  }
+
+  @FunctionalInterface
+  private interface RowParser {
+    ParsedRow parse(String record) throws IOException;
+  }
+
+  private record ParsedRow(TransactionRequestDto request, LocalDateTime createdDate) {
+    Transaction toEntity() {
+      Transaction transaction = request.toEntity();
+      if (createdDate != null) {
+        transaction.setCreatedDate(createdDate);
+      }
+      return transaction;
+    }
+  }
+
+  private static final class ImportProgress {
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicReference<BigDecimal> balanceDelta =
+        new AtomicReference<>(BigDecimal.ZERO);
+    private final Queue<ImportRowErrorDto> errors = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger reportedErrors = new AtomicInteger();
+    private final int maxReportedErrors;
+    private final long progressInterval;
+
+    ImportProgress(ImportProperties properties) {
+      this.maxReportedErrors = properties.getMaxReportedErrors();
+      this.progressInterval = Math.max(1, properties.getProgressInterval());
+    }
+
+    void reject(long row, String message) {
+      rejected.incrementAndGet();
+      if (reportedErrors.incrementAndGet() <= maxReportedErrors) {
+        errors.add(new ImportRowErrorDto(row, message));
+      }
+    }
+
+    void chunkDone(int rows, int importedRows, BigDecimal delta) {
+      imported.addAndGet(importedRows);
+      balanceDelta.accumulateAndGet(delta, BigDecimal::add);
+
+      long before = processed.getAndAdd(rows);
+      long after = before + rows;
+      if (after / progressInterval > before / progressInterval) {
+        log.info(
+            "Import progress: {} rows processed ({} imported, {} rejected)",
+            after,
+            imported.get(),
+            rejected.get());
+      }
+    }
+
+    List<ImportRowErrorDto> sortedErrors() {
+      return errors.stream().sorted(Comparator.comparingLong(ImportRowErrorDto::row)).toList();
+    }
+  }
+}
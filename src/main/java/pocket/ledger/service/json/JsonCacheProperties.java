@@ -0,0 +1,16 @@
+package pocket.ledger.service.json;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.json.cache")
+public class JsonCacheProperties {
+  private boolean enabled = true;
+
+  /** Encoded transactions are evicted once their bytes, plus per-entry overhead, exceed this. */
+  private DataSize maxSize = DataSize.ofMegabytes(64);
+}
@@ -0,0 +1,98 @@
+package pocket.ledger.service.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.UncheckedIOException;
+import org.springframework.stereotype.Component;
+import pocket.ledger.dto.v1.TransactionJson;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.model.Transaction;
+
+/**
+ * The JSON encoding of each transaction read, computed on first read with the application's {@link
+ * ObjectMapper} and kept by id. Stored transactions never change, so entries are never stale; the
+ * cache is bounded by the bytes it holds and evicts the least valuable encodings beyond that.
+ */
+@Component
+public class TransactionJsonCache {
+
+  static final String METER_NAME = "ledger.json.cache";
+
+  // Rough heap cost of an entry besides its bytes: the boxed id, the wrapper and the cache node.
+  private static final int ENTRY_OVERHEAD = 96;
+
+  private final JsonCacheProperties properties;
+  private final ObjectWriter writer;
+  private final Cache<Long, TransactionJson> cache;
+  private final Counter hits;
+  private final Counter misses;
+
+  public TransactionJsonCache(
+      JsonCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.writer = objectMapper.writerFor(TransactionResponseDto.class);
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(properties.getMaxSize().toBytes())
+            .weigher((Long id, TransactionJson json) -> ENTRY_OVERHEAD + json.length())
+            .build();
+    this.hits = counter(meterRegistry, "hit");
+    this.misses = counter(meterRegistry, "miss");
+    Gauge.builder(METER_NAME + ".bytes", this, TransactionJsonCache::weightedSize)
+        .description("Heap held by cached transaction encodings")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /** The encoding of {@code transaction}, from the cache when it has been read before. */
+  public TransactionJson get(Transaction transaction) {
+    if (!properties.isEnabled()) {
+      return encode(transaction);
+    }
+    TransactionJson json = cache.getIfPresent(transaction.getId());
+    if (json != null) {
+      hits.increment();
+      return json;
+    }
+    misses.increment();
+    json = encode(transaction);
+    cache.put(transaction.getId(), json);
+    return json;
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  /** The weight of every entry, in approximate heap bytes. */
+  public long weightedSize() {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+  }
+
+  /** Runs pending evictions now rather than on the cache's next maintenance cycle. */
+  void cleanUp() {
+    cache.cleanUp();
+  }
+
+  private TransactionJson encode(Transaction transaction) {
+    try {
+      return new TransactionJson(
+          writer.writeValueAsBytes(TransactionResponseDto.fromEntity(transaction)));
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("Cannot encode transaction " + transaction.getId(), e);
+    }
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder(METER_NAME)
+        .description("Encoded transaction cache lookups")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+}
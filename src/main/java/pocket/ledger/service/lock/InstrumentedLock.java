@@ -0,0 +1,120 @@
+package pocket.ledger.service.lock;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * A {@link ReentrantLock} that records how long callers waited for it, how long it was held and how
+ * many threads were queued when a caller had to wait.
+ *
+ * <p>Uncontended acquisitions take a {@code tryLock} fast path and only record a zero wait. Only
+ * the outermost acquisition of a reentrant hold is measured.
+ */
+public final class InstrumentedLock {
+
+  private final String name;
+  private final String key;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Timer waitTimer;
+  private final Timer holdTimer;
+  private final DistributionSummary queueDepth;
+  private final LongAdder acquisitions = new LongAdder();
+  private final LongAdder contendedAcquisitions = new LongAdder();
+  private final LongAdder totalWaitNanos = new LongAdder();
+  private final LongAdder totalHoldNanos = new LongAdder();
+  private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+  private long acquiredAt;
+
+  InstrumentedLock(String name, String key, MeterRegistry meterRegistry) {
+    this.name = name;
+    this.key = key;
+    this.waitTimer =
+        Timer.builder("ledger.lock.wait")
+            .description("Time spent waiting to acquire the lock")
+            .tag("lock", name)
+            .register(meterRegistry);
+    this.holdTimer =
+        Timer.builder("ledger.lock.hold")
+            .description("Time the lock was held")
+            .tag("lock", name)
+            .register(meterRegistry);
+    this.queueDepth =
+        DistributionSummary.builder("ledger.lock.queue")
+            .description("Threads already queued when an acquisition had to wait")
+            .tag("lock", name)
+            .register(meterRegistry);
+  }
+
+  public void lock() {
+    if (lock.tryLock()) {
+      acquired(0);
+      return;
+    }
+    queueDepth.record(lock.getQueueLength());
+    long start = System.nanoTime();
+    lock.lock();
+    contendedAcquisitions.increment();
+    acquired(System.nanoTime() - start);
+  }
+
+  public void unlock() {
+    if (lock.getHoldCount() == 1) {
+      long heldNanos = System.nanoTime() - acquiredAt;
+      holdTimer.record(heldNanos, TimeUnit.NANOSECONDS);
+      totalHoldNanos.add(heldNanos);
+    }
+    lock.unlock();
+  }
+
+  public <T> T withLock(Supplier<T> action) {
+    lock();
+    try {
+      return action.get();
+    } finally {
+      unlock();
+    }
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public String key() {
+    return key;
+  }
+
+  LockSnapshot snapshot() {
+    long count = acquisitions.sum();
+    return new LockSnapshot(
+        name,
+        key,
+        lock.isLocked(),
+        lock.getQueueLength(),
+        count,
+        contendedAcquisitions.sum(),
+        millis(totalWaitNanos.sum()),
+        millis(maxWaitNanos.get()),
+        count == 0 ? 0 : millis(totalHoldNanos.sum()) / count);
+  }
+
+  private void acquired(long waitNanos) {
+    if (lock.getHoldCount() > 1) {
+      return;
+    }
+    acquiredAt = System.nanoTime();
+    acquisitions.increment();
+    waitTimer.record(waitNanos, TimeUnit.NANOSECONDS);
+    totalWaitNanos.add(waitNanos);
+    maxWaitNanos.accumulate(waitNanos);
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
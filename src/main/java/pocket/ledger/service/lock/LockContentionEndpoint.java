@@ -0,0 +1,21 @@
+package pocket.ledger.service.lock;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** {@code /actuator/ledgerlocks}: current holders, queue lengths and cumulative wait per lock. */
+@Component
+@Endpoint(id = "ledgerlocks")
+@AllArgsConstructor
+public class LockContentionEndpoint {
+
+  private final LockMonitor lockMonitor;
+
+  @ReadOperation
+  public List<LockSnapshot> locks() {
+    return lockMonitor.snapshots();
+  }
+}
@@ -0,0 +1,43 @@
+package pocket.ledger.service.lock;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates {@link InstrumentedLock}s and keeps track of them for the {@code ledgerlocks} endpoint.
+ *
+ * <p>Meters are tagged by lock name only, so striped or per-account locks share one set of
+ * histograms per name while the endpoint still ranks the individual keys by wait time.
+ */
+@Component
+public class LockMonitor {
+
+  private final MeterRegistry meterRegistry;
+  private final Map<String, InstrumentedLock> locks = new ConcurrentHashMap<>();
+
+  public LockMonitor(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  public InstrumentedLock newLock(String name) {
+    return newLock(name, null);
+  }
+
+  /** Returns the lock for {@code name} and {@code key}, creating it on first use. */
+  public InstrumentedLock newLock(String name, String key) {
+    String id = key == null ? name : name + '/' + key;
+    return locks.computeIfAbsent(id, ignored -> new InstrumentedLock(name, key, meterRegistry));
+  }
+
+  /** All locks, most total wait time first. */
+  public List<LockSnapshot> snapshots() {
+    return locks.values().stream()
+        .map(InstrumentedLock::snapshot)
+        .sorted(Comparator.comparingDouble(LockSnapshot::totalWaitMillis).reversed())
+        .toList();
+  }
+}
@@ -0,0 +1,17 @@
+package pocket.ledger.service.lock;
+
+/**
+ * Point-in-time view of one lock. Counters are cumulative since startup.
+ *
+ * @param key the stripe or account for striped and per-account locks, {@code null} otherwise
+ */
+public record LockSnapshot(
+    String name,
+    String key,
+    boolean locked,
+    int queueLength,
+    long acquisitions,
+    long contendedAcquisitions,
+    double totalWaitMillis,
+    double maxWaitMillis,
+    double meanHoldMillis) {}
@@ -0,0 +1,7 @@
+package pocket.ledger.service.query;
+
+import pocket.ledger.dto.v1.QueryExplainDto;
+import pocket.ledger.util.Page;
+
+/** A query result together with the explanation of how it was produced. */
+public record ExplainedPage<T>(Page<T> page, QueryExplainDto explain) {}
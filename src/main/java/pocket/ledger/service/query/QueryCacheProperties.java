@@ -0,0 +1,16 @@
+package pocket.ledger.service.query;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.query.cache")
+public class QueryCacheProperties {
+  private boolean enabled = true;
+  private long maxSize = 10_000;
+
+  /** Stale first pages are patched from at most this many new rows before being recomputed. */
+  private int maxPatchRows = 1_000;
+}
@@ -0,0 +1,12 @@
+package pocket.ledger.service.query;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.query.coalesce")
+public class QueryCoalesceProperties {
+  private boolean enabled = true;
+}
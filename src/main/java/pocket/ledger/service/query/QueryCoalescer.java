@@ -0,0 +1,119 @@
+package pocket.ledger.service.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.repository.TransactionPredicate;
+import pocket.ledger.repository.TransactionRepository;
+
+/**
+ * Single-flight execution of identical reads. The first caller of an operation at a given {@link
+ * TransactionRepository#version() repository version} computes the result; callers arriving while
+ * it runs wait for it and share the same result object instead of computing their own.
+ *
+ * <p>Nothing is coalesced across versions, so a caller never gets a result older than the version
+ * it saw, and nothing is coalesced while a write is in progress. A failure is rethrown to every
+ * caller that was waiting for it. Waiting parks on a {@link CompletableFuture}, which does not pin
+ * virtual threads.
+ */
+@Component
+public class QueryCoalescer {
+
+  static final String METER_NAME = "ledger.query.coalesce";
+
+  private final QueryCoalesceProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+  public QueryCoalescer(QueryCoalesceProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    Gauge.builder(METER_NAME + ".inflight", inFlight, Map::size)
+        .description("Reads currently being computed for coalesced callers")
+        .register(meterRegistry);
+  }
+
+  /** Runs {@code computation}, or joins an identical one already running at {@code version}. */
+  public <T> T coalesce(String operation, long version, Supplier<T> computation) {
+    return coalesce(new Key(operation, List.of(), 0, 0, version), computation);
+  }
+
+  /**
+   * Runs {@code computation} for {@code query}, or joins one already running at {@code version} for
+   * a query with the same filters and page.
+   */
+  public <T> T coalesce(
+      String operation, TransactionQueryDto query, long version, Supplier<T> computation) {
+    Key key =
+        new Key(
+            operation,
+            TransactionQueryHandler.predicates(query),
+            query.pageRequest().getPageNumber(),
+            query.pageRequest().getPageSize(),
+            version);
+    return coalesce(key, computation);
+  }
+
+  /** The number of distinct reads being computed right now. */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T coalesce(Key key, Supplier<T> computation) {
+    if (!properties.isEnabled() || key.version() < 0) {
+      return computation.get();
+    }
+    CompletableFuture<Object> flight = new CompletableFuture<>();
+    CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+    if (running != null) {
+      counter(key.operation(), "joined").increment();
+      return (T) await(running);
+    }
+
+    counter(key.operation(), "computed").increment();
+    try {
+      T result = computation.get();
+      flight.complete(result);
+      return result;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  private static Object await(CompletableFuture<Object> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      if (e.getCause() instanceof Error cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  private Counter counter(String operation, String result) {
+    return Counter.builder(METER_NAME)
+        .description("Coalesced reads, by whether the caller computed the result or joined one")
+        .tag("operation", operation)
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record Key(
+      String operation, List<TransactionPredicate> predicates, int page, int size, long version) {}
+}
@@ -0,0 +1,14 @@
+package pocket.ledger.service.query;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.query")
+public class QueryLogProperties {
+  /** Queries taking at least this long are logged with their full filter and timings. */
+  private Duration slowQueryThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,146 @@
+package pocket.ledger.service.query;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionPredicate;
+import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.util.Page;
+
+/**
+ * Bounded cache of query result pages, keyed by the query's predicates and page and tagged with the
+ * {@link TransactionRepository#version() repository version} they were read at. An entry is served
+ * only while the version is unchanged.
+ *
+ * <p>A stale first page is patched instead of recomputed when every write since it was cached
+ * appended a new row: the new rows that match are merged in, which is all the first page of a
+ * newest-first result can gain. Later pages, and first pages after other writes, are recomputed.
+ * Nothing is cached while a write is in progress.
+ */
+@Component
+public class QueryResultCache {
+
+  static final String METER_NAME = "ledger.query.cache";
+
+  private final QueryCacheProperties properties;
+  private final Cache<Key, Entry> cache;
+  private final Counter hits;
+  private final Counter patches;
+  private final Counter misses;
+
+  public QueryResultCache(QueryCacheProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.cache = Caffeine.newBuilder().maximumSize(properties.getMaxSize()).build();
+    this.hits = counter(meterRegistry, "hit");
+    this.patches = counter(meterRegistry, "patched");
+    this.misses = counter(meterRegistry, "miss");
+    Gauge.builder(METER_NAME + ".size", cache, Cache::estimatedSize)
+        .description("Cached query result pages")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Returns the page for {@code query} from the cache when it is current, patched when it can be,
+   * and from {@code loader} otherwise.
+   */
+  public Page<Transaction> get(
+      TransactionQueryDto query,
+      TransactionRepository repository,
+      Supplier<Page<Transaction>> loader) {
+    if (!properties.isEnabled()) {
+      return loader.get();
+    }
+    List<TransactionPredicate> predicates = TransactionQueryHandler.predicates(query);
+    Key key =
+        new Key(
+            predicates, query.pageRequest().getPageNumber(), query.pageRequest().getPageSize());
+    long version = repository.version();
+    Entry entry = version < 0 ? null : cache.getIfPresent(key);
+    if (entry != null && entry.version() == version) {
+      hits.increment();
+      return entry.page();
+    }
+    if (entry != null) {
+      Entry patched = patch(entry, key, repository, version);
+      if (patched != null) {
+        patches.increment();
+        store(key, patched);
+        return patched.page();
+      }
+    }
+
+    misses.increment();
+    Page<Transaction> page = loader.get();
+    long lastId = repository.lastAssignedId();
+    if (version >= 0 && repository.version() == version) {
+      store(key, new Entry(version, lastId, detached(page)));
+    }
+    return page;
+  }
+
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Merges the rows appended since {@code entry} was cached into its first page, or returns {@code
+   * null} when the writes since then were not all appends or were too many to patch.
+   */
+  private Entry patch(Entry entry, Key key, TransactionRepository repository, long version) {
+    long writes = version - entry.version();
+    if (key.page() != 0 || writes <= 0 || writes > properties.getMaxPatchRows()) {
+      return null;
+    }
+    List<Transaction> appended = repository.findAfterId(entry.lastId(), (int) writes + 1);
+    if (appended.size() != writes || repository.version() != version) {
+      return null;
+    }
+
+    List<Transaction> merged = new ArrayList<>(entry.page().getContent());
+    appended.stream().filter(key::matches).forEach(merged::add);
+    int added = merged.size() - entry.page().getContent().size();
+    merged.sort(TransactionRepository.NEWEST_FIRST);
+    Page<Transaction> page =
+        new Page<>(
+            List.copyOf(merged.subList(0, Math.min(merged.size(), key.size()))),
+            entry.page().getPageable(),
+            entry.page().getTotalElements() + added);
+    return new Entry(version, appended.getLast().getId(), page);
+  }
+
+  /** Copies the content, which may be a view of every matching row, so the entry holds one page. */
+  private static Page<Transaction> detached(Page<Transaction> page) {
+    return new Page<>(List.copyOf(page.getContent()), page.getPageable(), page.getTotalElements());
+  }
+
+  /** Keeps whichever of the cached and the new entry was read at the later version. */
+  private void store(Key key, Entry entry) {
+    cache
+        .asMap()
+        .merge(key, entry, (cached, fresh) -> fresh.version() >= cached.version() ? fresh : cached);
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String result) {
+    return Counter.builder(METER_NAME)
+        .description("Query result cache lookups")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private record Key(List<TransactionPredicate> predicates, int page, int size) {
+
+    boolean matches(Transaction transaction) {
+      return predicates.stream().allMatch(predicate -> predicate.test(transaction));
+    }
+  }
+
+  private record Entry(long version, long lastId, Page<Transaction> page) {}
+}
@@ -0,0 +1,85 @@
+package pocket.ledger.service.query;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import java.util.concurrent.TimeUnit;
+
+/** Meters for queries answered from one index: latency percentiles, rows scanned and returned. */
+final class QueryStatistics {
+
+  static final String TIMER_NAME = "ledger.query";
+  static final String ROWS_SUMMARY = "ledger.query.rows";
+  static final String SLOW_COUNTER = "ledger.query.slow";
+
+  private final String index;
+  private final Timer timer;
+  private final DistributionSummary rowsScanned;
+  private final DistributionSummary rowsReturned;
+  private final Counter slowQueries;
+
+  QueryStatistics(String index, MeterRegistry meterRegistry) {
+    this.index = index;
+    this.timer =
+        Timer.builder(TIMER_NAME)
+            .description("Transaction query execution time per chosen index")
+            .tag("index", index)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+    this.rowsScanned = rowsSummary(meterRegistry, index, "scanned");
+    this.rowsReturned = rowsSummary(meterRegistry, index, "returned");
+    this.slowQueries =
+        Counter.builder(SLOW_COUNTER)
+            .description("Queries slower than app.query.slow-query-threshold")
+            .tag("index", index)
+            .register(meterRegistry);
+  }
+
+  void record(long nanos, long scanned, long returned) {
+    timer.record(nanos, TimeUnit.NANOSECONDS);
+    rowsScanned.record(scanned);
+    rowsReturned.record(returned);
+  }
+
+  void recordSlowQuery() {
+    slowQueries.increment();
+  }
+
+  QueryStatsSnapshot snapshot() {
+    HistogramSnapshot latency = timer.takeSnapshot();
+    return new QueryStatsSnapshot(
+        index,
+        latency.count(),
+        (long) slowQueries.count(),
+        latency.mean(TimeUnit.MILLISECONDS),
+        latency.max(TimeUnit.MILLISECONDS),
+        percentile(latency, 0.5),
+        percentile(latency, 0.95),
+        percentile(latency, 0.99),
+        (long) rowsScanned.totalAmount(),
+        (long) rowsReturned.totalAmount(),
+        rowsScanned.mean(),
+        rowsReturned.mean());
+  }
+
+  private static double percentile(HistogramSnapshot snapshot, double percentile) {
+    for (ValueAtPercentile value : snapshot.percentileValues()) {
+      if (value.percentile() == percentile) {
+        return value.value(TimeUnit.MILLISECONDS);
+      }
+    }
+    return Double.NaN;
+  }
+
+  private static DistributionSummary rowsSummary(
+      MeterRegistry meterRegistry, String index, String kind) {
+    return DistributionSummary.builder(ROWS_SUMMARY)
+        .description("Rows scanned and returned per query")
+        .tag("index", index)
+        .tag("rows", kind)
+        .register(meterRegistry);
+  }
+}
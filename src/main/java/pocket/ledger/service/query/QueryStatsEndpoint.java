@@ -0,0 +1,21 @@
+package pocket.ledger.service.query;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/** {@code /actuator/ledgerqueries}: call counts, latency percentiles and rows per index. */
+@Component
+@Endpoint(id = "ledgerqueries")
+@AllArgsConstructor
+public class QueryStatsEndpoint {
+
+  private final TransactionQueryHandler queryHandler;
+
+  @ReadOperation
+  public List<QueryStatsSnapshot> queries() {
+    return queryHandler.statistics();
+  }
+}
@@ -0,0 +1,19 @@
+package pocket.ledger.service.query;
+
+/**
+ * Statistics for the queries answered from one index ({@code none} for full scans). Percentiles
+ * cover a sliding window of recent queries; counts and row totals are cumulative since startup.
+ */
+public record QueryStatsSnapshot(
+    String index,
+    long count,
+    long slowQueries,
+    double meanMillis,
+    double maxMillis,
+    double p50Millis,
+    double p95Millis,
+    double p99Millis,
+    long rowsScanned,
+    long rowsReturned,
+    double meanRowsScanned,
+    double meanRowsReturned) {}
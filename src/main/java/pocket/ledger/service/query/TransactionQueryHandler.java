@@ -1,27 +1,168 @@
 package pocket.ledger.service.query;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import pocket.ledger.dto.v1.QueryExplainDto;
 import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.jfr.QueryExecutionEvent;
 import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.QueryProfile;
+import pocket.ledger.repository.TransactionPredicate;
 import pocket.ledger.repository.TransactionRepository;
 import pocket.ledger.util.Page;
 
+/**
+ * Turns a query into {@link TransactionPredicate}s, lets the repository plan and run it, and
+ * records latency and row counts per chosen index. Queries slower than {@code
+ * app.query.slow-query-threshold} are logged with the full filter, the plan and a breakdown of
+ * where the time went.
+ */
+@Slf4j
 @Component
 public class TransactionQueryHandler {
 
-  private final List<TransactionQueryStrategy> strategies;
+  private static final String UNKNOWN_INDEX = "unknown";
 
-  public TransactionQueryHandler(List<TransactionQueryStrategy> strategies) {
-    this.strategies = strategies;
+  private final MeterRegistry meterRegistry;
+  private final QueryLogProperties properties;
+  private final Map<String, QueryStatistics> statistics = new ConcurrentHashMap<>();
+
+  public TransactionQueryHandler(MeterRegistry meterRegistry, QueryLogProperties properties) {
+    this.meterRegistry = meterRegistry;
+    this.properties = properties;
   }
 
   public Page<Transaction> executeQuery(
       TransactionQueryDto query, TransactionRepository repository) {
-    return strategies.stream()
-        .filter(strategy -> strategy.canHandle(query))
-        .findFirst()
-        .orElseThrow(() -> new IllegalArgumentException("No strategy found for query"))
-        .executeQuery(query, repository);
+    return execute(query, repository).page();
+  }
+
+  /** Runs {@code query} like {@link #executeQuery} and reports how the repository answered it. */
+  public ExplainedPage<Transaction> explainQuery(
+      TransactionQueryDto query, TransactionRepository repository) {
+    Execution execution = execute(query, repository);
+    QueryProfile profile = execution.profile();
+    QueryExplainDto explain =
+        new QueryExplainDto(
+            execution.index(),
+            profile.estimatedRows(),
+            profile.filters(),
+            profile.rowsScanned(),
+            profile.rowsSorted(),
+            execution.page().getContent().size(),
+            millis(profile.filterNanos()),
+            millis(profile.sortNanos()),
+            millis(profile.pageNanos()),
+            0,
+            millis(execution.totalNanos()));
+    return new ExplainedPage<>(execution.page(), explain);
+  }
+
+  /** Converts the filters of {@code query} into predicates, cheapest to evaluate first. */
+  public static List<TransactionPredicate> predicates(TransactionQueryDto query) {
+    List<TransactionPredicate> predicates = new ArrayList<>();
+    if (query.hasDateRange()) {
+      predicates.add(new TransactionPredicate.DateRange(query.startDate(), query.endDate()));
+    }
+    if (query.hasType()) {
+      predicates.add(new TransactionPredicate.OfType(query.type()));
+    }
+    if (query.hasAccount()) {
+      predicates.add(new TransactionPredicate.Account(query.accountId()));
+    }
+    if (query.hasAmountRange()) {
+      predicates.add(new TransactionPredicate.AmountRange(query.minAmount(), query.maxAmount()));
+    }
+    if (query.hasDescription()) {
+      predicates.add(new TransactionPredicate.DescriptionContains(query.description()));
+    }
+    return predicates;
+  }
+
+  private Execution execute(TransactionQueryDto query, TransactionRepository repository) {
+    QueryExecutionEvent event = new QueryExecutionEvent();
+    event.begin();
+    long startNanos = System.nanoTime();
+    List<TransactionPredicate> predicates = predicates(query);
+
+    QueryProfile profile = QueryProfile.start();
+    Page<Transaction> page;
+    try {
+      page = repository.findMatching(predicates, query.pageRequest());
+    } finally {
+      profile.stop();
+    }
+    long endNanos = System.nanoTime();
+    event.end();
+
+    Execution execution = new Execution(page, profile, endNanos - startNanos);
+    long scanned = profile.rowsScanned();
+    int returned = page.getContent().size();
+    QueryStatistics stats =
+        statistics.computeIfAbsent(
+            execution.index(), index -> new QueryStatistics(index, meterRegistry));
+    stats.record(execution.totalNanos(), scanned, returned);
+
+    if (event.shouldCommit()) {
+      event.index = execution.index();
+      event.filters = String.join(",", profile.filters());
+      event.query = query.toString();
+      event.rowsScanned = scanned;
+      event.rowsMatched = page.getTotalElements();
+      event.rowsReturned = returned;
+      event.commit();
+    }
+
+    if (execution.totalNanos() >= properties.getSlowQueryThreshold().toNanos()) {
+      stats.recordSlowQuery();
+      log.warn(
+          "Slow query on index {} (estimated {} rows, filters {}): {} took {} ms (filter {} ms,"
+              + " sort {} ms, page {} ms); scanned {} rows, sorted {}, matched {}, returned {}",
+          execution.index(),
+          profile.estimatedRows(),
+          profile.filters(),
+          query,
+          format(execution.totalNanos()),
+          format(profile.filterNanos()),
+          format(profile.sortNanos()),
+          format(profile.pageNanos()),
+          scanned,
+          profile.rowsSorted(),
+          page.getTotalElements(),
+          returned);
+    }
+    return execution;
+  }
+
+  /** Statistics per chosen index, most time-consuming first. */
+  public List<QueryStatsSnapshot> statistics() {
+    return statistics.values().stream()
+        .map(QueryStatistics::snapshot)
+        .sorted(
+            Comparator.comparingDouble((QueryStatsSnapshot s) -> s.meanMillis() * s.count())
+                .reversed())
+        .toList();
+  }
+
+  private static double millis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  private static String format(long nanos) {
+    return String.format("%.2f", millis(nanos));
+  }
+
+  private record Execution(Page<Transaction> page, QueryProfile profile, long totalNanos) {
+
+    String index() {
+      return profile.index() == null ? UNKNOWN_INDEX : profile.index();
+    }
   }
 }
@@ -0,0 +1,50 @@
+package pocket.ledger.service.ratelimit;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+  private boolean enabled = true;
+
+  private Quota read = new Quota(200, 400);
+  private Quota write = new Quota(50, 100);
+
+  /** Buckets untouched for this long are full again and are dropped. */
+  private Duration idleTimeout = Duration.ofMinutes(10);
+
+  /**
+   * API keys that identify a client; requests with any other key, or none, are limited by remote
+   * address, so made-up keys cannot buy fresh buckets.
+   */
+  private Set<String> apiKeys = new HashSet<>();
+
+  /**
+   * Clients tracked at once. A full stripe drops clients whose buckets are full again; new clients
+   * are refused while it stays full.
+   */
+  private int maxClients = 100_000;
+
+  /** Independent maps the clients are spread over; rounded up to a power of two. */
+  private int stripes = 64;
+
+  /** Sustained rate and burst allowed to each client. */
+  @Data
+  public static class Quota {
+    private double permitsPerSecond;
+    private int burst;
+
+    public Quota() {}
+
+    Quota(double permitsPerSecond, int burst) {
+      this.permitsPerSecond = permitsPerSecond;
+      this.burst = burst;
+    }
+  }
+}
@@ -0,0 +1,184 @@
+package pocket.ledger.service.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-client read and write quotas, each a lock-free {@link TokenBucket}. Clients are spread over
+ * independent maps (stripes) by hash, so each stripe stays small: idle clients are swept from one
+ * stripe at a time, at most twice per {@code app.rate-limit.idle-timeout}, by whichever request
+ * next touches it, and no background thread is needed.
+ *
+ * <p>When a stripe reaches its share of {@code app.rate-limit.max-clients}, it drops every client
+ * whose buckets are full again, which loses nothing, since a full bucket acts like a new one. This
+ * happens at most once per {@link #COMPACTION_GAP_NANOS}. New clients are refused while the stripe
+ * stays full, rather than sharing a bucket that any one of them could drain for the others.
+ *
+ * <p>A client dropped while one of its requests is in flight had a full bucket; the request spends
+ * a permit from the dropped bucket and the next one starts a new, full bucket.
+ */
+@Component
+public class RateLimiter {
+
+  static final String METER_NAME = "ledger.ratelimit";
+
+  /** The least time between two compactions of a full stripe; also the wait of refused clients. */
+  static final long COMPACTION_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final RateLimitProperties properties;
+  private final LongSupplier clock;
+  private final Stripe[] stripes;
+  private final int stripeCapacity;
+  private final Counter readsLimited;
+  private final Counter writesLimited;
+
+  public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+    this(properties, meterRegistry, System::nanoTime);
+  }
+
+  RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+    this.properties = properties;
+    this.clock = clock;
+    int requested = properties.getStripes();
+    int stripeCount = requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1;
+    long now = clock.getAsLong();
+    this.stripes = new Stripe[stripeCount];
+    Arrays.setAll(stripes, i -> new Stripe(now));
+    this.stripeCapacity = Math.max(1, Math.ceilDiv(properties.getMaxClients(), stripeCount));
+    this.readsLimited = counter(meterRegistry, "read");
+    this.writesLimited = counter(meterRegistry, "write");
+    Gauge.builder(METER_NAME + ".clients", this, RateLimiter::clients)
+        .description("Clients with a rate limit bucket")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Takes a read permit for {@code clientId}: {@code 0} when granted, otherwise the nanoseconds
+   * until the client's next read permit, or until a new client refused for want of room may retry.
+   */
+  public long acquireRead(String clientId) {
+    return acquire(clientId, properties.getRead(), true, readsLimited);
+  }
+
+  /**
+   * Takes a write permit for {@code clientId}: {@code 0} when granted, otherwise the nanoseconds
+   * until the client's next write permit, or until a new client refused for want of room may retry.
+   */
+  public long acquireWrite(String clientId) {
+    return acquire(clientId, properties.getWrite(), false, writesLimited);
+  }
+
+  /** The number of clients holding a bucket. */
+  public long clients() {
+    long clients = 0;
+    for (Stripe stripe : stripes) {
+      clients += stripe.clients.size();
+    }
+    return clients;
+  }
+
+  private long acquire(
+      String clientId, RateLimitProperties.Quota quota, boolean read, Counter limited) {
+    if (!properties.isEnabled()) {
+      return 0;
+    }
+    long now = clock.getAsLong();
+    Client client = client(clientId, now);
+    if (client == null) {
+      limited.increment();
+      return COMPACTION_GAP_NANOS;
+    }
+    long intervalNanos = (long) (1_000_000_000 / quota.getPermitsPerSecond());
+    TokenBucket bucket = read ? client.reads() : client.writes();
+    long waitNanos = bucket.tryAcquire(now, intervalNanos, quota.getBurst());
+    if (waitNanos > 0) {
+      limited.increment();
+    }
+    return waitNanos;
+  }
+
+  private Client client(String clientId, long now) {
+    Stripe stripe = stripes[stripeIndex(clientId)];
+    stripe.sweepIfDue(now);
+    Client client = stripe.clients.get(clientId);
+    if (client != null) {
+      return client;
+    }
+    if (stripe.clients.size() >= stripeCapacity && !stripe.compact(now, stripeCapacity)) {
+      return null;
+    }
+    return stripe.clients.computeIfAbsent(clientId, id -> new Client(now));
+  }
+
+  private int stripeIndex(String clientId) {
+    int hash = clientId.hashCode();
+    return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+  }
+
+  private static Counter counter(MeterRegistry meterRegistry, String quota) {
+    return Counter.builder(METER_NAME + ".limited")
+        .description("Requests refused because the client's quota was spent")
+        .tag("quota", quota)
+        .register(meterRegistry);
+  }
+
+  private record Client(TokenBucket reads, TokenBucket writes) {
+
+    Client(long nowNanos) {
+      this(new TokenBucket(nowNanos), new TokenBucket(nowNanos));
+    }
+
+    boolean fullSince(long cutoffNanos) {
+      return reads.fullSince(cutoffNanos) && writes.fullSince(cutoffNanos);
+    }
+  }
+
+  private final class Stripe {
+
+    private final Map<String, Client> clients = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    private final AtomicLong nextCompaction;
+
+    Stripe(long nowNanos) {
+      this.nextSweep = new AtomicLong(nowNanos + sweepIntervalNanos());
+      this.nextCompaction = new AtomicLong(nowNanos);
+    }
+
+    void sweepIfDue(long nowNanos) {
+      long due = nextSweep.get();
+      if (nowNanos - due >= 0 && nextSweep.compareAndSet(due, nowNanos + sweepIntervalNanos())) {
+        sweep(nowNanos);
+      }
+    }
+
+    void sweep(long nowNanos) {
+      long cutoff = nowNanos - properties.getIdleTimeout().toNanos();
+      clients.values().removeIf(client -> client.fullSince(cutoff));
+    }
+
+    /**
+     * Drops the clients whose buckets are full, unless the stripe was compacted less than {@link
+     * #COMPACTION_GAP_NANOS} ago or another thread is at it; returns whether there is room now.
+     */
+    boolean compact(long nowNanos, int capacity) {
+      long due = nextCompaction.get();
+      if (nowNanos - due >= 0
+          && nextCompaction.compareAndSet(due, nowNanos + COMPACTION_GAP_NANOS)) {
+        clients.values().removeIf(client -> client.fullSince(nowNanos));
+      }
+      return clients.size() < capacity;
+    }
+
+    private long sweepIntervalNanos() {
+      return properties.getIdleTimeout().toNanos() / 2;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+package pocket.ledger.service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket kept as a single timestamp, after the generic cell rate algorithm: the bucket is
+ * full at the theoretical arrival time and every permit pushes it one emission interval further. A
+ * permit is granted while that time stays within the burst allowance of now. Acquiring is one
+ * compare-and-set, so buckets never lock.
+ */
+final class TokenBucket {
+
+  private final AtomicLong theoreticalArrival;
+
+  TokenBucket(long nowNanos) {
+    this.theoreticalArrival = new AtomicLong(nowNanos);
+  }
+
+  /**
+   * Takes one permit, refilled every {@code intervalNanos} with up to {@code burst} held, and
+   * returns {@code 0}; or, when none is left, takes nothing and returns the nanoseconds until one
+   * will be.
+   */
+  long tryAcquire(long nowNanos, long intervalNanos, int burst) {
+    long burstNanos = intervalNanos * burst;
+    while (true) {
+      long arrival = theoreticalArrival.get();
+      long next = Math.max(arrival, nowNanos) + intervalNanos;
+      long waitNanos = next - nowNanos - burstNanos;
+      if (waitNanos > 0) {
+        return waitNanos;
+      }
+      if (theoreticalArrival.compareAndSet(arrival, next)) {
+        return 0;
+      }
+    }
+  }
+
+  /** Whether the bucket has been full since before {@code cutoffNanos}. */
+  boolean fullSince(long cutoffNanos) {
+    return theoreticalArrival.get() - cutoffNanos < 0;
+  }
+}
@@ -0,0 +1,20 @@
+package pocket.ledger.service.stream;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "app.stream")
+public class StreamProperties {
+  private int maxSubscribers = 10_000;
+
+  /** Transactions buffered per subscriber before the oldest are dropped. */
+  private int bufferSize = 256;
+
+  private int dispatchQueueSize = 65_536;
+  private Duration heartbeat = Duration.ofSeconds(15);
+  private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,118 @@
+package pocket.ledger.service.stream;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+
+/**
+ * Per-subscriber bounded buffer between the dispatcher and the subscriber's sender thread.
+ *
+ * <p>When the buffer is full the oldest transactions are dropped and counted, so a slow client
+ * never holds back the others. Balance updates are coalesced: only the latest one is kept.
+ */
+final class StreamSubscriber {
+
+  private final long id;
+  private final SseEmitter emitter;
+  private final int capacity;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition ready = lock.newCondition();
+  private final ArrayDeque<TransactionResponseDto> transactions;
+  private BalanceResponseDto balance;
+  private long dropped;
+  private boolean closed;
+
+  StreamSubscriber(long id, SseEmitter emitter, int capacity) {
+    this.id = id;
+    this.emitter = emitter;
+    this.capacity = capacity;
+    this.transactions = new ArrayDeque<>(capacity);
+  }
+
+  long id() {
+    return id;
+  }
+
+  SseEmitter emitter() {
+    return emitter;
+  }
+
+  /**
+   * Buffers new transactions and the latest balance, dropping the oldest transactions if the buffer
+   * overflows. {@code missed} counts events lost before they reached this subscriber.
+   *
+   * @return how many transactions were dropped for this subscriber
+   */
+  int enqueue(
+      List<TransactionResponseDto> newTransactions, BalanceResponseDto latest, long missed) {
+    lock.lock();
+    try {
+      if (closed) {
+        return 0;
+      }
+      int droppedNow = 0;
+      for (TransactionResponseDto transaction : newTransactions) {
+        if (transactions.size() == capacity) {
+          transactions.pollFirst();
+          droppedNow++;
+        }
+        transactions.addLast(transaction);
+      }
+      dropped += droppedNow + missed;
+      balance = latest;
+      ready.signal();
+      return droppedNow;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits up to {@code timeout} for buffered events and takes them all.
+   *
+   * @return the pending events, an empty batch on timeout, or {@code null} once closed
+   */
+  Batch awaitBatch(Duration timeout) throws InterruptedException {
+    lock.lock();
+    try {
+      long remaining = timeout.toNanos();
+      while (!closed && transactions.isEmpty() && balance == null && remaining > 0) {
+        remaining = ready.awaitNanos(remaining);
+      }
+      if (closed) {
+        return null;
+      }
+      Batch batch = new Batch(new ArrayList<>(transactions), balance, dropped);
+      transactions.clear();
+      balance = null;
+      dropped = 0;
+      return batch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void close() {
+    lock.lock();
+    try {
+      closed = true;
+      transactions.clear();
+      ready.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  record Batch(
+      List<TransactionResponseDto> transactions, BalanceResponseDto balance, long dropped) {
+    boolean isEmpty() {
+      return transactions.isEmpty() && balance == null && dropped == 0;
+    }
+  }
+}
@@ -0,0 +1,207 @@
+package pocket.ledger.service.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.event.TransactionCreatedEvent;
+import pocket.ledger.event.TransactionsImportedEvent;
+import pocket.ledger.exception.ServiceOverloadedException;
+import pocket.ledger.repository.TransactionRepository;
+
+/**
+ * Server-Sent Events feed of new transactions and balance changes.
+ *
+ * <p>Writers only offer the event to a bounded dispatch queue. A single dispatcher thread drains it
+ * in batches, reads the balance once per batch and hands the batch to every subscriber's buffer.
+ * Each subscriber has its own virtual thread that blocks on its buffer and writes to the
+ * connection, so a slow client only ever delays itself.
+ */
+@Slf4j
+@Service
+public class TransactionStreamService {
+
+  static final String TRANSACTION_EVENT = "transaction";
+  static final String BALANCE_EVENT = "balance";
+  static final String DROPPED_EVENT = "dropped";
+
+  private static final int DISPATCH_BATCH_SIZE = 1024;
+  private static final long RETRY_AFTER_SECONDS = 5;
+
+  private final TransactionRepository transactionRepository;
+  private final StreamProperties properties;
+  private final Map<Long, StreamSubscriber> subscribers = new ConcurrentHashMap<>();
+  // One permit per subscriber slot, taken before registering and returned on unsubscribe.
+  private final Semaphore slots;
+  private final AtomicLong subscriberIds = new AtomicLong();
+  private final AtomicLong missedEvents = new AtomicLong();
+  private final BlockingQueue<Object> events;
+  private final Counter droppedEvents;
+  private Thread dispatcher;
+
+  public TransactionStreamService(
+      TransactionRepository transactionRepository,
+      StreamProperties properties,
+      MeterRegistry meterRegistry) {
+    this.transactionRepository = transactionRepository;
+    this.properties = properties;
+    this.slots = new Semaphore(properties.getMaxSubscribers());
+    this.events = new ArrayBlockingQueue<>(properties.getDispatchQueueSize());
+    Gauge.builder("ledger.stream.subscribers", subscribers, Map::size)
+        .description("Connected live feed subscribers")
+        .register(meterRegistry);
+    this.droppedEvents =
+        Counter.builder("ledger.stream.dropped")
+            .description("Transactions dropped for slow live feed subscribers")
+            .register(meterRegistry);
+  }
+
+  @PostConstruct
+  void start() {
+    dispatcher = Thread.ofVirtual().name("ledger-stream-dispatcher").start(this::dispatch);
+  }
+
+  @PreDestroy
+  void stop() {
+    dispatcher.interrupt();
+    subscribers.values().forEach(subscriber -> subscriber.emitter().complete());
+  }
+
+  public SseEmitter subscribe() {
+    if (!slots.tryAcquire()) {
+      throw new ServiceOverloadedException(
+          "Live feed subscriber limit reached", RETRY_AFTER_SECONDS);
+    }
+
+    SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+    StreamSubscriber subscriber =
+        new StreamSubscriber(subscriberIds.incrementAndGet(), emitter, properties.getBufferSize());
+    subscribers.put(subscriber.id(), subscriber);
+
+    emitter.onCompletion(() -> unsubscribe(subscriber));
+    emitter.onTimeout(emitter::complete);
+    emitter.onError(error -> unsubscribe(subscriber));
+
+    Thread.ofVirtual()
+        .name("ledger-stream-" + subscriber.id())
+        .start(() -> deliver(subscriber));
+    return emitter;
+  }
+
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  @EventListener
+  public void onTransactionCreated(TransactionCreatedEvent event) {
+    offer(event);
+  }
+
+  @EventListener
+  public void onTransactionsImported(TransactionsImportedEvent event) {
+    offer(event);
+  }
+
+  private void offer(Object event) {
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    if (!events.offer(event)) {
+      missedEvents.incrementAndGet();
+      droppedEvents.increment();
+    }
+  }
+
+  private void dispatch() {
+    List<Object> batch = new ArrayList<>(DISPATCH_BATCH_SIZE);
+    try {
+      while (!Thread.currentThread().isInterrupted()) {
+        batch.add(events.take());
+        events.drainTo(batch, DISPATCH_BATCH_SIZE - 1);
+        publish(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void publish(List<Object> batch) {
+    List<TransactionResponseDto> transactions = new ArrayList<>(batch.size());
+    for (Object event : batch) {
+      if (event instanceof TransactionCreatedEvent created) {
+        transactions.add(created.transaction());
+      }
+    }
+    BalanceResponseDto balance = currentBalance();
+    long missed = missedEvents.getAndSet(0);
+
+    for (StreamSubscriber subscriber : subscribers.values()) {
+      int dropped = subscriber.enqueue(transactions, balance, missed);
+      if (dropped > 0) {
+        droppedEvents.increment(dropped);
+      }
+    }
+  }
+
+  private void deliver(StreamSubscriber subscriber) {
+    SseEmitter emitter = subscriber.emitter();
+    try {
+      emitter.send(SseEmitter.event().name(BALANCE_EVENT).data(currentBalance()));
+      StreamSubscriber.Batch batch;
+      while ((batch = subscriber.awaitBatch(properties.getHeartbeat())) != null) {
+        if (batch.isEmpty()) {
+          emitter.send(SseEmitter.event().comment("keepalive"));
+          continue;
+        }
+        if (batch.dropped() > 0) {
+          emitter.send(
+              SseEmitter.event().name(DROPPED_EVENT).data(Map.of("count", batch.dropped())));
+        }
+        for (TransactionResponseDto transaction : batch.transactions()) {
+          emitter.send(
+              SseEmitter.event()
+                  .name(TRANSACTION_EVENT)
+                  .id(String.valueOf(transaction.id()))
+                  .data(transaction));
+        }
+        if (batch.balance() != null) {
+          emitter.send(SseEmitter.event().name(BALANCE_EVENT).data(batch.balance()));
+        }
+      }
+    } catch (IOException | IllegalStateException e) {
+      log.debug("Live feed subscriber {} disconnected: {}", subscriber.id(), e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      unsubscribe(subscriber);
+    }
+  }
+
+  private void unsubscribe(StreamSubscriber subscriber) {
+    if (subscribers.remove(subscriber.id()) != null) {
+      slots.release();
+      subscriber.close();
+    }
+  }
+
+  private BalanceResponseDto currentBalance() {
+    return BalanceResponseDto.fromSummary(transactionRepository.summary());
+  }
+}
@@ -0,0 +1,80 @@
+package pocket.ledger.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CsvUtils {
+
+  public static final char SEPARATOR = ',';
+
+  private static final char QUOTE = '"';
+
+  /** Quotes a field per RFC 4180 when it contains a separator, quote or line break. */
+  public static String escape(String value) {
+    if (value == null) {
+      return "";
+    }
+    if (!needsQuoting(value)) {
+      return value;
+    }
+    return QUOTE + value.replace("\"", "\"\"") + QUOTE;
+  }
+
+  /** Splits one record into fields, unquoting quoted fields. */
+  public static List<String> parseRecord(String record) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    int i = 0;
+    while (i < record.length()) {
+      char c = record.charAt(i);
+      if (quoted && c == QUOTE) {
+        boolean escapedQuote = i + 1 < record.length() && record.charAt(i + 1) == QUOTE;
+        if (escapedQuote) {
+          field.append(QUOTE);
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (quoted) {
+        field.append(c);
+      } else if (c == QUOTE) {
+        quoted = true;
+      } else if (c == SEPARATOR) {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c != '\r') {
+        field.append(c);
+      }
+      i++;
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  /**
+   * Returns whether the text holds a whole record, i.e. it does not end inside a quoted field that
+   * continues on the next line.
+   */
+  public static boolean isRecordComplete(CharSequence text) {
+    int quotes = 0;
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) == QUOTE) {
+        quotes++;
+      }
+    }
+    return quotes % 2 == 0;
+  }
+
+  private static boolean needsQuoting(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == SEPARATOR || c == QUOTE || c == '\n' || c == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private CsvUtils() {}
+}
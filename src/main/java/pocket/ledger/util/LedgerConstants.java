@@ -17,5 +17,15 @@ public final class LedgerConstants {
   public static final String REQUEST_ID_HEADER = "X-Request-ID";
   public static final String REQUEST_ID_MDC_KEY = "requestId";
 
+  // Idempotency constants
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+  public static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+  // Lock constants
+  public static final String BALANCE_LOCK = "balance";
+
+  // Rate limiting constants
+  public static final String API_KEY_HEADER = "X-API-Key";
+
   private LedgerConstants() {}
 }
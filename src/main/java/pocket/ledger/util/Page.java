@@ -1,5 +1,6 @@
 package pocket.ledger.util;
 
+import java.util.AbstractList;
 import java.util.List;
 import java.util.function.Function;
 import lombok.AllArgsConstructor;
@@ -24,8 +25,28 @@ public class Page<T> {
     return pageable.getPageNumber() >= getTotalPages() - 1;
   }
 
+  /**
+   * Returns this page with {@code mapper} applied lazily, each time an element is read, so a page
+   * that is serialized once maps every row once and no second list is built.
+   *
+   * <p>The mapped content must be read exactly once: every read maps again, on the reading thread,
+   * after whatever produced the page has returned. Callers that share the page, or that need the
+   * mapping inside an admitted or timed section, map the content up front instead.
+   */
   public <U> Page<U> map(Function<T, U> mapper) {
-    List<U> mappedContent = content.stream().map(mapper).toList();
+    List<T> source = content;
+    List<U> mappedContent =
+        new AbstractList<>() {
+          @Override
+          public U get(int index) {
+            return mapper.apply(source.get(index));
+          }
+
+          @Override
+          public int size() {
+            return source.size();
+          }
+        };
 
     return new Page<>(mappedContent, pageable, totalElements);
   }
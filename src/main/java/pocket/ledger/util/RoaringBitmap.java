@@ -0,0 +1,425 @@
+package pocket.ledger.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A compressed set of non-negative ints in the Roaring layout. Values are grouped by their high 16
+ * bits into chunks; a chunk keeps its low 16 bits as a sorted array while it holds at most 4096
+ * values and as a 65536-bit bitmap beyond that, so sparse and dense sets both stay small.
+ *
+ * <p>{@link #and} and {@link #or} work chunk by chunk and return new bitmaps, leaving their inputs
+ * untouched. Not thread-safe: callers sharing a bitmap guard it themselves.
+ */
+public final class RoaringBitmap {
+
+  private static final int ARRAY_LIMIT = 4096;
+  private static final int BITMAP_WORDS = 1024;
+
+  private char[] keys = new char[4];
+  private Container[] containers = new Container[4];
+  private int size;
+
+  public static RoaringBitmap of(int... values) {
+    RoaringBitmap bitmap = new RoaringBitmap();
+    for (int value : values) {
+      bitmap.add(value);
+    }
+    return bitmap;
+  }
+
+  public void add(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("value must not be negative: " + value);
+    }
+    char key = (char) (value >>> 16);
+    int index = indexOf(key);
+    if (index >= 0) {
+      containers[index] = containers[index].add((char) value);
+    } else {
+      insert(-index - 1, key, new ArrayContainer().add((char) value));
+    }
+  }
+
+  public boolean contains(int value) {
+    if (value < 0) {
+      return false;
+    }
+    int index = indexOf((char) (value >>> 16));
+    return index >= 0 && containers[index].contains((char) value);
+  }
+
+  public int cardinality() {
+    int cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      cardinality += containers[i].cardinality();
+    }
+    return cardinality;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public RoaringBitmap copy() {
+    RoaringBitmap copy = new RoaringBitmap();
+    for (int i = 0; i < size; i++) {
+      copy.insert(i, keys[i], containers[i].copy());
+    }
+    return copy;
+  }
+
+  /** Values present in both bitmaps. */
+  public static RoaringBitmap and(RoaringBitmap left, RoaringBitmap right) {
+    RoaringBitmap result = new RoaringBitmap();
+    int i = 0;
+    int j = 0;
+    while (i < left.size && j < right.size) {
+      int byKey = Character.compare(left.keys[i], right.keys[j]);
+      if (byKey < 0) {
+        i++;
+      } else if (byKey > 0) {
+        j++;
+      } else {
+        Container both = left.containers[i].and(right.containers[j]);
+        if (both.cardinality() > 0) {
+          result.insert(result.size, left.keys[i], both);
+        }
+        i++;
+        j++;
+      }
+    }
+    return result;
+  }
+
+  /** Values present in any of the bitmaps. */
+  public static RoaringBitmap or(Collection<RoaringBitmap> bitmaps) {
+    RoaringBitmap result = new RoaringBitmap();
+    for (RoaringBitmap bitmap : bitmaps) {
+      for (int i = 0; i < bitmap.size; i++) {
+        int index = result.indexOf(bitmap.keys[i]);
+        if (index >= 0) {
+          result.containers[index] = result.containers[index].or(bitmap.containers[i]);
+        } else {
+          result.insert(-index - 1, bitmap.keys[i], bitmap.containers[i].copy());
+        }
+      }
+    }
+    return result;
+  }
+
+  /** All values in ascending order. */
+  public int[] toArray() {
+    int[] values = new int[cardinality()];
+    int position = 0;
+    for (int i = 0; i < size; i++) {
+      position = containers[i].ascending(keys[i] << 16, values, position);
+    }
+    return values;
+  }
+
+  /**
+   * Up to {@code limit} values in descending order after skipping the {@code skip} largest. Whole
+   * chunks inside the skipped part are passed over by their cardinality without being read.
+   */
+  public int[] descending(int skip, int limit) {
+    int[] values = new int[Math.max(0, Math.min(limit, cardinality() - skip))];
+    int position = 0;
+    for (int i = size - 1; i >= 0 && position < values.length; i--) {
+      int cardinality = containers[i].cardinality();
+      if (skip >= cardinality) {
+        skip -= cardinality;
+        continue;
+      }
+      position = containers[i].descending(keys[i] << 16, skip, values, position);
+      skip = 0;
+    }
+    return values;
+  }
+
+  private int indexOf(char key) {
+    return Arrays.binarySearch(keys, 0, size, key);
+  }
+
+  private void insert(int index, char key, Container container) {
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      containers = Arrays.copyOf(containers, size * 2);
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(containers, index, containers, index + 1, size - index);
+    keys[index] = key;
+    containers[index] = container;
+    size++;
+  }
+
+  /** The low 16 bits of the values in one chunk. */
+  private sealed interface Container permits ArrayContainer, BitmapContainer {
+
+    /** Adds {@code value}, returning the container now holding the chunk. */
+    Container add(char value);
+
+    boolean contains(char value);
+
+    int cardinality();
+
+    Container and(Container other);
+
+    Container or(Container other);
+
+    Container copy();
+
+    /** Writes the values, with {@code high} or'ed in, into {@code out} from {@code position}. */
+    int ascending(int high, int[] out, int position);
+
+    /** Like {@link #ascending} but largest first, after skipping the {@code skip} largest. */
+    int descending(int high, int skip, int[] out, int position);
+  }
+
+  private static final class ArrayContainer implements Container {
+
+    private char[] values;
+    private int cardinality;
+
+    ArrayContainer() {
+      this(new char[4], 0);
+    }
+
+    ArrayContainer(char[] values, int cardinality) {
+      this.values = values;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    public Container add(char value) {
+      int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        return this;
+      }
+      if (cardinality == ARRAY_LIMIT) {
+        return toBitmap().add(value);
+      }
+      if (cardinality == values.length) {
+        values = Arrays.copyOf(values, Math.min(ARRAY_LIMIT, Math.max(4, cardinality * 2)));
+      }
+      int at = -index - 1;
+      System.arraycopy(values, at, values, at + 1, cardinality - at);
+      values[at] = value;
+      cardinality++;
+      return this;
+    }
+
+    @Override
+    public boolean contains(char value) {
+      return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    public int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    public Container and(Container other) {
+      char[] both = new char[cardinality];
+      int count = 0;
+      if (other instanceof ArrayContainer array) {
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+          if (values[i] < array.values[j]) {
+            i++;
+          } else if (values[i] > array.values[j]) {
+            j++;
+          } else {
+            both[count++] = values[i];
+            i++;
+            j++;
+          }
+        }
+      } else {
+        for (int i = 0; i < cardinality; i++) {
+          if (other.contains(values[i])) {
+            both[count++] = values[i];
+          }
+        }
+      }
+      return new ArrayContainer(both, count);
+    }
+
+    @Override
+    public Container or(Container other) {
+      if (other instanceof BitmapContainer bitmap) {
+        return bitmap.or(this);
+      }
+      ArrayContainer array = (ArrayContainer) other;
+      char[] either = new char[cardinality + array.cardinality];
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < cardinality || j < array.cardinality) {
+        if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+          either[count++] = values[i++];
+        } else if (i == cardinality || values[i] > array.values[j]) {
+          either[count++] = array.values[j++];
+        } else {
+          either[count++] = values[i];
+          i++;
+          j++;
+        }
+      }
+      ArrayContainer merged = new ArrayContainer(either, count);
+      return count > ARRAY_LIMIT ? merged.toBitmap() : merged;
+    }
+
+    @Override
+    public Container copy() {
+      return new ArrayContainer(Arrays.copyOf(values, Math.max(4, cardinality)), cardinality);
+    }
+
+    @Override
+    public int ascending(int high, int[] out, int position) {
+      for (int i = 0; i < cardinality; i++) {
+        out[position++] = high | values[i];
+      }
+      return position;
+    }
+
+    @Override
+    public int descending(int high, int skip, int[] out, int position) {
+      for (int i = cardinality - 1 - skip; i >= 0 && position < out.length; i--) {
+        out[position++] = high | values[i];
+      }
+      return position;
+    }
+
+    private BitmapContainer toBitmap() {
+      BitmapContainer bitmap = new BitmapContainer();
+      for (int i = 0; i < cardinality; i++) {
+        bitmap.add(values[i]);
+      }
+      return bitmap;
+    }
+  }
+
+  private static final class BitmapContainer implements Container {
+
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer() {
+      this(new long[BITMAP_WORDS], 0);
+    }
+
+    BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    public Container add(char value) {
+      long bit = 1L << value;
+      if ((words[value >>> 6] & bit) == 0) {
+        words[value >>> 6] |= bit;
+        cardinality++;
+      }
+      return this;
+    }
+
+    @Override
+    public boolean contains(char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    public int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    public Container and(Container other) {
+      if (other instanceof ArrayContainer array) {
+        return array.and(this);
+      }
+      long[] otherWords = ((BitmapContainer) other).words;
+      long[] both = new long[BITMAP_WORDS];
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        both[i] = words[i] & otherWords[i];
+        count += Long.bitCount(both[i]);
+      }
+      BitmapContainer result = new BitmapContainer(both, count);
+      return count > ARRAY_LIMIT ? result : result.toArrayContainer();
+    }
+
+    @Override
+    public Container or(Container other) {
+      BitmapContainer result = (BitmapContainer) copy();
+      if (other instanceof BitmapContainer bitmap) {
+        result.cardinality = 0;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          result.words[i] |= bitmap.words[i];
+          result.cardinality += Long.bitCount(result.words[i]);
+        }
+      } else {
+        ArrayContainer array = (ArrayContainer) other;
+        for (int i = 0; i < array.cardinality; i++) {
+          result.add(array.values[i]);
+        }
+      }
+      return result;
+    }
+
+    @Override
+    public Container copy() {
+      return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    @Override
+    public int ascending(int high, int[] out, int position) {
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        long word = words[i];
+        while (word != 0) {
+          out[position++] = high | (i << 6) | Long.numberOfTrailingZeros(word);
+          word &= word - 1;
+        }
+      }
+      return position;
+    }
+
+    @Override
+    public int descending(int high, int skip, int[] out, int position) {
+      for (int i = BITMAP_WORDS - 1; i >= 0 && position < out.length; i--) {
+        long word = words[i];
+        int bits = Long.bitCount(word);
+        if (skip >= bits) {
+          skip -= bits;
+          continue;
+        }
+        while (word != 0 && position < out.length) {
+          int bit = 63 - Long.numberOfLeadingZeros(word);
+          word &= ~(1L << bit);
+          if (skip > 0) {
+            skip--;
+          } else {
+            out[position++] = high | (i << 6) | bit;
+          }
+        }
+      }
+      return position;
+    }
+
+    private ArrayContainer toArrayContainer() {
+      char[] values = new char[Math.max(4, cardinality)];
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        long word = words[i];
+        while (word != 0) {
+          values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+      return new ArrayContainer(values, count);
+    }
+  }
+}
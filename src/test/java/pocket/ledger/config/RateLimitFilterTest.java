@@ -0,0 +1,147 @@
+package pocket.ledger.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import pocket.ledger.exception.RateLimitExceededException;
+import pocket.ledger.service.ratelimit.RateLimitProperties;
+import pocket.ledger.service.ratelimit.RateLimiter;
+import pocket.ledger.util.LedgerConstants;
+
+@DisplayName("RateLimitFilter Tests")
+class RateLimitFilterTest {
+
+  private final HandlerExceptionResolver exceptionResolver = mock(HandlerExceptionResolver.class);
+  private RateLimitFilter filter;
+
+  @BeforeEach
+  void setUp() {
+    RateLimitProperties properties = new RateLimitProperties();
+    properties.getRead().setBurst(2);
+    properties.getWrite().setBurst(1);
+    filter =
+        new RateLimitFilter(
+            new RateLimiter(properties, new SimpleMeterRegistry()),
+            Set.of("alice", "bob"),
+            exceptionResolver);
+  }
+
+  @Test
+  @DisplayName("Should pass requests within quota down the chain")
+  void shouldPassRequestsWithinQuota() throws Exception {
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request("POST", "alice"), new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest()).isNotNull();
+    verify(exceptionResolver, never()).resolveException(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should refuse a write over quota with a rate limit error")
+  void shouldRefuseWriteOverQuota() throws Exception {
+    filter.doFilter(request("POST", "alice"), new MockHttpServletResponse(), new MockFilterChain());
+
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request("POST", "alice"), new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest()).isNull();
+    verify(exceptionResolver)
+        .resolveException(
+            any(),
+            any(),
+            isNull(),
+            argThat(
+                ex ->
+                    ex instanceof RateLimitExceededException limited
+                        && "write".equals(limited.getParameters()[0])
+                        && limited.getRetryAfterSeconds() >= 1));
+  }
+
+  @Test
+  @DisplayName("Should charge reads and writes to separate quotas")
+  void shouldChargeReadsAndWritesSeparately() throws Exception {
+    filter.doFilter(request("POST", "alice"), new MockHttpServletResponse(), new MockFilterChain());
+
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request("GET", "alice"), new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should limit each API key separately")
+  void shouldLimitEachApiKeySeparately() throws Exception {
+    filter.doFilter(request("POST", "alice"), new MockHttpServletResponse(), new MockFilterChain());
+
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request("POST", "bob"), new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest()).isNotNull();
+  }
+
+  @Test
+  @DisplayName("Should charge unknown keys to the caller's address")
+  void shouldChargeUnknownKeysToAddress() throws Exception {
+    filter.doFilter(
+        request("POST", "made-up-1"), new MockHttpServletResponse(), new MockFilterChain());
+
+    MockFilterChain chain = new MockFilterChain();
+    filter.doFilter(request("POST", "made-up-2"), new MockHttpServletResponse(), chain);
+
+    assertThat(chain.getRequest()).isNull();
+    verify(exceptionResolver).resolveException(any(), any(), isNull(), any());
+  }
+
+  @Test
+  @DisplayName("Should not charge methods other than GET and POST")
+  void shouldNotChargeOtherMethods() throws Exception {
+    for (int i = 0; i < 5; i++) {
+      MockFilterChain chain = new MockFilterChain();
+      filter.doFilter(request("OPTIONS", "alice"), new MockHttpServletResponse(), chain);
+      assertThat(chain.getRequest()).isNotNull();
+    }
+    verify(exceptionResolver, never()).resolveException(any(), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("Should identify clients by known API key, or else by address")
+  void shouldIdentifyClients() {
+    MockHttpServletRequest withKey = request("GET", "alice");
+    MockHttpServletRequest withoutKey = request("GET", null);
+    MockHttpServletRequest blankKey = request("GET", " ");
+    MockHttpServletRequest unknownKey = request("GET", "mallory");
+    withoutKey.setRemoteAddr("10.0.0.7");
+    blankKey.setRemoteAddr("10.0.0.8");
+    unknownKey.setRemoteAddr("10.0.0.9");
+
+    assertAll(
+        () -> assertThat(filter.clientId(withKey)).isEqualTo("key:alice"),
+        () -> assertThat(filter.clientId(withoutKey)).isEqualTo("ip:10.0.0.7"),
+        () -> assertThat(filter.clientId(blankKey)).isEqualTo("ip:10.0.0.8"),
+        () -> assertThat(filter.clientId(unknownKey)).isEqualTo("ip:10.0.0.9"));
+  }
+
+  private static MockHttpServletRequest request(String method, String apiKey) {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/transactions");
+    if (apiKey != null) {
+      request.addHeader(LedgerConstants.API_KEY_HEADER, apiKey);
+    }
+    return request;
+  }
+}
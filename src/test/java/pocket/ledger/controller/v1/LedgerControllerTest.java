@@ -1,15 +1,22 @@
 package pocket.ledger.controller.v1;
 
+import static org.hamcrest.Matchers.endsWith;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -23,10 +30,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.QueryExplainDto;
+import pocket.ledger.dto.v1.TransactionJson;
 import pocket.ledger.dto.v1.TransactionQueryDto;
 import pocket.ledger.dto.v1.TransactionRequestDto;
 import pocket.ledger.dto.v1.TransactionResponseDto;
@@ -35,6 +45,7 @@ import pocket.ledger.exception.GlobalExceptionHandler;
 import pocket.ledger.exception.InsufficientBalanceException;
 import pocket.ledger.exception.TransactionNotFoundException;
 import pocket.ledger.service.LedgerService;
+import pocket.ledger.service.query.ExplainedPage;
 import pocket.ledger.util.Page;
 import pocket.ledger.util.PageRequest;
 
@@ -73,7 +84,7 @@ class LedgerControllerTest {
     void shouldReturnBalanceSuccessfully() throws Exception {
       BalanceResponseDto balanceResponse =
           new BalanceResponseDto(
-              BigDecimal.valueOf(1500.75), 25L, LocalDateTime.of(2024, 1, 1, 10, 0));
+              BigDecimal.valueOf(1500.75), 25L, LocalDateTime.of(2024, 1, 1, 10, 0), 0);
 
       when(ledgerService.getBalance()).thenReturn(balanceResponse);
 
@@ -90,7 +101,7 @@ class LedgerControllerTest {
     @DisplayName("Should return zero balance for empty account")
     void shouldReturnZeroBalanceForEmptyAccount() throws Exception {
       BalanceResponseDto balanceResponse =
-          new BalanceResponseDto(BigDecimal.ZERO, 0L, LocalDateTime.of(2024, 1, 1, 10, 0));
+          new BalanceResponseDto(BigDecimal.ZERO, 0L, LocalDateTime.of(2024, 1, 1, 10, 0), 0);
 
       when(ledgerService.getBalance()).thenReturn(balanceResponse);
 
@@ -106,7 +117,7 @@ class LedgerControllerTest {
     void shouldHandleNegativeBalance() throws Exception {
       BalanceResponseDto balanceResponse =
           new BalanceResponseDto(
-              BigDecimal.valueOf(-50.25), 5L, LocalDateTime.of(2024, 1, 1, 10, 0));
+              BigDecimal.valueOf(-50.25), 5L, LocalDateTime.of(2024, 1, 1, 10, 0), 0);
 
       when(ledgerService.getBalance()).thenReturn(balanceResponse);
 
@@ -116,6 +127,47 @@ class LedgerControllerTest {
           .andExpect(jsonPath("$.data.balance", is(-50.25)))
           .andExpect(jsonPath("$.data.totalTransactions", is(5)));
     }
+
+    @Test
+    @DisplayName("Should answer 304 when the balance is still at the tagged version")
+    void shouldAnswerNotModifiedForCurrentVersion() throws Exception {
+      when(ledgerService.getBalance())
+          .thenReturn(new BalanceResponseDto(BigDecimal.TEN, 1L, LocalDateTime.now(), 42));
+      String etag =
+          mockMvc
+              .perform(get("/api/v1/balance"))
+              .andExpect(status().isOk())
+              .andExpect(jsonPath("$.data.version", is(42)))
+              .andExpect(header().string(HttpHeaders.ETAG, endsWith("-42\"")))
+              .andReturn()
+              .getResponse()
+              .getHeader(HttpHeaders.ETAG);
+
+      mockMvc
+          .perform(get("/api/v1/balance").header(HttpHeaders.IF_NONE_MATCH, etag))
+          .andExpect(status().isNotModified())
+          .andExpect(content().string(""));
+
+      when(ledgerService.getBalance())
+          .thenReturn(new BalanceResponseDto(BigDecimal.ONE, 2L, LocalDateTime.now(), 43));
+      mockMvc
+          .perform(get("/api/v1/balance").header(HttpHeaders.IF_NONE_MATCH, etag))
+          .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should tag the balance with its own version while a write is in progress")
+    void shouldTagBalanceDuringWrite() throws Exception {
+      when(ledgerService.getVersion()).thenReturn(-1L);
+      when(ledgerService.getBalance())
+          .thenReturn(new BalanceResponseDto(BigDecimal.TEN, 1L, LocalDateTime.now(), 7));
+
+      mockMvc
+          .perform(get("/api/v1/balance"))
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.ETAG, endsWith("-7\"")));
+      when(ledgerService.getVersion()).thenReturn(0L);
+    }
   }
 
   @Nested
@@ -138,7 +190,8 @@ class LedgerControllerTest {
               LocalDateTime.of(2024, 1, 1, 10, 0),
               LocalDateTime.of(2024, 1, 1, 10, 0));
 
-      when(ledgerService.createTransaction(any(TransactionRequestDto.class))).thenReturn(response);
+      when(ledgerService.createTransaction(any(TransactionRequestDto.class), any()))
+          .thenReturn(response);
 
       mockMvc
           .perform(
@@ -154,6 +207,37 @@ class LedgerControllerTest {
           .andExpect(jsonPath("$.data.createdDate", is("2024-01-01T10:00:00")));
     }
 
+    @Test
+    @DisplayName("Should pass Idempotency-Key header to the service")
+    void shouldPassIdempotencyKeyHeaderToService() throws Exception {
+      TransactionRequestDto request =
+          new TransactionRequestDto(
+              1L, 2L, BigDecimal.valueOf(1000), TransactionType.DEPOSIT, "Initial deposit");
+
+      TransactionResponseDto response =
+          new TransactionResponseDto(
+              1L,
+              BigDecimal.valueOf(1000),
+              TransactionType.DEPOSIT,
+              "Initial deposit",
+              LocalDateTime.of(2024, 1, 1, 10, 0),
+              LocalDateTime.of(2024, 1, 1, 10, 0));
+
+      when(ledgerService.createTransaction(any(TransactionRequestDto.class), eq("retry-key-1")))
+          .thenReturn(response);
+
+      mockMvc
+          .perform(
+              post("/api/v1/transactions")
+                  .header("Idempotency-Key", "retry-key-1")
+                  .contentType(MediaType.APPLICATION_JSON)
+                  .content(objectMapper.writeValueAsString(request)))
+          .andExpect(status().isCreated())
+          .andExpect(jsonPath("$.data.id", is(1)));
+
+      verify(ledgerService).createTransaction(any(TransactionRequestDto.class), eq("retry-key-1"));
+    }
+
     @Test
     @DisplayName("Should create withdrawal transaction successfully")
     void shouldCreateWithdrawalTransactionSuccessfully() throws Exception {
@@ -170,7 +254,8 @@ class LedgerControllerTest {
               LocalDateTime.of(2024, 1, 1, 11, 0),
               LocalDateTime.of(2024, 1, 1, 11, 0));
 
-      when(ledgerService.createTransaction(any(TransactionRequestDto.class))).thenReturn(response);
+      when(ledgerService.createTransaction(any(TransactionRequestDto.class), any()))
+          .thenReturn(response);
 
       mockMvc
           .perform(
@@ -236,7 +321,7 @@ class LedgerControllerTest {
           new TransactionRequestDto(
               BigDecimal.valueOf(1000), TransactionType.WITHDRAWAL, "Large withdrawal");
 
-      when(ledgerService.createTransaction(any(TransactionRequestDto.class)))
+      when(ledgerService.createTransaction(any(TransactionRequestDto.class), any()))
           .thenThrow(
               new InsufficientBalanceException(BigDecimal.valueOf(500), BigDecimal.valueOf(1000)));
 
@@ -267,7 +352,8 @@ class LedgerControllerTest {
               LocalDateTime.of(2024, 1, 1, 10, 0),
               LocalDateTime.of(2024, 1, 1, 10, 0));
 
-      when(ledgerService.createTransaction(any(TransactionRequestDto.class))).thenReturn(response);
+      when(ledgerService.createTransaction(any(TransactionRequestDto.class), any()))
+          .thenReturn(response);
 
       mockMvc
           .perform(
@@ -295,7 +381,8 @@ class LedgerControllerTest {
               LocalDateTime.of(2024, 1, 1, 10, 0),
               LocalDateTime.of(2024, 1, 1, 10, 0));
 
-      when(ledgerService.createTransaction(any(TransactionRequestDto.class))).thenReturn(response);
+      when(ledgerService.createTransaction(any(TransactionRequestDto.class), any()))
+          .thenReturn(response);
 
       mockMvc
           .perform(
@@ -341,7 +428,7 @@ class LedgerControllerTest {
               LocalDateTime.of(2024, 1, 1, 10, 0),
               LocalDateTime.of(2024, 1, 1, 10, 0));
 
-      when(ledgerService.getTransactionById(transactionId)).thenReturn(response);
+      when(ledgerService.getTransactionJson(transactionId)).thenReturn(encoded(response));
 
       mockMvc
           .perform(get("/api/v1/transactions/{id}", transactionId))
@@ -350,14 +437,16 @@ class LedgerControllerTest {
           .andExpect(jsonPath("$.data.id", is(1)))
           .andExpect(jsonPath("$.data.amount", is(500)))
           .andExpect(jsonPath("$.data.type", is("DEPOSIT")))
-          .andExpect(jsonPath("$.data.description", is("Test transaction")));
+          .andExpect(jsonPath("$.data.description", is("Test transaction")))
+          .andExpect(
+              header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
     }
 
     @Test
     @DisplayName("Should return 404 for non-existent transaction ID")
     void shouldReturn404ForNonExistentTransactionId() throws Exception {
       Long nonExistentId = 999L;
-      when(ledgerService.getTransactionById(nonExistentId))
+      when(ledgerService.getTransactionJson(nonExistentId))
           .thenThrow(new TransactionNotFoundException(nonExistentId));
 
       mockMvc
@@ -385,7 +474,7 @@ class LedgerControllerTest {
     @DisplayName("Should handle zero ID")
     void shouldHandleZeroId() throws Exception {
       Long zeroId = 0L;
-      when(ledgerService.getTransactionById(zeroId))
+      when(ledgerService.getTransactionJson(zeroId))
           .thenThrow(new TransactionNotFoundException(zeroId));
 
       mockMvc.perform(get("/api/v1/transactions/{id}", zeroId)).andExpect(status().isNotFound());
@@ -395,7 +484,7 @@ class LedgerControllerTest {
     @DisplayName("Should handle negative ID")
     void shouldHandleNegativeId() throws Exception {
       Long negativeId = -1L;
-      when(ledgerService.getTransactionById(negativeId))
+      when(ledgerService.getTransactionJson(negativeId))
           .thenThrow(new TransactionNotFoundException(negativeId));
 
       mockMvc
@@ -432,7 +521,8 @@ class LedgerControllerTest {
       List<TransactionResponseDto> transactions = List.of(transaction1, transaction2);
       Page<TransactionResponseDto> page = new Page<>(transactions, PageRequest.of(0, 10), 2);
 
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(page);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(page));
 
       mockMvc
           .perform(get("/api/v1/transactions"))
@@ -466,7 +556,8 @@ class LedgerControllerTest {
       List<TransactionResponseDto> transactions = List.of(transaction);
       Page<TransactionResponseDto> page = new Page<>(transactions, PageRequest.of(1, 5), 10);
 
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(page);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(page));
 
       mockMvc
           .perform(get("/api/v1/transactions").param("page", "1").param("size", "5"))
@@ -494,7 +585,8 @@ class LedgerControllerTest {
       List<TransactionResponseDto> transactions = List.of(deposit);
       Page<TransactionResponseDto> page = new Page<>(transactions, PageRequest.of(0, 10), 1);
 
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(page);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(page));
 
       mockMvc
           .perform(get("/api/v1/transactions").param("type", "DEPOSIT"))
@@ -518,7 +610,8 @@ class LedgerControllerTest {
       List<TransactionResponseDto> transactions = List.of(transaction);
       Page<TransactionResponseDto> page = new Page<>(transactions, PageRequest.of(0, 10), 1);
 
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(page);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(page));
 
       mockMvc
           .perform(
@@ -533,7 +626,8 @@ class LedgerControllerTest {
     @DisplayName("Should return empty page when no transactions match criteria")
     void shouldReturnEmptyPageWhenNoTransactionsMatchCriteria() throws Exception {
       Page<TransactionResponseDto> emptyPage = new Page<>(List.of(), PageRequest.of(0, 10), 0);
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(emptyPage);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(emptyPage));
 
       mockMvc
           .perform(get("/api/v1/transactions").param("type", "WITHDRAWAL"))
@@ -548,7 +642,8 @@ class LedgerControllerTest {
       List<TransactionResponseDto> transactions = List.of();
       Page<TransactionResponseDto> page = new Page<>(transactions, PageRequest.of(0, 50), 0);
 
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(page);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(page));
 
       mockMvc
           .perform(get("/api/v1/transactions").param("size", "1000"))
@@ -576,7 +671,8 @@ class LedgerControllerTest {
     @DisplayName("Should handle negative page number")
     void shouldHandleNegativePageNumber() throws Exception {
       Page<TransactionResponseDto> emptyPage = new Page<>(List.of(), PageRequest.of(0, 10), 0);
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(emptyPage);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(emptyPage));
 
       mockMvc
           .perform(get("/api/v1/transactions").param("page", "-1"))
@@ -588,10 +684,90 @@ class LedgerControllerTest {
     @DisplayName("Should handle zero page size")
     void shouldHandleZeroPageSize() throws Exception {
       Page<TransactionResponseDto> emptyPage = new Page<>(List.of(), PageRequest.of(0, 1), 0);
-      when(ledgerService.getTransactions(any(TransactionQueryDto.class))).thenReturn(emptyPage);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(emptyPage));
 
       mockMvc.perform(get("/api/v1/transactions").param("size", "0")).andExpect(status().isOk());
     }
+
+    @Test
+    @DisplayName("Should answer 304 without running the query when the version is unchanged")
+    void shouldAnswerNotModifiedWithoutRunningQuery() throws Exception {
+      when(ledgerService.getVersion()).thenReturn(7L);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(new Page<>(List.of(), PageRequest.of(0, 10), 0));
+      String etag =
+          mockMvc
+              .perform(get("/api/v1/transactions"))
+              .andReturn()
+              .getResponse()
+              .getHeader(HttpHeaders.ETAG);
+      Mockito.clearInvocations(ledgerService);
+
+      mockMvc
+          .perform(get("/api/v1/transactions").header(HttpHeaders.IF_NONE_MATCH, etag))
+          .andExpect(status().isNotModified());
+      verify(ledgerService, never()).getTransactionsJson(any(TransactionQueryDto.class));
+    }
+
+    @Test
+    @DisplayName("Should include the query explanation when explain is true")
+    void shouldIncludeExplanationWhenRequested() throws Exception {
+      Page<TransactionResponseDto> emptyPage = new Page<>(List.of(), PageRequest.of(0, 10), 0);
+      QueryExplainDto explain =
+          new QueryExplainDto("none", 40, List.of("type"), 40, 12, 0, 1.5, 0.5, 0.01, 0.02, 2.5);
+      when(ledgerService.explainTransactions(any(TransactionQueryDto.class)))
+          .thenReturn(new ExplainedPage<>(emptyPage, explain));
+
+      mockMvc
+          .perform(get("/api/v1/transactions").param("type", "DEPOSIT").param("explain", "true"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.data", hasSize(0)))
+          .andExpect(jsonPath("$.explain.index", is("none")))
+          .andExpect(jsonPath("$.explain.filters[0]", is("type")))
+          .andExpect(jsonPath("$.explain.rowsExamined", is(40)))
+          .andExpect(jsonPath("$.explain.rowsSorted", is(12)))
+          .andExpect(jsonPath("$.explain.sortMillis", is(0.5)));
+    }
+
+    @Test
+    @DisplayName("Should pass account, amount and description filters to the service")
+    void shouldPassExtendedFiltersToService() throws Exception {
+      Page<TransactionResponseDto> emptyPage = new Page<>(List.of(), PageRequest.of(0, 10), 0);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(emptyPage));
+
+      mockMvc
+          .perform(
+              get("/api/v1/transactions")
+                  .param("accountId", "42")
+                  .param("minAmount", "10.50")
+                  .param("maxAmount", "99")
+                  .param("description", "rent"))
+          .andExpect(status().isOk());
+
+      verify(ledgerService)
+          .getTransactionsJson(
+              argThat(
+                  query ->
+                      Long.valueOf(42).equals(query.accountId())
+                          && new BigDecimal("10.50").equals(query.minAmount())
+                          && new BigDecimal("99").equals(query.maxAmount())
+                          && "rent".equals(query.description())));
+    }
+
+    @Test
+    @DisplayName("Should omit the explanation by default")
+    void shouldOmitExplanationByDefault() throws Exception {
+      Page<TransactionResponseDto> emptyPage = new Page<>(List.of(), PageRequest.of(0, 10), 0);
+      when(ledgerService.getTransactionsJson(any(TransactionQueryDto.class)))
+          .thenReturn(encoded(emptyPage));
+
+      mockMvc
+          .perform(get("/api/v1/transactions"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.explain").doesNotExist());
+    }
   }
 
   @Nested
@@ -627,7 +803,7 @@ class LedgerControllerTest {
     @DisplayName("Should return JSON content type for all successful responses")
     void shouldReturnJsonContentTypeForAllSuccessfulResponses() throws Exception {
       BalanceResponseDto balanceResponse =
-          new BalanceResponseDto(BigDecimal.valueOf(100), 1L, LocalDateTime.now());
+          new BalanceResponseDto(BigDecimal.valueOf(100), 1L, LocalDateTime.now(), 0);
       when(ledgerService.getBalance()).thenReturn(balanceResponse);
 
       mockMvc
@@ -636,4 +812,16 @@ class LedgerControllerTest {
           .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
   }
+
+  private TransactionJson encoded(TransactionResponseDto transaction) {
+    try {
+      return new TransactionJson(objectMapper.writeValueAsBytes(transaction));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private Page<TransactionJson> encoded(Page<TransactionResponseDto> page) {
+    return page.map(this::encoded);
+  }
 }
@@ -0,0 +1,103 @@
+package pocket.ledger.controller.v1;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pocket.ledger.dto.v1.ChangesResponseDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.exception.GlobalExceptionHandler;
+import pocket.ledger.service.changes.ChangeFeedService;
+
+@WebMvcTest(TransactionChangesController.class)
+@ContextConfiguration(
+    classes = {
+      TransactionChangesController.class,
+      GlobalExceptionHandler.class,
+      TransactionChangesControllerTest.TestConfig.class
+    })
+@DisplayName("TransactionChangesController Integration Tests")
+class TransactionChangesControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private ChangeFeedService changeFeedService;
+
+  @TestConfiguration
+  static class TestConfig {
+
+    @Bean
+    @Primary
+    public ChangeFeedService changeFeedService() {
+      return Mockito.mock(ChangeFeedService.class);
+    }
+  }
+
+  @Test
+  @DisplayName("Should return changes after the given sequence")
+  void shouldReturnChangesAfterSequence() throws Exception {
+    LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+    TransactionResponseDto transaction =
+        new TransactionResponseDto(43L, BigDecimal.TEN, TransactionType.DEPOSIT, "New", now, now);
+    when(changeFeedService.poll(eq(42L), eq(Duration.ofSeconds(30)), any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(
+                new ChangesResponseDto(List.of(transaction), 42L, 43L, false)));
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/transactions/changes").param("since", "42").param("wait", "30s"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.transactions[0].id").value(43))
+        .andExpect(jsonPath("$.data.nextSince").value(43))
+        .andExpect(jsonPath("$.data.hasMore").value(false));
+  }
+
+  @Test
+  @DisplayName("Should not wait by default")
+  void shouldNotWaitByDefault() throws Exception {
+    when(changeFeedService.poll(eq(0L), eq(Duration.ZERO), any()))
+        .thenReturn(
+            CompletableFuture.completedFuture(new ChangesResponseDto(List.of(), 0L, 0L, false)));
+
+    mockMvc.perform(get("/api/v1/transactions/changes")).andExpect(request().asyncStarted());
+
+    verify(changeFeedService).poll(0L, Duration.ZERO, null);
+  }
+
+  @Test
+  @DisplayName("Should return 400 for an unparseable wait")
+  void shouldReturn400ForInvalidWait() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/transactions/changes").param("wait", "soon"))
+        .andExpect(status().isBadRequest());
+  }
+}
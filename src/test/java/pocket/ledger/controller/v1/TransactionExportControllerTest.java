@@ -0,0 +1,192 @@
+package pocket.ledger.controller.v1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.exception.GlobalExceptionHandler;
+import pocket.ledger.service.export.ExportProperties;
+import pocket.ledger.service.export.TransactionExportService;
+
+@WebMvcTest(TransactionExportController.class)
+@ContextConfiguration(
+    classes = {
+      TransactionExportController.class,
+      GlobalExceptionHandler.class,
+      TransactionExportControllerTest.TestConfig.class
+    })
+@TestPropertySource(properties = "spring.mvc.async.request-timeout=50ms")
+@DisplayName("TransactionExportController Integration Tests")
+class TransactionExportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private TransactionExportService exportService;
+
+  @TestConfiguration
+  static class TestConfig {
+
+    @Bean
+    @Primary
+    public TransactionExportService transactionExportService() {
+      return Mockito.mock(TransactionExportService.class);
+    }
+
+    @Bean
+    public ExportProperties exportProperties() {
+      ExportProperties properties = new ExportProperties();
+      properties.setTimeout(Duration.ofMinutes(10));
+      return properties;
+    }
+  }
+
+  @Test
+  @DisplayName("Should stream CSV export with attachment headers")
+  void shouldStreamCsvExport() throws Exception {
+    doAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(3);
+              out.write("id,amount\n1,100\n".getBytes(StandardCharsets.UTF_8));
+              return 1L;
+            })
+        .when(exportService)
+        .export(any(), eq(ExportFormat.CSV), eq(false), any());
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/transactions/export").param("format", "csv"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith("text/csv"))
+        .andExpect(header().string("Content-Disposition", containsString("transactions.csv")))
+        .andExpect(content().string("id,amount\n1,100\n"));
+  }
+
+  @Test
+  @DisplayName("Should keep streaming past the MVC async request timeout")
+  void shouldOutlastMvcAsyncTimeout() throws Exception {
+    doAnswer(
+            invocation -> {
+              OutputStream out = invocation.getArgument(3);
+              out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+              Thread.sleep(200);
+              out.write("{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+              return 2L;
+            })
+        .when(exportService)
+        .export(any(), eq(ExportFormat.NDJSON), eq(false), any());
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/transactions/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    assertThat(result.getRequest().getAsyncContext().getTimeout())
+        .isEqualTo(Duration.ofMinutes(10).toMillis());
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+  }
+
+  @Test
+  @DisplayName("Should pass filters and gzip flag to the export service")
+  void shouldPassFiltersAndGzipFlag() throws Exception {
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/v1/transactions/export")
+                    .param("format", "ndjson")
+                    .param("type", "DEPOSIT")
+                    .param("gzip", "true"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Encoding", "gzip"))
+        .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+
+    verify(exportService)
+        .export(
+            argThat(filter -> filter.type() == TransactionType.DEPOSIT),
+            eq(ExportFormat.NDJSON),
+            eq(true),
+            any());
+  }
+
+  @Test
+  @DisplayName("Should pass account, amount and description filters to the export service")
+  void shouldPassListingFilters() throws Exception {
+    MvcResult result =
+        mockMvc
+            .perform(
+                get("/api/v1/transactions/export")
+                    .param("accountId", "7")
+                    .param("minAmount", "10.00")
+                    .param("maxAmount", "250")
+                    .param("description", "rent"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+
+    verify(exportService)
+        .export(
+            argThat(
+                filter ->
+                    filter.accountId() == 7L
+                        && filter.minAmount().compareTo(new BigDecimal("10.00")) == 0
+                        && filter.maxAmount().compareTo(new BigDecimal("250")) == 0
+                        && filter.description().equals("rent")),
+            eq(ExportFormat.NDJSON),
+            eq(false),
+            any());
+  }
+
+  @Test
+  @DisplayName("Should return 400 for unknown export format")
+  void shouldReturn400ForUnknownFormat() throws Exception {
+    mockMvc
+        .perform(get("/api/v1/transactions/export").param("format", "xml"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.status", is(400)))
+        .andExpect(jsonPath("$.message", containsString("Invalid export format")));
+  }
+}
@@ -0,0 +1,124 @@
+package pocket.ledger.controller.v1;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import pocket.ledger.dto.v1.ImportResultDto;
+import pocket.ledger.dto.v1.ImportRowErrorDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.exception.GlobalExceptionHandler;
+import pocket.ledger.service.importer.TransactionImportService;
+
+@WebMvcTest(TransactionImportController.class)
+@ContextConfiguration(
+    classes = {
+      TransactionImportController.class,
+      GlobalExceptionHandler.class,
+      TransactionImportControllerTest.TestConfig.class
+    })
+@DisplayName("TransactionImportController Integration Tests")
+class TransactionImportControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private TransactionImportService importService;
+
+  @TestConfiguration
+  static class TestConfig {
+
+    @Bean
+    @Primary
+    public TransactionImportService transactionImportService() {
+      return Mockito.mock(TransactionImportService.class);
+    }
+  }
+
+  @Test
+  @DisplayName("Should import CSV body and return the summary")
+  void shouldImportCsvBody() throws Exception {
+    ImportResultDto result =
+        new ImportResultDto(
+            2,
+            1,
+            BigDecimal.valueOf(70),
+            BigDecimal.valueOf(70),
+            15,
+            List.of(new ImportRowErrorDto(3, "amount: Amount is required")));
+    when(importService.importTransactions(any(InputStream.class), eq(ExportFormat.CSV)))
+        .thenReturn(result);
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/import")
+                .param("format", "csv")
+                .contentType("text/csv")
+                .content("amount,type\n100,DEPOSIT\n30,WITHDRAWAL\n,DEPOSIT\n"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.message", is("Import completed")))
+        .andExpect(jsonPath("$.data.importedRows", is(2)))
+        .andExpect(jsonPath("$.data.rejectedRows", is(1)))
+        .andExpect(jsonPath("$.data.errors[0].row", is(3)));
+  }
+
+  @Test
+  @DisplayName("Should decompress gzip request bodies")
+  void shouldDecompressGzipBodies() throws Exception {
+    String ndjson = "{\"amount\":1,\"type\":\"DEPOSIT\"}\n";
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+    when(importService.importTransactions(any(InputStream.class), eq(ExportFormat.NDJSON)))
+        .thenAnswer(
+            invocation -> {
+              InputStream in = invocation.getArgument(0);
+              String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+              long rows = body.equals(ndjson) ? 1 : 0;
+              return new ImportResultDto(rows, 0, BigDecimal.ONE, BigDecimal.ONE, 1, List.of());
+            });
+
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/import")
+                .header("Content-Encoding", "gzip")
+                .contentType("application/x-ndjson")
+                .content(compressed.toByteArray()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.data.importedRows", is(1)));
+  }
+
+  @Test
+  @DisplayName("Should return 400 for unknown import format")
+  void shouldReturn400ForUnknownFormat() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/v1/transactions/import")
+                .param("format", "xml")
+                .contentType("text/plain")
+                .content("<xml/>"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.message", containsString("Invalid export format")));
+  }
+}
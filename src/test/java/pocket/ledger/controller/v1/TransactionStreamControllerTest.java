@@ -0,0 +1,98 @@
+package pocket.ledger.controller.v1;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.exception.GlobalExceptionHandler;
+import pocket.ledger.exception.ServiceOverloadedException;
+import pocket.ledger.service.stream.TransactionStreamService;
+
+@WebMvcTest(TransactionStreamController.class)
+@ContextConfiguration(
+    classes = {
+      TransactionStreamController.class,
+      GlobalExceptionHandler.class,
+      TransactionStreamControllerTest.TestConfig.class
+    })
+@DisplayName("TransactionStreamController Integration Tests")
+class TransactionStreamControllerTest {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private TransactionStreamService streamService;
+
+  @TestConfiguration
+  static class TestConfig {
+
+    @Bean
+    @Primary
+    public TransactionStreamService transactionStreamService() {
+      return Mockito.mock(TransactionStreamService.class);
+    }
+  }
+
+  @Test
+  @DisplayName("Should open an event stream and forward transaction events")
+  void shouldOpenEventStream() throws Exception {
+    SseEmitter emitter = new SseEmitter();
+    when(streamService.subscribe()).thenReturn(emitter);
+
+    MvcResult result =
+        mockMvc
+            .perform(get("/api/v1/transactions/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+    LocalDateTime now = LocalDateTime.of(2024, 1, 1, 10, 0);
+    emitter.send(
+        SseEmitter.event()
+            .name("transaction")
+            .id("1")
+            .data(
+                new TransactionResponseDto(
+                    1L, BigDecimal.TEN, TransactionType.DEPOSIT, "Live", now, now)));
+    emitter.complete();
+
+    mockMvc
+        .perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+        .andExpect(content().string(containsString("event:transaction")))
+        .andExpect(content().string(containsString("\"description\":\"Live\"")));
+  }
+
+  @Test
+  @DisplayName("Should return 503 with Retry-After when the subscriber limit is reached")
+  void shouldReturn503WhenSubscriberLimitReached() throws Exception {
+    when(streamService.subscribe())
+        .thenThrow(new ServiceOverloadedException("Live feed subscriber limit reached", 5));
+
+    mockMvc
+        .perform(get("/api/v1/transactions/stream"))
+        .andExpect(status().isServiceUnavailable())
+        .andExpect(header().string("Retry-After", "5"));
+  }
+}
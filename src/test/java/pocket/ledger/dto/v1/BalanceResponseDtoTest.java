@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
+import pocket.ledger.model.LedgerSummary;
 
 class BalanceResponseDtoTest {
 
@@ -14,11 +15,12 @@ class BalanceResponseDtoTest {
     Long totalTransactions = 25L;
     LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 10, 0, 0);
 
-    BalanceResponseDto dto = new BalanceResponseDto(balance, totalTransactions, timestamp);
+    BalanceResponseDto dto = new BalanceResponseDto(balance, totalTransactions, timestamp, 7);
 
     assertThat(dto.balance()).isEqualTo(balance);
     assertThat(dto.totalTransactions()).isEqualTo(totalTransactions);
     assertThat(dto.asOfTimestamp()).isEqualTo(timestamp);
+    assertThat(dto.version()).isEqualTo(7);
   }
 
   @Test
@@ -27,7 +29,7 @@ class BalanceResponseDtoTest {
     Long noTransactions = 0L;
     LocalDateTime timestamp = LocalDateTime.now();
 
-    BalanceResponseDto dto = new BalanceResponseDto(zeroBalance, noTransactions, timestamp);
+    BalanceResponseDto dto = new BalanceResponseDto(zeroBalance, noTransactions, timestamp, 0);
 
     assertThat(dto.balance()).isEqualTo(BigDecimal.ZERO);
     assertThat(dto.totalTransactions()).isEqualTo(0L);
@@ -40,7 +42,8 @@ class BalanceResponseDtoTest {
     Long totalTransactions = 10L;
     LocalDateTime timestamp = LocalDateTime.now();
 
-    BalanceResponseDto dto = new BalanceResponseDto(negativeBalance, totalTransactions, timestamp);
+    BalanceResponseDto dto =
+        new BalanceResponseDto(negativeBalance, totalTransactions, timestamp, 0);
 
     assertThat(dto.balance()).isEqualTo(negativeBalance);
     assertThat(dto.totalTransactions()).isEqualTo(totalTransactions);
@@ -52,7 +55,7 @@ class BalanceResponseDtoTest {
     Long manyTransactions = 1000000L;
     LocalDateTime timestamp = LocalDateTime.now();
 
-    BalanceResponseDto dto = new BalanceResponseDto(largeBalance, manyTransactions, timestamp);
+    BalanceResponseDto dto = new BalanceResponseDto(largeBalance, manyTransactions, timestamp, 0);
 
     assertThat(dto.balance()).isEqualTo(largeBalance);
     assertThat(dto.totalTransactions()).isEqualTo(manyTransactions);
@@ -64,7 +67,8 @@ class BalanceResponseDtoTest {
     Long totalTransactions = 5L;
     LocalDateTime timestamp = LocalDateTime.now();
 
-    BalanceResponseDto dto = new BalanceResponseDto(preciseBalance, totalTransactions, timestamp);
+    BalanceResponseDto dto =
+        new BalanceResponseDto(preciseBalance, totalTransactions, timestamp, 0);
 
     assertThat(dto.balance()).isEqualTo(preciseBalance);
     assertThat(dto.balance().scale()).isEqualTo(preciseBalance.scale());
@@ -72,10 +76,22 @@ class BalanceResponseDtoTest {
 
   @Test
   void constructor_shouldHandleNullValues() {
-    BalanceResponseDto dto = new BalanceResponseDto(null, null, null);
+    BalanceResponseDto dto = new BalanceResponseDto(null, null, null, 0);
 
     assertThat(dto.balance()).isNull();
     assertThat(dto.totalTransactions()).isNull();
     assertThat(dto.asOfTimestamp()).isNull();
   }
+
+  @Test
+  void fromSummary_shouldCopySummaryFields() {
+    LedgerSummary summary = new LedgerSummary(new BigDecimal("42.50"), 3, 3, 4);
+
+    BalanceResponseDto dto = BalanceResponseDto.fromSummary(summary);
+
+    assertThat(dto.balance()).isEqualTo(summary.balance());
+    assertThat(dto.totalTransactions()).isEqualTo(3L);
+    assertThat(dto.version()).isEqualTo(4);
+    assertThat(dto.asOfTimestamp()).isNotNull();
+  }
 }
@@ -0,0 +1,58 @@
+package pocket.ledger.dto.v1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TransactionJson Tests")
+class TransactionJsonTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  @DisplayName("Should be written into enclosing responses as a raw value")
+  void shouldBeWrittenAsRawValue() throws Exception {
+    PageResponse<TransactionJson> page =
+        new PageResponse<>(
+            List.of(json("{\"id\":1,\"description\":\"Café\"}"), json("{\"id\":2}")),
+            0,
+            10,
+            2,
+            1,
+            true,
+            true);
+
+    byte[] bytes = objectMapper.writeValueAsBytes(page);
+    String text = objectMapper.writeValueAsString(page);
+
+    JsonNode tree = objectMapper.readTree(bytes);
+    assertAll(
+        () -> assertThat(tree.at("/data/0/id").asInt()).isEqualTo(1),
+        () -> assertThat(tree.at("/data/0/description").asText()).isEqualTo("Café"),
+        () -> assertThat(tree.at("/data/1/id").asInt()).isEqualTo(2),
+        () -> assertThat(tree.at("/totalElements").asLong()).isEqualTo(2),
+        () -> assertThat(objectMapper.readTree(text)).isEqualTo(tree));
+  }
+
+  @Test
+  @DisplayName("Should copy into a byte buffer only when the encoding fits")
+  void shouldAppendOnlyWhenItFits() {
+    TransactionJson json = json("{\"id\":1}");
+    byte[] buffer = new byte[10];
+
+    assertAll(
+        () -> assertThat(json.appendUnquotedUTF8(buffer, 2)).isEqualTo(8),
+        () -> assertThat(new String(buffer, 2, 8, StandardCharsets.UTF_8)).isEqualTo("{\"id\":1}"),
+        () -> assertThat(json.appendUnquotedUTF8(buffer, 3)).isEqualTo(-1));
+  }
+
+  private static TransactionJson json(String value) {
+    return new TransactionJson(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
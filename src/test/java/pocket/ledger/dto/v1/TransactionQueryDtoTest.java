@@ -2,6 +2,7 @@ package pocket.ledger.dto.v1;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import org.junit.jupiter.api.Test;
 import pocket.ledger.enums.TransactionType;
@@ -131,4 +132,32 @@ class TransactionQueryDtoTest {
     assertThat(dto.pageRequest().getPageNumber()).isEqualTo(2);
     assertThat(dto.pageRequest().getPageSize()).isEqualTo(20);
   }
+
+  @Test
+  void shortConstructor_shouldLeaveExtendedFiltersEmpty() {
+    TransactionQueryDto dto = new TransactionQueryDto(null, null, null, PageRequest.of(0, 10));
+
+    assertThat(dto.hasAccount()).isFalse();
+    assertThat(dto.hasAmountRange()).isFalse();
+    assertThat(dto.hasDescription()).isFalse();
+  }
+
+  @Test
+  void extendedFilters_shouldBeReportedWhenPresent() {
+    TransactionQueryDto dto =
+        new TransactionQueryDto(
+            null, null, null, 7L, null, BigDecimal.TEN, "rent", PageRequest.of(0, 10));
+
+    assertThat(dto.hasAccount()).isTrue();
+    assertThat(dto.hasAmountRange()).isTrue();
+    assertThat(dto.hasDescription()).isTrue();
+  }
+
+  @Test
+  void hasDescription_shouldReturnFalseForBlankText() {
+    TransactionQueryDto dto =
+        new TransactionQueryDto(null, null, null, null, null, null, "  ", PageRequest.of(0, 10));
+
+    assertThat(dto.hasDescription()).isFalse();
+  }
 }
@@ -0,0 +1,42 @@
+package pocket.ledger.enums;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class ExportFormatTest {
+
+  @Test
+  void fromString_withLowerCase_shouldReturnFormat() {
+    assertThat(ExportFormat.fromString("ndjson")).isEqualTo(ExportFormat.NDJSON);
+    assertThat(ExportFormat.fromString("csv")).isEqualTo(ExportFormat.CSV);
+  }
+
+  @Test
+  void fromString_withWhitespaceAndMixedCase_shouldReturnFormat() {
+    assertThat(ExportFormat.fromString("  NdJson ")).isEqualTo(ExportFormat.NDJSON);
+  }
+
+  @Test
+  void fromString_withUnknownValue_shouldThrowException() {
+    assertThatThrownBy(() -> ExportFormat.fromString("xml"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Invalid export format: 'xml'");
+  }
+
+  @Test
+  void fromString_withNull_shouldThrowException() {
+    assertThatThrownBy(() -> ExportFormat.fromString(null))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessage("Export format cannot be null");
+  }
+
+  @Test
+  void contentTypeAndExtension_shouldMatchFormat() {
+    assertThat(ExportFormat.NDJSON.getContentType()).isEqualTo("application/x-ndjson");
+    assertThat(ExportFormat.NDJSON.getFileExtension()).isEqualTo("ndjson");
+    assertThat(ExportFormat.CSV.getContentType()).isEqualTo("text/csv");
+    assertThat(ExportFormat.CSV.getFileExtension()).isEqualTo("csv");
+  }
+}
@@ -69,6 +69,36 @@ class GlobalExceptionHandlerTest {
         () -> assertThat(body.message()).contains("Transaction not found"));
   }
 
+  @Test
+  void handleServiceOverloadedException_returnsServiceUnavailableWithRetryAfter() {
+    when(request.getDescription(false)).thenReturn("uri=/api/v1/transactions/stream");
+    ServiceOverloadedException ex = new ServiceOverloadedException("Subscriber limit reached", 5);
+
+    ResponseEntity<ErrorResponse> response =
+        exceptionHandler.handleServiceOverloadedException(ex, request);
+    ErrorResponse body = Objects.requireNonNull(response.getBody());
+
+    assertAll(
+        () -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE),
+        () -> assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("5"),
+        () -> assertThat(body.message()).isEqualTo("Service temporarily unavailable"));
+  }
+
+  @Test
+  void handleRateLimitExceededException_returnsTooManyRequestsWithRetryAfter() {
+    when(request.getDescription(false)).thenReturn("uri=/api/v1/transactions");
+    RateLimitExceededException ex = new RateLimitExceededException("write", 2);
+
+    ResponseEntity<ErrorResponse> response =
+        exceptionHandler.handleRateLimitExceededException(ex, request);
+    ErrorResponse body = Objects.requireNonNull(response.getBody());
+
+    assertAll(
+        () -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS),
+        () -> assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2"),
+        () -> assertThat(body.message()).isEqualTo("Too many requests, slow down"));
+  }
+
   @Test
   void handleIllegalArgumentException_returnsBadRequest() {
     IllegalArgumentException ex = new IllegalArgumentException("Illegal argument provided");
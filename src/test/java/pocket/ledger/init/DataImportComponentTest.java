@@ -0,0 +1,62 @@
+package pocket.ledger.init;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import pocket.ledger.dto.v1.ImportResultDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.service.importer.ImportProperties;
+import pocket.ledger.service.importer.TransactionImportService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DataImportComponent Unit Tests")
+class DataImportComponentTest {
+
+  @Mock private TransactionImportService importService;
+
+  @Mock private ImportProperties importProperties;
+
+  @InjectMocks private DataImportComponent dataImportComponent;
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("Should do nothing when no import file is configured")
+  void shouldDoNothingWithoutImportFile() throws Exception {
+    when(importProperties.getFile()).thenReturn(null);
+
+    dataImportComponent.run();
+
+    verify(importService, never()).importTransactions(any(), any());
+  }
+
+  @Test
+  @DisplayName("Should import the configured file with the configured format")
+  void shouldImportConfiguredFile() throws Exception {
+    Path file = tempDir.resolve("history.csv");
+    Files.writeString(file, "amount,type\n10,DEPOSIT\n");
+    when(importProperties.getFile()).thenReturn(file.toString());
+    when(importProperties.getFormat()).thenReturn("csv");
+    when(importService.importTransactions(any(InputStream.class), eq(ExportFormat.CSV)))
+        .thenReturn(new ImportResultDto(1, 0, BigDecimal.TEN, BigDecimal.TEN, 5, List.of()));
+
+    dataImportComponent.run();
+
+    verify(importService).importTransactions(any(InputStream.class), eq(ExportFormat.CSV));
+  }
+}
@@ -32,7 +32,8 @@ class DataSeedComponentTest {
   void shouldRunDataSeedingWhenEnabled() {
     when(dataSeedProperties.isEnabled()).thenReturn(true);
     when(dataSeedProperties.getCount()).thenReturn(3);
-    when(ledgerService.getBalance()).thenReturn(new BalanceResponseDto(BigDecimal.ZERO, 0L, null));
+    when(ledgerService.getBalance())
+        .thenReturn(new BalanceResponseDto(BigDecimal.ZERO, 0L, null, 0));
 
     dataSeedComponent.run();
 
@@ -55,7 +56,8 @@ class DataSeedComponentTest {
     int transactionCount = 5;
     when(dataSeedProperties.isEnabled()).thenReturn(true);
     when(dataSeedProperties.getCount()).thenReturn(transactionCount);
-    when(ledgerService.getBalance()).thenReturn(new BalanceResponseDto(BigDecimal.ZERO, 0L, null));
+    when(ledgerService.getBalance())
+        .thenReturn(new BalanceResponseDto(BigDecimal.ZERO, 0L, null, 0));
 
     dataSeedComponent.run();
 
@@ -69,7 +71,7 @@ class DataSeedComponentTest {
     when(dataSeedProperties.isEnabled()).thenReturn(true);
     when(dataSeedProperties.getCount()).thenReturn(10);
     when(ledgerService.getBalance())
-        .thenReturn(new BalanceResponseDto(new BigDecimal("500"), 5L, null));
+        .thenReturn(new BalanceResponseDto(new BigDecimal("500"), 5L, null, 0));
 
     dataSeedComponent.run();
 
@@ -82,7 +84,7 @@ class DataSeedComponentTest {
     when(dataSeedProperties.isEnabled()).thenReturn(true);
     when(dataSeedProperties.getCount()).thenReturn(5);
     when(ledgerService.getBalance())
-        .thenReturn(new BalanceResponseDto(new BigDecimal("2000"), 10L, null));
+        .thenReturn(new BalanceResponseDto(new BigDecimal("2000"), 10L, null, 0));
 
     dataSeedComponent.run();
 
@@ -95,7 +97,7 @@ class DataSeedComponentTest {
     when(dataSeedProperties.isEnabled()).thenReturn(true);
     when(dataSeedProperties.getCount()).thenReturn(3);
     when(ledgerService.getBalance())
-        .thenReturn(new BalanceResponseDto(new BigDecimal("2000"), 10L, null));
+        .thenReturn(new BalanceResponseDto(new BigDecimal("2000"), 10L, null, 0));
     when(ledgerService.createTransaction(any(TransactionRequestDto.class)))
         .thenThrow(new RuntimeException("Transaction failed"));
 
@@ -110,7 +112,7 @@ class DataSeedComponentTest {
     when(dataSeedProperties.isEnabled()).thenReturn(true);
     when(dataSeedProperties.getCount()).thenReturn(4);
     when(ledgerService.getBalance())
-        .thenReturn(new BalanceResponseDto(new BigDecimal("1000"), 5L, null));
+        .thenReturn(new BalanceResponseDto(new BigDecimal("1000"), 5L, null, 0));
 
     dataSeedComponent.run();
 
@@ -145,7 +147,7 @@ class DataSeedComponentTest {
     when(dataSeedProperties.isEnabled()).thenReturn(true);
     when(dataSeedProperties.getCount()).thenReturn(3);
     when(ledgerService.getBalance())
-        .thenReturn(new BalanceResponseDto(new BigDecimal("2000"), 10L, null));
+        .thenReturn(new BalanceResponseDto(new BigDecimal("2000"), 10L, null, 0));
 
     dataSeedComponent.run();
 
@@ -0,0 +1,49 @@
+package pocket.ledger.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PinnedThreadMonitor Tests")
+class PinnedThreadMonitorTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final PinnedThreadMonitor monitor =
+      new PinnedThreadMonitor(new PinnedThreadProperties(), meterRegistry);
+
+  @Test
+  @DisplayName("Should time pinned threads per site")
+  void shouldTimePinnedThreadsPerSite() {
+    monitor.pinned("LedgerServiceImpl.createTransaction", Duration.ofMillis(30));
+    monitor.pinned("LedgerServiceImpl.createTransaction", Duration.ofMillis(50));
+    monitor.pinned(PinnedThreadMonitor.EXTERNAL, Duration.ofMillis(25));
+
+    Timer ledger = timer("LedgerServiceImpl.createTransaction");
+    assertAll(
+        () -> assertThat(ledger.count()).isEqualTo(2),
+        () -> assertThat(ledger.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(80),
+        () -> assertThat(timer(PinnedThreadMonitor.EXTERNAL).count()).isEqualTo(1));
+  }
+
+  @Test
+  @DisplayName("Should report pinning without a stack trace as external")
+  void shouldReportMissingStackAsExternal() {
+    assertThat(PinnedThreadMonitor.site(null)).isEqualTo(PinnedThreadMonitor.EXTERNAL);
+  }
+
+  @Test
+  @DisplayName("Should not be running until started")
+  void shouldNotBeRunningUntilStarted() {
+    assertThat(monitor.isRunning()).isFalse();
+  }
+
+  private Timer timer(String site) {
+    return meterRegistry.get(PinnedThreadMonitor.METER_NAME).tag("site", site).timer();
+  }
+}
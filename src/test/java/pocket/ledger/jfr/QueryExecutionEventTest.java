@@ -0,0 +1,72 @@
+package pocket.ledger.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+import pocket.ledger.service.query.QueryLogProperties;
+import pocket.ledger.service.query.TransactionQueryHandler;
+import pocket.ledger.util.PageRequest;
+
+@DisplayName("QueryExecutionEvent Tests")
+class QueryExecutionEventTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  @TempDir Path tempDir;
+
+  @Test
+  @DisplayName("Should record the plan, filter and row counts for executed queries")
+  void shouldRecordQueryExecutionEvents() throws Exception {
+    TransactionRepositoryImpl repository = new TransactionRepositoryImpl();
+    for (int day = 0; day < 10; day++) {
+      TransactionType type = day % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+      Transaction transaction = new Transaction(1L, 2L, BigDecimal.ONE, type, "row " + day);
+      transaction.setCreatedDate(START.plusDays(day));
+      repository.save(transaction);
+    }
+    TransactionQueryHandler handler =
+        new TransactionQueryHandler(new SimpleMeterRegistry(), new QueryLogProperties());
+    TransactionQueryDto query =
+        new TransactionQueryDto(
+            START, START.plusDays(3), TransactionType.DEPOSIT, PageRequest.of(0, 1));
+
+    Path file = tempDir.resolve("queries.jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable(QueryExecutionEvent.class);
+      recording.start();
+      handler.executeQuery(query, repository);
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events =
+        RecordingFile.readAllEvents(file).stream()
+            .filter(e -> e.getEventType().getName().equals("pocket.ledger.QueryExecution"))
+            .toList();
+    assertThat(events).hasSize(1);
+    RecordedEvent event = events.get(0);
+    assertAll(
+        () ->
+            assertThat(event.getString("index")).isEqualTo(TransactionRepositoryImpl.BITMAP_INDEX),
+        () -> assertThat(event.getString("filters")).isEqualTo("dateRange"),
+        () -> assertThat(event.getString("query")).contains("DEPOSIT"),
+        () -> assertThat(event.getLong("rowsScanned")).isEqualTo(2),
+        () -> assertThat(event.getLong("rowsMatched")).isEqualTo(2),
+        () -> assertThat(event.getLong("rowsReturned")).isEqualTo(1));
+  }
+}
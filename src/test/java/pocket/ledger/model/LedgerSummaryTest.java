@@ -0,0 +1,39 @@
+package pocket.ledger.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LedgerSummary Tests")
+class LedgerSummaryTest {
+
+  @Test
+  @DisplayName("Should apply one write's effect and advance the version")
+  void shouldApplyWriteAndAdvanceVersion() {
+    LedgerSummary next = LedgerSummary.EMPTY.next(new BigDecimal("12.50"), 1, 1);
+
+    assertAll(
+        () -> assertThat(next.balance()).isEqualByComparingTo("12.50"),
+        () -> assertThat(next.transactionCount()).isEqualTo(1),
+        () -> assertThat(next.lastId()).isEqualTo(1),
+        () -> assertThat(next.version()).isEqualTo(1),
+        () -> assertThat(LedgerSummary.EMPTY.version()).isZero());
+  }
+
+  @Test
+  @DisplayName("Should keep the balance and highest id when a write does not change them")
+  void shouldKeepUnchangedFields() {
+    LedgerSummary summary = new LedgerSummary(BigDecimal.TEN, 5, 9, 6);
+
+    LedgerSummary next = summary.next(BigDecimal.ZERO, 1, 7);
+
+    assertAll(
+        () -> assertThat(next.balance()).isSameAs(summary.balance()),
+        () -> assertThat(next.transactionCount()).isEqualTo(6),
+        () -> assertThat(next.lastId()).isEqualTo(9),
+        () -> assertThat(next.version()).isEqualTo(7));
+  }
+}
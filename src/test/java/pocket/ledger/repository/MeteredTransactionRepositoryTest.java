@@ -0,0 +1,73 @@
+package pocket.ledger.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.util.PageRequest;
+
+@DisplayName("MeteredTransactionRepository Unit Tests")
+class MeteredTransactionRepositoryTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private MeteredTransactionRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    repository = new MeteredTransactionRepository(new TransactionRepositoryImpl(), meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should delegate and time each call under its method tag")
+  void shouldDelegateAndTimeCalls() {
+    Transaction saved = repository.save(transaction("100.00", TransactionType.DEPOSIT));
+    repository.findById(saved.getId());
+    repository.findByType(TransactionType.DEPOSIT, PageRequest.of(0, 10));
+
+    assertAll(
+        () -> assertThat(repository.findById(saved.getId())).contains(saved),
+        () -> assertThat(timerCount("save")).isEqualTo(1),
+        () -> assertThat(timerCount("findById")).isEqualTo(2),
+        () -> assertThat(timerCount("findByType")).isEqualTo(1),
+        () -> assertThat(timerCount("findAll")).isZero());
+  }
+
+  @Test
+  @DisplayName("Should expose ledger size, index sizes and balance as gauges")
+  void shouldExposeGauges() {
+    repository.save(transaction("100.00", TransactionType.DEPOSIT));
+    Transaction keyed = transaction("40.00", TransactionType.WITHDRAWAL);
+    keyed.setIdempotencyKey("key-1");
+    repository.save(keyed);
+
+    assertAll(
+        () -> assertThat(gauge("ledger.transactions", null)).isEqualTo(2.0),
+        () -> assertThat(gauge("ledger.balance", null)).isEqualTo(60.0),
+        () -> assertThat(gauge("ledger.index.entries", "time")).isEqualTo(2.0),
+        () -> assertThat(gauge("ledger.index.entries", "idempotency")).isEqualTo(1.0),
+        () -> assertThat(gauge("ledger.index.entries", "account")).isEqualTo(2.0));
+  }
+
+  private long timerCount(String method) {
+    return meterRegistry
+        .get(MeteredTransactionRepository.TIMER_NAME)
+        .tag("method", method)
+        .timer()
+        .count();
+  }
+
+  private double gauge(String name, String index) {
+    var search = meterRegistry.get(name);
+    return (index == null ? search : search.tag("index", index)).gauge().value();
+  }
+
+  private static Transaction transaction(String amount, TransactionType type) {
+    return new Transaction(1L, 2L, new BigDecimal(amount), type, "Test transaction");
+  }
+}
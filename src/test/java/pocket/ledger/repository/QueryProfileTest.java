@@ -0,0 +1,85 @@
+package pocket.ledger.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.util.PageRequest;
+
+@DisplayName("QueryProfile Tests")
+class QueryProfileTest {
+
+  @Test
+  @DisplayName("Should leave streams untouched when no profile is running")
+  void shouldLeaveStreamsUntouchedWhenNotRunning() {
+    Stream<String> rows = Stream.of("a", "b");
+
+    assertThat(QueryProfile.count(rows)).isSameAs(rows);
+  }
+
+  @Test
+  @DisplayName("Should count rows on parallel streams while running")
+  void shouldCountRowsOnParallelStreams() {
+    QueryProfile profile = QueryProfile.start();
+    List<Integer> even =
+        QueryProfile.count(Stream.of(1, 2, 3, 4, 5, 6).parallel()).filter(i -> i % 2 == 0).toList();
+    profile.stop();
+
+    assertAll(
+        () -> assertThat(even).containsExactly(2, 4, 6),
+        () -> assertThat(profile.rowsScanned()).isEqualTo(6));
+  }
+
+  @Test
+  @DisplayName("Should restore the outer profile when a nested profile stops")
+  void shouldRestoreOuterProfile() {
+    QueryProfile outer = QueryProfile.start();
+    QueryProfile inner = QueryProfile.start();
+    QueryProfile.count(Stream.of(1, 2)).toList();
+    inner.stop();
+    QueryProfile.count(Stream.of(1, 2, 3)).toList();
+    outer.stop();
+
+    assertAll(
+        () -> assertThat(inner.rowsScanned()).isEqualTo(2),
+        () -> assertThat(outer.rowsScanned()).isEqualTo(3));
+  }
+
+  @Test
+  @DisplayName("Should record index, rows and phases of repository scans")
+  void shouldRecordRepositoryScans() {
+    TransactionRepositoryImpl repository = new TransactionRepositoryImpl();
+    LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    for (int day = 0; day < 10; day++) {
+      TransactionType type = day % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+      Transaction transaction = new Transaction(1L, 2L, BigDecimal.ONE, type, "row " + day);
+      transaction.setCreatedDate(start.plusDays(day));
+      repository.save(transaction);
+    }
+
+    QueryProfile ranged = QueryProfile.start();
+    repository.findByDateRange(start.plusDays(2), start.plusDays(4), PageRequest.of(0, 2));
+    ranged.stop();
+    QueryProfile full = QueryProfile.start();
+    repository.findMatching(
+        List.of(new TransactionPredicate.DescriptionContains("row")), PageRequest.of(0, 2));
+    full.stop();
+
+    assertAll(
+        () -> assertThat(ranged.index()).isEqualTo(TransactionRepositoryImpl.TIME_INDEX),
+        () -> assertThat(ranged.rowsScanned()).isEqualTo(3),
+        () -> assertThat(ranged.rowsSorted()).isZero(),
+        () -> assertThat(ranged.filterNanos()).isNotNegative(),
+        () -> assertThat(full.index()).isEqualTo(QueryProfile.FULL_SCAN),
+        () -> assertThat(full.rowsScanned()).isEqualTo(10),
+        () -> assertThat(full.rowsSorted()).isEqualTo(2),
+        () -> assertThat(QueryProfile.current()).isNull());
+  }
+}
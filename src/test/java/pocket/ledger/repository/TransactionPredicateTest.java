@@ -0,0 +1,89 @@
+package pocket.ledger.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+
+@DisplayName("TransactionPredicate Tests")
+class TransactionPredicateTest {
+
+  private static final LocalDateTime NOON = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  private final Transaction transaction = transaction();
+
+  @Test
+  @DisplayName("Should match date ranges inclusively")
+  void dateRangeShouldBeInclusive() {
+    assertAll(
+        () -> assertThat(new TransactionPredicate.DateRange(NOON, NOON).test(transaction)).isTrue(),
+        () ->
+            assertThat(
+                    new TransactionPredicate.DateRange(NOON.plusSeconds(1), NOON.plusHours(1))
+                        .test(transaction))
+                .isFalse());
+  }
+
+  @Test
+  @DisplayName("Should match an account on either side")
+  void accountShouldMatchEitherSide() {
+    assertAll(
+        () -> assertThat(new TransactionPredicate.Account(1).test(transaction)).isTrue(),
+        () -> assertThat(new TransactionPredicate.Account(2).test(transaction)).isTrue(),
+        () -> assertThat(new TransactionPredicate.Account(3).test(transaction)).isFalse());
+  }
+
+  @Test
+  @DisplayName("Should match amount ranges with open bounds")
+  void amountRangeShouldSupportOpenBounds() {
+    assertAll(
+        () ->
+            assertThat(new TransactionPredicate.AmountRange(BigDecimal.TEN, null).test(transaction))
+                .isTrue(),
+        () ->
+            assertThat(new TransactionPredicate.AmountRange(null, BigDecimal.ONE).test(transaction))
+                .isFalse(),
+        () ->
+            assertThatThrownBy(
+                    () -> new TransactionPredicate.AmountRange(BigDecimal.TEN, BigDecimal.ONE))
+                .isInstanceOf(IllegalArgumentException.class));
+  }
+
+  @Test
+  @DisplayName("Should treat amount ranges that compare equal as equal")
+  void amountRangeShouldIgnoreTrailingZeros() {
+    assertThat(new TransactionPredicate.AmountRange(new BigDecimal("5.00"), null))
+        .isEqualTo(new TransactionPredicate.AmountRange(new BigDecimal("5"), null));
+  }
+
+  @Test
+  @DisplayName("Should match descriptions case-insensitively and skip missing ones")
+  void descriptionShouldIgnoreCase() {
+    Transaction undescribed = transaction();
+    undescribed.setDescription(null);
+
+    assertAll(
+        () ->
+            assertThat(new TransactionPredicate.DescriptionContains("RENT").test(transaction))
+                .isTrue(),
+        () ->
+            assertThat(new TransactionPredicate.DescriptionContains("rent").test(undescribed))
+                .isFalse(),
+        () ->
+            assertThat(new TransactionPredicate.OfType(TransactionType.DEPOSIT).test(transaction))
+                .isTrue());
+  }
+
+  private static Transaction transaction() {
+    Transaction transaction =
+        new Transaction(1L, 2L, new BigDecimal("10.00"), TransactionType.DEPOSIT, "March rent");
+    transaction.setCreatedDate(NOON);
+    return transaction;
+  }
+}
@@ -1,10 +1,12 @@
 package pocket.ledger.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +14,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.LedgerSummary;
 import pocket.ledger.model.Transaction;
 import pocket.ledger.util.Page;
 import pocket.ledger.util.PageRequest;
@@ -168,6 +171,28 @@ class TransactionRepositoryImplTest {
 
       assertThat(found).isEmpty();
     }
+
+    @Test
+    @DisplayName("Should find transaction by idempotency key")
+    void shouldFindTransactionByIdempotencyKey() {
+      Transaction transaction = createTransaction(BigDecimal.valueOf(100), TransactionType.DEPOSIT);
+      transaction.setIdempotencyKey("retry-key");
+      Transaction saved = repository.save(transaction);
+
+      Optional<Transaction> found = repository.findByIdempotencyKey("retry-key");
+
+      assertAll(
+          () -> assertThat(found).isPresent(),
+          () -> assertThat(found.get().getId()).isEqualTo(saved.getId()));
+    }
+
+    @Test
+    @DisplayName("Should return empty for unknown idempotency key")
+    void shouldReturnEmptyForUnknownIdempotencyKey() {
+      repository.save(createTransaction(BigDecimal.valueOf(100), TransactionType.DEPOSIT));
+
+      assertThat(repository.findByIdempotencyKey("unknown")).isEmpty();
+    }
   }
 
   @Nested
@@ -477,6 +502,67 @@ class TransactionRepositoryImplTest {
     }
   }
 
+  @Nested
+  @DisplayName("Ledger Summary")
+  class LedgerSummaryTests {
+
+    @Test
+    @DisplayName("Should publish balance, count, last id and version together")
+    void shouldPublishSummaryOfCompletedWrites() {
+      Transaction transaction =
+          repository.save(createTransaction(BigDecimal.valueOf(100), TransactionType.DEPOSIT));
+      repository.save(createTransaction(BigDecimal.valueOf(30), TransactionType.WITHDRAWAL));
+      repository.saveAll(List.of(createTransaction(BigDecimal.TEN, TransactionType.DEPOSIT)));
+      repository.save(transaction);
+
+      LedgerSummary summary = repository.summary();
+
+      assertAll(
+          () -> assertThat(summary.balance()).isEqualByComparingTo("180"),
+          () -> assertThat(summary.transactionCount()).isEqualTo(3),
+          () -> assertThat(summary.lastId()).isEqualTo(3),
+          () -> assertThat(summary.version()).isEqualTo(4).isEqualTo(repository.version()),
+          () -> assertThat(repository.calculateBalance()).isEqualTo(summary.balance()),
+          () -> assertThat(repository.countTransactions()).isEqualTo(3L));
+    }
+
+    @Test
+    @DisplayName("Should start from an empty summary")
+    void shouldStartFromEmptySummary() {
+      assertThat(repository.summary()).isEqualTo(LedgerSummary.EMPTY);
+    }
+
+    @Test
+    @DisplayName("Should never show a balance and count from different writes")
+    void shouldKeepSummaryConsistentUnderConcurrentWrites() throws InterruptedException {
+      int writes = 20_000;
+      Thread writer =
+          Thread.ofPlatform()
+              .start(
+                  () -> {
+                    for (int i = 0; i < writes; i++) {
+                      repository.save(createTransaction(BigDecimal.ONE, TransactionType.DEPOSIT));
+                    }
+                  });
+
+      List<LedgerSummary> inconsistent = new ArrayList<>();
+      while (writer.isAlive()) {
+        LedgerSummary summary = repository.summary();
+        // Every write deposits one, so balance, count, last id and version move in step.
+        if (summary.balance().longValueExact() != summary.transactionCount()
+            || summary.lastId() != summary.transactionCount()
+            || summary.version() != summary.transactionCount()) {
+          inconsistent.add(summary);
+        }
+      }
+      writer.join();
+
+      assertAll(
+          () -> assertThat(inconsistent).isEmpty(),
+          () -> assertThat(repository.summary().transactionCount()).isEqualTo(writes));
+    }
+  }
+
   @Nested
   @DisplayName("Edge Cases")
   class EdgeCases {
@@ -521,6 +607,377 @@ class TransactionRepositoryImplTest {
     }
   }
 
+  @Nested
+  @DisplayName("Bulk Save")
+  class BulkSaveTests {
+
+    @Test
+    @DisplayName("Should count a batch and move the balance by its net amount in one write")
+    void shouldPublishBatchAsOneWrite() {
+      repository.saveAll(
+          List.of(
+              createTransaction(BigDecimal.valueOf(100), TransactionType.DEPOSIT),
+              createTransaction(BigDecimal.valueOf(40), TransactionType.WITHDRAWAL)));
+
+      LedgerSummary summary = repository.summary();
+
+      assertAll(
+          () -> assertThat(summary.transactionCount()).isEqualTo(2),
+          () -> assertThat(summary.balance()).isEqualByComparingTo("60"),
+          () -> assertThat(summary.lastId()).isEqualTo(2),
+          () -> assertThat(summary.version()).isOne());
+    }
+
+    @Test
+    @DisplayName("Should publish the rows stored before a batch failed")
+    void shouldPublishRowsStoredBeforeBatchFailed() {
+      Transaction broken = createTransaction(BigDecimal.ONE, TransactionType.DEPOSIT);
+      broken.setCreatedDate(null);
+
+      assertThatThrownBy(
+              () ->
+                  repository.saveAll(
+                      List.of(
+                          createTransaction(BigDecimal.valueOf(25), TransactionType.DEPOSIT),
+                          broken)))
+          .isInstanceOf(NullPointerException.class);
+
+      assertAll(
+          () -> assertThat(repository.countTransactions()).isEqualTo(1),
+          () -> assertThat(repository.calculateBalance()).isEqualByComparingTo("25"),
+          () -> assertThat(repository.version()).isOne());
+    }
+  }
+
+  @Nested
+  @DisplayName("Streaming")
+  class StreamingTests {
+
+    @Test
+    @DisplayName("Should stream transactions newest first")
+    void shouldStreamTransactionsNewestFirst() {
+      LocalDateTime baseDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+      repository.save(
+          createTransactionWithDate(BigDecimal.valueOf(1), TransactionType.DEPOSIT, baseDate));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(2), TransactionType.DEPOSIT, baseDate.plusDays(2)));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(3), TransactionType.DEPOSIT, baseDate.plusDays(1)));
+
+      List<BigDecimal> amounts =
+          repository.streamNewestFirst(List.of()).map(Transaction::getAmount).toList();
+
+      assertThat(amounts)
+          .containsExactly(BigDecimal.valueOf(2), BigDecimal.valueOf(3), BigDecimal.valueOf(1));
+    }
+
+    @Test
+    @DisplayName("Should keep transactions created at the same instant")
+    void shouldKeepTransactionsCreatedAtSameInstant() {
+      LocalDateTime sameInstant = LocalDateTime.of(2024, 1, 1, 10, 0);
+      repository.save(
+          createTransactionWithDate(BigDecimal.valueOf(1), TransactionType.DEPOSIT, sameInstant));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(2), TransactionType.WITHDRAWAL, sameInstant));
+
+      assertAll(
+          () -> assertThat(repository.streamNewestFirst(List.of())).hasSize(2),
+          () ->
+              assertThat(
+                      repository
+                          .findByDateRange(sameInstant, sameInstant, PageRequest.of(0, 10))
+                          .getContent())
+                  .hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Should apply date range and type filters while streaming")
+    void shouldApplyDateRangeAndTypeFiltersWhileStreaming() {
+      LocalDateTime baseDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+      repository.save(
+          createTransactionWithDate(BigDecimal.valueOf(1), TransactionType.DEPOSIT, baseDate));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(2), TransactionType.WITHDRAWAL, baseDate.plusDays(1)));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(3), TransactionType.DEPOSIT, baseDate.plusDays(5)));
+
+      List<Transaction> result =
+          repository
+              .streamNewestFirst(
+                  List.of(
+                      new TransactionPredicate.DateRange(baseDate, baseDate.plusDays(2)),
+                      new TransactionPredicate.OfType(TransactionType.DEPOSIT)))
+              .toList();
+
+      assertThat(result).extracting(Transaction::getAmount).containsExactly(BigDecimal.ONE);
+    }
+
+    @Test
+    @DisplayName("Should stream bitmap matches newest first when rows were stored out of order")
+    void shouldStreamBitmapMatchesNewestFirstWhenStoredOutOfOrder() {
+      LocalDateTime baseDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+      repository.save(
+          createTransactionWithDate(BigDecimal.valueOf(1), TransactionType.DEPOSIT, baseDate));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(2), TransactionType.WITHDRAWAL, baseDate.plusDays(1)));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(3), TransactionType.DEPOSIT, baseDate.minusDays(1)));
+      repository.save(
+          createTransactionWithDate(
+              BigDecimal.valueOf(4), TransactionType.DEPOSIT, baseDate.plusDays(2)));
+
+      List<BigDecimal> amounts =
+          repository
+              .streamNewestFirst(List.of(new TransactionPredicate.OfType(TransactionType.DEPOSIT)))
+              .map(Transaction::getAmount)
+              .toList();
+
+      assertThat(amounts)
+          .containsExactly(BigDecimal.valueOf(4), BigDecimal.valueOf(1), BigDecimal.valueOf(3));
+    }
+  }
+
+  @Nested
+  @DisplayName("Sequence Reads")
+  class SequenceReadTests {
+
+    @Test
+    @DisplayName("Should return transactions after an id in id order up to the limit")
+    void shouldReturnTransactionsAfterIdInOrder() {
+      for (int i = 1; i <= 5; i++) {
+        repository.save(createTransaction(BigDecimal.valueOf(i), TransactionType.DEPOSIT));
+      }
+
+      assertAll(
+          () -> assertThat(repository.lastAssignedId()).isEqualTo(5L),
+          () ->
+              assertThat(repository.findAfterId(1L, 3))
+                  .extracting(Transaction::getId)
+                  .containsExactly(2L, 3L, 4L),
+          () -> assertThat(repository.findAfterId(5L, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should skip the id of a write that failed before storing it")
+    void shouldSkipIdOfFailedWrite() {
+      repository.save(createTransaction(BigDecimal.ONE, TransactionType.DEPOSIT));
+      Transaction failing =
+          new Transaction(BigDecimal.TWO, TransactionType.DEPOSIT, "Test transaction") {
+            @Override
+            public void setLastModifiedDate(LocalDateTime lastModifiedDate) {
+              throw new IllegalStateException("write failed");
+            }
+          };
+      assertThatThrownBy(() -> repository.save(failing)).isInstanceOf(IllegalStateException.class);
+      repository.save(createTransaction(BigDecimal.TEN, TransactionType.DEPOSIT));
+
+      assertAll(
+          () -> assertThat(failing.getId()).isEqualTo(2L),
+          () -> assertThat(repository.findById(2L)).isEmpty(),
+          () ->
+              assertThat(repository.findAfterId(0L, 10))
+                  .extracting(Transaction::getId)
+                  .containsExactly(1L, 3L),
+          () ->
+              assertThat(repository.findAfterId(1L, 1))
+                  .extracting(Transaction::getId)
+                  .containsExactly(3L));
+    }
+
+    @Test
+    @DisplayName("Should count every completed write in the version")
+    void shouldCountCompletedWritesInVersion() {
+      long initial = repository.version();
+      Transaction transaction =
+          repository.save(createTransaction(BigDecimal.ONE, TransactionType.DEPOSIT));
+      repository.saveAll(
+          List.of(
+              createTransaction(BigDecimal.TWO, TransactionType.DEPOSIT),
+              createTransaction(BigDecimal.TEN, TransactionType.WITHDRAWAL)));
+      repository.save(transaction);
+
+      assertAll(
+          () -> assertThat(initial).isZero(),
+          () -> assertThat(repository.version()).isEqualTo(3L));
+    }
+
+    @Test
+    @DisplayName("Should report no ids on an empty repository")
+    void shouldReportNoIdsOnEmptyRepository() {
+      assertAll(
+          () -> assertThat(repository.lastAssignedId()).isZero(),
+          () -> assertThat(repository.findAfterId(0L, 10)).isEmpty());
+    }
+  }
+
+  @Nested
+  @DisplayName("Query Planning")
+  class QueryPlanningTests {
+
+    private final LocalDateTime baseDate = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @BeforeEach
+    void setUpTransactionsAcrossAccounts() {
+      for (int day = 0; day < 10; day++) {
+        Transaction transaction =
+            new Transaction(
+                (long) day % 5 + 1,
+                null,
+                BigDecimal.valueOf(day + 1),
+                day % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL,
+                day == 3 ? "Monthly RENT" : "Groceries");
+        transaction.setCreatedDate(baseDate.plusDays(day).plusHours(12));
+        repository.save(transaction);
+      }
+    }
+
+    @Test
+    @DisplayName("Should estimate partly covered days in proportion")
+    void shouldEstimatePartlyCoveredDaysInProportion() {
+      assertAll(
+          () ->
+              assertThat(
+                      repository.estimateTimeRange(
+                          new TransactionPredicate.DateRange(
+                              baseDate, baseDate.plusDays(3).minusNanos(1))))
+                  .isEqualTo(3),
+          () ->
+              assertThat(
+                      repository.estimateTimeRange(
+                          new TransactionPredicate.DateRange(
+                              baseDate.plusHours(12), baseDate.plusDays(1))))
+                  .isEqualTo(1),
+          () ->
+              assertThat(
+                      repository.estimateTimeRange(
+                          new TransactionPredicate.DateRange(
+                              baseDate.plusDays(20), baseDate.plusDays(30))))
+                  .isZero());
+    }
+
+    @Test
+    @DisplayName("Should narrow the candidates with bitmaps when they are most selective")
+    void shouldAnswerMostSelectivePredicateFromItsIndex() {
+      QueryProfile profile = QueryProfile.start();
+      Page<Transaction> page;
+      try {
+        page =
+            repository.findMatching(
+                List.of(
+                    new TransactionPredicate.DateRange(baseDate, baseDate.plusDays(10)),
+                    new TransactionPredicate.Account(2L)),
+                PageRequest.of(0, 10));
+      } finally {
+        profile.stop();
+      }
+
+      assertAll(
+          () ->
+              assertThat(page.getContent())
+                  .extracting(Transaction::getAmount)
+                  .containsExactly(BigDecimal.valueOf(7), BigDecimal.valueOf(2)),
+          () -> assertThat(profile.index()).isEqualTo(TransactionRepositoryImpl.BITMAP_INDEX),
+          () -> assertThat(profile.estimatedRows()).isEqualTo(2),
+          () -> assertThat(profile.filters()).containsExactly("dateRange"),
+          () -> assertThat(profile.rowsScanned()).isEqualTo(2));
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full scan when no index is cheaper")
+    void shouldFallBackToFullScanWhenNoIndexIsCheaper() {
+      QueryProfile profile = QueryProfile.start();
+      Page<Transaction> page;
+      try {
+        page =
+            repository.findMatching(
+                List.of(
+                    new TransactionPredicate.DateRange(baseDate, baseDate.plusDays(10)),
+                    new TransactionPredicate.DescriptionContains("rent")),
+                PageRequest.of(0, 10));
+      } finally {
+        profile.stop();
+      }
+
+      assertAll(
+          () ->
+              assertThat(page.getContent())
+                  .extracting(Transaction::getAmount)
+                  .containsExactly(BigDecimal.valueOf(4)),
+          () -> assertThat(profile.index()).isEqualTo(QueryProfile.FULL_SCAN),
+          () -> assertThat(profile.filters()).containsExactly("dateRange", "description"),
+          () -> assertThat(repository.accountIndexSize()).isEqualTo(5));
+    }
+
+    @Test
+    @DisplayName("Should page exact bitmap matches by ordinal without sorting")
+    void shouldPageExactBitmapMatchesByOrdinal() {
+      QueryProfile profile = QueryProfile.start();
+      Page<Transaction> page;
+      try {
+        page =
+            repository.findMatching(
+                List.of(
+                    new TransactionPredicate.DateRange(
+                        baseDate, baseDate.plusDays(8).minusNanos(1)),
+                    new TransactionPredicate.OfType(TransactionType.DEPOSIT)),
+                PageRequest.of(1, 2));
+      } finally {
+        profile.stop();
+      }
+
+      assertAll(
+          () -> assertThat(page.getTotalElements()).isEqualTo(4),
+          () ->
+              assertThat(page.getContent())
+                  .extracting(Transaction::getAmount)
+                  .containsExactly(BigDecimal.valueOf(3), BigDecimal.valueOf(1)),
+          () -> assertThat(profile.index()).isEqualTo(TransactionRepositoryImpl.BITMAP_INDEX),
+          () -> assertThat(profile.filters()).isEmpty(),
+          () -> assertThat(profile.rowsScanned()).isEqualTo(2),
+          () -> assertThat(profile.rowsSorted()).isZero());
+    }
+
+    @Test
+    @DisplayName("Should sort bitmap matches stored out of creation order")
+    void shouldSortBitmapMatchesStoredOutOfCreationOrder() {
+      Transaction backdated =
+          new Transaction(1L, null, BigDecimal.valueOf(50), TransactionType.DEPOSIT, "Backdated");
+      backdated.setCreatedDate(baseDate.plusDays(1));
+      repository.save(backdated);
+
+      Page<Transaction> page =
+          repository.findMatching(
+              List.of(new TransactionPredicate.Account(1L)), PageRequest.of(0, 10));
+
+      assertThat(page.getContent())
+          .extracting(Transaction::getAmount)
+          .containsExactly(BigDecimal.valueOf(6), BigDecimal.valueOf(50), BigDecimal.valueOf(1));
+    }
+
+    @Test
+    @DisplayName("Should apply residual predicates after the index lookup")
+    void shouldApplyResidualPredicatesAfterIndexLookup() {
+      Page<Transaction> page =
+          repository.findMatching(
+              List.of(
+                  new TransactionPredicate.DateRange(baseDate, baseDate.plusDays(4)),
+                  new TransactionPredicate.OfType(TransactionType.DEPOSIT),
+                  new TransactionPredicate.AmountRange(BigDecimal.valueOf(2), null)),
+              PageRequest.of(0, 10));
+
+      assertThat(page.getContent())
+          .extracting(Transaction::getAmount)
+          .containsExactly(BigDecimal.valueOf(3));
+    }
+  }
+
   private Transaction createTransaction(BigDecimal amount, TransactionType type) {
     return new Transaction(amount, type, "Test transaction");
   }
@@ -4,9 +4,17 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,16 +25,33 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.QueryExplainDto;
+import pocket.ledger.dto.v1.TransactionJson;
 import pocket.ledger.dto.v1.TransactionQueryDto;
 import pocket.ledger.dto.v1.TransactionRequestDto;
 import pocket.ledger.dto.v1.TransactionResponseDto;
 import pocket.ledger.enums.TransactionType;
+import pocket.ledger.event.TransactionCreatedEvent;
 import pocket.ledger.exception.InsufficientBalanceException;
 import pocket.ledger.exception.TransactionNotFoundException;
+import pocket.ledger.model.LedgerSummary;
 import pocket.ledger.model.Transaction;
 import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.service.admission.AdmissionLimiter;
+import pocket.ledger.service.admission.AdmissionProperties;
+import pocket.ledger.service.idempotency.IdempotencyCache;
+import pocket.ledger.service.json.JsonCacheProperties;
+import pocket.ledger.service.json.TransactionJsonCache;
+import pocket.ledger.service.lock.LockMonitor;
+import pocket.ledger.service.query.ExplainedPage;
+import pocket.ledger.service.query.QueryCacheProperties;
+import pocket.ledger.service.query.QueryCoalesceProperties;
+import pocket.ledger.service.query.QueryCoalescer;
+import pocket.ledger.service.query.QueryResultCache;
 import pocket.ledger.service.query.TransactionQueryHandler;
 import pocket.ledger.util.Page;
 import pocket.ledger.util.PageRequest;
@@ -39,6 +64,33 @@ class LedgerServiceImplTest {
 
   @Mock private TransactionQueryHandler queryHandler;
 
+  @Mock private IdempotencyCache idempotencyCache;
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Spy private LockMonitor lockMonitor = new LockMonitor(new SimpleMeterRegistry());
+
+  @Spy
+  private QueryResultCache resultCache =
+      new QueryResultCache(new QueryCacheProperties(), new SimpleMeterRegistry());
+
+  @Spy
+  private TransactionJsonCache jsonCache =
+      new TransactionJsonCache(
+          new JsonCacheProperties(),
+          new ObjectMapper()
+              .registerModule(new JavaTimeModule())
+              .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+          new SimpleMeterRegistry());
+
+  @Spy
+  private QueryCoalescer coalescer =
+      new QueryCoalescer(new QueryCoalesceProperties(), new SimpleMeterRegistry());
+
+  @Spy
+  private AdmissionLimiter admissionLimiter =
+      new AdmissionLimiter(new AdmissionProperties(), new SimpleMeterRegistry());
+
   @InjectMocks private LedgerServiceImpl ledgerService;
 
   @Nested
@@ -191,26 +243,40 @@ class LedgerServiceImplTest {
 
       when(transactionRepository.findById(transactionId)).thenReturn(Optional.of(transaction));
 
-      TransactionResponseDto result = ledgerService.getTransactionById(transactionId);
+      TransactionJson result = ledgerService.getTransactionJson(transactionId);
 
       assertAll(
-          () -> assertThat(result.id()).isEqualTo(transactionId),
-          () -> assertThat(result.amount()).isEqualTo(BigDecimal.valueOf(100)),
-          () -> assertThat(result.type()).isEqualTo(TransactionType.DEPOSIT),
-          () -> assertThat(result.description()).isEqualTo("Test transaction"),
+          () ->
+              assertThat(result.getValue())
+                  .contains("\"id\":1", "\"amount\":100", "DEPOSIT", "Test transaction"),
           () -> verify(transactionRepository).findById(transactionId));
     }
 
     @Test
-    @DisplayName("Should throw TransactionNotFoundException when ID does not exist")
-    void shouldThrowTransactionNotFoundExceptionWhenIdDoesNotExist() {
-      Long nonExistentId = 999L;
-      when(transactionRepository.findById(nonExistentId)).thenReturn(Optional.empty());
+    @DisplayName("Should encode a transaction once and reuse the bytes on later reads")
+    void shouldEncodeTransactionOnce() {
+      Transaction transaction =
+          new Transaction(1L, 2L, new BigDecimal("12.50"), TransactionType.DEPOSIT, "Lunch");
+      transaction.setId(3L);
+      transaction.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+      when(transactionRepository.findById(3L)).thenReturn(Optional.of(transaction));
 
-      assertThatThrownBy(() -> ledgerService.getTransactionById(nonExistentId))
-          .isInstanceOf(TransactionNotFoundException.class);
+      TransactionJson first = ledgerService.getTransactionJson(3L);
+      TransactionJson second = ledgerService.getTransactionJson(3L);
+
+      assertAll(
+          () -> assertThat(second).isSameAs(first),
+          () -> assertThat(first.getValue()).contains("\"id\":3", "\"amount\":12.50", "Lunch"),
+          () -> assertThat(jsonCache.size()).isEqualTo(1));
+    }
 
-      verify(transactionRepository).findById(nonExistentId);
+    @Test
+    @DisplayName("Should throw TransactionNotFoundException for the JSON of a missing ID")
+    void shouldThrowForJsonOfMissingId() {
+      when(transactionRepository.findById(999L)).thenReturn(Optional.empty());
+
+      assertThatThrownBy(() -> ledgerService.getTransactionJson(999L))
+          .isInstanceOf(TransactionNotFoundException.class);
     }
   }
 
@@ -219,30 +285,29 @@ class LedgerServiceImplTest {
   class GetBalanceTests {
 
     @Test
-    @DisplayName("Should return current balance with transaction count")
+    @DisplayName("Should return balance, count and version from one summary")
     void shouldReturnCurrentBalanceWithTransactionCount() {
       BigDecimal expectedBalance = BigDecimal.valueOf(250.75);
-      Long expectedCount = 5L;
-
-      when(transactionRepository.calculateBalance()).thenReturn(expectedBalance);
-      when(transactionRepository.countTransactions()).thenReturn(expectedCount);
+      when(transactionRepository.summary())
+          .thenReturn(new LedgerSummary(expectedBalance, 5, 5, 9));
 
       BalanceResponseDto result = ledgerService.getBalance();
 
       assertAll(
           () -> assertThat(result.balance()).isEqualTo(expectedBalance),
-          () -> assertThat(result.totalTransactions()).isEqualTo(expectedCount),
+          () -> assertThat(result.totalTransactions()).isEqualTo(5L),
+          () -> assertThat(result.version()).isEqualTo(9),
           () -> assertThat(result.asOfTimestamp()).isNotNull(),
           () -> assertThat(result.asOfTimestamp()).isBeforeOrEqualTo(LocalDateTime.now()),
-          () -> verify(transactionRepository).calculateBalance(),
-          () -> verify(transactionRepository).countTransactions());
+          () -> verify(transactionRepository).summary(),
+          () -> verify(transactionRepository, never()).calculateBalance(),
+          () -> verify(transactionRepository, never()).countTransactions());
     }
 
     @Test
     @DisplayName("Should return zero balance and zero count for empty repository")
     void shouldReturnZeroBalanceAndZeroCountForEmptyRepository() {
-      when(transactionRepository.calculateBalance()).thenReturn(BigDecimal.ZERO);
-      when(transactionRepository.countTransactions()).thenReturn(0L);
+      when(transactionRepository.summary()).thenReturn(LedgerSummary.EMPTY);
 
       BalanceResponseDto result = ledgerService.getBalance();
 
@@ -255,8 +320,8 @@ class LedgerServiceImplTest {
     @DisplayName("Should handle negative balance correctly")
     void shouldHandleNegativeBalanceCorrectly() {
       BigDecimal negativeBalance = BigDecimal.valueOf(-50.25);
-      when(transactionRepository.calculateBalance()).thenReturn(negativeBalance);
-      when(transactionRepository.countTransactions()).thenReturn(3L);
+      when(transactionRepository.summary())
+          .thenReturn(new LedgerSummary(negativeBalance, 3, 3, 3));
 
       BalanceResponseDto result = ledgerService.getBalance();
 
@@ -293,18 +358,65 @@ class LedgerServiceImplTest {
           new TransactionQueryDto(startDate, endDate, TransactionType.DEPOSIT, pageRequest);
       when(queryHandler.executeQuery(query, transactionRepository)).thenReturn(transactionPage);
 
-      pocket.ledger.util.Page<TransactionResponseDto> result = ledgerService.getTransactions(query);
+      Page<TransactionJson> result = ledgerService.getTransactionsJson(query);
 
       assertAll(
           () -> assertThat(result.getContent()).hasSize(2),
-          () -> assertThat(result.getContent().get(0).id()).isEqualTo(1L),
-          () -> assertThat(result.getContent().get(0).amount()).isEqualTo(BigDecimal.valueOf(100)),
-          () -> assertThat(result.getContent().get(1).id()).isEqualTo(2L),
-          () -> assertThat(result.getContent().get(1).amount()).isEqualTo(BigDecimal.valueOf(200)),
+          () -> assertThat(result.getContent().get(0).getValue()).contains("\"id\":1", "100"),
+          () -> assertThat(result.getContent().get(1).getValue()).contains("\"id\":2", "200"),
           () -> assertThat(result.getTotalElements()).isEqualTo(2),
           () -> verify(queryHandler).executeQuery(query, transactionRepository));
     }
 
+    @Test
+    @DisplayName("Should answer repeated queries from the result cache while nothing is written")
+    void shouldAnswerRepeatedQueriesFromResultCache() {
+      PageRequest pageRequest = PageRequest.of(0, 10);
+      TransactionQueryDto query = new TransactionQueryDto(null, null, null, pageRequest);
+      when(queryHandler.executeQuery(query, transactionRepository))
+          .thenReturn(new Page<>(List.of(), pageRequest, 0));
+
+      ledgerService.getTransactionsJson(query);
+      ledgerService.getTransactionsJson(query);
+
+      verify(queryHandler, times(1)).executeQuery(query, transactionRepository);
+    }
+
+    @Test
+    @DisplayName("Should return the encoded transactions of a page with its metadata")
+    void shouldReturnEncodedTransactionsOfPage() {
+      PageRequest pageRequest = PageRequest.of(0, 10);
+      TransactionQueryDto query = new TransactionQueryDto(null, null, null, pageRequest);
+      Transaction transaction =
+          new Transaction(1L, 2L, BigDecimal.TEN, TransactionType.WITHDRAWAL, "Rent");
+      transaction.setId(8L);
+      transaction.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+      when(queryHandler.executeQuery(query, transactionRepository))
+          .thenReturn(new Page<>(List.of(transaction), pageRequest, 21));
+
+      Page<TransactionJson> result = ledgerService.getTransactionsJson(query);
+
+      assertAll(
+          () -> assertThat(result.getContent()).hasSize(1),
+          () -> assertThat(result.getContent().get(0).getValue()).contains("\"id\":8", "Rent"),
+          () -> assertThat(result.getTotalElements()).isEqualTo(21));
+    }
+
+    @Test
+    @DisplayName("Should coalesce encoded page reads at the version read")
+    void shouldCoalesceEncodedPageReadsAtVersion() {
+      PageRequest pageRequest = PageRequest.of(0, 10);
+      TransactionQueryDto query =
+          new TransactionQueryDto(null, null, TransactionType.DEPOSIT, pageRequest);
+      when(transactionRepository.version()).thenReturn(7L);
+      when(queryHandler.executeQuery(query, transactionRepository))
+          .thenReturn(new Page<>(List.of(), pageRequest, 0));
+
+      ledgerService.getTransactionsJson(query);
+
+      verify(coalescer).coalesce(eq(LedgerServiceImpl.TRANSACTIONS_READ), eq(query), eq(7L), any());
+    }
+
     @Test
     @DisplayName("Should handle empty query results")
     void shouldHandleEmptyQueryResults() {
@@ -314,7 +426,7 @@ class LedgerServiceImplTest {
       Page<Transaction> emptyPage = new Page<>(List.of(), pageRequest, 0);
       when(queryHandler.executeQuery(query, transactionRepository)).thenReturn(emptyPage);
 
-      pocket.ledger.util.Page<TransactionResponseDto> result = ledgerService.getTransactions(query);
+      Page<TransactionJson> result = ledgerService.getTransactionsJson(query);
 
       assertAll(
           () -> assertThat(result.getContent()).isEmpty(),
@@ -336,7 +448,7 @@ class LedgerServiceImplTest {
       Page<Transaction> pagedResult = new Page<>(List.of(transaction), pageRequest, 12);
       when(queryHandler.executeQuery(query, transactionRepository)).thenReturn(pagedResult);
 
-      pocket.ledger.util.Page<TransactionResponseDto> result = ledgerService.getTransactions(query);
+      Page<TransactionJson> result = ledgerService.getTransactionsJson(query);
 
       assertAll(
           () -> assertThat(result.getContent()).hasSize(1),
@@ -347,6 +459,34 @@ class LedgerServiceImplTest {
           () -> assertThat(result.isFirst()).isFalse(),
           () -> assertThat(result.isLast()).isFalse());
     }
+
+    @Test
+    @DisplayName("Should map explained results and add the mapping time")
+    void shouldMapExplainedResultsAndAddMappingTime() {
+      PageRequest pageRequest = PageRequest.of(0, 10);
+      TransactionQueryDto query = new TransactionQueryDto(null, null, null, pageRequest);
+      Transaction transaction =
+          new Transaction(1L, 2L, BigDecimal.TEN, TransactionType.DEPOSIT, "Transaction");
+      transaction.setId(1L);
+      QueryExplainDto explain =
+          new QueryExplainDto("none", 1, List.of(), 1, 1, 1, 0.1, 0.1, 0.1, 0, 1.0);
+      Page<Transaction> page = new Page<>(List.of(transaction), pageRequest, 1);
+      when(queryHandler.explainQuery(query, transactionRepository))
+          .thenReturn(new ExplainedPage<>(page, explain));
+
+      ExplainedPage<TransactionResponseDto> result = ledgerService.explainTransactions(query);
+
+      assertAll(
+          () ->
+              assertThat(result.page().getContent())
+                  .extracting(TransactionResponseDto::id)
+                  .containsExactly(1L),
+          () -> assertThat(result.explain().index()).isEqualTo("none"),
+          () -> assertThat(result.explain().mappingMillis()).isNotNegative(),
+          () ->
+              assertThat(result.explain().totalMillis())
+                  .isEqualTo(1.0 + result.explain().mappingMillis()));
+    }
   }
 
   @Nested
@@ -443,4 +583,135 @@ class LedgerServiceImplTest {
       assertThat(result.amount()).isEqualTo(withdrawalAmount);
     }
   }
+
+  @Nested
+  @DisplayName("Idempotent Create Transaction Tests")
+  class IdempotentCreateTransactionTests {
+
+    @Test
+    @DisplayName("Should save transaction with idempotency key and remember it")
+    void shouldSaveTransactionWithIdempotencyKeyAndRememberIt() {
+      Transaction savedTransaction =
+          new Transaction(1L, 2L, BigDecimal.valueOf(100), TransactionType.DEPOSIT, "Salary");
+      savedTransaction.setId(7L);
+      when(idempotencyCache.get("key-1")).thenReturn(Optional.empty());
+      when(transactionRepository.findByIdempotencyKey("key-1")).thenReturn(Optional.empty());
+      when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+      TransactionRequestDto request =
+          new TransactionRequestDto(
+              1L, 2L, BigDecimal.valueOf(100), TransactionType.DEPOSIT, "Salary");
+      LedgerServiceImpl.CreateResult result = ledgerService.create(request, "key-1");
+
+      assertAll(
+          () -> assertThat(result.transaction().id()).isEqualTo(7L),
+          () -> assertThat(result.replayed()).isFalse(),
+          () -> verify(idempotencyCache).put("key-1", 7L),
+          () ->
+              verify(transactionRepository)
+                  .save(argThat(t -> "key-1".equals(t.getIdempotencyKey()))));
+    }
+
+    @Test
+    @DisplayName("Should return cached result without saving again")
+    void shouldReturnCachedResultWithoutSavingAgain() {
+      Transaction original =
+          new Transaction(1L, 2L, BigDecimal.valueOf(100), TransactionType.DEPOSIT, "Salary");
+      original.setId(7L);
+      when(idempotencyCache.get("key-1")).thenReturn(Optional.of(7L));
+      when(transactionRepository.findById(7L)).thenReturn(Optional.of(original));
+
+      TransactionRequestDto request =
+          new TransactionRequestDto(
+              1L, 2L, BigDecimal.valueOf(100), TransactionType.DEPOSIT, "Salary");
+      LedgerServiceImpl.CreateResult result = ledgerService.create(request, "key-1");
+
+      assertAll(
+          () -> assertThat(result.transaction().id()).isEqualTo(7L),
+          () -> assertThat(result.replayed()).isTrue(),
+          () -> verify(transactionRepository, never()).save(any(Transaction.class)),
+          () -> verify(transactionRepository, never()).calculateBalance());
+    }
+
+    @Test
+    @DisplayName("Should fall back to the persisted key after cache eviction")
+    void shouldFallBackToPersistedKeyAfterCacheEviction() {
+      Transaction original =
+          new Transaction(1L, 2L, BigDecimal.valueOf(40), TransactionType.WITHDRAWAL, "ATM");
+      original.setId(9L);
+      when(idempotencyCache.get("key-2")).thenReturn(Optional.empty());
+      when(transactionRepository.findByIdempotencyKey("key-2")).thenReturn(Optional.of(original));
+
+      TransactionRequestDto request =
+          new TransactionRequestDto(
+              1L, 2L, BigDecimal.valueOf(40), TransactionType.WITHDRAWAL, "ATM");
+      TransactionResponseDto result = ledgerService.createTransaction(request, "key-2");
+
+      assertAll(
+          () -> assertThat(result.id()).isEqualTo(9L),
+          () -> verify(idempotencyCache).put("key-2", 9L),
+          () -> verify(transactionRepository, never()).save(any(Transaction.class)));
+    }
+
+    @Test
+    @DisplayName("Should reject blank idempotency key")
+    void shouldRejectBlankIdempotencyKey() {
+      TransactionRequestDto request =
+          new TransactionRequestDto(1L, 2L, BigDecimal.valueOf(10), TransactionType.DEPOSIT, null);
+
+      assertThatThrownBy(() -> ledgerService.createTransaction(request, " "))
+          .isInstanceOf(IllegalArgumentException.class)
+          .hasMessageContaining("Idempotency-Key");
+    }
+
+    @Test
+    @DisplayName("Should reject idempotency key longer than the limit")
+    void shouldRejectTooLongIdempotencyKey() {
+      TransactionRequestDto request =
+          new TransactionRequestDto(1L, 2L, BigDecimal.valueOf(10), TransactionType.DEPOSIT, null);
+
+      assertThatThrownBy(() -> ledgerService.createTransaction(request, "k".repeat(256)))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Nested
+  @DisplayName("Transaction Event Tests")
+  class TransactionEventTests {
+
+    @Test
+    @DisplayName("Should publish an event for each saved transaction")
+    void shouldPublishEventForSavedTransaction() {
+      Transaction savedTransaction =
+          new Transaction(1L, 2L, BigDecimal.valueOf(100), TransactionType.DEPOSIT, "Salary");
+      savedTransaction.setId(5L);
+      when(transactionRepository.save(any(Transaction.class))).thenReturn(savedTransaction);
+
+      ledgerService.createTransaction(
+          new TransactionRequestDto(
+              1L, 2L, BigDecimal.valueOf(100), TransactionType.DEPOSIT, "Salary"));
+
+      verify(eventPublisher)
+          .publishEvent(
+              argThat(
+                  (Object event) ->
+                      event instanceof TransactionCreatedEvent created
+                          && created.transaction().id() == 5L));
+    }
+
+    @Test
+    @DisplayName("Should not publish an event when the withdrawal is rejected")
+    void shouldNotPublishEventWhenWithdrawalRejected() {
+      when(transactionRepository.calculateBalance()).thenReturn(BigDecimal.ZERO);
+
+      assertThatThrownBy(
+              () ->
+                  ledgerService.createTransaction(
+                      new TransactionRequestDto(
+                          1L, 2L, BigDecimal.TEN, TransactionType.WITHDRAWAL, "ATM")))
+          .isInstanceOf(InsufficientBalanceException.class);
+
+      verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+  }
 }
@@ -0,0 +1,144 @@
+package pocket.ledger.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.dto.v1.TransactionRequestDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.exception.InsufficientBalanceException;
+import pocket.ledger.exception.ServiceOverloadedException;
+import pocket.ledger.util.PageRequest;
+
+@DisplayName("MeteredLedgerService Unit Tests")
+class MeteredLedgerServiceTest {
+
+  private static final TransactionRequestDto WITHDRAWAL =
+      new TransactionRequestDto(1L, 2L, BigDecimal.TEN, TransactionType.WITHDRAWAL, null);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private LedgerServiceImpl delegate;
+  private MeteredLedgerService ledgerService;
+
+  @BeforeEach
+  void setUp() {
+    delegate = mock(LedgerServiceImpl.class);
+    ledgerService = new MeteredLedgerService(delegate, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should time successful creates")
+  void shouldTimeSuccessfulCreates() {
+    LocalDateTime now = LocalDateTime.now();
+    TransactionResponseDto response =
+        new TransactionResponseDto(1L, BigDecimal.TEN, TransactionType.WITHDRAWAL, null, now, now);
+    when(delegate.create(WITHDRAWAL, "key"))
+        .thenReturn(new LedgerServiceImpl.CreateResult(response, false));
+
+    assertThat(ledgerService.createTransaction(WITHDRAWAL, "key")).isSameAs(response);
+    assertThat(createTimerCount("created")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should time idempotent replays apart from creates")
+  void shouldTimeReplaysApartFromCreates() {
+    LocalDateTime now = LocalDateTime.now();
+    TransactionResponseDto response =
+        new TransactionResponseDto(1L, BigDecimal.TEN, TransactionType.WITHDRAWAL, null, now, now);
+    when(delegate.create(WITHDRAWAL, "key"))
+        .thenReturn(new LedgerServiceImpl.CreateResult(response, true));
+
+    assertThat(ledgerService.createTransaction(WITHDRAWAL, "key")).isSameAs(response);
+    assertAll(
+        () -> assertThat(createTimerCount("replayed")).isEqualTo(1),
+        () -> assertThat(createTimerCount("created")).isZero());
+  }
+
+  @Test
+  @DisplayName("Should count insufficient balance rejections")
+  void shouldCountInsufficientBalanceRejections() {
+    when(delegate.create(WITHDRAWAL, null))
+        .thenThrow(new InsufficientBalanceException(BigDecimal.ONE, BigDecimal.TEN));
+
+    assertThatThrownBy(() -> ledgerService.createTransaction(WITHDRAWAL))
+        .isInstanceOf(InsufficientBalanceException.class);
+    assertAll(
+        () -> assertThat(createTimerCount("rejected")).isEqualTo(1),
+        () ->
+            assertThat(
+                    meterRegistry
+                        .get(MeteredLedgerService.REJECTED_COUNTER)
+                        .tag("reason", "insufficient_balance")
+                        .counter()
+                        .count())
+                .isEqualTo(1.0));
+  }
+
+  @Test
+  @DisplayName("Should time creates shed under overload apart from rejections")
+  void shouldTimeCreatesShedUnderOverload() {
+    when(delegate.create(WITHDRAWAL, null))
+        .thenThrow(new ServiceOverloadedException("Too many concurrent writes", 1));
+
+    assertThatThrownBy(() -> ledgerService.createTransaction(WITHDRAWAL))
+        .isInstanceOf(ServiceOverloadedException.class);
+    assertAll(
+        () -> assertThat(createTimerCount("overloaded")).isEqualTo(1),
+        () -> assertThat(createTimerCount("rejected")).isZero(),
+        () -> assertThat(createTimerCount("failed")).isZero(),
+        () ->
+            assertThat(
+                    meterRegistry
+                        .find(MeteredLedgerService.REJECTED_COUNTER)
+                        .tag("reason", "overloaded")
+                        .counter())
+                .isNull());
+  }
+
+  @Test
+  @DisplayName("Should time other failures separately")
+  void shouldTimeOtherFailuresSeparately() {
+    when(delegate.create(WITHDRAWAL, " "))
+        .thenThrow(new IllegalArgumentException("Idempotency-Key must be between 1 and 255"));
+
+    assertThatThrownBy(() -> ledgerService.createTransaction(WITHDRAWAL, " "))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThat(createTimerCount("failed")).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should pass reads through to the delegate")
+  void shouldPassReadsThrough() {
+    ledgerService.getBalance();
+    TransactionQueryDto query = new TransactionQueryDto(null, null, null, PageRequest.of(0, 10));
+    ledgerService.explainTransactions(query);
+    ledgerService.getTransactionJson(7L);
+    ledgerService.getTransactionsJson(query);
+    ledgerService.getVersion();
+
+    verify(delegate).getBalance();
+    verify(delegate).explainTransactions(query);
+    verify(delegate).getTransactionJson(7L);
+    verify(delegate).getTransactionsJson(query);
+    verify(delegate).getVersion();
+  }
+
+  private long createTimerCount(String outcome) {
+    return meterRegistry
+        .get(MeteredLedgerService.CREATE_TIMER)
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+}
@@ -0,0 +1,85 @@
+package pocket.ledger.service.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdaptiveLimit Tests")
+class AdaptiveLimitTest {
+
+  private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(20);
+
+  private final AdmissionProperties.Budget budget = new AdmissionProperties.Budget(10, 2, 40);
+  private final AdaptiveLimit limit = new AdaptiveLimit(budget, 1.5, 0.2);
+
+  @Test
+  @DisplayName("Should admit up to the limit and reject beyond it")
+  void shouldAdmitUpToLimit() {
+    for (int i = 0; i < 10; i++) {
+      assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    assertAll(
+        () -> assertThat(limit.tryAcquire()).isFalse(),
+        () -> assertThat(limit.inFlight()).isEqualTo(10));
+  }
+
+  @Test
+  @DisplayName("Should grow while latency stays at the no-load level")
+  void shouldGrowWhileLatencyIsSteady() {
+    saturate(FAST, 50);
+
+    assertThat(limit.limit()).isGreaterThan(10);
+  }
+
+  @Test
+  @DisplayName("Should shrink towards the minimum when latency climbs")
+  void shouldShrinkWhenLatencyClimbs() {
+    saturate(FAST, 20);
+    int grown = limit.limit();
+
+    saturate(SLOW, 100);
+
+    assertAll(
+        () -> assertThat(limit.limit()).isLessThan(grown),
+        () -> assertThat(limit.limit()).isGreaterThanOrEqualTo(budget.getMinLimit()));
+  }
+
+  @Test
+  @DisplayName("Should stay within the maximum")
+  void shouldStayWithinMaximum() {
+    saturate(FAST, 1_000);
+
+    assertThat(limit.limit()).isEqualTo(budget.getMaxLimit());
+  }
+
+  @Test
+  @DisplayName("Should not grow while mostly idle")
+  void shouldNotGrowWhileIdle() {
+    for (int i = 0; i < 100; i++) {
+      limit.tryAcquire();
+      limit.release(FAST);
+    }
+
+    assertAll(
+        () -> assertThat(limit.limit()).isEqualTo(10),
+        () -> assertThat(limit.inFlight()).isZero());
+  }
+
+  /** Fills the limit and releases every slot with {@code rttNanos}, {@code rounds} times. */
+  private void saturate(long rttNanos, int rounds) {
+    for (int round = 0; round < rounds; round++) {
+      int admitted = 0;
+      while (limit.tryAcquire()) {
+        admitted++;
+      }
+      for (int i = 0; i < admitted; i++) {
+        limit.release(rttNanos);
+      }
+    }
+  }
+}
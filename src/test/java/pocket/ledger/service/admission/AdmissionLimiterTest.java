@@ -0,0 +1,111 @@
+package pocket.ledger.service.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.exception.ServiceOverloadedException;
+
+@DisplayName("AdmissionLimiter Tests")
+class AdmissionLimiterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AdmissionProperties properties = new AdmissionProperties();
+
+  @Test
+  @DisplayName("Should reject writes beyond the write limit with a retry hint")
+  void shouldRejectWritesBeyondLimit() {
+    properties.setWrite(new AdmissionProperties.Budget(1, 1, 1));
+    properties.setRetryAfter(Duration.ofMillis(2_500));
+    AdmissionLimiter limiter = new AdmissionLimiter(properties, meterRegistry);
+
+    Throwable rejected =
+        limiter.admitWrite(() -> catchOverload(() -> limiter.admitWrite(() -> "second write")));
+
+    assertAll(
+        () ->
+            assertThat(rejected)
+                .isInstanceOf(ServiceOverloadedException.class)
+                .extracting("retryAfterSeconds")
+                .isEqualTo(3L),
+        () -> assertThat(rejected("write")).isEqualTo(1.0),
+        () -> assertThat(inFlight("write")).isZero());
+  }
+
+  @Test
+  @DisplayName("Should keep separate budgets for reads and writes")
+  void shouldKeepSeparateBudgets() {
+    properties.setWrite(new AdmissionProperties.Budget(1, 1, 1));
+    AdmissionLimiter limiter = new AdmissionLimiter(properties, meterRegistry);
+
+    String read = limiter.admitWrite(() -> limiter.admitRead(() -> "read"));
+
+    assertAll(
+        () -> assertThat(read).isEqualTo("read"),
+        () -> assertThat(rejected("read")).isZero(),
+        () -> assertThat(limiter.readLimit()).isEqualTo(properties.getRead().getInitialLimit()));
+  }
+
+  @Test
+  @DisplayName("Should release the slot when the admitted work fails")
+  void shouldReleaseSlotOnFailure() {
+    properties.setWrite(new AdmissionProperties.Budget(1, 1, 1));
+    AdmissionLimiter limiter = new AdmissionLimiter(properties, meterRegistry);
+
+    assertThatThrownBy(
+            () ->
+                limiter.admitWrite(
+                    () -> {
+                      throw new IllegalStateException("failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertAll(
+        () -> assertThat(inFlight("write")).isZero(),
+        () -> assertThat(limiter.admitWrite(() -> "next")).isEqualTo("next"));
+  }
+
+  @Test
+  @DisplayName("Should admit everything when disabled")
+  void shouldAdmitEverythingWhenDisabled() {
+    properties.setEnabled(false);
+    properties.setWrite(new AdmissionProperties.Budget(1, 1, 1));
+    AdmissionLimiter limiter = new AdmissionLimiter(properties, meterRegistry);
+
+    String nested = limiter.admitWrite(() -> limiter.admitWrite(() -> "nested"));
+
+    assertAll(
+        () -> assertThat(nested).isEqualTo("nested"),
+        () -> assertThat(limiter.writeLimit()).isEqualTo(1),
+        () -> assertThat(rejected("write")).isZero());
+  }
+
+  private static Throwable catchOverload(Runnable action) {
+    try {
+      action.run();
+      return null;
+    } catch (ServiceOverloadedException e) {
+      return e;
+    }
+  }
+
+  private double rejected(String budget) {
+    return meterRegistry
+        .get(AdmissionLimiter.METER_NAME + ".rejected")
+        .tag("budget", budget)
+        .counter()
+        .count();
+  }
+
+  private double inFlight(String budget) {
+    return meterRegistry
+        .get(AdmissionLimiter.METER_NAME + ".inflight")
+        .tag("budget", budget)
+        .gauge()
+        .value();
+  }
+}
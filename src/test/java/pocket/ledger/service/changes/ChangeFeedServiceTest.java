@@ -0,0 +1,151 @@
+package pocket.ledger.service.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.dto.v1.ChangesResponseDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.event.TransactionCreatedEvent;
+import pocket.ledger.exception.ServiceOverloadedException;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+
+@DisplayName("ChangeFeedService Unit Tests")
+class ChangeFeedServiceTest {
+
+  private TransactionRepositoryImpl repository;
+  private ChangeFeedProperties properties;
+  private ChangeFeedService changeFeedService;
+
+  @BeforeEach
+  void setUp() {
+    repository = new TransactionRepositoryImpl();
+    properties = new ChangeFeedProperties();
+    changeFeedService = new ChangeFeedService(repository, properties);
+    changeFeedService.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    changeFeedService.stop();
+  }
+
+  @Test
+  @DisplayName("Should return existing changes immediately with the next sequence")
+  void shouldReturnExistingChangesImmediately() {
+    save(3);
+
+    CompletableFuture<ChangesResponseDto> future =
+        changeFeedService.poll(1L, Duration.ofSeconds(30), null);
+
+    ChangesResponseDto changes = future.getNow(null);
+    assertAll(
+        () ->
+            assertThat(changes.transactions())
+                .extracting(TransactionResponseDto::id)
+                .containsExactly(2L, 3L),
+        () -> assertThat(changes.nextSince()).isEqualTo(3L),
+        () -> assertThat(changes.hasMore()).isFalse());
+  }
+
+  @Test
+  @DisplayName("Should cap the page at the limit and report more")
+  void shouldCapPageAtLimit() {
+    save(5);
+
+    ChangesResponseDto changes = changeFeedService.poll(0L, Duration.ZERO, 2).getNow(null);
+
+    assertAll(
+        () -> assertThat(changes.transactions()).hasSize(2),
+        () -> assertThat(changes.nextSince()).isEqualTo(2L),
+        () -> assertThat(changes.hasMore()).isTrue());
+  }
+
+  @Test
+  @DisplayName("Should hold the poll until a new transaction arrives")
+  void shouldHoldPollUntilNewTransactionArrives() throws Exception {
+    save(1);
+
+    CompletableFuture<ChangesResponseDto> future =
+        changeFeedService.poll(1L, Duration.ofSeconds(30), null);
+    assertThat(future).isNotDone();
+
+    Transaction created = save(1);
+    changeFeedService.onTransactionCreated(
+        new TransactionCreatedEvent(TransactionResponseDto.fromEntity(created)));
+
+    ChangesResponseDto changes = future.get(5, TimeUnit.SECONDS);
+    assertAll(
+        () ->
+            assertThat(changes.transactions())
+                .extracting(TransactionResponseDto::id)
+                .containsExactly(2L),
+        () -> assertThat(changeFeedService.waiterCount()).isZero());
+  }
+
+  @Test
+  @DisplayName("Should answer with an empty page when the wait runs out")
+  void shouldAnswerEmptyPageOnTimeout() throws Exception {
+    save(1);
+
+    ChangesResponseDto changes =
+        changeFeedService.poll(1L, Duration.ofMillis(50), null).get(5, TimeUnit.SECONDS);
+
+    assertAll(
+        () -> assertThat(changes.transactions()).isEmpty(),
+        () -> assertThat(changes.nextSince()).isEqualTo(1L));
+  }
+
+  @Test
+  @DisplayName("Should return the current position for a sequence ahead of the ledger")
+  void shouldReturnCurrentPositionForSequenceAhead() {
+    save(2);
+
+    ChangesResponseDto changes =
+        changeFeedService.poll(10L, Duration.ofSeconds(30), null).getNow(null);
+
+    assertThat(changes.nextSince()).isEqualTo(2L);
+  }
+
+  @Test
+  @DisplayName("Should reject polls beyond the waiter limit")
+  void shouldRejectPollsBeyondWaiterLimit() {
+    properties.setMaxWaiters(1);
+    changeFeedService.poll(0L, Duration.ofSeconds(30), null);
+
+    assertThatThrownBy(() -> changeFeedService.poll(0L, Duration.ofSeconds(30), null))
+        .isInstanceOf(ServiceOverloadedException.class);
+  }
+
+  @Test
+  @DisplayName("Should reject a negative sequence or limit")
+  void shouldRejectInvalidArguments() {
+    assertAll(
+        () ->
+            assertThatThrownBy(() -> changeFeedService.poll(-1L, Duration.ZERO, null))
+                .isInstanceOf(IllegalArgumentException.class),
+        () ->
+            assertThatThrownBy(() -> changeFeedService.poll(0L, Duration.ZERO, 0))
+                .isInstanceOf(IllegalArgumentException.class));
+  }
+
+  private Transaction save(int count) {
+    Transaction last = null;
+    for (int i = 0; i < count; i++) {
+      last =
+          repository.save(
+              new Transaction(null, null, BigDecimal.TEN, TransactionType.DEPOSIT, "Test"));
+    }
+    return last;
+  }
+}
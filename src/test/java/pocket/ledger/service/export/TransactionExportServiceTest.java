@@ -0,0 +1,149 @@
+package pocket.ledger.service.export;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+
+@DisplayName("TransactionExportService Unit Tests")
+class TransactionExportServiceTest {
+
+  private static final LocalDateTime BASE_DATE = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private TransactionRepositoryImpl repository;
+  private TransactionExportService exportService;
+
+  @BeforeEach
+  void setUp() {
+    repository = new TransactionRepositoryImpl();
+    exportService = new TransactionExportService(repository, objectMapper);
+    save(BigDecimal.valueOf(100), TransactionType.DEPOSIT, "Salary", BASE_DATE);
+    save(BigDecimal.valueOf(20), TransactionType.WITHDRAWAL, "Rent, March", BASE_DATE.plusDays(1));
+    save(BigDecimal.valueOf(5), TransactionType.DEPOSIT, "Refund", BASE_DATE.plusDays(2));
+  }
+
+  @Test
+  @DisplayName("Should export NDJSON newest first, one object per line")
+  void shouldExportNdjsonNewestFirst() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    long rows = exportService.export(unfiltered(), ExportFormat.NDJSON, false, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    JsonNode first = objectMapper.readTree(lines[0]);
+    assertThat(rows).isEqualTo(3);
+    assertThat(lines).hasSize(3);
+    assertThat(first.get("description").asText()).isEqualTo("Refund");
+    assertThat(first.get("sourceAccountId").asLong()).isEqualTo(1L);
+    assertThat(first.get("createdDate").asText()).isEqualTo("2024-01-03T10:00:00");
+  }
+
+  @Test
+  @DisplayName("Should export CSV with header and escaped descriptions")
+  void shouldExportCsvWithHeaderAndEscapedDescriptions() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.export(unfiltered(), ExportFormat.CSV, false, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(lines).hasSize(4);
+    assertThat(lines[0]).isEqualTo(TransactionExportService.CSV_HEADER);
+    assertThat(lines[2]).contains(",20,WITHDRAWAL,\"Rent, March\",2024-01-02T10:00:00,");
+  }
+
+  @Test
+  @DisplayName("Should apply type and date range filters")
+  void shouldApplyTypeAndDateRangeFilters() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TransactionQueryDto filter =
+        new TransactionQueryDto(
+            BASE_DATE.minusHours(1), BASE_DATE.plusDays(1), TransactionType.DEPOSIT, null);
+
+    long rows = exportService.export(filter, ExportFormat.NDJSON, false, out);
+
+    assertThat(rows).isEqualTo(1);
+    assertThat(out.toString(StandardCharsets.UTF_8)).contains("\"Salary\"");
+  }
+
+  @Test
+  @DisplayName("Should apply account and amount filters")
+  void shouldApplyAccountAndAmountFilters() throws Exception {
+    Transaction other =
+        new Transaction(3L, 4L, BigDecimal.valueOf(50), TransactionType.DEPOSIT, "Gift");
+    other.setCreatedDate(BASE_DATE.plusDays(3));
+    repository.save(other);
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TransactionQueryDto filter =
+        new TransactionQueryDto(null, null, null, 1L, BigDecimal.TEN, null, null, null);
+
+    long rows = exportService.export(filter, ExportFormat.CSV, false, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(rows).isEqualTo(2);
+    assertThat(lines[1]).contains("\"Rent, March\"");
+    assertThat(lines[2]).contains("Salary");
+  }
+
+  @Test
+  @DisplayName("Should keep newest-first order for filtered rows stored out of date order")
+  void shouldKeepOrderForBackdatedRows() throws Exception {
+    save(BigDecimal.valueOf(40), TransactionType.DEPOSIT, "Salary advance", BASE_DATE.minusDays(1));
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    TransactionQueryDto filter =
+        new TransactionQueryDto(null, null, null, 1L, null, null, "SALARY", null);
+
+    long rows = exportService.export(filter, ExportFormat.NDJSON, false, out);
+
+    String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+    assertThat(rows).isEqualTo(2);
+    assertThat(objectMapper.readTree(lines[0]).get("description").asText()).isEqualTo("Salary");
+    assertThat(objectMapper.readTree(lines[1]).get("description").asText())
+        .isEqualTo("Salary advance");
+  }
+
+  @Test
+  @DisplayName("Should gzip the output when requested")
+  void shouldGzipOutputWhenRequested() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+    exportService.export(unfiltered(), ExportFormat.CSV, true, out);
+
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+      String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+      assertThat(csv).startsWith(TransactionExportService.CSV_HEADER);
+      assertThat(csv.split("\n")).hasSize(4);
+    }
+  }
+
+  private TransactionQueryDto unfiltered() {
+    return new TransactionQueryDto(null, null, null, null);
+  }
+
+  private void save(
+      BigDecimal amount, TransactionType type, String description, LocalDateTime createdDate) {
+    Transaction transaction = new Transaction(1L, 2L, amount, type, description);
+    transaction.setCreatedDate(createdDate);
+    repository.save(transaction);
+  }
+}
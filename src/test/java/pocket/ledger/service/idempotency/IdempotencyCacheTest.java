@@ -0,0 +1,76 @@
+package pocket.ledger.service.idempotency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("IdempotencyCache Unit Tests")
+class IdempotencyCacheTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private IdempotencyCache cache;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    IdempotencyProperties properties = new IdempotencyProperties();
+    properties.setMaxSize(100);
+    properties.setTtl(Duration.ofMinutes(5));
+    cache = new IdempotencyCache(properties, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should return stored transaction id for a known key")
+  void shouldReturnStoredTransactionIdForKnownKey() {
+    cache.put("key-1", 42L);
+
+    assertThat(cache.get("key-1")).contains(42L);
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should return empty for an unknown key")
+  void shouldReturnEmptyForUnknownKey() {
+    assertThat(cache.get("missing")).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should publish size and hit/miss metrics")
+  void shouldPublishSizeAndHitMissMetrics() {
+    cache.put("key-1", 1L);
+    cache.get("key-1");
+    cache.get("missing");
+
+    assertThat(meterRegistry.get("cache.size").tag("cache", IdempotencyCache.CACHE_NAME).gauge())
+        .isNotNull();
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", IdempotencyCache.CACHE_NAME)
+                .tag("result", "hit")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+    assertThat(
+            meterRegistry
+                .get("cache.gets")
+                .tag("cache", IdempotencyCache.CACHE_NAME)
+                .tag("result", "miss")
+                .functionCounter()
+                .count())
+        .isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should have sensible property defaults")
+  void shouldHaveSensiblePropertyDefaults() {
+    IdempotencyProperties properties = new IdempotencyProperties();
+
+    assertThat(properties.getMaxSize()).isEqualTo(100_000);
+    assertThat(properties.getTtl()).isEqualTo(Duration.ofHours(24));
+  }
+}
@@ -0,0 +1,35 @@
+package pocket.ledger.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ImportPropertiesTest {
+
+  @Test
+  void defaultValues_shouldBeSetCorrectly() {
+    ImportProperties properties = new ImportProperties();
+
+    assertThat(properties.getFile()).isNull();
+    assertThat(properties.getFormat()).isEqualTo("csv");
+    assertThat(properties.getChunkSize()).isEqualTo(10_000);
+    assertThat(properties.getMaxReportedErrors()).isEqualTo(100);
+  }
+
+  @Test
+  void effectiveParallelism_withZero_shouldUseAvailableProcessors() {
+    ImportProperties properties = new ImportProperties();
+
+    assertThat(properties.effectiveParallelism())
+        .isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  void effectiveParallelism_withExplicitValue_shouldUseIt() {
+    ImportProperties properties = new ImportProperties();
+
+    properties.setParallelism(3);
+
+    assertThat(properties.effectiveParallelism()).isEqualTo(3);
+  }
+}
@@ -0,0 +1,330 @@
+package pocket.ledger.service.importer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.dto.v1.ImportResultDto;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.enums.ExportFormat;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.LedgerSummary;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionPredicate.OfType;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+import pocket.ledger.service.export.TransactionExportService;
+import pocket.ledger.service.lock.LockMonitor;
+import pocket.ledger.service.lock.LockSnapshot;
+import pocket.ledger.util.LedgerConstants;
+
+@DisplayName("TransactionImportService Unit Tests")
+class TransactionImportServiceTest {
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+  private final LockMonitor lockMonitor = new LockMonitor(new SimpleMeterRegistry());
+  private ValidatorFactory validatorFactory;
+  private TransactionRepositoryImpl repository;
+  private TransactionImportService importService;
+
+  @BeforeEach
+  void setUp() {
+    validatorFactory = Validation.buildDefaultValidatorFactory();
+    repository = new TransactionRepositoryImpl();
+    importService = importService(properties(2, 2));
+  }
+
+  @AfterEach
+  void tearDown() {
+    validatorFactory.close();
+  }
+
+  @Test
+  @DisplayName("Should import CSV rows across chunks and apply their balance")
+  void shouldImportCsvRowsAndApplyBalance() throws Exception {
+    String csv =
+        """
+        amount,type,description,createdDate
+        100.00,DEPOSIT,Salary,2024-01-01T10:00:00
+        30.50,WITHDRAWAL,"Rent, March",2024-01-02T10:00:00
+        20,deposit,Refund,
+        5,WITHDRAWAL,,2024-01-04T10:00:00
+        """;
+
+    ImportResultDto result = importService.importTransactions(stream(csv), ExportFormat.CSV);
+
+    assertAll(
+        () -> assertThat(result.importedRows()).isEqualTo(4),
+        () -> assertThat(result.rejectedRows()).isZero(),
+        () -> assertThat(result.balanceDelta()).isEqualByComparingTo("84.50"),
+        () -> assertThat(repository.calculateBalance()).isEqualByComparingTo("84.50"),
+        () -> assertThat(repository.countTransactions()).isEqualTo(4));
+  }
+
+  @Test
+  @DisplayName("Should keep createdDate and quoted descriptions from CSV")
+  void shouldKeepCreatedDateAndQuotedDescriptions() throws Exception {
+    String csv =
+        "amount,type,description,createdDate\n"
+            + "30.50,WITHDRAWAL,\"Rent, \"\"March\"\"\",2024-01-02T10:00:00\n";
+
+    importService.importTransactions(stream(csv), ExportFormat.CSV);
+
+    Transaction imported = repository.streamNewestFirst(List.of()).findFirst().orElseThrow();
+    assertAll(
+        () -> assertThat(imported.getDescription()).isEqualTo("Rent, \"March\""),
+        () -> assertThat(imported.getCreatedDate()).isEqualTo(LocalDateTime.of(2024, 1, 2, 10, 0)));
+  }
+
+  @Test
+  @DisplayName("Should reject invalid rows with row numbers and import the rest")
+  void shouldRejectInvalidRowsAndImportTheRest() throws Exception {
+    String ndjson =
+        """
+        {"amount": 10.00, "type": "DEPOSIT"}
+        {"amount": 2.25, "type": "WITHDRAWAL", "sourceAccountId": 1}
+        {"amount": -5, "type": "DEPOSIT"}
+
+        {"amount": 10, "type": "TRANSFER"}
+        not json
+        {"type": "DEPOSIT"}
+        """;
+
+    ImportResultDto result = importService.importTransactions(stream(ndjson), ExportFormat.NDJSON);
+
+    assertAll(
+        () -> assertThat(result.importedRows()).isEqualTo(2),
+        () -> assertThat(result.rejectedRows()).isEqualTo(4),
+        () -> assertThat(result.balance()).isEqualByComparingTo("7.75"),
+        () ->
+            assertThat(result.errors())
+                .extracting(error -> error.row())
+                .containsExactly(3L, 4L, 5L, 6L),
+        () -> assertThat(result.errors().get(0).message()).contains("amount"),
+        () -> assertThat(result.errors().get(3).message()).contains("Amount is required"));
+  }
+
+  @Test
+  @DisplayName("Should import files produced by the export endpoint")
+  void shouldImportExportedFiles() throws Exception {
+    TransactionRepositoryImpl source = new TransactionRepositoryImpl();
+    Transaction deposit =
+        new Transaction(1L, 2L, new BigDecimal("250.00"), TransactionType.DEPOSIT, "a,\"b\"\nc");
+    source.save(deposit);
+    source.save(new Transaction(1L, 2L, BigDecimal.TEN, TransactionType.WITHDRAWAL, null));
+    ByteArrayOutputStream exported = new ByteArrayOutputStream();
+    new TransactionExportService(source, objectMapper)
+        .export(new TransactionQueryDto(null, null, null, null), ExportFormat.CSV, false, exported);
+
+    ImportResultDto result =
+        importService.importTransactions(
+            new ByteArrayInputStream(exported.toByteArray()), ExportFormat.CSV);
+
+    assertAll(
+        () -> assertThat(result.importedRows()).isEqualTo(2),
+        () -> assertThat(repository.calculateBalance()).isEqualByComparingTo("240.00"),
+        () ->
+            assertThat(repository.streamNewestFirst(List.of(new OfType(TransactionType.DEPOSIT))))
+                .extracting(Transaction::getDescription)
+                .containsExactly("a,\"b\"\nc"));
+  }
+
+  @Test
+  @DisplayName("Should fail fast when the CSV header lacks required columns")
+  void shouldFailWhenCsvHeaderLacksRequiredColumns() {
+    InputStream csv = stream("value,kind\n1,DEPOSIT\n");
+
+    assertThatThrownBy(() -> importService.importTransactions(csv, ExportFormat.CSV))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("'amount' and 'type'");
+  }
+
+  @Test
+  @DisplayName("Should keep the balance of stored rows when the body is cut off")
+  void shouldReconcileBalanceWhenBodyIsTruncated() {
+    String ndjson =
+        """
+        {"amount": 100.00, "type": "DEPOSIT"}
+        {"amount": 40, "type": "WITHDRAWAL"}
+        {"amount": 5.50, "type": "DEPOSIT"}
+        """;
+    InputStream truncated =
+        new SequenceInputStream(
+            stream(ndjson),
+            new InputStream() {
+              @Override
+              public int read() throws IOException {
+                throw new EOFException("Unexpected end of ZLIB input stream");
+              }
+            });
+
+    assertThatThrownBy(() -> importService.importTransactions(truncated, ExportFormat.NDJSON))
+        .isInstanceOf(EOFException.class);
+
+    assertAll(
+        // The first chunk was stored; the last row was still being collected when reading failed.
+        () -> assertThat(repository.countTransactions()).isEqualTo(2),
+        () -> assertThat(repository.calculateBalance()).isEqualByComparingTo("60.00"),
+        () -> assertThat(repository.calculateBalance()).isEqualByComparingTo(storedBalance()));
+  }
+
+  @Test
+  @DisplayName("Should keep the balance of stored rows when a chunk fails")
+  void shouldReconcileBalanceWhenChunkFails() {
+    AtomicInteger chunks = new AtomicInteger();
+    repository =
+        new TransactionRepositoryImpl() {
+          @Override
+          public void saveAll(List<Transaction> transactions) {
+            if (chunks.incrementAndGet() == 2) {
+              super.saveAll(transactions.subList(0, 1));
+              throw new IllegalStateException("Storage failed");
+            }
+            super.saveAll(transactions);
+          }
+        };
+    importService = importService(properties(2, 1));
+    String ndjson =
+        """
+        {"amount": 100.00, "type": "DEPOSIT"}
+        {"amount": 40, "type": "WITHDRAWAL"}
+        {"amount": 5.50, "type": "DEPOSIT"}
+        {"amount": 7, "type": "DEPOSIT"}
+        {"amount": 1, "type": "DEPOSIT"}
+        """;
+
+    assertThatThrownBy(
+            () -> importService.importTransactions(stream(ndjson), ExportFormat.NDJSON))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("Import chunk failed");
+
+    assertAll(
+        () -> assertThat(repository.countTransactions()).isEqualTo(4),
+        () -> assertThat(repository.calculateBalance()).isEqualByComparingTo("66.50"),
+        () -> assertThat(repository.calculateBalance()).isEqualByComparingTo(storedBalance()));
+  }
+
+  @Test
+  @DisplayName("Should reject withdrawals the balance and the chunk's deposits cannot cover")
+  void shouldRejectWithdrawalsThatWouldOverdraw() throws Exception {
+    String ndjson =
+        """
+        {"amount": 50, "type": "WITHDRAWAL"}
+        {"amount": 30.00, "type": "DEPOSIT"}
+        """;
+
+    ImportResultDto result = importService.importTransactions(stream(ndjson), ExportFormat.NDJSON);
+
+    assertAll(
+        () -> assertThat(result.importedRows()).isEqualTo(1),
+        () -> assertThat(result.rejectedRows()).isEqualTo(1),
+        () -> assertThat(result.errors().get(0).row()).isEqualTo(1L),
+        () -> assertThat(result.errors().get(0).message()).contains("Insufficient balance"),
+        () -> assertThat(result.balance()).isEqualByComparingTo("30.00"),
+        () -> assertThat(repository.countTransactions()).isEqualTo(1));
+  }
+
+  @Test
+  @DisplayName("Should move the balance and the count together while the import runs")
+  void shouldMoveBalanceAndCountTogetherWhileImporting() throws Exception {
+    Queue<LedgerSummary> observed = new ConcurrentLinkedQueue<>();
+    repository =
+        new TransactionRepositoryImpl() {
+          @Override
+          public void saveAll(List<Transaction> transactions) {
+            observed.add(summary());
+            super.saveAll(transactions);
+            observed.add(summary());
+          }
+        };
+    importService = importService(properties(2, 4));
+    StringBuilder ndjson = new StringBuilder();
+    for (int i = 0; i < 200; i++) {
+      ndjson.append("{\"amount\": 1.00, \"type\": \"DEPOSIT\"}\n");
+    }
+
+    importService.importTransactions(stream(ndjson.toString()), ExportFormat.NDJSON);
+
+    assertAll(
+        () -> assertThat(observed).hasSize(200),
+        () ->
+            assertThat(observed)
+                .allSatisfy(
+                    summary ->
+                        assertThat(summary.balance())
+                            .isEqualByComparingTo(BigDecimal.valueOf(summary.transactionCount()))),
+        () -> assertThat(repository.countTransactions()).isEqualTo(200),
+        () -> assertThat(lockAcquisitions()).isEqualTo(100));
+  }
+
+  @Test
+  @DisplayName("Should return an empty result for an empty file")
+  void shouldReturnEmptyResultForEmptyFile() throws Exception {
+    ImportResultDto result = importService.importTransactions(stream(""), ExportFormat.NDJSON);
+
+    assertAll(
+        () -> assertThat(result.importedRows()).isZero(),
+        () -> assertThat(result.balance()).isEqualByComparingTo(BigDecimal.ZERO));
+  }
+
+  private TransactionImportService importService(ImportProperties properties) {
+    return new TransactionImportService(
+        repository,
+        objectMapper,
+        validatorFactory.getValidator(),
+        properties,
+        event -> {},
+        lockMonitor);
+  }
+
+  private static ImportProperties properties(int chunkSize, int parallelism) {
+    ImportProperties properties = new ImportProperties();
+    properties.setChunkSize(chunkSize);
+    properties.setParallelism(parallelism);
+    return properties;
+  }
+
+  private long lockAcquisitions() {
+    return lockMonitor.snapshots().stream()
+        .filter(snapshot -> snapshot.name().equals(LedgerConstants.BALANCE_LOCK))
+        .mapToLong(LockSnapshot::acquisitions)
+        .sum();
+  }
+
+  private BigDecimal storedBalance() {
+    return repository
+        .streamNewestFirst(List.of())
+        .map(t -> t.getAmount().multiply(BigDecimal.valueOf(t.getType().getMultiplier())))
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  }
+
+  private InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
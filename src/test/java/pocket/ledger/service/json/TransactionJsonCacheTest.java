@@ -0,0 +1,107 @@
+package pocket.ledger.service.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import pocket.ledger.dto.v1.TransactionJson;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+
+@DisplayName("TransactionJsonCache Tests")
+class TransactionJsonCacheTest {
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final JsonCacheProperties properties = new JsonCacheProperties();
+
+  @Test
+  @DisplayName("Should encode a transaction exactly as its response DTO serializes")
+  void shouldEncodeLikeResponseDto() throws Exception {
+    TransactionJsonCache cache = new TransactionJsonCache(properties, objectMapper, meterRegistry);
+    Transaction transaction = transaction(1L, "Groceries");
+
+    TransactionJson json = cache.get(transaction);
+
+    assertThat(json.getValue())
+        .isEqualTo(
+            objectMapper.writeValueAsString(TransactionResponseDto.fromEntity(transaction)));
+  }
+
+  @Test
+  @DisplayName("Should encode once and serve later reads from the cache")
+  void shouldServeLaterReadsFromCache() {
+    TransactionJsonCache cache = new TransactionJsonCache(properties, objectMapper, meterRegistry);
+    Transaction transaction = transaction(1L, "Groceries");
+
+    TransactionJson first = cache.get(transaction);
+    TransactionJson second = cache.get(transaction);
+
+    assertAll(
+        () -> assertThat(second).isSameAs(first),
+        () -> assertThat(result("hit")).isEqualTo(1.0),
+        () -> assertThat(result("miss")).isEqualTo(1.0),
+        () -> assertThat(cache.weightedSize()).isGreaterThan(first.length()));
+  }
+
+  @Test
+  @DisplayName("Should stay within the configured number of bytes")
+  void shouldStayWithinConfiguredBytes() {
+    properties.setMaxSize(DataSize.ofKilobytes(4));
+    TransactionJsonCache cache = new TransactionJsonCache(properties, objectMapper, meterRegistry);
+
+    for (long id = 1; id <= 200; id++) {
+      cache.get(transaction(id, "Payment " + id));
+    }
+    cache.cleanUp();
+
+    assertAll(
+        () -> assertThat(cache.weightedSize()).isLessThanOrEqualTo(4096),
+        () -> assertThat(cache.size()).isLessThan(200));
+  }
+
+  @Test
+  @DisplayName("Should encode on every read when disabled")
+  void shouldEncodeEveryReadWhenDisabled() {
+    properties.setEnabled(false);
+    TransactionJsonCache cache = new TransactionJsonCache(properties, objectMapper, meterRegistry);
+    Transaction transaction = transaction(1L, "Groceries");
+
+    TransactionJson first = cache.get(transaction);
+    TransactionJson second = cache.get(transaction);
+
+    assertAll(
+        () -> assertThat(second).isNotSameAs(first),
+        () -> assertThat(second.getValue()).isEqualTo(first.getValue()),
+        () -> assertThat(cache.size()).isZero());
+  }
+
+  private static Transaction transaction(long id, String description) {
+    Transaction transaction =
+        new Transaction(1L, 2L, new BigDecimal("42.10"), TransactionType.DEPOSIT, description);
+    transaction.setId(id);
+    transaction.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+    transaction.setLastModifiedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+    return transaction;
+  }
+
+  private double result(String result) {
+    return meterRegistry
+        .get(TransactionJsonCache.METER_NAME)
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+}
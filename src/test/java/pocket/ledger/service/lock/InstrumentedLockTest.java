@@ -0,0 +1,88 @@
+package pocket.ledger.service.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("InstrumentedLock Unit Tests")
+class InstrumentedLockTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final InstrumentedLock lock = new InstrumentedLock("balance", null, meterRegistry);
+
+  @Test
+  @DisplayName("Should record wait and hold time for uncontended acquisitions")
+  void shouldRecordUncontendedAcquisitions() {
+    String result = lock.withLock(() -> "done");
+
+    LockSnapshot snapshot = lock.snapshot();
+    assertAll(
+        () -> assertThat(result).isEqualTo("done"),
+        () -> assertThat(snapshot.acquisitions()).isEqualTo(1),
+        () -> assertThat(snapshot.contendedAcquisitions()).isZero(),
+        () -> assertThat(snapshot.locked()).isFalse(),
+        () -> assertThat(timerCount("ledger.lock.wait")).isEqualTo(1),
+        () -> assertThat(timerCount("ledger.lock.hold")).isEqualTo(1));
+  }
+
+  @Test
+  @DisplayName("Should measure only the outermost acquisition of a reentrant hold")
+  void shouldMeasureOutermostReentrantAcquisitionOnly() {
+    lock.withLock(() -> lock.withLock(() -> "nested"));
+
+    assertAll(
+        () -> assertThat(lock.snapshot().acquisitions()).isEqualTo(1),
+        () -> assertThat(timerCount("ledger.lock.hold")).isEqualTo(1));
+  }
+
+  @Test
+  @DisplayName("Should record wait time and queue depth when contended")
+  void shouldRecordContention() throws Exception {
+    CountDownLatch held = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Thread holder =
+        Thread.ofVirtual()
+            .start(
+                () ->
+                    lock.withLock(
+                        () -> {
+                          held.countDown();
+                          awaitQuietly(release);
+                          return null;
+                        }));
+    held.await(5, TimeUnit.SECONDS);
+
+    Thread waiter = Thread.ofVirtual().start(() -> lock.withLock(() -> null));
+    while (lock.snapshot().queueLength() == 0) {
+      Thread.onSpinWait();
+    }
+    Thread.sleep(20);
+    release.countDown();
+    holder.join();
+    waiter.join();
+
+    LockSnapshot snapshot = lock.snapshot();
+    assertAll(
+        () -> assertThat(snapshot.acquisitions()).isEqualTo(2),
+        () -> assertThat(snapshot.contendedAcquisitions()).isEqualTo(1),
+        () -> assertThat(snapshot.maxWaitMillis()).isGreaterThanOrEqualTo(20.0),
+        () -> assertThat(meterRegistry.get("ledger.lock.queue").summary().count()).isEqualTo(1));
+  }
+
+  private long timerCount(String name) {
+    return meterRegistry.get(name).tag("lock", "balance").timer().count();
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
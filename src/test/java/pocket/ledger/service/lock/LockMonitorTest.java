@@ -0,0 +1,39 @@
+package pocket.ledger.service.lock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LockMonitor Unit Tests")
+class LockMonitorTest {
+
+  private final LockMonitor lockMonitor = new LockMonitor(new SimpleMeterRegistry());
+
+  @Test
+  @DisplayName("Should return the same lock for the same name and key")
+  void shouldReuseLocksPerNameAndKey() {
+    assertAll(
+        () -> assertThat(lockMonitor.newLock("balance")).isSameAs(lockMonitor.newLock("balance")),
+        () ->
+            assertThat(lockMonitor.newLock("account", "1"))
+                .isSameAs(lockMonitor.newLock("account", "1"))
+                .isNotSameAs(lockMonitor.newLock("account", "2")));
+  }
+
+  @Test
+  @DisplayName("Should list every lock with its key through the endpoint")
+  void shouldListLocksThroughEndpoint() {
+    lockMonitor.newLock("balance").withLock(() -> null);
+    lockMonitor.newLock("account", "42");
+
+    assertThat(new LockContentionEndpoint(lockMonitor).locks())
+        .extracting(LockSnapshot::name, LockSnapshot::key)
+        .containsExactlyInAnyOrder(
+            tuple("balance", null),
+            tuple("account", "42"));
+  }
+}
@@ -0,0 +1,187 @@
+package pocket.ledger.service.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.util.PageRequest;
+
+@DisplayName("QueryCoalescer Tests")
+class QueryCoalescerTest {
+
+  private static final int CALLERS = 8;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final QueryCoalesceProperties properties = new QueryCoalesceProperties();
+  private final QueryCoalescer coalescer = new QueryCoalescer(properties, meterRegistry);
+  private final AtomicInteger computations = new AtomicInteger();
+
+  @Test
+  @DisplayName("Should share one computation between concurrent identical reads")
+  void shouldShareOneComputation() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Object shared = new Object();
+
+    List<Object> results =
+        concurrently(() -> coalescer.coalesce("balance", 3, blocking(release, shared)), release);
+
+    assertAll(
+        () -> assertThat(results).hasSize(CALLERS).allMatch(result -> result == shared),
+        () -> assertThat(computations).hasValue(1),
+        () -> assertThat(result("balance", "computed")).isEqualTo(1.0),
+        () -> assertThat(result("balance", "joined")).isEqualTo(CALLERS - 1.0),
+        () -> assertThat(coalescer.inFlight()).isZero());
+  }
+
+  @Test
+  @DisplayName("Should coalesce queries with the same filters and page")
+  void shouldCoalesceQueriesWithSameFiltersAndPage() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+
+    List<Object> results =
+        concurrently(
+            () ->
+                coalescer.coalesce(
+                    "transactions", deposits(0), 3, blocking(release, new Object())),
+            release);
+
+    assertAll(
+        () -> assertThat(results).hasSize(CALLERS).allMatch(result -> result == results.get(0)),
+        () -> assertThat(computations).hasValue(1));
+  }
+
+  @Test
+  @DisplayName("Should compute separately for other versions, pages and while writing")
+  void shouldComputeSeparatelyWhenReadsDiffer() {
+    coalescer.coalesce("transactions", deposits(0), 3, counting());
+    coalescer.coalesce("transactions", deposits(1), 3, counting());
+    coalescer.coalesce("transactions", deposits(0), 4, counting());
+    coalescer.coalesce("transactions", deposits(0), -1, counting());
+
+    assertAll(
+        () -> assertThat(computations).hasValue(4),
+        () -> assertThat(result("transactions", "computed")).isEqualTo(3.0));
+  }
+
+  @Test
+  @DisplayName("Should rethrow a failed computation to every caller that joined it")
+  void shouldRethrowFailureToJoinedCallers() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    Supplier<Object> failing =
+        () -> {
+          computations.incrementAndGet();
+          await(release);
+          throw new IllegalStateException("query failed");
+        };
+
+    List<Object> results =
+        concurrently(
+            () -> {
+              try {
+                return coalescer.coalesce("balance", 3, failing);
+              } catch (IllegalStateException e) {
+                return e.getMessage();
+              }
+            },
+            release);
+
+    assertAll(
+        () -> assertThat(results).hasSize(CALLERS).containsOnly("query failed"),
+        () -> assertThat(computations).hasValue(1),
+        () -> assertThat(coalescer.inFlight()).isZero());
+  }
+
+  @Test
+  @DisplayName("Should compute again once the previous computation has finished")
+  void shouldComputeAgainAfterPreviousFinished() {
+    coalescer.coalesce("balance", 3, counting());
+    coalescer.coalesce("balance", 3, counting());
+
+    assertThat(computations).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should not coalesce when disabled")
+  void shouldNotCoalesceWhenDisabled() {
+    properties.setEnabled(false);
+
+    coalescer.coalesce("balance", 3, counting());
+
+    assertAll(
+        () -> assertThat(computations).hasValue(1),
+        () -> assertThat(meterRegistry.find(QueryCoalescer.METER_NAME).counter()).isNull());
+  }
+
+  /** Runs {@code read} on {@link #CALLERS} threads, releasing the computation once all wait. */
+  private List<Object> concurrently(Supplier<Object> read, CountDownLatch release)
+      throws Exception {
+    try (ExecutorService executor = Executors.newFixedThreadPool(CALLERS)) {
+      List<Future<Object>> futures = new ArrayList<>();
+      for (int i = 0; i < CALLERS; i++) {
+        futures.add(executor.submit(read::get));
+      }
+      while (joined() < CALLERS - 1) {
+        Thread.onSpinWait();
+      }
+      release.countDown();
+      List<Object> results = new ArrayList<>();
+      for (Future<Object> future : futures) {
+        results.add(future.get(10, TimeUnit.SECONDS));
+      }
+      return results;
+    }
+  }
+
+  private Supplier<Object> blocking(CountDownLatch release, Object result) {
+    return () -> {
+      computations.incrementAndGet();
+      await(release);
+      return result;
+    };
+  }
+
+  private Supplier<Object> counting() {
+    return computations::incrementAndGet;
+  }
+
+  private double joined() {
+    return meterRegistry.find(QueryCoalescer.METER_NAME).tag("result", "joined").counters().stream()
+        .mapToDouble(Counter::count)
+        .sum();
+  }
+
+  private double result(String operation, String result) {
+    return meterRegistry
+        .get(QueryCoalescer.METER_NAME)
+        .tag("operation", operation)
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  private static TransactionQueryDto deposits(int page) {
+    return new TransactionQueryDto(null, null, TransactionType.DEPOSIT, PageRequest.of(page, 10));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,164 @@
+package pocket.ledger.service.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.dto.v1.TransactionQueryDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionRepositoryImpl;
+import pocket.ledger.util.Page;
+import pocket.ledger.util.PageRequest;
+
+@DisplayName("QueryResultCache Tests")
+class QueryResultCacheTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final QueryCacheProperties properties = new QueryCacheProperties();
+  private final TransactionQueryHandler queryHandler =
+      new TransactionQueryHandler(meterRegistry, new QueryLogProperties());
+  private final AtomicInteger executions = new AtomicInteger();
+  private QueryResultCache cache;
+  private TransactionRepositoryImpl repository;
+
+  @BeforeEach
+  void setUp() {
+    cache = new QueryResultCache(properties, meterRegistry);
+    repository = new TransactionRepositoryImpl();
+    for (int day = 0; day < 5; day++) {
+      save(day, day % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL);
+    }
+  }
+
+  @Test
+  @DisplayName("Should serve repeated queries from the cache until the next write")
+  void shouldServeRepeatedQueriesUntilNextWrite() {
+    var query = new TransactionQueryDto(null, null, TransactionType.DEPOSIT, PageRequest.of(1, 2));
+
+    Page<Transaction> first = get(query);
+    Page<Transaction> second = get(query);
+    save(10, TransactionType.DEPOSIT);
+    Page<Transaction> afterWrite = get(query);
+
+    assertAll(
+        () -> assertThat(second).isSameAs(first),
+        () -> assertThat(executions).hasValue(2),
+        () -> assertThat(afterWrite.getTotalElements()).isEqualTo(4),
+        () -> assertThat(result("hit")).isEqualTo(1.0),
+        () -> assertThat(result("miss")).isEqualTo(2.0));
+  }
+
+  @Test
+  @DisplayName("Should share entries between queries with the same predicates")
+  void shouldShareEntriesBetweenEquivalentQueries() {
+    get(
+        new TransactionQueryDto(
+            START, null, null, null, new BigDecimal("2.0"), null, "PAY", PageRequest.of(0, 10)));
+    get(
+        new TransactionQueryDto(
+            null, null, null, null, new BigDecimal("2.00"), null, "pay", PageRequest.of(0, 10)));
+
+    assertAll(() -> assertThat(executions).hasValue(1), () -> assertThat(cache.size()).isOne());
+  }
+
+  @Test
+  @DisplayName("Should patch a stale first page with the rows appended since")
+  void shouldPatchStaleFirstPageWithAppendedRows() {
+    var query = new TransactionQueryDto(null, null, TransactionType.DEPOSIT, PageRequest.of(0, 2));
+    get(query);
+
+    save(10, TransactionType.DEPOSIT);
+    save(11, TransactionType.WITHDRAWAL);
+    Page<Transaction> patched = get(query);
+
+    assertAll(
+        () -> assertThat(executions).hasValue(1),
+        () -> assertThat(result("patched")).isEqualTo(1.0),
+        () -> assertThat(patched.getTotalElements()).isEqualTo(4),
+        () ->
+            assertThat(patched.getContent())
+                .extracting(Transaction::getAmount)
+                .containsExactly(BigDecimal.valueOf(11), BigDecimal.valueOf(5)),
+        () -> assertThat(get(query)).isSameAs(patched));
+  }
+
+  @Test
+  @DisplayName("Should order appended rows created at the same instant like the repository")
+  void shouldOrderSameInstantRowsLikeRepository() {
+    var query = new TransactionQueryDto(null, null, null, PageRequest.of(0, 3));
+    get(query);
+
+    save(10, TransactionType.DEPOSIT);
+    save(10, TransactionType.WITHDRAWAL);
+    Page<Transaction> patched = get(query);
+
+    assertAll(
+        () -> assertThat(result("patched")).isEqualTo(1.0),
+        () ->
+            assertThat(patched.getContent())
+                .extracting(Transaction::getId)
+                .containsExactly(7L, 6L, 5L),
+        () ->
+            assertThat(patched.getContent())
+                .isEqualTo(queryHandler.executeQuery(query, repository).getContent()));
+  }
+
+  @Test
+  @DisplayName("Should recompute a stale page after a write that was not an append")
+  void shouldRecomputeAfterNonAppendWrite() {
+    var query = new TransactionQueryDto(null, null, null, PageRequest.of(0, 10));
+    get(query);
+
+    Transaction update = repository.findById(1L).orElseThrow();
+    repository.save(update);
+    get(query);
+
+    assertThat(executions).hasValue(2);
+  }
+
+  @Test
+  @DisplayName("Should bypass the cache when disabled")
+  void shouldBypassCacheWhenDisabled() {
+    properties.setEnabled(false);
+    var query = new TransactionQueryDto(null, null, null, PageRequest.of(0, 10));
+
+    get(query);
+    get(query);
+
+    assertAll(() -> assertThat(executions).hasValue(2), () -> assertThat(cache.size()).isZero());
+  }
+
+  private Page<Transaction> get(TransactionQueryDto query) {
+    return cache.get(
+        query,
+        repository,
+        () -> {
+          executions.incrementAndGet();
+          return queryHandler.executeQuery(query, repository);
+        });
+  }
+
+  private void save(int day, TransactionType type) {
+    Transaction transaction =
+        new Transaction(1L, null, BigDecimal.valueOf(day + 1), type, "Payment " + day);
+    transaction.setCreatedDate(START.plusDays(day).plusHours(12));
+    repository.save(transaction);
+  }
+
+  private double result(String result) {
+    return meterRegistry
+        .get(QueryResultCache.METER_NAME)
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+}
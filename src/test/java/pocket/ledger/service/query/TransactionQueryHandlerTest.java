@@ -2,165 +2,235 @@ package pocket.ledger.service.query;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mockito;
 import pocket.ledger.dto.v1.TransactionQueryDto;
 import pocket.ledger.enums.TransactionType;
 import pocket.ledger.model.Transaction;
+import pocket.ledger.repository.TransactionPredicate;
 import pocket.ledger.repository.TransactionRepository;
+import pocket.ledger.repository.TransactionRepositoryImpl;
 import pocket.ledger.util.Page;
 import pocket.ledger.util.PageRequest;
 
 @DisplayName("TransactionQueryHandler Tests")
 class TransactionQueryHandlerTest {
 
-  @Test
-  @DisplayName("Should execute query successfully when strategy can handle")
-  void executeQuery_strategyCanHandle_executesSuccessfully() {
-    var mockStrategy = new TestTransactionQueryStrategy(true);
-    List<TransactionQueryStrategy> strategies = List.of(mockStrategy);
-    var queryHandler = new TransactionQueryHandler(strategies);
-    var now = LocalDateTime.now();
-    var queryDto =
-        new TransactionQueryDto(
-            now.minusDays(7), now, TransactionType.DEPOSIT, PageRequest.of(0, 10));
-    var repository = mock(TransactionRepository.class);
-
-    var result = queryHandler.executeQuery(queryDto, repository);
-
-    assertThat(result).isNotNull();
-    assertThat(mockStrategy.wasExecuted()).isTrue();
-    assertThat(mockStrategy.wasCanHandleCalled()).isTrue();
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final QueryLogProperties properties = new QueryLogProperties();
+  private TransactionQueryHandler queryHandler;
+  private TransactionRepositoryImpl repository;
+
+  @BeforeEach
+  void setUp() {
+    queryHandler = new TransactionQueryHandler(meterRegistry, properties);
+    repository = new TransactionRepositoryImpl();
+    // Ten days, one transaction a day; accounts 1..5 alternate deposits and withdrawals.
+    for (int day = 0; day < 10; day++) {
+      TransactionType type = day % 2 == 0 ? TransactionType.DEPOSIT : TransactionType.WITHDRAWAL;
+      Transaction transaction =
+          new Transaction(
+              (long) day % 5 + 1, null, BigDecimal.valueOf(day + 1), type, "Payment " + day);
+      transaction.setCreatedDate(START.plusDays(day).plusHours(12));
+      repository.save(transaction);
+    }
   }
 
   @Test
-  @DisplayName("Should execute query with second strategy when first cannot handle")
-  void executeQuery_firstStrategyCannotHandle_usesSecondStrategy() {
-    var strategy1 = new TestTransactionQueryStrategy(false);
-    var strategy2 = new TestTransactionQueryStrategy(true);
-    List<TransactionQueryStrategy> strategies = List.of(strategy1, strategy2);
-    var queryHandler = new TransactionQueryHandler(strategies);
-    var now = LocalDateTime.now();
-    var queryDto =
+  @DisplayName("Should turn every given filter into a predicate")
+  void predicates_coverEveryFilter() {
+    var query =
         new TransactionQueryDto(
-            now.minusDays(7), now, TransactionType.DEPOSIT, PageRequest.of(0, 10));
-    var repository = mock(TransactionRepository.class);
+            START,
+            START.plusDays(1),
+            TransactionType.DEPOSIT,
+            7L,
+            BigDecimal.ONE,
+            BigDecimal.TEN,
+            "rent",
+            PageRequest.of(0, 10));
+
+    assertThat(TransactionQueryHandler.predicates(query))
+        .containsExactly(
+            new TransactionPredicate.DateRange(START, START.plusDays(1)),
+            new TransactionPredicate.OfType(TransactionType.DEPOSIT),
+            new TransactionPredicate.Account(7L),
+            new TransactionPredicate.AmountRange(BigDecimal.ONE, BigDecimal.TEN),
+            new TransactionPredicate.DescriptionContains("rent"));
+  }
 
-    var result = queryHandler.executeQuery(queryDto, repository);
+  @Test
+  @DisplayName("Should ignore half-open date ranges and blank descriptions")
+  void predicates_ignoreIncompleteFilters() {
+    var query =
+        new TransactionQueryDto(START, null, null, null, null, null, " ", PageRequest.of(0, 10));
 
-    assertThat(result).isNotNull();
-    assertThat(strategy1.wasExecuted()).isFalse();
-    assertThat(strategy1.wasCanHandleCalled()).isTrue();
-    assertThat(strategy2.wasExecuted()).isTrue();
-    assertThat(strategy2.wasCanHandleCalled()).isTrue();
+    assertThat(TransactionQueryHandler.predicates(query)).isEmpty();
   }
 
   @Test
-  @DisplayName("Should throw IllegalArgumentException when no strategy can handle query")
-  void executeQuery_noStrategyCanHandle_throwsIllegalArgumentException() {
-    var strategy1 = new TestTransactionQueryStrategy(false);
-    var strategy2 = new TestTransactionQueryStrategy(false);
-    List<TransactionQueryStrategy> strategies = List.of(strategy1, strategy2);
-    var queryHandler = new TransactionQueryHandler(strategies);
-    var now = LocalDateTime.now();
-    var queryDto =
+  @DisplayName("Should reject an amount range whose minimum exceeds its maximum")
+  void predicates_rejectInvertedAmountRange() {
+    var query =
         new TransactionQueryDto(
-            now.minusDays(7), now, TransactionType.DEPOSIT, PageRequest.of(0, 10));
-    var repository = mock(TransactionRepository.class);
+            null, null, null, null, BigDecimal.TEN, BigDecimal.ONE, null, PageRequest.of(0, 10));
 
-    assertThatThrownBy(() -> queryHandler.executeQuery(queryDto, repository))
+    assertThatThrownBy(() -> queryHandler.executeQuery(query, repository))
         .isInstanceOf(IllegalArgumentException.class)
-        .hasMessage("No strategy found for query");
-
-    assertThat(strategy1.wasExecuted()).isFalse();
-    assertThat(strategy2.wasExecuted()).isFalse();
+        .hasMessage("minAmount must not be greater than maxAmount");
   }
 
   @Test
-  @DisplayName("Should handle empty strategy list")
-  void executeQuery_emptyStrategyList_throwsIllegalArgumentException() {
-    var emptyHandler = new TransactionQueryHandler(List.of());
-    var now = LocalDateTime.now();
-    var queryDto =
-        new TransactionQueryDto(
-            now.minusDays(7), now, TransactionType.DEPOSIT, PageRequest.of(0, 10));
-    var repository = mock(TransactionRepository.class);
-
-    assertThatThrownBy(() -> emptyHandler.executeQuery(queryDto, repository))
-        .isInstanceOf(IllegalArgumentException.class)
-        .hasMessage("No strategy found for query");
+  @DisplayName("Should hand the predicates and page request to the repository")
+  @SuppressWarnings("unchecked")
+  void executeQuery_delegatesToRepository() {
+    var mockRepository = mock(TransactionRepository.class);
+    var pageRequest = PageRequest.of(0, 10);
+    Page<Transaction> page = new Page<>(List.of(), pageRequest, 0);
+    when(mockRepository.findMatching(anyList(), eq(pageRequest))).thenReturn(page);
+
+    var result =
+        queryHandler.executeQuery(
+            new TransactionQueryDto(null, null, TransactionType.DEPOSIT, pageRequest),
+            mockRepository);
+
+    assertThat(result).isSameAs(page);
+    verify(mockRepository)
+        .findMatching(
+            List.of(new TransactionPredicate.OfType(TransactionType.DEPOSIT)), pageRequest);
   }
 
   @Test
-  @DisplayName("Should use first matching strategy when multiple strategies can handle")
-  void executeQuery_multipleStrategiesCanHandle_usesFirstMatchingStrategy() {
-    var strategy1 = new TestTransactionQueryStrategy(true);
-    var strategy2 = new TestTransactionQueryStrategy(true);
-    List<TransactionQueryStrategy> strategies = List.of(strategy1, strategy2);
-    var queryHandler = new TransactionQueryHandler(strategies);
-    var now = LocalDateTime.now();
-    var queryDto =
+  @DisplayName("Should apply every filter and return matches newest first")
+  void executeQuery_appliesAllFilters() {
+    var query =
         new TransactionQueryDto(
-            now.minusDays(7), now, TransactionType.DEPOSIT, PageRequest.of(0, 10));
-    var repository = mock(TransactionRepository.class);
-
-    var result = queryHandler.executeQuery(queryDto, repository);
-
-    assertThat(result).isNotNull();
-    assertThat(strategy1.wasExecuted()).isTrue();
-    assertThat(strategy1.wasCanHandleCalled()).isTrue();
-    assertThat(strategy2.wasExecuted()).isFalse();
-    assertThat(strategy2.wasCanHandleCalled()).isFalse();
+            START,
+            START.plusDays(8),
+            TransactionType.DEPOSIT,
+            null,
+            BigDecimal.valueOf(3),
+            null,
+            "PAYMENT",
+            PageRequest.of(0, 10));
+
+    var result = queryHandler.executeQuery(query, repository);
+
+    assertThat(result.getContent())
+        .extracting(Transaction::getAmount)
+        .containsExactly(BigDecimal.valueOf(7), BigDecimal.valueOf(5), BigDecimal.valueOf(3));
   }
 
   @Test
-  @DisplayName("Constructor should accept strategy list")
-  void constructor_withStrategies_initializesCorrectly() {
-    var strategy1 = new TestTransactionQueryStrategy(true);
-    var strategy2 = new TestTransactionQueryStrategy(true);
-    List<TransactionQueryStrategy> strategies = List.of(strategy1, strategy2);
-
-    var handler = new TransactionQueryHandler(strategies);
-
-    assertThat(handler).isNotNull();
+  @DisplayName("Should time each query under the index that answered it")
+  void executeQuery_recordsTimerTaggedWithIndex() {
+    var query = new TransactionQueryDto(START, START.plusDays(1), null, PageRequest.of(0, 10));
+
+    queryHandler.executeQuery(query, repository);
+    queryHandler.executeQuery(query, repository);
+
+    assertThat(
+            meterRegistry
+                .get("ledger.query")
+                .tag("index", TransactionRepositoryImpl.TIME_INDEX)
+                .timer()
+                .count())
+        .isEqualTo(2);
   }
 
-  private static class TestTransactionQueryStrategy implements TransactionQueryStrategy {
-    private final boolean canHandle;
-    private boolean canHandleCalled = false;
-    private boolean executed = false;
-
-    public TestTransactionQueryStrategy(boolean canHandle) {
-      this.canHandle = canHandle;
-    }
-
-    @Override
-    public boolean canHandle(TransactionQueryDto query) {
-      this.canHandleCalled = true;
-      return canHandle;
-    }
-
-    @SuppressWarnings("unchecked")
-    @Override
-    public Page<Transaction> executeQuery(
-        TransactionQueryDto query, TransactionRepository repository) {
-      this.executed = true;
-      Page<Transaction> page = Mockito.mock(Page.class);
+  @Test
+  @DisplayName("Should report calls, rows and slow queries per index")
+  void statistics_reportsCallsRowsAndSlowQueries() {
+    properties.setSlowQueryThreshold(Duration.ZERO);
+
+    queryHandler.executeQuery(
+        new TransactionQueryDto(null, null, TransactionType.DEPOSIT, PageRequest.of(0, 2)),
+        repository);
+
+    QueryStatsSnapshot bitmapQueries =
+        new QueryStatsEndpoint(queryHandler).queries().stream()
+            .filter(stats -> stats.index().equals(TransactionRepositoryImpl.BITMAP_INDEX))
+            .findFirst()
+            .orElseThrow();
+    assertAll(
+        () -> assertThat(bitmapQueries.count()).isEqualTo(1),
+        () -> assertThat(bitmapQueries.slowQueries()).isEqualTo(1),
+        () -> assertThat(bitmapQueries.rowsScanned()).isEqualTo(2),
+        () -> assertThat(bitmapQueries.rowsReturned()).isEqualTo(2),
+        () -> assertThat(bitmapQueries.p99Millis()).isGreaterThanOrEqualTo(0.0),
+        () -> assertThat(queryHandler.statistics()).hasSize(1));
+  }
 
-      return page;
-    }
+  @Test
+  @DisplayName("Should not count queries under the threshold as slow")
+  void statistics_fastQueriesAreNotSlow() {
+    queryHandler.executeQuery(
+        new TransactionQueryDto(null, null, null, PageRequest.of(0, 10)), repository);
+
+    assertThat(queryHandler.statistics())
+        .singleElement()
+        .satisfies(stats -> assertThat(stats.slowQueries()).isZero());
+  }
 
-    public boolean wasCanHandleCalled() {
-      return canHandleCalled;
-    }
+  @Test
+  @DisplayName("Should explain the chosen index, its estimate and the remaining filters")
+  void explainQuery_reportsIndexEstimateAndFilters() {
+    var query =
+        new TransactionQueryDto(
+            START, START.plusDays(3), TransactionType.DEPOSIT, PageRequest.of(0, 1));
+
+    var result = queryHandler.explainQuery(query, repository);
+
+    var explain = result.explain();
+    assertAll(
+        () -> assertThat(result.page().getContent()).hasSize(1),
+        () -> assertThat(explain.index()).isEqualTo(TransactionRepositoryImpl.BITMAP_INDEX),
+        () -> assertThat(explain.estimatedRows()).isEqualTo(2),
+        () -> assertThat(explain.filters()).containsExactly("dateRange"),
+        () -> assertThat(explain.rowsExamined()).isEqualTo(2),
+        () -> assertThat(explain.rowsSorted()).isEqualTo(1),
+        () -> assertThat(explain.rowsReturned()).isEqualTo(1),
+        () -> assertThat(explain.mappingMillis()).isZero(),
+        () -> assertThat(explain.totalMillis()).isGreaterThanOrEqualTo(explain.sortMillis()));
+  }
 
-    public boolean wasExecuted() {
-      return executed;
-    }
+  @Test
+  @DisplayName("Should answer whole-day ranges and accounts from bitmaps alone")
+  void explainQuery_answersExactBitmapMatchesWithoutSorting() {
+    var query =
+        new TransactionQueryDto(
+            START,
+            START.plusDays(10).minusNanos(1),
+            null,
+            2L,
+            null,
+            null,
+            null,
+            PageRequest.of(0, 10));
+
+    var explain = queryHandler.explainQuery(query, repository).explain();
+
+    assertAll(
+        () -> assertThat(explain.index()).isEqualTo(TransactionRepositoryImpl.BITMAP_INDEX),
+        () -> assertThat(explain.estimatedRows()).isEqualTo(2),
+        () -> assertThat(explain.filters()).isEmpty(),
+        () -> assertThat(explain.rowsExamined()).isEqualTo(2),
+        () -> assertThat(explain.rowsSorted()).isZero(),
+        () -> assertThat(explain.rowsReturned()).isEqualTo(2));
   }
 }
@@ -0,0 +1,144 @@
+package pocket.ledger.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RateLimitProperties properties = new RateLimitProperties();
+  private final AtomicLong clock = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    properties.setRead(new RateLimitProperties.Quota(10, 2));
+    properties.setWrite(new RateLimitProperties.Quota(1, 1));
+  }
+
+  @Test
+  @DisplayName("Should limit each client separately")
+  void shouldLimitEachClientSeparately() {
+    RateLimiter limiter = limiter();
+
+    limiter.acquireRead("key:a");
+    limiter.acquireRead("key:a");
+
+    assertAll(
+        () -> assertThat(limiter.acquireRead("key:a")).isEqualTo(millis(100)),
+        () -> assertThat(limiter.acquireRead("key:b")).isZero(),
+        () -> assertThat(limiter.clients()).isEqualTo(2),
+        () -> assertThat(limited("read")).isEqualTo(1.0));
+  }
+
+  @Test
+  @DisplayName("Should keep separate read and write quotas")
+  void shouldKeepSeparateReadAndWriteQuotas() {
+    RateLimiter limiter = limiter();
+
+    long firstWrite = limiter.acquireWrite("key:a");
+    long secondWrite = limiter.acquireWrite("key:a");
+
+    assertAll(
+        () -> assertThat(firstWrite).isZero(),
+        () -> assertThat(secondWrite).isEqualTo(TimeUnit.SECONDS.toNanos(1)),
+        () -> assertThat(limiter.acquireRead("key:a")).isZero(),
+        () -> assertThat(limited("write")).isEqualTo(1.0));
+  }
+
+  @Test
+  @DisplayName("Should grant again once the client's bucket has refilled")
+  void shouldGrantAfterRefill() {
+    RateLimiter limiter = limiter();
+    limiter.acquireWrite("key:a");
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+    assertThat(limiter.acquireWrite("key:a")).isZero();
+  }
+
+  @Test
+  @DisplayName("Should drop clients idle for longer than the idle timeout")
+  void shouldDropIdleClients() {
+    properties.setIdleTimeout(Duration.ofSeconds(10));
+    properties.setStripes(1);
+    RateLimiter limiter = limiter();
+    limiter.acquireRead("key:a");
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(11));
+    limiter.acquireRead("key:b");
+
+    assertThat(limiter.clients()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should make room for new clients by dropping clients with full buckets")
+  void shouldDropFullClientsWhenStripeIsFull() {
+    properties.setMaxClients(1);
+    properties.setStripes(1);
+    RateLimiter limiter = limiter();
+    limiter.acquireWrite("key:a");
+
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+    assertAll(
+        () -> assertThat(limiter.acquireWrite("key:b")).isZero(),
+        () -> assertThat(limiter.clients()).isEqualTo(1));
+  }
+
+  @Test
+  @DisplayName("Should refuse new clients while every tracked client is still limited")
+  void shouldRefuseNewClientsWhileStripeStaysFull() {
+    properties.setMaxClients(1);
+    properties.setStripes(1);
+    RateLimiter limiter = limiter();
+    limiter.acquireWrite("key:a");
+
+    long refused = limiter.acquireWrite("key:b");
+    long again = limiter.acquireWrite("key:c");
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+    assertAll(
+        () -> assertThat(refused).isEqualTo(RateLimiter.COMPACTION_GAP_NANOS),
+        () -> assertThat(again).isEqualTo(RateLimiter.COMPACTION_GAP_NANOS),
+        () -> assertThat(limited("write")).isEqualTo(2.0),
+        () -> assertThat(limiter.acquireWrite("key:c")).isZero(),
+        () -> assertThat(limiter.clients()).isEqualTo(1));
+  }
+
+  @Test
+  @DisplayName("Should grant everything when disabled")
+  void shouldGrantEverythingWhenDisabled() {
+    properties.setEnabled(false);
+    RateLimiter limiter = limiter();
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(limiter.acquireWrite("key:a")).isZero();
+    }
+    assertThat(limiter.clients()).isZero();
+  }
+
+  private RateLimiter limiter() {
+    return new RateLimiter(properties, meterRegistry, clock::get);
+  }
+
+  private static long millis(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+
+  private double limited(String quota) {
+    return meterRegistry
+        .get(RateLimiter.METER_NAME + ".limited")
+        .tag("quota", quota)
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,91 @@
+package pocket.ledger.service.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TokenBucket Tests")
+class TokenBucketTest {
+
+  private static final long INTERVAL = 100;
+
+  @Test
+  @DisplayName("Should grant a full burst and then report the wait for the next permit")
+  void shouldGrantBurstThenReportWait() {
+    TokenBucket bucket = new TokenBucket(0);
+
+    for (int i = 0; i < 5; i++) {
+      assertThat(bucket.tryAcquire(0, INTERVAL, 5)).isZero();
+    }
+
+    assertAll(
+        () -> assertThat(bucket.tryAcquire(0, INTERVAL, 5)).isEqualTo(INTERVAL),
+        () -> assertThat(bucket.tryAcquire(40, INTERVAL, 5)).isEqualTo(60));
+  }
+
+  @Test
+  @DisplayName("Should refill one permit per interval")
+  void shouldRefillOnePermitPerInterval() {
+    TokenBucket bucket = new TokenBucket(0);
+    for (int i = 0; i < 5; i++) {
+      bucket.tryAcquire(0, INTERVAL, 5);
+    }
+
+    assertAll(
+        () -> assertThat(bucket.tryAcquire(INTERVAL, INTERVAL, 5)).isZero(),
+        () -> assertThat(bucket.tryAcquire(INTERVAL, INTERVAL, 5)).isPositive(),
+        () -> assertThat(bucket.tryAcquire(3 * INTERVAL, INTERVAL, 5)).isZero(),
+        () -> assertThat(bucket.tryAcquire(3 * INTERVAL, INTERVAL, 5)).isZero(),
+        () -> assertThat(bucket.tryAcquire(3 * INTERVAL, INTERVAL, 5)).isPositive());
+  }
+
+  @Test
+  @DisplayName("Should not save up more than the burst while idle")
+  void shouldCapSavedPermitsAtBurst() {
+    TokenBucket bucket = new TokenBucket(0);
+    long later = 1_000 * INTERVAL;
+
+    int granted = 0;
+    while (bucket.tryAcquire(later, INTERVAL, 5) == 0) {
+      granted++;
+    }
+
+    assertThat(granted).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Should report full once no permit has been spent since the cutoff")
+  void shouldReportFullSinceCutoff() {
+    TokenBucket bucket = new TokenBucket(0);
+    bucket.tryAcquire(1_000, INTERVAL, 5);
+
+    assertAll(
+        () -> assertThat(bucket.fullSince(1_000)).isFalse(),
+        () -> assertThat(bucket.fullSince(1_000 + INTERVAL + 1)).isTrue());
+  }
+
+  @Test
+  @DisplayName("Should grant exactly the burst to concurrent callers")
+  void shouldGrantExactlyBurstConcurrently() {
+    TokenBucket bucket = new TokenBucket(0);
+    AtomicInteger granted = new AtomicInteger();
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int i = 0; i < 1_000; i++) {
+        executor.execute(
+            () -> {
+              if (bucket.tryAcquire(0, INTERVAL, 100) == 0) {
+                granted.incrementAndGet();
+              }
+            });
+      }
+    }
+
+    assertThat(granted).hasValue(100);
+  }
+}
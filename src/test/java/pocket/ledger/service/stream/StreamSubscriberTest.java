@@ -0,0 +1,109 @@
+package pocket.ledger.service.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertAll;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pocket.ledger.dto.v1.BalanceResponseDto;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+
+@DisplayName("StreamSubscriber Unit Tests")
+class StreamSubscriberTest {
+
+  private final StreamSubscriber subscriber = new StreamSubscriber(1L, new SseEmitter(), 2);
+
+  @Test
+  @DisplayName("Should hand over buffered transactions and the latest balance")
+  void shouldHandOverBufferedTransactionsAndLatestBalance() throws Exception {
+    subscriber.enqueue(List.of(transaction(1L)), balance(10, 1), 0);
+    subscriber.enqueue(List.of(transaction(2L)), balance(20, 2), 0);
+
+    StreamSubscriber.Batch batch = subscriber.awaitBatch(Duration.ofMillis(10));
+
+    assertAll(
+        () ->
+            assertThat(batch.transactions())
+                .extracting(TransactionResponseDto::id)
+                .containsExactly(1L, 2L),
+        () -> assertThat(batch.balance().totalTransactions()).isEqualTo(2L),
+        () -> assertThat(batch.dropped()).isZero());
+  }
+
+  @Test
+  @DisplayName("Should drop the oldest transactions when the buffer is full")
+  void shouldDropOldestTransactionsWhenBufferIsFull() throws Exception {
+    int dropped =
+        subscriber.enqueue(
+            List.of(transaction(1L), transaction(2L), transaction(3L)), balance(30, 3), 0);
+
+    StreamSubscriber.Batch batch = subscriber.awaitBatch(Duration.ofMillis(10));
+
+    assertAll(
+        () -> assertThat(dropped).isEqualTo(1),
+        () ->
+            assertThat(batch.transactions())
+                .extracting(TransactionResponseDto::id)
+                .containsExactly(2L, 3L),
+        () -> assertThat(batch.dropped()).isEqualTo(1));
+  }
+
+  @Test
+  @DisplayName("Should count events missed before reaching the subscriber")
+  void shouldCountMissedEvents() throws Exception {
+    subscriber.enqueue(List.of(), balance(0, 0), 4);
+
+    assertThat(subscriber.awaitBatch(Duration.ofMillis(10)).dropped()).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should return an empty batch when nothing arrives before the timeout")
+  void shouldReturnEmptyBatchOnTimeout() throws Exception {
+    StreamSubscriber.Batch batch = subscriber.awaitBatch(Duration.ofMillis(10));
+
+    assertThat(batch.isEmpty()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should wake up a waiting sender when closed")
+  void shouldWakeUpWaitingSenderWhenClosed() throws Exception {
+    Thread closer =
+        Thread.ofVirtual()
+            .start(
+                () -> {
+                  sleepQuietly(20);
+                  subscriber.close();
+                });
+
+    StreamSubscriber.Batch batch = subscriber.awaitBatch(Duration.ofSeconds(10));
+    closer.join();
+
+    assertAll(
+        () -> assertThat(batch).isNull(),
+        () -> assertThat(subscriber.enqueue(List.of(transaction(1L)), null, 0)).isZero());
+  }
+
+  private static void sleepQuietly(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static TransactionResponseDto transaction(Long id) {
+    LocalDateTime now = LocalDateTime.now();
+    return new TransactionResponseDto(
+        id, BigDecimal.TEN, TransactionType.DEPOSIT, "Test transaction", now, now);
+  }
+
+  private static BalanceResponseDto balance(long balance, long count) {
+    return new BalanceResponseDto(BigDecimal.valueOf(balance), count, LocalDateTime.now(), 0);
+  }
+}
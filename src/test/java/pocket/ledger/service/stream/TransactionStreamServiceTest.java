@@ -0,0 +1,110 @@
+package pocket.ledger.service.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import pocket.ledger.dto.v1.TransactionResponseDto;
+import pocket.ledger.enums.TransactionType;
+import pocket.ledger.event.TransactionCreatedEvent;
+import pocket.ledger.exception.ServiceOverloadedException;
+import pocket.ledger.model.LedgerSummary;
+import pocket.ledger.repository.TransactionRepository;
+
+@DisplayName("TransactionStreamService Unit Tests")
+class TransactionStreamServiceTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private TransactionStreamService streamService;
+
+  @BeforeEach
+  void setUp() {
+    StreamProperties properties = new StreamProperties();
+    properties.setMaxSubscribers(2);
+    TransactionRepository repository = mock(TransactionRepository.class);
+    when(repository.summary()).thenReturn(LedgerSummary.EMPTY);
+    streamService = new TransactionStreamService(repository, properties, meterRegistry);
+    streamService.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    streamService.stop();
+  }
+
+  @Test
+  @DisplayName("Should register subscribers and expose the count as a gauge")
+  void shouldRegisterSubscribersAndExposeGauge() {
+    streamService.subscribe();
+    streamService.subscribe();
+
+    assertThat(streamService.subscriberCount()).isEqualTo(2);
+    assertThat(meterRegistry.get("ledger.stream.subscribers").gauge().value()).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Should reject subscribers beyond the configured limit")
+  void shouldRejectSubscribersBeyondLimit() {
+    streamService.subscribe();
+    streamService.subscribe();
+
+    assertThatThrownBy(() -> streamService.subscribe())
+        .isInstanceOf(ServiceOverloadedException.class)
+        .extracting("retryAfterSeconds")
+        .isEqualTo(5L);
+  }
+
+  @Test
+  @DisplayName("Should never admit more subscribers than the limit under concurrent subscribes")
+  void shouldNotExceedLimitUnderConcurrentSubscribes() throws Exception {
+    int callers = 16;
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger admitted = new AtomicInteger();
+    AtomicInteger rejected = new AtomicInteger();
+    try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+      for (int i = 0; i < callers; i++) {
+        executor.execute(
+            () -> {
+              try {
+                start.await();
+                streamService.subscribe();
+                admitted.incrementAndGet();
+              } catch (ServiceOverloadedException e) {
+                rejected.incrementAndGet();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+      }
+      start.countDown();
+    }
+
+    assertThat(admitted).hasValue(2);
+    assertThat(rejected).hasValue(callers - 2);
+    assertThat(streamService.subscriberCount()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("Should ignore events while nobody is subscribed")
+  void shouldIgnoreEventsWithoutSubscribers() {
+    LocalDateTime now = LocalDateTime.now();
+    TransactionResponseDto transaction =
+        new TransactionResponseDto(1L, BigDecimal.TEN, TransactionType.DEPOSIT, null, now, now);
+
+    streamService.onTransactionCreated(new TransactionCreatedEvent(transaction));
+
+    assertThat(meterRegistry.get("ledger.stream.dropped").counter().count()).isZero();
+  }
+}
@@ -0,0 +1,66 @@
+package pocket.ledger.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class CsvUtilsTest {
+
+  @Test
+  void escape_withPlainValue_shouldReturnValueUnchanged() {
+    assertThat(CsvUtils.escape("Monthly salary")).isEqualTo("Monthly salary");
+  }
+
+  @Test
+  void escape_withNull_shouldReturnEmptyString() {
+    assertThat(CsvUtils.escape(null)).isEmpty();
+  }
+
+  @Test
+  void escape_withSeparator_shouldQuoteValue() {
+    assertThat(CsvUtils.escape("rent, march")).isEqualTo("\"rent, march\"");
+  }
+
+  @Test
+  void escape_withQuote_shouldDoubleQuotes() {
+    assertThat(CsvUtils.escape("the \"big\" one")).isEqualTo("\"the \"\"big\"\" one\"");
+  }
+
+  @Test
+  void escape_withLineBreak_shouldQuoteValue() {
+    assertThat(CsvUtils.escape("line1\nline2")).isEqualTo("\"line1\nline2\"");
+  }
+
+  @Test
+  void parseRecord_withPlainFields_shouldSplitOnSeparator() {
+    assertThat(CsvUtils.parseRecord("1,100.50,DEPOSIT,Salary"))
+        .containsExactly("1", "100.50", "DEPOSIT", "Salary");
+  }
+
+  @Test
+  void parseRecord_withEmptyFields_shouldKeepThem() {
+    assertThat(CsvUtils.parseRecord(",,DEPOSIT,")).containsExactly("", "", "DEPOSIT", "");
+  }
+
+  @Test
+  void parseRecord_withQuotedFields_shouldUnquote() {
+    List<String> fields = CsvUtils.parseRecord("1,\"rent, march\",\"the \"\"big\"\" one\"\r");
+
+    assertThat(fields).containsExactly("1", "rent, march", "the \"big\" one");
+  }
+
+  @Test
+  void parseRecord_shouldRoundTripEscapedValues() {
+    String value = "multi\nline, \"quoted\"";
+
+    assertThat(CsvUtils.parseRecord("x," + CsvUtils.escape(value))).containsExactly("x", value);
+  }
+
+  @Test
+  void isRecordComplete_shouldDetectOpenQuotedField() {
+    assertThat(CsvUtils.isRecordComplete("1,\"open")).isFalse();
+    assertThat(CsvUtils.isRecordComplete("1,\"open\nclosed\"")).isTrue();
+    assertThat(CsvUtils.isRecordComplete("1,plain")).isTrue();
+  }
+}
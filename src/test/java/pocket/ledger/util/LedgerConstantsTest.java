@@ -28,6 +28,12 @@ class LedgerConstantsTest {
     assertThat(LedgerConstants.REQUEST_ID_MDC_KEY).isEqualTo("requestId");
   }
 
+  @Test
+  void verifyIdempotencyConstants() {
+    assertThat(LedgerConstants.IDEMPOTENCY_KEY_HEADER).isEqualTo("Idempotency-Key");
+    assertThat(LedgerConstants.MAX_IDEMPOTENCY_KEY_LENGTH).isEqualTo(255);
+  }
+
   @Test
   void verifyUtilityClassCannotBeInstantiated() throws Exception {
     Constructor<LedgerConstants> constructor = LedgerConstants.class.getDeclaredConstructor();
@@ -3,6 +3,7 @@ package pocket.ledger.util;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Test;
 
 class PageTest {
@@ -91,4 +92,39 @@ class PageTest {
     assertThat(mappedPage.getPageable()).isEqualTo(pageable);
     assertThat(mappedPage.getTotalElements()).isEqualTo(0L);
   }
+
+  @Test
+  void map_shouldApplyMapperOnlyToElementsRead() {
+    AtomicInteger calls = new AtomicInteger();
+    Page<Integer> originalPage = new Page<>(List.of(1, 2, 3), PageRequest.of(0, 10), 3L);
+
+    Page<String> mappedPage =
+        originalPage.map(
+            value -> {
+              calls.incrementAndGet();
+              return String.valueOf(value);
+            });
+
+    assertThat(calls).hasValue(0);
+    assertThat(mappedPage.getContent()).hasSize(3);
+    assertThat(mappedPage.getContent().get(1)).isEqualTo("2");
+    assertThat(calls).hasValue(1);
+  }
+
+  @Test
+  void map_shouldApplyMapperAgainOnEveryRead() {
+    AtomicInteger calls = new AtomicInteger();
+    Page<Integer> originalPage = new Page<>(List.of(1, 2, 3), PageRequest.of(0, 10), 3L);
+
+    Page<String> mappedPage =
+        originalPage.map(
+            value -> {
+              calls.incrementAndGet();
+              return String.valueOf(value);
+            });
+
+    assertThat(mappedPage.getContent().get(0)).isEqualTo("1");
+    assertThat(mappedPage.getContent().get(0)).isEqualTo("1");
+    assertThat(calls).hasValue(2);
+  }
 }
@@ -0,0 +1,100 @@
+package pocket.ledger.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RoaringBitmapTest {
+
+  @Test
+  void add_shouldIgnoreDuplicatesAndKeepValuesSorted() {
+    RoaringBitmap bitmap = RoaringBitmap.of(70_000, 5, 3, 5, 65_536);
+
+    assertThat(bitmap.cardinality()).isEqualTo(4);
+    assertThat(bitmap.toArray()).containsExactly(3, 5, 65_536, 70_000);
+    assertThat(bitmap.contains(65_536)).isTrue();
+    assertThat(bitmap.contains(4)).isFalse();
+  }
+
+  @Test
+  void add_shouldRejectNegativeValues() {
+    assertThatThrownBy(() -> new RoaringBitmap().add(-1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void add_shouldKeepDenseChunksCorrectPastTheArrayLimit() {
+    RoaringBitmap bitmap = RoaringBitmap.of(IntStream.range(0, 10_000).map(i -> i * 2).toArray());
+
+    assertThat(bitmap.cardinality()).isEqualTo(10_000);
+    assertThat(bitmap.contains(19_998)).isTrue();
+    assertThat(bitmap.contains(19_997)).isFalse();
+    assertThat(bitmap.toArray()).hasSize(10_000).startsWith(0, 2, 4).endsWith(19_996, 19_998);
+  }
+
+  @Test
+  void and_shouldIntersectSparseAndDenseChunks() {
+    RoaringBitmap evens = RoaringBitmap.of(IntStream.range(0, 10_000).map(i -> i * 2).toArray());
+    RoaringBitmap sparse = RoaringBitmap.of(1, 2, 3, 4, 200_000);
+
+    RoaringBitmap both = RoaringBitmap.and(evens, sparse);
+
+    assertThat(both.toArray()).containsExactly(2, 4);
+    assertThat(sparse.cardinality()).isEqualTo(5);
+  }
+
+  @Test
+  void and_shouldTurnSmallDenseResultsBackIntoArrays() {
+    RoaringBitmap evens = RoaringBitmap.of(IntStream.range(0, 10_000).map(i -> i * 2).toArray());
+    RoaringBitmap low = RoaringBitmap.of(IntStream.range(0, 5_000).toArray());
+
+    RoaringBitmap both = RoaringBitmap.and(evens, low);
+    both.add(1);
+
+    assertThat(both.cardinality()).isEqualTo(2_501);
+    assertThat(both.contains(1)).isTrue();
+    assertThat(low.contains(5_000)).isFalse();
+  }
+
+  @Test
+  void or_shouldUniteBitmapsWithoutChangingThem() {
+    RoaringBitmap left = RoaringBitmap.of(1, 3, 100_000);
+    RoaringBitmap right = RoaringBitmap.of(2, 3);
+
+    RoaringBitmap either = RoaringBitmap.or(List.of(left, right));
+    either.add(4);
+
+    assertThat(either.toArray()).containsExactly(1, 2, 3, 4, 100_000);
+    assertThat(left.toArray()).containsExactly(1, 3, 100_000);
+    assertThat(right.toArray()).containsExactly(2, 3);
+  }
+
+  @Test
+  void descending_shouldSkipAndLimitFromTheLargestValue() {
+    RoaringBitmap bitmap =
+        RoaringBitmap.or(
+            List.of(
+                RoaringBitmap.of(IntStream.range(0, 6_000).toArray()),
+                RoaringBitmap.of(70_000, 70_001)));
+
+    assertThat(bitmap.descending(0, 3)).containsExactly(70_001, 70_000, 5_999);
+    assertThat(bitmap.descending(3, 2)).containsExactly(5_998, 5_997);
+    assertThat(bitmap.descending(6_001, 5)).containsExactly(0);
+    assertThat(bitmap.descending(10_000, 5)).isEmpty();
+  }
+
+  @Test
+  void copy_shouldBeIndependentOfTheOriginal() {
+    RoaringBitmap original = RoaringBitmap.of(1);
+    RoaringBitmap copy = original.copy();
+
+    copy.add(2);
+
+    assertThat(original.toArray()).containsExactly(1);
+    assertThat(copy.toArray()).containsExactly(1, 2);
+    assertThat(new RoaringBitmap().isEmpty()).isTrue();
+  }
+}